@@ -55,6 +55,7 @@ import io.dingodb.calcite.grammar.dql.SqlShow;
 import io.dingodb.calcite.grammar.dql.SqlStartGc;
 import io.dingodb.calcite.meta.DingoRelMetadataProvider;
 import io.dingodb.calcite.program.DecorrelateProgram;
+import io.dingodb.calcite.program.JoinReorderProgram;
 import io.dingodb.calcite.rel.DingoCost;
 import io.dingodb.calcite.rel.LogicalExportData;
 import io.dingodb.calcite.rel.logical.LogicalDingoRoot;
@@ -355,7 +356,12 @@ public class DingoParser {
                 planner, relNode1, traitSet, ImmutableList.of(), ImmutableList.of()
             );
             timeCtx.stop();
-            return program.run(planner, relNode2, traitSet, ImmutableList.of(), ImmutableList.of());
+
+            JoinReorderProgram joinReorderProgram = new JoinReorderProgram();
+            RelNode relNode3 = joinReorderProgram.run(
+                planner, relNode2, traitSet, ImmutableList.of(), ImmutableList.of()
+            );
+            return program.run(planner, relNode3, traitSet, ImmutableList.of(), ImmutableList.of());
         }
     }
 
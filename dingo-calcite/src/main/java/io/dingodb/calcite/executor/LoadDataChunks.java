@@ -0,0 +1,109 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.calcite.executor;
+
+import io.dingodb.common.concurrent.Executors;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lines of a LOAD DATA statement cut into chunks, which are written concurrently with at most {@code parallel}
+ * chunks in flight. No more chunks are accepted after a chunk failed.
+ */
+final class LoadDataChunks {
+    @FunctionalInterface
+    interface Writer {
+        void write(List<byte[]> lines) throws Exception;
+    }
+
+    private final int chunkLines;
+    private final int parallel;
+    private final Writer writer;
+    private final Semaphore inFlight;
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private List<byte[]> chunk;
+
+    LoadDataChunks(int chunkLines, int parallel, Writer writer) {
+        this.chunkLines = chunkLines;
+        this.parallel = parallel;
+        this.writer = writer;
+        this.inFlight = new Semaphore(parallel);
+        this.chunk = new ArrayList<>(chunkLines);
+    }
+
+    /**
+     * Add a line, blocking if the chunk is full and there are too many chunks in flight.
+     */
+    void add(byte[] line) throws InterruptedException {
+        chunk.add(line);
+        if (chunk.size() >= chunkLines) {
+            submit();
+        }
+    }
+
+    /**
+     * Submit the last chunk and wait for all the chunks written.
+     */
+    void finish() throws InterruptedException {
+        if (!chunk.isEmpty()) {
+            submit();
+        }
+        await();
+        checkFailure();
+    }
+
+    /**
+     * Wait for the chunks in flight, without checking the failure.
+     */
+    void await() {
+        inFlight.acquireUninterruptibly(parallel);
+        inFlight.release(parallel);
+    }
+
+    private void submit() throws InterruptedException {
+        List<byte[]> lines = chunk;
+        chunk = new ArrayList<>(chunkLines);
+        inFlight.acquire();
+        try {
+            checkFailure();
+        } catch (RuntimeException e) {
+            inFlight.release();
+            throw e;
+        }
+        Executors.execute("loadDataInsert", () -> {
+            try {
+                writer.write(lines);
+            } catch (Throwable e) {
+                failure.compareAndSet(null, e);
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    private void checkFailure() {
+        Throwable e = failure.get();
+        if (e instanceof RuntimeException) {
+            throw (RuntimeException) e;
+        } else if (e != null) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -23,8 +23,8 @@ import io.dingodb.codec.CodecService;
 import io.dingodb.codec.KeyValueCodec;
 import io.dingodb.common.CommonId;
 import io.dingodb.common.concurrent.Executors;
-import io.dingodb.common.environment.ExecutionEnvironment;
 import io.dingodb.common.log.LogUtils;
+import io.dingodb.common.mysql.scope.ScopeVariables;
 import io.dingodb.common.partition.RangeDistribution;
 import io.dingodb.common.store.KeyValue;
 import io.dingodb.common.type.DingoType;
@@ -53,7 +53,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringEscapeUtils;
 import org.apache.commons.lang3.StringUtils;
 
-import java.io.ByteArrayOutputStream;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
@@ -62,13 +61,13 @@ import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.SQLWarning;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Base64;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.NavigableMap;
 import java.util.TreeMap;
-import java.util.UUID;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
@@ -81,6 +80,11 @@ import static io.dingodb.exec.transaction.util.TransactionUtil.max_pre_write_cou
 
 @Slf4j
 public class LoadDataExecutor implements DmlExecutor {
+    private static final int READ_BUFFER_SIZE = 1024 * 1024;
+    // Lines are parsed and inserted by chunks on multiple threads, each chunk is committed in its own transaction.
+    private static final int CHUNK_LINES = max_pre_write_count;
+    private static final int PROGRESS_LOG_CHUNKS = 100;
+
     private final DingoParserContext context;
 
     private final String schemaName;
@@ -99,16 +103,15 @@ public class LoadDataExecutor implements DmlExecutor {
     private volatile String errMessage;
     private final Table table;
     private final KeyValueCodec codec;
-    private NavigableMap<ByteArrayUtils.ComparableByteArray, RangeDistribution> distributions;
+    private final PartitionService ps;
+    private volatile NavigableMap<ByteArrayUtils.ComparableByteArray, RangeDistribution> distributions;
     private final DingoType schema;
 
     MetaService metaService;
-    private static int exceptionRetries = 0;
     private static final Long retryInterval = 6000L;
     private static final int maxRetries = 20;
     private int dataGenNum = 0;
     private final boolean isTxn;
-    private final String statementId;
     private boolean txnRetry;
     private int txnRetryCnt;
     private long timeOut;
@@ -116,8 +119,12 @@ public class LoadDataExecutor implements DmlExecutor {
     private long start;
 
     private final AtomicLong count = new AtomicLong(0);
+    private final AtomicLong chunkCount = new AtomicLong(0);
+
+    private final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(16);
 
-    private final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(10000);
+    // The decoder blocks when too many chunks are in flight.
+    private final LoadDataChunks chunks;
 
     public LoadDataExecutor(SqlLoadData sqlLoadData, Connection connection, DingoParserContext context) {
         this.context = context;
@@ -160,10 +167,13 @@ public class LoadDataExecutor implements DmlExecutor {
             throw DingoResource.DINGO_RESOURCE.unknownTable(schemaName + "." + sqlLoadData.getTableName()).ex();
         }
         codec = CodecService.getDefault().createKeyValueCodec(table.version, table.tupleType(), table.keyMapping());
+        ps = PartitionService.getService(
+            Optional.ofNullable(table.getPartitionStrategy())
+                .orElse(DingoPartitionServiceProvider.RANGE_FUNC_NAME));
         distributions = metaService.getRangeDistribution(table.tableId);
         schema = table.tupleType();
         this.isTxn = checkEngine();
-        this.statementId = UUID.randomUUID().toString();
+        this.chunks = new LoadDataChunks(CHUNK_LINES, ScopeVariables.getLoadDataParallel(), this::insertLines);
     }
 
     @Override
@@ -186,9 +196,7 @@ public class LoadDataExecutor implements DmlExecutor {
                         break;
                     }
                 }
-                if (isTxn) {
-                    endWriteWithTxn();
-                }
+                chunks.finish();
                 return null;
             } catch (DuplicateEntryException e1) {
                 errMessage = "Duplicate entry for key 'PRIMARY'";
@@ -198,24 +206,21 @@ public class LoadDataExecutor implements DmlExecutor {
                 errMessage = e2.getMessage();
                 return errMessage;
             } finally {
+                chunks.await();
                 context.getRootSchema().removeRelatedTable(table.tableId.seq);
                 isDone = true;
             }
         });
         try {
             FileInputStream is = new FileInputStream(filePath);
-            ByteArrayOutputStream bos = new ByteArrayOutputStream();
             loadDataRead = Executors.submit("loadDataRead", () -> {
                 try {
-                    byte[] buffer = new byte[1000];
+                    byte[] buffer = new byte[READ_BUFFER_SIZE];
                     int length;
                     while ((length = is.read(buffer)) != -1) {
-                        bos.write(buffer, 0, length);
-                        queue.put(bos.toByteArray());
-                        bos.reset();
+                        queue.put(Arrays.copyOf(buffer, length));
                     }
                     queue.put("end");
-                    bos.close();
                     is.close();
                     return null;
                 } catch (IOException e) {
@@ -284,7 +289,7 @@ public class LoadDataExecutor implements DmlExecutor {
 
     // simple line split
     private byte[] splitLine(byte[] current, byte[] pre, byte[] fieldsTerm, byte[] linesTerm)
-        throws UnsupportedEncodingException {
+        throws InterruptedException {
         byte[] bytes;
         if (pre != null) {
             bytes = new byte[current.length + pre.length];
@@ -307,8 +312,7 @@ public class LoadDataExecutor implements DmlExecutor {
                 System.arraycopy(bytes, lineBreakPos, lineBytes, 0, lineBytes.length);
                 int id2 = getByteIndexOf(lineBytes, lineStarting, 0, lineBytes.length);
                 if (id2 == 0 && bytes[id1 - 1] != escaped[0]) {
-                    Object[] tuple = splitRow(lineBytes, fieldsTerm);
-                    insertTuples(tuple);
+                    addLine(lineBytes);
                     int tmp1 = id1 + linesTerm.length;
                     if (tmp1 == len) {
                         isContinue = false;
@@ -336,35 +340,53 @@ public class LoadDataExecutor implements DmlExecutor {
         return preBytes;
     }
 
-    private void insertTuples(Object[] tuples) {
+    private void addLine(byte[] line) throws InterruptedException {
         dataGenNum ++;
         // ignore rows
         if (dataGenNum <= ignoreNum) {
             return;
         }
-        tuples = enclosed(tuples);
-        tuples = processHideCol(tuples);
-        tuples = (Object[]) schema.convertFrom(tuples, new ImportFileConverter(escaped));
+        chunks.add(line);
+    }
 
+    private void insertLines(List<byte[]> lines) throws UnsupportedEncodingException {
+        List<Object[]> tupleList = new ArrayList<>(lines.size());
+        ImportFileConverter converter = new ImportFileConverter(escaped);
+        for (byte[] line : lines) {
+            Object[] tuples = splitRow(line, fieldsTerm);
+            tuples = enclosed(tuples);
+            tuples = processHideCol(tuples);
+            tupleList.add((Object[]) schema.convertFrom(tuples, converter));
+        }
         if (isTxn) {
-            if (dataGenNum % max_pre_write_count == 0) {
-                refreshTxnId = true;
-            }
-            insertWithTxn(tuples);
+            insertWithTxn(tupleList);
         } else {
-            insertWithoutTxn(tuples, false);
+            // Retries are counted for each chunk, for chunks are inserted in parallel.
+            int retries = 0;
+            for (Object[] tuples : tupleList) {
+                retries = insertWithoutTxn(tuples, retries);
+            }
+        }
+        if (chunkCount.incrementAndGet() % PROGRESS_LOG_CHUNKS == 0) {
+            LogUtils.info(log, "load data progress, path:{}, cost:{}ms, insert count:{}",
+                filePath, System.currentTimeMillis() - start, count.get());
         }
     }
 
-    public void insertWithoutTxn(Object[] tuples, boolean retry) {
-        try {
-            if (retry) {
-                distributions = metaService.getRangeDistribution(table.tableId);
+    /**
+     * Insert a row without transaction, retrying if the regions are changed.
+     *
+     * @param retries the number of retries already taken
+     * @return the number of retries taken after inserting the row
+     */
+    public int insertWithoutTxn(Object[] tuples, int retries) {
+        return insertWithRetry(refresh -> {
+            NavigableMap<ByteArrayUtils.ComparableByteArray, RangeDistribution> ranges = distributions;
+            if (refresh) {
+                ranges = metaService.getRangeDistribution(table.tableId);
+                distributions = ranges;
             }
-            CommonId partId = PartitionService.getService(
-                    Optional.ofNullable(table.getPartitionStrategy())
-                        .orElse(DingoPartitionServiceProvider.RANGE_FUNC_NAME))
-                .calcPartId(tuples, wrap(codec::encodeKey), distributions);
+            CommonId partId = ps.calcPartId(tuples, wrap(codec::encodeKey), ranges);
             StoreInstance store = Services.KV_STORE.getInstance(table.getTableId(), partId);
             boolean insert = store.insertIndex(tuples);
             if (insert) {
@@ -373,115 +395,82 @@ public class LoadDataExecutor implements DmlExecutor {
             if (insert) {
                 count.incrementAndGet();
             }
-            exceptionRetries = 0;
-        } catch (Exception e) {
-            LogUtils.error(log, e.getMessage(), e);
-            if (e.getMessage().contains("epoch is not match, region_epoch")
-                || e.getMessage().contains("Key out of range")
-                || e instanceof RegionSplitException) {
-                if (!continueRetry()) {
+        }, retries, maxRetries, retryInterval);
+    }
+
+    /**
+     * Run an insert, running it again with the regions refreshed if the regions are changed, until it succeeds or
+     * more than {@code maxRetries} retries are taken.
+     *
+     * @param retries the number of retries already taken
+     * @return the number of retries taken after the insert succeeded
+     */
+    static int insertWithRetry(RetryableInsert insert, int retries, int maxRetries, long retryInterval) {
+        boolean refresh = false;
+        while (true) {
+            try {
+                insert.run(refresh);
+                return retries;
+            } catch (RuntimeException e) {
+                LogUtils.error(log, e.getMessage(), e);
+                if (!isRegionChanged(e) || retries > maxRetries) {
                     throw e;
                 }
-                insertWithoutTxn(tuples, true);
-            } else {
-                throw e;
+                Utils.sleep(retryInterval);
+                retries++;
+                refresh = true;
             }
         }
     }
 
-    public CommonId getTxnId() {
-        if (refreshTxnId || txnId == null) {
-            txnId = new CommonId(CommonId.CommonType.TRANSACTION,
-                TransactionManager.getServerId().seq, TransactionManager.getStartTs());
+    private static boolean isRegionChanged(RuntimeException e) {
+        if (e instanceof RegionSplitException) {
+            return true;
         }
-        return txnId;
+        String message = e.getMessage();
+        return message != null
+            && (message.contains("epoch is not match, region_epoch") || message.contains("Key out of range"));
     }
 
-    CommonId txnId;
-    boolean refreshTxnId = false;
-
-    public void insertWithTxn(Object[] tuples) {
-        ExecutionEnvironment env = ExecutionEnvironment.INSTANCE;
-        Map<String, KeyValue> caches = env.memCacheFor2PC.memoryCache
-            .computeIfAbsent(statementId, e -> new TreeMap<>());
-        KeyValue keyValue = codec.encode(tuples);
-
-        CommonId txnId = getTxnId();
-        recodePriTable(keyValue, txnId);
-        String cacheKey = Base64.getEncoder().encodeToString(keyValue.getKey());
-        if (!caches.containsKey(cacheKey)) {
-            caches.put(cacheKey, keyValue);
-        }
+    public void insertWithTxn(List<Object[]> tupleList) {
+        long start = System.currentTimeMillis();
+        CommonId txnId = new CommonId(CommonId.CommonType.TRANSACTION,
+            TransactionManager.getServerId().seq, TransactionManager.getStartTs());
+        Map<String, KeyValue> caches = new TreeMap<>();
+        List<IndexEncoder> indexEncoders = new ArrayList<>();
         List<IndexTable> indexTableList = table.getIndexes();
         if (indexTableList != null) {
             for (IndexTable indexTable : indexTableList) {
-                List<Integer> columnIndices = table.getColumnIndices(indexTable.columns.stream()
-                    .map(Column::getName)
-                    .collect(Collectors.toList()));
-                Object[] tuplesTmp = columnIndices.stream().map(i -> tuples[i]).toArray();
-                KeyValueCodec codec = CodecService.getDefault()
-                    .createKeyValueCodec(indexTable.version, indexTable.tupleType(), indexTable.keyMapping());
-
-                keyValue = wrap(codec::encode).apply(tuplesTmp);
-                PartitionService ps = PartitionService.getService(
-                    Optional.ofNullable(indexTable.getPartitionStrategy())
-                        .orElse(DingoPartitionServiceProvider.RANGE_FUNC_NAME));
-                NavigableMap<ByteArrayUtils.ComparableByteArray, RangeDistribution> ranges =
-                    metaService.getRangeDistribution(indexTable.tableId);
-                CommonId partId = ps.calcPartId(keyValue.getKey(), ranges);
-                CodecService.getDefault().setId(keyValue.getKey(), partId.domain);
-
-                byte[] txnIdByte = txnId.encode();
-                byte[] tableIdByte = indexTable.tableId.encode();
-                byte[] partIdByte = partId.encode();
-                keyValue.setKey(
-                    ByteUtils.encode(
-                        CommonId.CommonType.TXN_CACHE_DATA,
-                        keyValue.getKey(),
-                        Op.PUTIFABSENT.getCode(),
-                        (txnIdByte.length + tableIdByte.length + partIdByte.length),
-                        txnIdByte,
-                        tableIdByte,
-                        partIdByte)
-                );
-                cacheKey = Base64.getEncoder().encodeToString(keyValue.getKey());
-                if (!caches.containsKey(cacheKey)) {
-                    caches.put(cacheKey, keyValue);
-                }
+                indexEncoders.add(new IndexEncoder(indexTable));
             }
         }
-
-        if (refreshTxnId) {
-            long start = System.currentTimeMillis();
-            int cacheSize;
-            Txn txn = new Txn(
-                txnId, txnRetry, txnRetryCnt, timeOut
-            );
-            try {
-                List<TxnLocalData> tupleList = getCacheTupleList(caches, txnId);
-                int result = txn.commit(tupleList);
-                count.addAndGet(result);
-                cacheSize = caches.size();
-                caches.clear();
-            } finally {
-                txn.close();
-                env.memCacheFor2PC.memoryCache.remove(statementId);
+        for (Object[] tuples : tupleList) {
+            KeyValue keyValue = codec.encode(tuples);
+            recodePriTable(keyValue, txnId);
+            caches.putIfAbsent(Base64.getEncoder().encodeToString(keyValue.getKey()), keyValue);
+            for (IndexEncoder indexEncoder : indexEncoders) {
+                keyValue = indexEncoder.encode(tuples, txnId);
+                caches.putIfAbsent(Base64.getEncoder().encodeToString(keyValue.getKey()), keyValue);
             }
-            long sub = System.currentTimeMillis() - start;
-            long totalCount = count.get();
-            if (totalCount % 409600 == 0) {
-                LogUtils.info(log, "insert txn batch size: {}, cost time: {}ms, insert count:{}",
-                    cacheSize, sub, totalCount);
-            }
-            refreshTxnId = false;
         }
+        if (caches.isEmpty()) {
+            return;
+        }
+        Txn txn = new Txn(
+            txnId, txnRetry, txnRetryCnt, timeOut
+        );
+        try {
+            int result = txn.commit(getCacheTupleList(caches, txnId));
+            count.addAndGet(result);
+        } finally {
+            txn.close();
+        }
+        LogUtils.debug(log, "insert txn batch size: {}, cost time: {}ms, insert count:{}",
+            caches.size(), System.currentTimeMillis() - start, count.get());
     }
 
     private void recodePriTable(KeyValue keyValue, CommonId txnId) {
-        CommonId partId = PartitionService.getService(
-                Optional.ofNullable(table.getPartitionStrategy())
-                    .orElse(DingoPartitionServiceProvider.RANGE_FUNC_NAME))
-            .calcPartId(keyValue.getKey(), distributions);
+        CommonId partId = ps.calcPartId(keyValue.getKey(), distributions);
         CodecService.getDefault().setId(keyValue.getKey(), partId.domain);
         byte[] txnIdByte = txnId.encode();
         byte[] tableIdByte = table.getTableId().encode();
@@ -495,30 +484,6 @@ public class LoadDataExecutor implements DmlExecutor {
             txnIdByte, tableIdByte, partIdByte));
     }
 
-    public void endWriteWithTxn() {
-        long start = System.currentTimeMillis();
-        ExecutionEnvironment env = ExecutionEnvironment.INSTANCE;
-        try {
-            CommonId txnId = getTxnId();
-            Txn txnImportDataOperation = new Txn(
-                txnId, txnRetry, txnRetryCnt, timeOut
-            );
-            Map<String, KeyValue> caches = env.memCacheFor2PC.memoryCache
-                .computeIfAbsent(statementId, e -> new TreeMap<>());
-            List<TxnLocalData> tupleList = getCacheTupleList(caches, txnId);
-            if (tupleList.isEmpty()) {
-                return;
-            }
-            int result = txnImportDataOperation.commit(tupleList);
-            count.addAndGet(result);
-            caches.clear();
-        } finally {
-            env.memCacheFor2PC.memoryCache.remove(statementId);
-        }
-        long end = System.currentTimeMillis();
-        LogUtils.debug(log, "insert txn end batch, cost time:" + (end - start) + "ms");
-    }
-
     public static List<TxnLocalData> getCacheTupleList(Map<String, KeyValue> keyValueMap, CommonId txnId) {
         List<TxnLocalData> tupleCacheList = new ArrayList<>();
         for (KeyValue keyValue : keyValueMap.values()) {
@@ -535,15 +500,6 @@ public class LoadDataExecutor implements DmlExecutor {
         return (TxnLocalData) caches[0];
     }
 
-    private static boolean continueRetry() {
-        if (exceptionRetries > maxRetries) {
-            return false;
-        }
-        Utils.sleep(retryInterval);
-        exceptionRetries ++;
-        return true;
-    }
-
     public Object[] splitRow(byte[] bytes, byte[] terminated) throws UnsupportedEncodingException {
         if (lineStarting != null) {
             byte[] bytesTmp = new byte[bytes.length - lineStarting.length];
@@ -699,4 +655,55 @@ public class LoadDataExecutor implements DmlExecutor {
         return StringUtils.isNotBlank(engine) && engine.contains("TXN");
     }
 
+    /**
+     * Encodes index rows of a chunk, resolving the codec and distribution of the index once per chunk.
+     */
+    @FunctionalInterface
+    interface RetryableInsert {
+        void run(boolean refresh);
+    }
+
+    private final class IndexEncoder {
+        private final IndexTable indexTable;
+        private final List<Integer> columnIndices;
+        private final KeyValueCodec codec;
+        private final PartitionService ps;
+        private final NavigableMap<ByteArrayUtils.ComparableByteArray, RangeDistribution> ranges;
+
+        private IndexEncoder(IndexTable indexTable) {
+            this.indexTable = indexTable;
+            this.columnIndices = table.getColumnIndices(indexTable.columns.stream()
+                .map(Column::getName)
+                .collect(Collectors.toList()));
+            this.codec = CodecService.getDefault()
+                .createKeyValueCodec(indexTable.version, indexTable.tupleType(), indexTable.keyMapping());
+            this.ps = PartitionService.getService(
+                Optional.ofNullable(indexTable.getPartitionStrategy())
+                    .orElse(DingoPartitionServiceProvider.RANGE_FUNC_NAME));
+            this.ranges = metaService.getRangeDistribution(indexTable.tableId);
+        }
+
+        private KeyValue encode(Object[] tuples, CommonId txnId) {
+            Object[] tuplesTmp = columnIndices.stream().map(i -> tuples[i]).toArray();
+            KeyValue keyValue = wrap(codec::encode).apply(tuplesTmp);
+            CommonId partId = ps.calcPartId(keyValue.getKey(), ranges);
+            CodecService.getDefault().setId(keyValue.getKey(), partId.domain);
+
+            byte[] txnIdByte = txnId.encode();
+            byte[] tableIdByte = indexTable.tableId.encode();
+            byte[] partIdByte = partId.encode();
+            keyValue.setKey(
+                ByteUtils.encode(
+                    CommonId.CommonType.TXN_CACHE_DATA,
+                    keyValue.getKey(),
+                    Op.PUTIFABSENT.getCode(),
+                    (txnIdByte.length + tableIdByte.length + partIdByte.length),
+                    txnIdByte,
+                    tableIdByte,
+                    partIdByte)
+            );
+            return keyValue;
+        }
+    }
+
 }
@@ -82,6 +82,11 @@ public final class VariableValidator {
             || name.equalsIgnoreCase("txn_retry_cnt")
             || name.equalsIgnoreCase("max_execution_time")
             || name.equalsIgnoreCase("rpc_batch_size")
+            || name.equalsIgnoreCase("operator_memory_limit")
+            || name.equalsIgnoreCase("dingo_join_partition_num")
+            || name.equalsIgnoreCase("scan_morsel_split")
+            || name.equalsIgnoreCase("load_data_parallel")
+            || name.equalsIgnoreCase("join_reorder_threshold")
         ) {
             if (!value.matches("\\d+")) {
                 throw DINGO_RESOURCE.incorrectArgType(name).ex();
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.calcite.program;
+
+import com.google.common.collect.ImmutableList;
+import io.dingodb.common.mysql.scope.ScopeVariables;
+import org.apache.calcite.plan.RelOptLattice;
+import org.apache.calcite.plan.RelOptMaterialization;
+import org.apache.calcite.plan.RelOptPlanner;
+import org.apache.calcite.plan.RelOptUtil;
+import org.apache.calcite.plan.RelTraitSet;
+import org.apache.calcite.plan.hep.HepMatchOrder;
+import org.apache.calcite.plan.hep.HepProgram;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.rules.CoreRules;
+import org.apache.calcite.tools.Program;
+import org.apache.calcite.tools.Programs;
+
+import java.util.List;
+
+/**
+ * Reorder multi-way inner joins before the cost-based optimization.
+ *
+ * <p>Adjacent joins are collapsed into a {@code MultiJoin}, which {@code LoptOptimizeJoinRule} then rebuilds greedily
+ * by the row counts and selectivities of {@code DingoRelMetadataProvider}, that is, by the table statistics. The
+ * smaller input of each join is put on the right, which is the build side of {@code HashJoinOperator}.
+ *
+ * <p>Queries with more joins than {@code join_reorder_threshold} are left as written, so that the user can fix the
+ * order of large joins, and setting it to 0 turns the reordering off.
+ */
+public class JoinReorderProgram implements Program {
+    /**
+     * Joins of two tables have nothing to reorder.
+     */
+    public static final int MIN_JOIN_COUNT = 2;
+
+    private static final HepProgram HEP_PROGRAM = HepProgram.builder()
+        .addMatchOrder(HepMatchOrder.BOTTOM_UP)
+        .addRuleCollection(ImmutableList.of(
+            CoreRules.FILTER_INTO_JOIN,
+            CoreRules.JOIN_CONDITION_PUSH
+        ))
+        .addRuleCollection(ImmutableList.of(
+            CoreRules.JOIN_TO_MULTI_JOIN,
+            CoreRules.PROJECT_MULTI_JOIN_MERGE,
+            CoreRules.FILTER_MULTI_JOIN_MERGE
+        ))
+        .addRuleInstance(CoreRules.MULTI_JOIN_OPTIMIZE)
+        .build();
+
+    @Override
+    public RelNode run(
+        RelOptPlanner relOptPlanner,
+        RelNode relNode,
+        RelTraitSet relTraitSet,
+        List<RelOptMaterialization> list,
+        List<RelOptLattice> list1
+    ) {
+        int joinCount = RelOptUtil.countJoins(relNode);
+        if (joinCount < MIN_JOIN_COUNT || joinCount > ScopeVariables.getJoinReorderThreshold()) {
+            return relNode;
+        }
+        return Programs.of(HEP_PROGRAM, true, relNode.getCluster().getMetadataProvider())
+            .run(relOptPlanner, relNode, relTraitSet, list, list1);
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.calcite.rel.dingo;
+
+import io.dingodb.calcite.DingoTable;
+import io.dingodb.calcite.rel.DingoCost;
+import io.dingodb.calcite.rel.DingoRel;
+import io.dingodb.calcite.visitor.DingoRelVisitor;
+import io.dingodb.common.mysql.scope.ScopeVariables;
+import io.dingodb.common.type.TupleMapping;
+import lombok.Getter;
+import org.apache.calcite.plan.RelOptCluster;
+import org.apache.calcite.plan.RelOptCost;
+import org.apache.calcite.plan.RelOptPlanner;
+import org.apache.calcite.plan.RelOptTable;
+import org.apache.calcite.plan.RelTraitSet;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.RelWriter;
+import org.apache.calcite.rel.SingleRel;
+import org.apache.calcite.rel.core.JoinRelType;
+import org.apache.calcite.rel.metadata.RelMdUtil;
+import org.apache.calcite.rel.metadata.RelMetadataQuery;
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.util.ImmutableIntList;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.List;
+
+import static io.dingodb.calcite.meta.DingoCostModelV1.cpuFactor;
+import static io.dingodb.calcite.meta.DingoCostModelV1.getAvgRowSize;
+import static io.dingodb.calcite.meta.DingoCostModelV1.getNetCost;
+import static io.dingodb.calcite.meta.DingoCostModelV1.getScanCost;
+import static io.dingodb.calcite.meta.DingoCostModelV1.lookupConcurrency;
+
+/**
+ * Join the input to a table by looking up the table with the primary key of each input tuple, instead of scanning
+ * the whole table. The row type is the same as the join of the input and the scan of the table.
+ */
+public final class DingoLookupJoin extends SingleRel implements DingoRel {
+    private final RelOptTable table;
+    @Getter
+    private final RexNode filter;
+    @Getter
+    private final TupleMapping selection;
+    /**
+     * The fields of the input to look up the table with, in the order of the primary key columns.
+     */
+    @Getter
+    private final ImmutableIntList leftKeys;
+    @Getter
+    private final JoinRelType joinType;
+    @Getter
+    private double rowCount;
+
+    public DingoLookupJoin(
+        RelOptCluster cluster,
+        RelTraitSet traits,
+        RelNode input,
+        RelOptTable table,
+        @Nullable RexNode filter,
+        TupleMapping selection,
+        ImmutableIntList leftKeys,
+        JoinRelType joinType,
+        RelDataType rowType
+    ) {
+        super(cluster, traits, input);
+        this.table = table;
+        this.filter = filter;
+        this.selection = selection;
+        this.leftKeys = leftKeys;
+        this.joinType = joinType;
+        this.rowType = rowType;
+    }
+
+    @Override
+    public @NonNull RelOptTable getTable() {
+        return table;
+    }
+
+    @Override
+    public @NonNull RelNode copy(RelTraitSet traitSet, List<RelNode> inputs) {
+        return new DingoLookupJoin(
+            getCluster(),
+            traitSet,
+            sole(inputs),
+            table,
+            filter,
+            selection,
+            leftKeys,
+            joinType,
+            rowType
+        );
+    }
+
+    @Override
+    public <T> T accept(@NonNull DingoRelVisitor<T> visitor) {
+        return visitor.visit(this);
+    }
+
+    @Override
+    public double estimateRowCount(@NonNull RelMetadataQuery mq) {
+        // There is one row at most for each input tuple.
+        rowCount = mq.getRowCount(getInput());
+        if (joinType == JoinRelType.INNER && filter != null) {
+            rowCount *= RelMdUtil.guessSelectivity(filter);
+        }
+        return rowCount;
+    }
+
+    @Override
+    public @Nullable RelOptCost computeSelfCost(@NonNull RelOptPlanner planner, @NonNull RelMetadataQuery mq) {
+        DingoTable dingoTable = table.unwrap(DingoTable.class);
+        assert dingoTable != null;
+        String schemaName = dingoTable.getNames().get(1);
+        double rowSize = getAvgRowSize(dingoTable.getTable().getColumns(), dingoTable.getTable(), schemaName);
+        double lookupCount = mq.getRowCount(getInput());
+        double tableScanCost = getScanCost(lookupCount, rowSize);
+        double tableNetCost = getNetCost(lookupCount, rowSize);
+        double requestCost = lookupCount * ScopeVariables.getRequestFactor();
+        double cpuCost = lookupCount * cpuFactor;
+        double cost = (tableScanCost + tableNetCost + requestCost + cpuCost) / lookupConcurrency;
+        return DingoCost.FACTORY.makeCost(cost, 0, 0);
+    }
+
+    @Override
+    public @NonNull RelWriter explainTerms(@NonNull RelWriter pw) {
+        super.explainTerms(pw);
+        pw.item("table", table.getQualifiedName());
+        pw.itemIf("filter", filter, filter != null);
+        pw.item("selection", selection);
+        pw.item("leftKeys", leftKeys);
+        pw.item("joinType", joinType.lowerName);
+        return pw;
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.calcite.rel.dingo;
+
+import io.dingodb.calcite.rel.DingoRel;
+import io.dingodb.calcite.visitor.DingoRelVisitor;
+import lombok.Getter;
+import org.apache.calcite.plan.RelOptCluster;
+import org.apache.calcite.plan.RelTraitSet;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.RelWriter;
+import org.apache.calcite.rel.core.CorrelationId;
+import org.apache.calcite.rel.core.Join;
+import org.apache.calcite.rel.core.JoinRelType;
+import org.apache.calcite.rel.hint.RelHint;
+import org.apache.calcite.rel.metadata.RelMetadataQuery;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.util.ImmutableIntList;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Join two inputs which are both ascending by the join keys, without building a hash table.
+ */
+public final class DingoMergeJoin extends Join implements DingoRel {
+    /**
+     * Join keys of the left input, in the order by which the inputs are sorted.
+     */
+    @Getter
+    private final ImmutableIntList leftKeys;
+    /**
+     * Join keys of the right input, in the order by which the inputs are sorted.
+     */
+    @Getter
+    private final ImmutableIntList rightKeys;
+    @Getter
+    private double rowCount;
+
+    public DingoMergeJoin(
+        RelOptCluster cluster,
+        RelTraitSet traitSet,
+        List<RelHint> hints,
+        RelNode left,
+        RelNode right,
+        RexNode condition,
+        Set<CorrelationId> variablesSet,
+        JoinRelType joinType,
+        ImmutableIntList leftKeys,
+        ImmutableIntList rightKeys
+    ) {
+        super(cluster, traitSet, hints, left, right, condition, variablesSet, joinType);
+        this.leftKeys = leftKeys;
+        this.rightKeys = rightKeys;
+    }
+
+    @Override
+    public @NonNull Join copy(
+        RelTraitSet traitSet,
+        RexNode conditionExpr,
+        RelNode left,
+        RelNode right,
+        JoinRelType joinType,
+        boolean semiJoinDone
+    ) {
+        return new DingoMergeJoin(
+            getCluster(),
+            traitSet,
+            getHints(),
+            left,
+            right,
+            conditionExpr,
+            getVariablesSet(),
+            joinType,
+            leftKeys,
+            rightKeys
+        );
+    }
+
+    @Override
+    public <T> T accept(@NonNull DingoRelVisitor<T> visitor) {
+        return visitor.visit(this);
+    }
+
+    @Override
+    public double estimateRowCount(RelMetadataQuery mq) {
+        rowCount = super.estimateRowCount(mq);
+        return rowCount;
+    }
+
+    @Override
+    public @NonNull RelWriter explainTerms(@NonNull RelWriter pw) {
+        super.explainTerms(pw);
+        pw.item("leftKeys", leftKeys);
+        pw.item("rightKeys", rightKeys);
+        return pw;
+    }
+}
@@ -195,6 +195,8 @@ public final class DingoRules {
         CoreRules.PROJECT_REMOVE,
         CoreRules.PROJECT_SUB_QUERY_TO_CORRELATE,
         DingoPhysicalRules.DINGO_HASH_JOIN_RULE,
+        DingoPhysicalRules.DINGO_LOOKUP_JOIN_RULE,
+        DingoPhysicalRules.DINGO_MERGE_JOIN_RULE,
         DingoPhysicalRules.DINGO_ROOT_RULE,
         DingoPhysicalRules.DINGO_SORT_RULE,
         DingoPhysicalRules.DINGO_TRANSPOSE_REL_OP_STREAMING_CONVERTER_RULE,
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.calcite.rule.dingo;
+
+import io.dingodb.calcite.DingoTable;
+import io.dingodb.calcite.rel.LogicalDingoTableScan;
+import io.dingodb.calcite.rel.dingo.DingoLookupJoin;
+import io.dingodb.calcite.traits.DingoConvention;
+import io.dingodb.calcite.traits.DingoRelStreaming;
+import io.dingodb.common.type.TupleMapping;
+import io.dingodb.meta.entity.Table;
+import org.apache.calcite.plan.RelOptRuleCall;
+import org.apache.calcite.plan.RelRule;
+import org.apache.calcite.plan.RelTraitSet;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.core.JoinInfo;
+import org.apache.calcite.rel.core.JoinRelType;
+import org.apache.calcite.rel.logical.LogicalJoin;
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.calcite.util.ImmutableIntList;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.immutables.value.Value;
+
+import java.util.Arrays;
+
+import static io.dingodb.calcite.rule.DingoTableScanRule.metaSchemaList;
+
+/**
+ * Convert an equiv join, whose join keys of the right side are just the primary key of a txn table, to a
+ * {@link DingoLookupJoin}. It competes with {@link DingoHashJoinRule} on cost.
+ */
+@Value.Enclosing
+public class DingoLookupJoinRule extends RelRule<DingoLookupJoinRule.Config> {
+    protected DingoLookupJoinRule(Config config) {
+        super(config);
+    }
+
+    public static boolean matchJoin(@NonNull LogicalJoin join) {
+        return (join.getJoinType() == JoinRelType.INNER || join.getJoinType() == JoinRelType.LEFT)
+            && DingoHashJoinRule.match(join);
+    }
+
+    public static boolean matchScan(@NonNull LogicalDingoTableScan scan) {
+        // The rows are looked up by transactional point gets, so only tables of txn engines are supported.
+        String engine = scan.getTable().unwrap(DingoTable.class).getTable().getEngine();
+        if (engine == null || !engine.toUpperCase().contains("TXN")) {
+            return false;
+        }
+        if (scan.getClass() != LogicalDingoTableScan.class
+            || scan.getAggCalls() != null
+            || scan.isForDml()
+            || scan.isExport()
+            || metaSchemaList.contains(scan.getTable().getQualifiedName().get(1))
+        ) {
+            return false;
+        }
+        // Hidden columns are not looked up.
+        return scan.getRealSelection() == null
+            || scan.getRealSelection().size() == scan.getSelection().size();
+    }
+
+    /**
+     * Map the right join keys to the primary key columns of the table.
+     *
+     * @return the left join keys in the order of the primary key columns, or {@code null} if the right join keys are
+     *     not just the primary key
+     */
+    static @Nullable ImmutableIntList lookupKeys(
+        @NonNull LogicalJoin join,
+        @NonNull LogicalDingoTableScan scan
+    ) {
+        Table table = scan.getTable().unwrap(DingoTable.class).getTable();
+        TupleMapping keyMapping = table.keyMapping();
+        TupleMapping selection = scan.getSelection();
+        JoinInfo joinInfo = join.analyzeCondition();
+        if (joinInfo.rightKeys.size() != keyMapping.size()) {
+            return null;
+        }
+        int[] leftKeys = new int[keyMapping.size()];
+        Arrays.fill(leftKeys, -1);
+        for (int i = 0; i < joinInfo.rightKeys.size(); i++) {
+            int leftKey = joinInfo.leftKeys.get(i);
+            int rightKey = joinInfo.rightKeys.get(i);
+            int index = keyMapping.findIdx(selection.get(rightKey));
+            if (index < 0 || leftKeys[index] >= 0) {
+                return null;
+            }
+            RelDataType leftType = join.getLeft().getRowType().getFieldList().get(leftKey).getType();
+            RelDataType rightType = scan.getRowType().getFieldList().get(rightKey).getType();
+            if (leftType.getSqlTypeName() != rightType.getSqlTypeName()) {
+                return null;
+            }
+            leftKeys[index] = leftKey;
+        }
+        return ImmutableIntList.of(leftKeys);
+    }
+
+    @Override
+    public void onMatch(@NonNull RelOptRuleCall call) {
+        LogicalJoin join = call.rel(0);
+        LogicalDingoTableScan scan = call.rel(2);
+        ImmutableIntList leftKeys = lookupKeys(join, scan);
+        if (leftKeys == null) {
+            return;
+        }
+        RelTraitSet traits = join.getTraitSet()
+            .replace(DingoConvention.INSTANCE)
+            .replace(DingoRelStreaming.ROOT);
+        call.transformTo(new DingoLookupJoin(
+            join.getCluster(),
+            traits,
+            convert(join.getLeft(), traits),
+            scan.getTable(),
+            scan.getFilter(),
+            scan.getSelection(),
+            leftKeys,
+            join.getJoinType(),
+            join.getRowType()
+        ));
+    }
+
+    @Value.Immutable
+    public interface Config extends RelRule.Config {
+        Config DEFAULT = ImmutableDingoLookupJoinRule.Config.builder()
+            .description("DingoLookupJoinRule")
+            .operandSupplier(b0 ->
+                b0.operand(LogicalJoin.class).predicate(DingoLookupJoinRule::matchJoin).inputs(
+                    b1 -> b1.operand(RelNode.class).anyInputs(),
+                    b2 -> b2.operand(LogicalDingoTableScan.class).predicate(DingoLookupJoinRule::matchScan).noInputs()
+                )
+            )
+            .build();
+
+        @Override
+        default DingoLookupJoinRule toRule() {
+            return new DingoLookupJoinRule(this);
+        }
+    }
+}
@@ -0,0 +1,246 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.calcite.rule.dingo;
+
+import com.google.common.collect.ImmutableMap;
+import io.dingodb.calcite.DingoTable;
+import io.dingodb.calcite.rel.dingo.DingoMergeJoin;
+import io.dingodb.calcite.rel.dingo.DingoScanWithRelOp;
+import io.dingodb.calcite.rel.logical.LogicalScanWithRelOp;
+import io.dingodb.calcite.traits.DingoConvention;
+import io.dingodb.calcite.traits.DingoRelStreaming;
+import io.dingodb.expr.rel.RelOp;
+import io.dingodb.expr.rel.op.FilterOp;
+import io.dingodb.expr.rel.op.ProjectOp;
+import io.dingodb.expr.rel.op.TandemPipePipeOp;
+import io.dingodb.expr.runtime.expr.IndexOpExpr;
+import io.dingodb.meta.entity.Column;
+import io.dingodb.meta.entity.Table;
+import org.apache.calcite.plan.RelOptRuleCall;
+import org.apache.calcite.plan.RelRule;
+import org.apache.calcite.plan.RelTraitSet;
+import org.apache.calcite.rel.RelCollation;
+import org.apache.calcite.rel.RelCollations;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.core.JoinInfo;
+import org.apache.calcite.rel.core.JoinRelType;
+import org.apache.calcite.rel.logical.LogicalJoin;
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.calcite.sql.type.SqlTypeName;
+import org.apache.calcite.util.ImmutableIntList;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.immutables.value.Value;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static io.dingodb.calcite.rule.DingoIndexCollationRule.getIndexByExpr;
+import static io.dingodb.calcite.rule.DingoIndexCollationRule.validateProjectOp;
+import static io.dingodb.calcite.rule.DingoTableScanRule.metaSchemaList;
+
+/**
+ * Convert an equiv join of two table scans, whose join keys are the leading primary key columns of both tables, to a
+ * {@link DingoMergeJoin}. The scans are replaced by serial scans, which output the rows in primary key order, so the
+ * inputs need not to be shuffled and no hash table is built. It competes with {@link DingoHashJoinRule} on cost.
+ */
+@Value.Enclosing
+public class DingoMergeJoinRule extends RelRule<DingoMergeJoinRule.Config> {
+    /**
+     * Types of which the values are compared in the same order as the encoded keys.
+     */
+    private static final Set<SqlTypeName> ORDERED_TYPES = EnumSet.of(
+        SqlTypeName.INTEGER,
+        SqlTypeName.BIGINT,
+        SqlTypeName.DATE,
+        SqlTypeName.TIME,
+        SqlTypeName.TIMESTAMP,
+        SqlTypeName.CHAR,
+        SqlTypeName.VARCHAR
+    );
+
+    protected DingoMergeJoinRule(Config config) {
+        super(config);
+    }
+
+    public static boolean matchJoin(@NonNull LogicalJoin join) {
+        return join.getJoinType() != JoinRelType.SEMI
+            && join.getJoinType() != JoinRelType.ANTI
+            && !join.analyzeCondition().leftKeys.isEmpty()
+            && DingoHashJoinRule.match(join);
+    }
+
+    public static boolean matchScan(@NonNull LogicalScanWithRelOp scan) {
+        Table table = Objects.requireNonNull(scan.getTable().unwrap(DingoTable.class)).getTable();
+        // Regions of a range partitioned table are scanned in key order, and not kept descending.
+        return "range".equalsIgnoreCase(table.getPartitionStrategy())
+            && (scan.getKeepSerialOrder() == 0 || scan.getKeepSerialOrder() == 1)
+            && !metaSchemaList.contains(scan.getTable().getQualifiedName().get(1))
+            && columns(scan) != null;
+    }
+
+    /**
+     * Map the output fields of the scan to the columns of the table.
+     *
+     * @return the column indices, negative if a field is not a column, or {@code null} if the rel op is not a
+     *     filtering or a projection of columns
+     */
+    private static int @Nullable [] columns(@NonNull LogicalScanWithRelOp scan) {
+        RelOp relOp = scan.getRelOp();
+        if (relOp instanceof TandemPipePipeOp) {
+            TandemPipePipeOp tandemPipePipeOp = (TandemPipePipeOp) relOp;
+            if (!(tandemPipePipeOp.getInput() instanceof FilterOp)) {
+                return null;
+            }
+            relOp = tandemPipePipeOp.getOutput();
+        }
+        if (relOp == null || relOp instanceof FilterOp) {
+            return IntStream.range(0, scan.getRowType().getFieldCount()).toArray();
+        }
+        if (relOp instanceof ProjectOp && validateProjectOp((ProjectOp) relOp)) {
+            return Arrays.stream(((ProjectOp) relOp).getProjects())
+                .mapToInt(expr -> getIndexByExpr((IndexOpExpr) expr))
+                .toArray();
+        }
+        return null;
+    }
+
+    private static @Nullable Column column(@NonNull LogicalScanWithRelOp scan, int field) {
+        Table table = Objects.requireNonNull(scan.getTable().unwrap(DingoTable.class)).getTable();
+        int[] columns = Objects.requireNonNull(columns(scan));
+        int index = columns[field];
+        return index >= 0 ? table.getColumns().get(index) : null;
+    }
+
+    private static @NonNull DingoScanWithRelOp orderedScan(
+        @NonNull LogicalScanWithRelOp scan,
+        @NonNull ImmutableIntList keys
+    ) {
+        RelCollation collation = RelCollations.of(keys);
+        RelTraitSet traits = scan.getTraitSet()
+            .replace(DingoConvention.INSTANCE)
+            .replace(DingoRelStreaming.ROOT)
+            .replace(collation);
+        return new DingoScanWithRelOp(
+            scan.getCluster(),
+            traits,
+            scan.getHints(),
+            scan.getTable(),
+            scan.getRowType(),
+            scan.getRelOp(),
+            scan.getFilter(),
+            scan.isPushDown(),
+            1,
+            scan.getLimit()
+        );
+    }
+
+    /**
+     * Map the join keys to the primary key columns of both tables.
+     *
+     * @return the left and right join keys in the order of the primary key columns, or {@code null} if the join keys
+     *     are not the leading primary key columns of both tables
+     */
+    static int @Nullable [][] mergeKeys(
+        @NonNull LogicalJoin join,
+        @NonNull LogicalScanWithRelOp left,
+        @NonNull LogicalScanWithRelOp right
+    ) {
+        JoinInfo joinInfo = join.analyzeCondition();
+        int size = joinInfo.leftKeys.size();
+        int[] leftKeys = new int[size];
+        int[] rightKeys = new int[size];
+        Arrays.fill(leftKeys, -1);
+        for (int i = 0; i < size; i++) {
+            int leftKey = joinInfo.leftKeys.get(i);
+            int rightKey = joinInfo.rightKeys.get(i);
+            Column leftColumn = column(left, leftKey);
+            Column rightColumn = column(right, rightKey);
+            if (leftColumn == null || rightColumn == null) {
+                return null;
+            }
+            int index = leftColumn.primaryKeyIndex;
+            if (index < 0 || index >= size || rightColumn.primaryKeyIndex != index || leftKeys[index] >= 0) {
+                return null;
+            }
+            RelDataType leftType = left.getRowType().getFieldList().get(leftKey).getType();
+            RelDataType rightType = right.getRowType().getFieldList().get(rightKey).getType();
+            if (leftType.getSqlTypeName() != rightType.getSqlTypeName()
+                || !ORDERED_TYPES.contains(leftType.getSqlTypeName())
+            ) {
+                return null;
+            }
+            leftKeys[index] = leftKey;
+            rightKeys[index] = rightKey;
+        }
+        return new int[][]{leftKeys, rightKeys};
+    }
+
+    @Override
+    public void onMatch(@NonNull RelOptRuleCall call) {
+        LogicalJoin join = call.rel(0);
+        LogicalScanWithRelOp left = call.rel(1);
+        LogicalScanWithRelOp right = call.rel(2);
+        int[][] keys = mergeKeys(join, left, right);
+        if (keys == null) {
+            return;
+        }
+        int[] leftKeys = keys[0];
+        int[] rightKeys = keys[1];
+        RelTraitSet traits = join.getTraitSet()
+            .replace(DingoConvention.INSTANCE)
+            .replace(DingoRelStreaming.ROOT);
+        RelNode leftScan = orderedScan(left, ImmutableIntList.of(leftKeys));
+        RelNode rightScan = orderedScan(right, ImmutableIntList.of(rightKeys));
+        call.transformTo(
+            new DingoMergeJoin(
+                join.getCluster(),
+                traits,
+                join.getHints(),
+                leftScan,
+                rightScan,
+                join.getCondition(),
+                join.getVariablesSet(),
+                join.getJoinType(),
+                ImmutableIntList.of(leftKeys),
+                ImmutableIntList.of(rightKeys)
+            ),
+            ImmutableMap.of(leftScan, left, rightScan, right)
+        );
+    }
+
+    @Value.Immutable
+    public interface Config extends RelRule.Config {
+        Config DEFAULT = ImmutableDingoMergeJoinRule.Config.builder()
+            .description("DingoMergeJoinRule")
+            .operandSupplier(b0 ->
+                b0.operand(LogicalJoin.class).predicate(DingoMergeJoinRule::matchJoin).inputs(
+                    b1 -> b1.operand(LogicalScanWithRelOp.class).predicate(DingoMergeJoinRule::matchScan).noInputs(),
+                    b2 -> b2.operand(LogicalScanWithRelOp.class).predicate(DingoMergeJoinRule::matchScan).noInputs()
+                )
+            )
+            .build();
+
+        @Override
+        default DingoMergeJoinRule toRule() {
+            return new DingoMergeJoinRule(this);
+        }
+    }
+}
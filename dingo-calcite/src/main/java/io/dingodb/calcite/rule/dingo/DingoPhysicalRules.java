@@ -19,6 +19,10 @@ package io.dingodb.calcite.rule.dingo;
 public final class DingoPhysicalRules {
     public static final DingoHashJoinRule DINGO_HASH_JOIN_RULE
         = DingoHashJoinRule.DEFAULT.toRule(DingoHashJoinRule.class);
+    public static final DingoLookupJoinRule DINGO_LOOKUP_JOIN_RULE
+        = DingoLookupJoinRule.Config.DEFAULT.toRule();
+    public static final DingoMergeJoinRule DINGO_MERGE_JOIN_RULE
+        = DingoMergeJoinRule.Config.DEFAULT.toRule();
     public static final DingoReduceAggregateRule DINGO_REDUCE_AGGREGATE_RULE
         = DingoReduceAggregateRule.DEFAULT.toRule(DingoReduceAggregateRule.class);
     public static final DingoRelOpRule DINGO_REL_OP_RULE
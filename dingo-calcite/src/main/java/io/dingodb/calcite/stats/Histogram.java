@@ -61,12 +61,14 @@ public class Histogram implements Cloneable, CalculateStatistic {
     /**
      * max value in the histogram.
      */
+    @Getter
     @JsonProperty("max")
     private Long max;
 
     /**
      * min value in the histogram.
      */
+    @Getter
     @JsonProperty("min")
     private Long min;
 
@@ -23,9 +23,12 @@ import org.apache.calcite.plan.RelOptTable;
 
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 public final class StatsCache {
     public static volatile Map<String, TableStats> statsMap = new ConcurrentHashMap<>();
+    // Bumped after the statistics changed, so plans optimized with the former statistics are not reused.
+    private static final AtomicLong VERSION = new AtomicLong();
 
     private StatsCache() {
     }
@@ -60,7 +63,22 @@ public final class StatsCache {
         return statsMap.get(schemaName + "." + tableName);
     }
 
+    public static long getVersion() {
+        return VERSION.get();
+    }
+
+    public static void refresh(Map<String, TableStats> stats) {
+        statsMap = stats;
+        VERSION.incrementAndGet();
+    }
+
+    public static void put(TableStats tableStats) {
+        statsMap.put(tableStats.getIdentifier(), tableStats);
+        VERSION.incrementAndGet();
+    }
+
     public static void removeCache(String schemaName,String tableName) {
         statsMap.remove(schemaName + "." + tableName);
+        VERSION.incrementAndGet();
     }
 }
@@ -305,7 +305,7 @@ public class AnalyzeTask extends StatsOperator implements Runnable {
 
     private static void cache(TableStats tableStats) {
         tableStats.initRowCount();
-        StatsCache.statsMap.put(tableStats.getIdentifier(), tableStats);
+        StatsCache.put(tableStats);
     }
 
     private void buildHistogram(List<Histogram> histogramList,
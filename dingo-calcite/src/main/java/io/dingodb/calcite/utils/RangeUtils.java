@@ -16,10 +16,18 @@
 
 package io.dingodb.calcite.utils;
 
+import io.dingodb.calcite.DingoTable;
+import io.dingodb.calcite.stats.Histogram;
+import io.dingodb.calcite.stats.StatsCache;
+import io.dingodb.calcite.stats.TableStats;
+import io.dingodb.codec.CodecService;
 import io.dingodb.codec.KeyValueCodec;
 import io.dingodb.common.partition.RangeDistribution;
 import io.dingodb.common.type.TupleMapping;
+import io.dingodb.common.type.scalar.IntegerType;
+import io.dingodb.common.type.scalar.LongType;
 import io.dingodb.common.util.ByteArrayUtils;
+import io.dingodb.meta.entity.Column;
 import io.dingodb.meta.entity.Table;
 import org.apache.calcite.rex.RexCall;
 import org.apache.calcite.rex.RexNode;
@@ -120,6 +128,56 @@ public final class RangeUtils {
             .build();
     }
 
+    /**
+     * Create the range of the keys in use from the min and max values of the first key column in the table statistics,
+     * to split region scans into morsels. Returns {@code null} if the column is not an integer or not analyzed.
+     */
+    public static @Nullable RangeDistribution createRangeByStats(@NonNull DingoTable dingoTable) {
+        List<String> names = dingoTable.getNames();
+        if (names.size() < 3) {
+            return null;
+        }
+        TableStats tableStats = StatsCache.getStatistic(names.get(1), names.get(2));
+        if (tableStats == null) {
+            return null;
+        }
+        Table table = dingoTable.getTable();
+        int pkIndex = table.keyMapping().get(0);
+        Column column = table.getColumns().get(pkIndex);
+        for (Histogram histogram : tableStats.getHistogramList()) {
+            if (!column.getName().equalsIgnoreCase(histogram.getColumnName())
+                || histogram.getMin() == null || histogram.getMax() == null) {
+                continue;
+            }
+            Object min;
+            Object max;
+            if (column.getType() instanceof IntegerType) {
+                min = histogram.getMin().intValue();
+                max = histogram.getMax().intValue();
+            } else if (column.getType() instanceof LongType) {
+                min = histogram.getMin();
+                max = histogram.getMax();
+            } else {
+                return null;
+            }
+            KeyValueCodec codec = CodecService.getDefault().createKeyValueCodec(
+                table.version, table.tupleType(), table.keyMapping()
+            );
+            Object[] tuple = new Object[table.getColumns().size()];
+            tuple[pkIndex] = min;
+            byte[] startKey = codec.encodeKeyPrefix(tuple, 1);
+            tuple[pkIndex] = max;
+            byte[] endKey = codec.encodeKeyPrefix(tuple, 1);
+            return RangeDistribution.builder()
+                .startKey(startKey)
+                .endKey(endKey)
+                .withStart(true)
+                .withEnd(true)
+                .build();
+        }
+        return null;
+    }
+
     private static byte[] calcConditionValue(RuleUtils.ConditionInfo info,
                                              KeyValueCodec codec,
                                              int pkIndex,
@@ -49,6 +49,8 @@ import io.dingodb.calcite.rel.DocumentStreamConvertor;
 import io.dingodb.calcite.rel.VectorStreamConvertor;
 import io.dingodb.calcite.rel.dingo.DingoHashJoin;
 import io.dingodb.calcite.rel.dingo.DingoIndexScanWithRelOp;
+import io.dingodb.calcite.rel.dingo.DingoLookupJoin;
+import io.dingodb.calcite.rel.dingo.DingoMergeJoin;
 import io.dingodb.calcite.rel.dingo.DingoReduceAggregate;
 import io.dingodb.calcite.rel.dingo.DingoRelOp;
 import io.dingodb.calcite.rel.dingo.DingoRoot;
@@ -137,6 +139,26 @@ public class DingoExplainVisitor implements DingoRelVisitor<Explain> {
         return explain1;
     }
 
+    @Override
+    public Explain visit(@NonNull DingoLookupJoin rel) {
+        String info = "joinType:" + rel.getJoinType().toString() + ", leftKeys:" + rel.getLeftKeys();
+        if (rel.getFilter() != null) {
+            info += ", filter:" + rel.getFilter();
+        }
+        String table = Objects.requireNonNull(rel.getTable().unwrap(DingoTable.class)).getTable().getName();
+        return getCommonExplain(rel, "dingoLookupJoin", table, info);
+    }
+
+    @Override
+    public Explain visit(@NonNull DingoMergeJoin rel) {
+        String info = "joinType:" + rel.getJoinType().toString() + ", condition:" + rel.getCondition().toString();
+        Explain explain1 = new Explain("dingoMergeJoin", rel.getRowCount(), "root", "", info);
+        for (RelNode node : rel.getInputs()) {
+            explain1.getChildren().add(dingo(node).accept(this));
+        }
+        return explain1;
+    }
+
     @Override
     public Explain visit(@NonNull DingoTableModify rel) {
         String info = "";
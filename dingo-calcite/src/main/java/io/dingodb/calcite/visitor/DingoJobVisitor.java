@@ -47,6 +47,8 @@ import io.dingodb.calcite.rel.DocumentStreamConvertor;
 import io.dingodb.calcite.rel.VectorStreamConvertor;
 import io.dingodb.calcite.rel.dingo.DingoHashJoin;
 import io.dingodb.calcite.rel.dingo.DingoIndexScanWithRelOp;
+import io.dingodb.calcite.rel.dingo.DingoLookupJoin;
+import io.dingodb.calcite.rel.dingo.DingoMergeJoin;
 import io.dingodb.calcite.rel.dingo.DingoReduceAggregate;
 import io.dingodb.calcite.rel.dingo.DingoRelOp;
 import io.dingodb.calcite.rel.dingo.DingoRoot;
@@ -78,6 +80,8 @@ import io.dingodb.calcite.visitor.function.DingoIndexRangeScanVisitFun;
 import io.dingodb.calcite.visitor.function.DingoIndexScanWithRelOpVisitFun;
 import io.dingodb.calcite.visitor.function.DingoInfoSchemaScanVisitFun;
 import io.dingodb.calcite.visitor.function.DingoLikeScanVisitFun;
+import io.dingodb.calcite.visitor.function.DingoLookupJoinVisitFun;
+import io.dingodb.calcite.visitor.function.DingoMergeJoinVisitFun;
 import io.dingodb.calcite.visitor.function.DingoProjectVisitFun;
 import io.dingodb.calcite.visitor.function.DingoRangeDeleteVisitFun;
 import io.dingodb.calcite.visitor.function.DingoReduceAggregateVisitFun;
@@ -110,6 +114,8 @@ import org.apache.calcite.sql.SqlKind;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
 
 import static io.dingodb.calcite.rel.DingoRel.dingo;
 
@@ -134,6 +140,11 @@ public class DingoJobVisitor implements DingoRelVisitor<Collection<Vertex>> {
     @Getter
     private long pointTs;
 
+    /**
+     * Ids of the streaming converters which are the probe side inputs of hash joins, runtime filters are applied to.
+     */
+    private final Set<Integer> runtimeFilterProbes = new HashSet<>();
+
     private DingoJobVisitor(Job job, IdGenerator idGenerator, Location currentLocation,
                             ITransaction transaction, SqlKind kind, ExecuteVariables executeVariables, long pointTs) {
         this.job = job;
@@ -145,6 +156,14 @@ public class DingoJobVisitor implements DingoRelVisitor<Collection<Vertex>> {
         this.pointTs = pointTs;
     }
 
+    public void addRuntimeFilterProbe(int relId) {
+        runtimeFilterProbes.add(relId);
+    }
+
+    public boolean isRuntimeFilterProbe(int relId) {
+        return runtimeFilterProbes.contains(relId);
+    }
+
     public static void renderJob(JobManager jobManager, Job job, RelNode input, Location currentLocation) {
         renderJob(jobManager, job, input, currentLocation, false, null, null,
             new ExecuteVariables());
@@ -200,6 +219,16 @@ public class DingoJobVisitor implements DingoRelVisitor<Collection<Vertex>> {
         return DingoHashJoinVisitFun.visit(job, idGenerator, currentLocation, this, rel);
     }
 
+    @Override
+    public Collection<Vertex> visit(@NonNull DingoLookupJoin rel) {
+        return DingoLookupJoinVisitFun.visit(job, idGenerator, currentLocation, this, transaction, rel);
+    }
+
+    @Override
+    public Collection<Vertex> visit(@NonNull DingoMergeJoin rel) {
+        return DingoMergeJoinVisitFun.visit(job, idGenerator, currentLocation, this, rel);
+    }
+
     @Override
     public Collection<Vertex> visit(@NonNull DingoTableModify rel) {
         return DingoTableModifyVisitFun.visit(job, idGenerator, currentLocation, transaction, this, rel);
@@ -233,7 +262,7 @@ public class DingoJobVisitor implements DingoRelVisitor<Collection<Vertex>> {
 
     @Override
     public Collection<Vertex> visit(@NonNull DingoSort rel) {
-        return DingoSortVisitFun.visit(job, idGenerator, currentLocation, this, rel);
+        return DingoSortVisitFun.visit(job, idGenerator, currentLocation, transaction, this, rel);
     }
 
     @Override
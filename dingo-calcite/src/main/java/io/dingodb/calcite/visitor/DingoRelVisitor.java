@@ -47,6 +47,8 @@ import io.dingodb.calcite.rel.DocumentStreamConvertor;
 import io.dingodb.calcite.rel.VectorStreamConvertor;
 import io.dingodb.calcite.rel.dingo.DingoHashJoin;
 import io.dingodb.calcite.rel.dingo.DingoIndexScanWithRelOp;
+import io.dingodb.calcite.rel.dingo.DingoLookupJoin;
+import io.dingodb.calcite.rel.dingo.DingoMergeJoin;
 import io.dingodb.calcite.rel.dingo.DingoReduceAggregate;
 import io.dingodb.calcite.rel.dingo.DingoRelOp;
 import io.dingodb.calcite.rel.dingo.DingoRoot;
@@ -68,6 +70,10 @@ public interface DingoRelVisitor<T> {
 
     T visit(@NonNull DingoHashJoin rel);
 
+    T visit(@NonNull DingoLookupJoin rel);
+
+    T visit(@NonNull DingoMergeJoin rel);
+
     T visit(@NonNull DingoTableModify rel);
 
     T visit(@NonNull DingoProject rel);
@@ -83,6 +83,7 @@ public final class DingoGetByKeysFun {
         }
         GetDistributionParam distributionParam
             = new GetDistributionParam(keyTuples, td.keyMapping(), td, distributions);
+        distributionParam.setParallel(transaction != null && visitor.getKind() == SqlKind.SELECT);
         Vertex distributionVertex = new Vertex(GET_DISTRIBUTION, distributionParam);
         Task task;
         if (transaction != null) {
@@ -17,12 +17,14 @@
 package io.dingodb.calcite.visitor.function;
 
 import io.dingodb.calcite.rel.dingo.DingoHashJoin;
+import io.dingodb.calcite.rel.dingo.DingoStreamingConverter;
 import io.dingodb.calcite.visitor.DingoJobVisitor;
 import io.dingodb.common.CommonId;
 import io.dingodb.common.Location;
 import io.dingodb.common.type.TupleMapping;
 import io.dingodb.exec.base.IdGenerator;
 import io.dingodb.exec.base.Job;
+import io.dingodb.exec.base.OutputHint;
 import io.dingodb.exec.base.Task;
 import io.dingodb.exec.dag.Edge;
 import io.dingodb.exec.dag.Vertex;
@@ -31,11 +33,16 @@ import org.apache.calcite.rel.core.JoinInfo;
 import org.apache.calcite.rel.core.JoinRelType;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static io.dingodb.calcite.rel.DingoRel.dingo;
 import static io.dingodb.exec.utils.OperatorCodeUtils.HASH_JOIN;
@@ -45,27 +52,41 @@ public class DingoHashJoinVisitFun {
     public static List<Vertex> visit(
         Job job, IdGenerator idGenerator, Location currentLocation, DingoJobVisitor visitor, @NonNull DingoHashJoin rel
     ) {
+        boolean leftRequired = rel.getJoinType() == JoinRelType.LEFT || rel.getJoinType() == JoinRelType.FULL;
+        boolean rightRequired = rel.getJoinType() == JoinRelType.RIGHT || rel.getJoinType() == JoinRelType.FULL;
+        // Rows of the probe side cannot be dropped if they are required even if not joined.
+        boolean runtimeFilter = rel.getLeft() instanceof DingoStreamingConverter && !leftRequired;
+        if (runtimeFilter) {
+            visitor.addRuntimeFilterProbe(rel.getLeft().getId());
+        }
         Collection<Vertex> leftInputs = dingo(rel.getLeft()).accept(visitor);
         Collection<Vertex> rightInputs = dingo(rel.getRight()).accept(visitor);
-        Map<CommonId, Vertex> leftInputsMap = new HashMap<>(leftInputs.size());
-        Map<CommonId, Vertex> rightInputsMap = new HashMap<>(rightInputs.size());
-        // Only one left input in each task, because of coalescing.
-        leftInputs.forEach(i -> leftInputsMap.put(i.getTaskId(), i));
-        rightInputs.forEach(i -> rightInputsMap.put(i.getTaskId(), i));
+        Map<Vertex, Vertex> inputPairs = pairInputs(leftInputs, rightInputs);
+        // Tasks are all created, the probe side hash operators run at some of these locations.
+        List<Location> filterTargets = job.getTasks().values().stream()
+            .map(Task::getLocation)
+            .distinct()
+            .collect(Collectors.toList());
         List<Vertex> outputs = new LinkedList<>();
-        for (Map.Entry<CommonId, Vertex> entry : leftInputsMap.entrySet()) {
-            CommonId taskId = entry.getKey();
-            Vertex left = entry.getValue();
-            Vertex right = rightInputsMap.get(taskId);
+        for (Map.Entry<Vertex, Vertex> entry : inputPairs.entrySet()) {
+            Vertex left = entry.getKey();
+            Vertex right = entry.getValue();
+            CommonId taskId = left.getTaskId();
             JoinInfo joinInfo = rel.analyzeCondition();
             HashJoinParam param = new HashJoinParam(TupleMapping.of(joinInfo.leftKeys),
                 TupleMapping.of(joinInfo.rightKeys), rel.getLeft().getRowType().getFieldCount(),
                 rel.getRight().getRowType().getFieldCount(),
-                rel.getJoinType() == JoinRelType.LEFT || rel.getJoinType() == JoinRelType.FULL,
-                rel.getJoinType() == JoinRelType.RIGHT || rel.getJoinType() == JoinRelType.FULL
+                leftRequired,
+                rightRequired
             );
+            if (runtimeFilter) {
+                param.setRuntimeFilterId(rel.getLeft().getId());
+                param.setRuntimeFilterPart(partIndex(left));
+                param.setRuntimeFilterTargets(filterTargets);
+            }
             Vertex vertex = new Vertex(HASH_JOIN, param);
             vertex.setId(idGenerator.getOperatorId(taskId));
+            vertex.copyHint(left);
             left.setPin(0);
             right.setPin(1);
             left.addEdge(new Edge(left, vertex));
@@ -78,4 +99,56 @@ public class DingoHashJoinVisitFun {
         }
         return outputs;
     }
+
+    /**
+     * Pair the left and right inputs by task and hash partition. Only one input of each side is allowed for a task and
+     * a partition, because of coalescing.
+     *
+     * @return the right input of each left input
+     */
+    static @NonNull Map<Vertex, Vertex> pairInputs(
+        @NonNull Collection<Vertex> leftInputs,
+        @NonNull Collection<Vertex> rightInputs
+    ) {
+        Map<List<CommonId>, Vertex> rightInputsMap = new HashMap<>(rightInputs.size());
+        for (Vertex input : rightInputs) {
+            if (rightInputsMap.put(inputKey(input), input) != null) {
+                throw new IllegalStateException("Multiple right inputs of hash join for " + inputKey(input) + ".");
+            }
+        }
+        Map<Vertex, Vertex> pairs = new LinkedHashMap<>(leftInputs.size());
+        Set<List<CommonId>> leftKeys = new HashSet<>(leftInputs.size());
+        for (Vertex input : leftInputs) {
+            List<CommonId> key = inputKey(input);
+            if (!leftKeys.add(key)) {
+                throw new IllegalStateException("Multiple left inputs of hash join for " + key + ".");
+            }
+            Vertex right = rightInputsMap.remove(key);
+            if (right == null) {
+                throw new IllegalStateException("No right input of hash join for " + key + ".");
+            }
+            pairs.put(input, right);
+        }
+        if (!rightInputsMap.isEmpty()) {
+            throw new IllegalStateException("No left input of hash join for " + rightInputsMap.keySet() + ".");
+        }
+        return pairs;
+    }
+
+    private static int partIndex(@NonNull Vertex input) {
+        OutputHint hint = input.getHint();
+        if (hint != null && OutputHint.isHashPartId(hint.getPartId())) {
+            return (int) hint.getPartId().seq - 1;
+        }
+        return 0;
+    }
+
+    private static @NonNull List<CommonId> inputKey(@NonNull Vertex input) {
+        OutputHint hint = input.getHint();
+        CommonId partId = null;
+        if (hint != null && OutputHint.isHashPartId(hint.getPartId())) {
+            partId = hint.getPartId();
+        }
+        return Arrays.asList(input.getTaskId(), partId);
+    }
 }
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.calcite.visitor.function;
+
+import io.dingodb.calcite.DingoTable;
+import io.dingodb.calcite.rel.dingo.DingoLookupJoin;
+import io.dingodb.calcite.utils.MetaServiceUtils;
+import io.dingodb.calcite.utils.SqlExprUtils;
+import io.dingodb.calcite.utils.TableInfo;
+import io.dingodb.calcite.utils.VisitUtils;
+import io.dingodb.calcite.visitor.DingoJobVisitor;
+import io.dingodb.common.Location;
+import io.dingodb.common.type.TupleMapping;
+import io.dingodb.exec.base.IdGenerator;
+import io.dingodb.exec.base.Job;
+import io.dingodb.exec.dag.Vertex;
+import io.dingodb.exec.operator.params.LookupJoinParam;
+import io.dingodb.exec.transaction.base.ITransaction;
+import io.dingodb.meta.entity.Table;
+import org.apache.calcite.rel.core.JoinRelType;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.Collection;
+import java.util.Objects;
+
+import static io.dingodb.calcite.rel.DingoRel.dingo;
+import static io.dingodb.exec.utils.OperatorCodeUtils.LOOKUP_JOIN;
+
+public final class DingoLookupJoinVisitFun {
+    private DingoLookupJoinVisitFun() {
+    }
+
+    @NonNull
+    public static Collection<Vertex> visit(
+        Job job, IdGenerator idGenerator, Location currentLocation, DingoJobVisitor visitor,
+        ITransaction transaction, @NonNull DingoLookupJoin rel
+    ) {
+        if (transaction == null) {
+            throw new RuntimeException("not support Non-transaction");
+        }
+        Collection<Vertex> inputs = dingo(rel.getInput()).accept(visitor);
+        final TableInfo tableInfo = MetaServiceUtils.getTableInfo(visitor.getPointTs(), rel.getTable());
+        final Table td = Objects.requireNonNull(rel.getTable().unwrap(DingoTable.class)).getTable();
+        long scanTs = VisitUtils.getScanTs(transaction, visitor.getKind(), visitor.getPointTs());
+        return DingoBridge.bridge(idGenerator, inputs, () -> {
+            LookupJoinParam param = new LookupJoinParam(
+                tableInfo.getId(),
+                td,
+                SqlExprUtils.toSqlExpr(rel.getFilter()),
+                rel.getSelection(),
+                TupleMapping.of(rel.getLeftKeys()),
+                rel.getSelection().size(),
+                rel.getJoinType() == JoinRelType.LEFT,
+                scanTs,
+                transaction.getLockTimeOut()
+            );
+            return new Vertex(LOOKUP_JOIN, param);
+        });
+    }
+}
@@ -20,6 +20,7 @@ import io.dingodb.calcite.DingoTable;
 import io.dingodb.calcite.rel.dingo.DingoScanWithRelOp;
 import io.dingodb.calcite.type.converter.DefinitionMapper;
 import io.dingodb.calcite.utils.MetaServiceUtils;
+import io.dingodb.calcite.utils.RangeUtils;
 import io.dingodb.calcite.utils.SqlExprUtils;
 import io.dingodb.calcite.utils.TableInfo;
 import io.dingodb.calcite.utils.VisitUtils;
@@ -297,7 +298,8 @@ public final class DingoScanWithRelOpVisitFun {
         boolean withEnd,
         DingoJobVisitor visitor
     ) {
-        final Table td = Objects.requireNonNull(rel.getTable().unwrap(DingoTable.class)).getTable();
+        final DingoTable dingoTable = Objects.requireNonNull(rel.getTable().unwrap(DingoTable.class));
+        final Table td = dingoTable.getTable();
         NavigableMap<ComparableByteArray, RangeDistribution> ranges = tableInfo.getRangeDistributions();
         SqlExpr filter = null;
 
@@ -318,6 +320,7 @@ public final class DingoScanWithRelOpVisitFun {
             null,
             visitor.getExecuteVariables().getConcurrencyLevel()
         );
+        distributionParam.setKeyRange(RangeUtils.createRangeByStats(dingoTable));
         return new Vertex(CALC_DISTRIBUTION_1, distributionParam);
     }
 
@@ -329,7 +332,8 @@ public final class DingoScanWithRelOpVisitFun {
         boolean withEnd,
         DingoJobVisitor visitor
     ) {
-        final Table td = Objects.requireNonNull(rel.getTable().unwrap(DingoTable.class)).getTable();
+        final DingoTable dingoTable = Objects.requireNonNull(rel.getTable().unwrap(DingoTable.class));
+        final Table td = dingoTable.getTable();
         NavigableMap<ComparableByteArray, RangeDistribution> ranges = tableInfo.getRangeDistributions();
 
         SqlExpr filter = null;
@@ -360,6 +364,7 @@ public final class DingoScanWithRelOpVisitFun {
         );
         distributionParam.setKeepOrder(rel.getKeepSerialOrder());
         distributionParam.setFilterRange(rel.isRangeScan());
+        distributionParam.setKeyRange(RangeUtils.createRangeByStats(dingoTable));
         return new Vertex(CALC_DISTRIBUTION_1, distributionParam);
     }
 
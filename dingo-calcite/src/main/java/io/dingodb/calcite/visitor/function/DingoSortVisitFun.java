@@ -17,28 +17,37 @@
 package io.dingodb.calcite.visitor.function;
 
 import io.dingodb.calcite.rel.dingo.DingoSort;
+import io.dingodb.calcite.rel.dingo.DingoStreamingConverter;
+import io.dingodb.calcite.type.converter.DefinitionMapper;
 import io.dingodb.calcite.visitor.DingoJobVisitor;
 import io.dingodb.common.Location;
 import io.dingodb.common.table.HybridSearchTable;
+import io.dingodb.common.type.DingoType;
 import io.dingodb.exec.base.IdGenerator;
 import io.dingodb.exec.base.Job;
+import io.dingodb.exec.base.Task;
+import io.dingodb.exec.dag.Edge;
 import io.dingodb.exec.dag.Vertex;
 import io.dingodb.exec.operator.data.SortCollation;
 import io.dingodb.exec.operator.data.SortDirection;
 import io.dingodb.exec.operator.data.SortNullDirection;
 import io.dingodb.exec.operator.params.SortParam;
+import io.dingodb.exec.operator.params.SortedMergeParam;
+import io.dingodb.exec.transaction.base.ITransaction;
 import lombok.AllArgsConstructor;
 import org.apache.calcite.rel.RelFieldCollation;
 import org.apache.calcite.rex.RexLiteral;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import static io.dingodb.calcite.rel.DingoRel.dingo;
 import static io.dingodb.exec.utils.OperatorCodeUtils.SORT;
+import static io.dingodb.exec.utils.OperatorCodeUtils.SORTED_MERGE;
 
 public class DingoSortVisitFun {
     @NonNull
@@ -46,13 +55,77 @@ public class DingoSortVisitFun {
         Job job,
         IdGenerator idGenerator,
         Location currentLocation,
+        ITransaction transaction,
         DingoJobVisitor dingoJobVisitor,
         @NonNull DingoSort rel
     ) {
+        if (rel.getInput() instanceof DingoStreamingConverter
+            && !rel.getCollation().getFieldCollations().isEmpty()
+            && !isVectorHybrid(rel)
+        ) {
+            DingoStreamingConverter converter = (DingoStreamingConverter) rel.getInput();
+            if (converter.getStreaming().getDistribution() == null
+                && converter.getStreaming().getPartitions().isEmpty()
+            ) {
+                return partialSortAndMerge(job, idGenerator, currentLocation, transaction, dingoJobVisitor, rel);
+            }
+        }
         Collection<Vertex> inputs = dingo(rel.getInput()).accept(dingoJobVisitor);
         return DingoBridge.bridge(idGenerator, inputs, new OperatorSupplier(rel));
     }
 
+    /**
+     * Sort (with top-N) each partition where it is, and merge the sorted streams where they are gathered, instead of
+     * gathering all the tuples to be sorted in one place.
+     */
+    private static @NonNull Collection<Vertex> partialSortAndMerge(
+        Job job,
+        IdGenerator idGenerator,
+        Location currentLocation,
+        ITransaction transaction,
+        DingoJobVisitor dingoJobVisitor,
+        @NonNull DingoSort rel
+    ) {
+        DingoStreamingConverter converter = (DingoStreamingConverter) rel.getInput();
+        Collection<Vertex> inputs = dingo(converter.getInput()).accept(dingoJobVisitor);
+        List<SortCollation> collations = toSortCollation(rel.getCollation().getFieldCollations());
+        int limit = rel.fetch == null ? -1 : RexLiteral.intValue(rel.fetch);
+        int offset = rel.offset == null ? 0 : RexLiteral.intValue(rel.offset);
+        DingoType schema = DefinitionMapper.mapToDingoType(converter.getRowType());
+        if (inputs.size() <= 1) {
+            // Only one stream, sort it where it is.
+            return DingoBridge.bridge(idGenerator, inputs, new OperatorSupplier(rel)).stream()
+                .map(v -> DingoExchangeFun.exchange(job, idGenerator, transaction, v, currentLocation, schema))
+                .collect(Collectors.toList());
+        }
+        // Offset must be applied after merging.
+        int topN = limit >= 0 ? offset + limit : -1;
+        Collection<Vertex> sorted = DingoBridge.bridge(
+            idGenerator,
+            inputs,
+            () -> new Vertex(SORT, new SortParam(collations, topN, 0, false))
+        );
+        List<Vertex> receives = sorted.stream()
+            .map(v -> DingoExchangeFun.exchange(job, idGenerator, transaction, v, currentLocation, schema))
+            .collect(Collectors.toList());
+        Task task = receives.get(0).getTask();
+        Vertex merge = new Vertex(SORTED_MERGE, new SortedMergeParam(collations, limit, offset, receives.size()));
+        merge.setId(idGenerator.getOperatorId(task.getId()));
+        task.putVertex(merge);
+        int pin = 0;
+        for (Vertex receive : receives) {
+            receive.setPin(pin++);
+            Edge edge = new Edge(receive, merge);
+            receive.addEdge(edge);
+            merge.addIn(edge);
+        }
+        return Collections.singletonList(merge);
+    }
+
+    private static boolean isVectorHybrid(@NonNull DingoSort rel) {
+        return rel.getHints().stream().anyMatch(e -> e.hintName.equalsIgnoreCase(HybridSearchTable.HINT_NAME));
+    }
+
     @AllArgsConstructor
     static class OperatorSupplier implements Supplier<Vertex> {
 
@@ -64,7 +137,7 @@ public class DingoSortVisitFun {
                 toSortCollation(rel.getCollation().getFieldCollations()),
                 rel.fetch == null ? -1 : RexLiteral.intValue(rel.fetch),
                 rel.offset == null ? 0 : RexLiteral.intValue(rel.offset),
-                rel.getHints().stream().anyMatch( e -> e.hintName.equalsIgnoreCase(HybridSearchTable.HINT_NAME)));
+                isVectorHybrid(rel));
             return new Vertex(SORT, param);
         }
     }
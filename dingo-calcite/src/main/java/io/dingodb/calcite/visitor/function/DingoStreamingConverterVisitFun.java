@@ -46,6 +46,7 @@ import io.dingodb.exec.operator.params.CopyParam;
 import io.dingodb.exec.operator.params.DistributionParam;
 import io.dingodb.exec.operator.params.HashParam;
 import io.dingodb.exec.operator.params.PartitionParam;
+import io.dingodb.exec.operator.params.PassThroughParam;
 import io.dingodb.exec.transaction.base.ITransaction;
 import io.dingodb.meta.MetaService;
 import io.dingodb.meta.entity.IndexTable;
@@ -67,6 +68,7 @@ import static io.dingodb.exec.utils.OperatorCodeUtils.COPY;
 import static io.dingodb.exec.utils.OperatorCodeUtils.DISTRIBUTE;
 import static io.dingodb.exec.utils.OperatorCodeUtils.HASH;
 import static io.dingodb.exec.utils.OperatorCodeUtils.PARTITION;
+import static io.dingodb.exec.utils.OperatorCodeUtils.PASS_THROUGH;
 
 @Slf4j
 public final class DingoStreamingConverterVisitFun {
@@ -85,7 +87,8 @@ public final class DingoStreamingConverterVisitFun {
             dingo(rel.getInput()).getStreaming(),
             rel.getStreaming(),
             DefinitionMapper.mapToDingoType(rel.getRowType()),
-            visitor
+            visitor,
+            rel.getId()
         );
     }
 
@@ -96,7 +99,8 @@ public final class DingoStreamingConverterVisitFun {
         @NonNull DingoRelStreaming srcStreaming,
         @NonNull DingoRelStreaming dstStreaming,
         DingoType schema,
-        DingoJobVisitor visitor
+        DingoJobVisitor visitor,
+        int relId
     ) {
         final Set<DingoRelPartition> dstPartitions = dstStreaming.getPartitions();
         final Set<DingoRelPartition> srcPartitions = srcStreaming.getPartitions();
@@ -112,7 +116,7 @@ public final class DingoStreamingConverterVisitFun {
                     if (partition instanceof DingoRelPartitionByTable) {
                         outputs = partition(idGenerator, outputs, (DingoRelPartitionByTable) partition);
                     } else if (partition instanceof DingoRelPartitionByKeys) {
-                        outputs = hash(idGenerator, outputs, (DingoRelPartitionByKeys) partition, visitor);
+                        outputs = hash(idGenerator, outputs, (DingoRelPartitionByKeys) partition, visitor, relId);
                     } else if (partition instanceof DingoRelPartitionByIndex) {
                         outputs = copy(idGenerator, outputs, (DingoRelPartitionByIndex) partition, transaction);
                     } else {
@@ -225,33 +229,57 @@ public final class DingoStreamingConverterVisitFun {
         IdGenerator idGenerator,
         @NonNull Collection<Vertex> inputs,
         @NonNull DingoRelPartitionByKeys hash,
-        DingoJobVisitor visitor
+        DingoJobVisitor visitor,
+        int relId
     ) {
         List<Vertex> outputs = new LinkedList<>();
         List<Location> locations = new ArrayList<>();
         if (visitor.getExecuteVariables().isJoinConcurrency()) {
             locations.addAll(ClusterService.getDefault().getComputingLocations());
         }
+        if (locations.isEmpty()) {
+            locations.add(DingoConfiguration.location());
+        }
+        int partitionNum = visitor.getExecuteVariables().getJoinPartitionNum();
+        if (partitionNum <= 0) {
+            partitionNum = locations.size();
+        }
         final HashStrategy hs = new SimpleHashStrategy();
         for (Vertex input : inputs) {
             Task task = input.getTask();
             HashParam param = new HashParam(hs, TupleMapping.of(hash.getKeys()));
+            // Runtime filters are published by the hash join consuming this converter as the probe side.
+            if (visitor.isRuntimeFilterProbe(relId)) {
+                param.setRuntimeFilterId(relId);
+            }
             Vertex vertex = new Vertex(HASH, param);
             vertex.setId(idGenerator.getOperatorId(task.getId()));
-            OutputHint hint = new OutputHint();
-            Location location;
-            if (locations.size() == 0) {
-                location = DingoConfiguration.location();
-            } else {
-                location = locations.get(0);
-            }
-            hint.setLocation(location);
-            vertex.setHint(hint);
             Edge edge = new Edge(input, vertex);
             vertex.addIn(edge);
             task.putVertex(vertex);
             input.addEdge(edge);
-            outputs.add(vertex);
+            if (partitionNum == 1) {
+                OutputHint hint = new OutputHint();
+                hint.setLocation(locations.get(0));
+                vertex.setHint(hint);
+                outputs.add(vertex);
+                continue;
+            }
+            // Each partition is sent to its own location and processed independently, the hash vertex selects the
+            // output by the hash of keys. Inputs of the same partition are identified by the part id in hint.
+            for (int i = 0; i < partitionNum; ++i) {
+                Vertex partVertex = new Vertex(PASS_THROUGH, new PassThroughParam());
+                partVertex.setId(idGenerator.getOperatorId(task.getId()));
+                OutputHint hint = new OutputHint();
+                hint.setLocation(locations.get(i % locations.size()));
+                hint.setPartId(OutputHint.hashPartId(i));
+                partVertex.setHint(hint);
+                Edge partEdge = new Edge(vertex, partVertex);
+                vertex.addEdge(partEdge);
+                partVertex.addIn(partEdge);
+                task.putVertex(partVertex);
+                outputs.add(partVertex);
+            }
         }
         return outputs;
     }
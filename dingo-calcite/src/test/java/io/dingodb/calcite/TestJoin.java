@@ -16,31 +16,47 @@
 
 package io.dingodb.calcite;
 
+import com.google.common.collect.ImmutableList;
 import io.dingodb.calcite.mock.MockMetaServiceProvider;
+import io.dingodb.calcite.program.JoinReorderProgram;
 import io.dingodb.calcite.rel.dingo.DingoHashJoin;
 import io.dingodb.calcite.rel.dingo.DingoRoot;
 import io.dingodb.calcite.rel.dingo.DingoStreamingConverter;
 import io.dingodb.calcite.rel.logical.LogicalDingoRoot;
 import io.dingodb.calcite.rel.dingo.DingoRelOp;
 import io.dingodb.calcite.rel.dingo.DingoScanWithRelOp;
+import io.dingodb.calcite.stats.StatsCache;
+import io.dingodb.calcite.stats.StatsNormal;
+import io.dingodb.calcite.stats.TableStats;
 import io.dingodb.calcite.traits.DingoRelStreaming;
+import io.dingodb.common.mysql.scope.ScopeVariables;
 import io.dingodb.test.asserts.Assert;
 import io.dingodb.test.asserts.AssertRelNode;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.calcite.rel.RelNode;
 import org.apache.calcite.rel.RelRoot;
+import org.apache.calcite.rel.core.Join;
 import org.apache.calcite.rel.core.JoinRelType;
+import org.apache.calcite.rel.core.TableScan;
 import org.apache.calcite.rel.logical.LogicalFilter;
 import org.apache.calcite.rel.logical.LogicalJoin;
 import org.apache.calcite.rel.logical.LogicalProject;
+import org.apache.calcite.rel.metadata.RelMetadataQuery;
 import org.apache.calcite.sql.SqlNode;
 import org.apache.calcite.sql.parser.SqlParseException;
+import org.apache.calcite.util.Util;
+import org.checkerframework.checker.nullness.qual.NonNull;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
 
 @Slf4j
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
@@ -184,4 +200,78 @@ public class TestJoin {
             .soleInput().isA(DingoHashJoin.class).prop("joinType", JoinRelType.RIGHT)
             .inputNum(2);
     }
+
+    private static void setRowCount(String tableName, long rowCount) {
+        TableStats tableStats = new TableStats(MockMetaServiceProvider.SCHEMA_NAME, tableName);
+        tableStats.getStatsNormalList().add(new StatsNormal("ID", rowCount, 0L, 8, rowCount));
+        tableStats.initRowCount();
+        StatsCache.statsMap.put(tableStats.getIdentifier(), tableStats);
+    }
+
+    private static void collect(@NonNull RelNode relNode, List<RelNode> relNodes) {
+        relNodes.add(relNode);
+        relNode.getInputs().forEach(input -> collect(input, relNodes));
+    }
+
+    private static @NonNull List<String> scannedTables(RelNode relNode) {
+        List<RelNode> relNodes = new ArrayList<>();
+        collect(relNode, relNodes);
+        List<String> tableNames = new ArrayList<>();
+        for (RelNode rel : relNodes) {
+            if (rel instanceof TableScan) {
+                tableNames.add(Util.last(rel.getTable().getQualifiedName()));
+            }
+        }
+        return tableNames;
+    }
+
+    private RelNode reorder(RelNode relNode) {
+        return new JoinReorderProgram().run(
+            parser.getPlanner(), relNode, relNode.getTraitSet(), ImmutableList.of(), ImmutableList.of()
+        );
+    }
+
+    @Test
+    public void testJoinReorder() throws SqlParseException {
+        setRowCount("TEST", 10);
+        setRowCount("TEST1", 1000000);
+        try {
+            String sql = "select * from test, test1, test t2"
+                + " where test.name = test1.id1 and test1.id1 = t2.name";
+            RelNode relNode = parser.convert(parser.parse(sql)).rel;
+            assertThat(scannedTables(relNode)).containsExactly("TEST", "TEST1", "TEST");
+            RelNode reordered = reorder(relNode);
+            // The big table goes to the probe (left) side, the small ones are built into hash tables.
+            assertThat(scannedTables(reordered)).hasSize(3).startsWith("TEST1");
+            List<RelNode> relNodes = new ArrayList<>();
+            collect(reordered, relNodes);
+            List<Join> joins = relNodes.stream()
+                .filter(rel -> rel instanceof Join)
+                .map(rel -> (Join) rel)
+                .collect(Collectors.toList());
+            assertThat(joins).hasSize(2);
+            RelMetadataQuery mq = reordered.getCluster().getMetadataQuery();
+            for (Join join : joins) {
+                assertThat(mq.getRowCount(join.getLeft())).isGreaterThanOrEqualTo(mq.getRowCount(join.getRight()));
+            }
+            RelNode optimized = parser.optimize(relNode);
+            Assert.relNode(optimized).isA(DingoRoot.class).streaming(DingoRelStreaming.ROOT);
+        } finally {
+            StatsCache.removeCache(MockMetaServiceProvider.SCHEMA_NAME, "TEST");
+            StatsCache.removeCache(MockMetaServiceProvider.SCHEMA_NAME, "TEST1");
+        }
+    }
+
+    @Test
+    public void testJoinReorderThreshold() throws SqlParseException {
+        String sql = "select * from test, test1, test t2"
+            + " where test.name = test1.id1 and test1.id1 = t2.name";
+        RelNode relNode = parser.convert(parser.parse(sql)).rel;
+        ScopeVariables.setExecutorProp("join_reorder_threshold", "1");
+        try {
+            assertThat(reorder(relNode)).isSameAs(relNode);
+        } finally {
+            ScopeVariables.setExecutorProp("join_reorder_threshold", "10");
+        }
+    }
 }
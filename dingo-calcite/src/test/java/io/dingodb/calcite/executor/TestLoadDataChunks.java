@@ -0,0 +1,109 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.calcite.executor;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TestLoadDataChunks {
+    private static byte[] line(int value) {
+        return new byte[]{(byte) value};
+    }
+
+    @Test
+    public void testWriteChunks() throws Exception {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<Integer> sizes = Collections.synchronizedList(new ArrayList<>());
+        LoadDataChunks chunks = new LoadDataChunks(2, 2, lines -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(10);
+            sizes.add(lines.size());
+            running.decrementAndGet();
+        });
+        for (int i = 0; i < 9; ++i) {
+            chunks.add(line(i));
+        }
+        chunks.finish();
+        assertThat(sizes).containsExactlyInAnyOrder(2, 2, 2, 2, 1);
+        assertThat(maxRunning.get()).isBetween(1, 2);
+        assertThat(running.get()).isZero();
+    }
+
+    @Test
+    public void testBlockWhenFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger written = new AtomicInteger();
+        LoadDataChunks chunks = new LoadDataChunks(1, 1, lines -> {
+            release.await();
+            written.incrementAndGet();
+        });
+        chunks.add(line(0));
+        CountDownLatch added = new CountDownLatch(1);
+        Thread thread = new Thread(() -> {
+            try {
+                chunks.add(line(1));
+                added.countDown();
+            } catch (InterruptedException ignored) {
+            }
+        });
+        thread.start();
+        // The second chunk waits for the first one.
+        assertThat(added.await(100, TimeUnit.MILLISECONDS)).isFalse();
+        release.countDown();
+        assertThat(added.await(10, TimeUnit.SECONDS)).isTrue();
+        chunks.finish();
+        assertThat(written.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void testFailureAbortsLoad() throws Exception {
+        AtomicInteger written = new AtomicInteger();
+        LoadDataChunks chunks = new LoadDataChunks(1, 1, lines -> {
+            written.incrementAndGet();
+            throw new IllegalStateException("chunk failed");
+        });
+        chunks.add(line(0));
+        // The failure is seen when the next chunk gets its permit.
+        assertThatThrownBy(() -> chunks.add(line(1)))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("chunk failed");
+        assertThatThrownBy(chunks::finish)
+            .isInstanceOf(IllegalStateException.class);
+        assertThat(written.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void testCheckedFailure() throws Exception {
+        LoadDataChunks chunks = new LoadDataChunks(4, 2, lines -> {
+            throw new Exception("checked");
+        });
+        chunks.add(line(0));
+        assertThatThrownBy(chunks::finish)
+            .isInstanceOf(RuntimeException.class)
+            .hasRootCauseMessage("checked");
+    }
+}
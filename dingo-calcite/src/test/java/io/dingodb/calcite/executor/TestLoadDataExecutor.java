@@ -0,0 +1,75 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.calcite.executor;
+
+import io.dingodb.store.api.transaction.exception.RegionSplitException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TestLoadDataExecutor {
+    @Test
+    public void testRetryCounting() {
+        List<Boolean> refreshes = new ArrayList<>();
+        int retries = LoadDataExecutor.insertWithRetry(refresh -> {
+            refreshes.add(refresh);
+            if (refreshes.size() < 3) {
+                throw new RegionSplitException();
+            }
+        }, 5, 20, 0);
+        assertThat(retries).isEqualTo(7);
+        assertThat(refreshes).containsExactly(false, true, true);
+    }
+
+    @Test
+    public void testRetryOnRegionEpoch() {
+        List<Boolean> refreshes = new ArrayList<>();
+        int retries = LoadDataExecutor.insertWithRetry(refresh -> {
+            refreshes.add(refresh);
+            if (!refresh) {
+                throw new RuntimeException("Key out of range");
+            }
+        }, 0, 20, 0);
+        assertThat(retries).isEqualTo(1);
+        assertThat(refreshes).containsExactly(false, true);
+    }
+
+    @Test
+    public void testRetryExhausted() {
+        List<Boolean> refreshes = new ArrayList<>();
+        // Retries already taken by former rows of the chunk count.
+        assertThatThrownBy(() -> LoadDataExecutor.insertWithRetry(refresh -> {
+            refreshes.add(refresh);
+            throw new RegionSplitException();
+        }, 18, 20, 0)).isInstanceOf(RegionSplitException.class);
+        assertThat(refreshes).hasSize(4);
+    }
+
+    @Test
+    public void testNotRetryOtherErrors() {
+        List<Boolean> refreshes = new ArrayList<>();
+        assertThatThrownBy(() -> LoadDataExecutor.insertWithRetry(refresh -> {
+            refreshes.add(refresh);
+            throw new IllegalStateException();
+        }, 0, 20, 0)).isInstanceOf(IllegalStateException.class);
+        assertThat(refreshes).containsExactly(false);
+    }
+}
@@ -45,6 +45,7 @@ public class MockMetaServiceProvider {
             metaService = metaService.getSubMetaService(SCHEMA_NAME);
             String test = "test";
             String test1 = "test1";
+            String testTxn = "test_txn";
             String tableDate = "table-with-date";
             String tableArray = "table-with-array";
             metaService.createTable(
@@ -53,6 +54,10 @@ public class MockMetaServiceProvider {
             metaService.createTable
                 (test1, TableDefinition.readJson(MockMetaServiceProvider.class.getResourceAsStream("/table-test1.json"))
                 );
+            metaService.createTable(
+                testTxn,
+                TableDefinition.readJson(MockMetaServiceProvider.class.getResourceAsStream("/table-test-txn.json"))
+            );
             metaService.createTable(
                 tableDate,
                 TableDefinition.readJson(MockMetaServiceProvider.class.getResourceAsStream("/table-with-date.json"))
@@ -68,6 +73,7 @@ public class MockMetaServiceProvider {
 
             CommonId testTableId = metaService.getTable(test).getTableId();
             CommonId test1TableId = metaService.getTable(test1).getTableId();
+            CommonId testTxnTableId = metaService.getTable(testTxn).getTableId();
             CommonId testDateTableId = metaService.getTable(tableDate).getTableId();
             CommonId testArrayTableId = metaService.getTable(tableArray).getTableId();
 
@@ -77,6 +83,9 @@ public class MockMetaServiceProvider {
             ((LocalMetaService) metaService).addRangeDistributions(test1TableId, begin, partition);
             ((LocalMetaService) metaService).addRangeDistributions(test1TableId, partition, end);
 
+            ((LocalMetaService) metaService).addRangeDistributions(testTxnTableId, begin, partition);
+            ((LocalMetaService) metaService).addRangeDistributions(testTxnTableId, partition, end);
+
 
             ((LocalMetaService) metaService).addRangeDistributions(testDateTableId, begin, partition);
             ((LocalMetaService) metaService).addRangeDistributions(testDateTableId, partition, end);
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.calcite.rule.dingo;
+
+import io.dingodb.calcite.DingoParser;
+import io.dingodb.calcite.DingoParserContext;
+import io.dingodb.calcite.mock.MockMetaServiceProvider;
+import io.dingodb.calcite.rel.LogicalDingoTableScan;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.logical.LogicalJoin;
+import org.apache.calcite.sql.parser.SqlParseException;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestDingoLookupJoinRule {
+    private static DingoParserContext context;
+    private DingoParser parser;
+
+    @BeforeAll
+    public static void setupAll() {
+        MockMetaServiceProvider.init();
+        context = new DingoParserContext(MockMetaServiceProvider.SCHEMA_NAME, new Properties());
+    }
+
+    @BeforeEach
+    public void setup() {
+        parser = new DingoParser(context);
+    }
+
+    private static @NonNull LogicalJoin findJoin(@NonNull RelNode relNode) {
+        if (relNode instanceof LogicalJoin) {
+            return (LogicalJoin) relNode;
+        }
+        return findJoin(relNode.getInput(0));
+    }
+
+    private @NonNull LogicalJoin join(String sql) throws SqlParseException {
+        return findJoin(parser.convert(parser.parse(sql)).rel);
+    }
+
+    @Test
+    public void testPrimaryKey() throws SqlParseException {
+        LogicalJoin join = join("select * from test join test_txn on test.id = test_txn.id");
+        LogicalDingoTableScan scan = (LogicalDingoTableScan) join.getRight();
+        assertThat(DingoLookupJoinRule.matchJoin(join)).isTrue();
+        assertThat(DingoLookupJoinRule.matchScan(scan)).isTrue();
+        assertThat(DingoLookupJoinRule.lookupKeys(join, scan)).containsExactly(0);
+    }
+
+    @Test
+    public void testLeftJoin() throws SqlParseException {
+        LogicalJoin join = join("select * from test1 left join test_txn on test1.id0 = test_txn.id");
+        LogicalDingoTableScan scan = (LogicalDingoTableScan) join.getRight();
+        assertThat(DingoLookupJoinRule.matchJoin(join)).isTrue();
+        assertThat(DingoLookupJoinRule.lookupKeys(join, scan)).containsExactly(0);
+    }
+
+    @Test
+    public void testNotPrimaryKey() throws SqlParseException {
+        LogicalJoin join = join("select * from test join test_txn on test.name = test_txn.name");
+        LogicalDingoTableScan scan = (LogicalDingoTableScan) join.getRight();
+        assertThat(DingoLookupJoinRule.matchScan(scan)).isTrue();
+        assertThat(DingoLookupJoinRule.lookupKeys(join, scan)).isNull();
+    }
+
+    @Test
+    public void testNotTxnTable() throws SqlParseException {
+        LogicalJoin join = join("select * from test_txn join test on test_txn.id = test.id");
+        assertThat(DingoLookupJoinRule.matchScan((LogicalDingoTableScan) join.getRight())).isFalse();
+    }
+
+    @Test
+    public void testRightJoin() throws SqlParseException {
+        LogicalJoin join = join("select * from test right join test_txn on test.id = test_txn.id");
+        assertThat(DingoLookupJoinRule.matchJoin(join)).isFalse();
+    }
+}
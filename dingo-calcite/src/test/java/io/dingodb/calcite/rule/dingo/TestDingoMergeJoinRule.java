@@ -0,0 +1,136 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.calcite.rule.dingo;
+
+import io.dingodb.calcite.DingoParser;
+import io.dingodb.calcite.DingoParserContext;
+import io.dingodb.calcite.mock.MockMetaServiceProvider;
+import io.dingodb.calcite.rel.LogicalDingoTableScan;
+import io.dingodb.calcite.rel.logical.LogicalScanWithRelOp;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.logical.LogicalJoin;
+import org.apache.calcite.sql.parser.SqlParseException;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestDingoMergeJoinRule {
+    private static DingoParserContext context;
+    private DingoParser parser;
+
+    @BeforeAll
+    public static void setupAll() {
+        MockMetaServiceProvider.init();
+        context = new DingoParserContext(MockMetaServiceProvider.SCHEMA_NAME, new Properties());
+    }
+
+    @BeforeEach
+    public void setup() {
+        parser = new DingoParser(context);
+    }
+
+    private static @NonNull LogicalJoin findJoin(@NonNull RelNode relNode) {
+        if (relNode instanceof LogicalJoin) {
+            return (LogicalJoin) relNode;
+        }
+        return findJoin(relNode.getInput(0));
+    }
+
+    private static @NonNull LogicalScanWithRelOp scan(@NonNull RelNode relNode) {
+        LogicalDingoTableScan scan = (LogicalDingoTableScan) relNode;
+        return new LogicalScanWithRelOp(
+            scan.getCluster(),
+            scan.getTraitSet(),
+            scan.getHints(),
+            scan.getTable(),
+            scan.getRowType(),
+            null,
+            null,
+            false,
+            0,
+            0
+        );
+    }
+
+    /**
+     * Get the join of the sql, with the inputs replaced by scans with rel op as the rule is matched in optimizing.
+     */
+    private @NonNull LogicalJoin join(String sql) throws SqlParseException {
+        LogicalJoin join = findJoin(parser.convert(parser.parse(sql)).rel);
+        return join.copy(
+            join.getTraitSet(),
+            join.getCondition(),
+            scan(join.getLeft()),
+            scan(join.getRight()),
+            join.getJoinType(),
+            join.isSemiJoinDone()
+        );
+    }
+
+    @Test
+    public void testPrimaryKey() throws SqlParseException {
+        LogicalJoin join = join("select * from test join test_txn on test.id = test_txn.id");
+        LogicalScanWithRelOp left = (LogicalScanWithRelOp) join.getLeft();
+        LogicalScanWithRelOp right = (LogicalScanWithRelOp) join.getRight();
+        assertThat(DingoMergeJoinRule.matchJoin(join)).isTrue();
+        assertThat(DingoMergeJoinRule.matchScan(left)).isTrue();
+        assertThat(DingoMergeJoinRule.matchScan(right)).isTrue();
+        int[][] keys = DingoMergeJoinRule.mergeKeys(join, left, right);
+        assertThat(keys).isNotNull();
+        assertThat(keys[0]).containsExactly(0);
+        assertThat(keys[1]).containsExactly(0);
+    }
+
+    @Test
+    public void testFullJoin() throws SqlParseException {
+        LogicalJoin join = join("select * from test full join test1 on test.id = test1.id0");
+        assertThat(DingoMergeJoinRule.matchJoin(join)).isTrue();
+        int[][] keys = DingoMergeJoinRule.mergeKeys(
+            join,
+            (LogicalScanWithRelOp) join.getLeft(),
+            (LogicalScanWithRelOp) join.getRight()
+        );
+        assertThat(keys).isNotNull();
+        assertThat(keys[0]).containsExactly(0);
+        assertThat(keys[1]).containsExactly(0);
+    }
+
+    @Test
+    public void testNotLeadingKey() throws SqlParseException {
+        LogicalJoin join = join("select * from test1 join test1 t2 on test1.id1 = t2.id1");
+        assertThat(DingoMergeJoinRule.mergeKeys(
+            join,
+            (LogicalScanWithRelOp) join.getLeft(),
+            (LogicalScanWithRelOp) join.getRight()
+        )).isNull();
+    }
+
+    @Test
+    public void testNotPrimaryKey() throws SqlParseException {
+        LogicalJoin join = join("select * from test join test_txn on test.name = test_txn.name");
+        assertThat(DingoMergeJoinRule.mergeKeys(
+            join,
+            (LogicalScanWithRelOp) join.getLeft(),
+            (LogicalScanWithRelOp) join.getRight()
+        )).isNull();
+    }
+}
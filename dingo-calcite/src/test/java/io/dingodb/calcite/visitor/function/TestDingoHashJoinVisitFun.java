@@ -0,0 +1,108 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.calcite.visitor.function;
+
+import io.dingodb.common.CommonId;
+import io.dingodb.exec.base.OutputHint;
+import io.dingodb.exec.base.Task;
+import io.dingodb.exec.dag.Vertex;
+import io.dingodb.exec.operator.params.PassThroughParam;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import static io.dingodb.exec.utils.OperatorCodeUtils.PASS_THROUGH;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TestDingoHashJoinVisitFun {
+    private static @NonNull Task task(long seq) {
+        Task task = mock(Task.class);
+        when(task.getId()).thenReturn(new CommonId(CommonId.CommonType.TASK, 1, seq));
+        return task;
+    }
+
+    private static @NonNull Vertex input(Task task, int partIndex) {
+        Vertex vertex = new Vertex(PASS_THROUGH, new PassThroughParam());
+        vertex.setTask(task);
+        if (partIndex >= 0) {
+            OutputHint hint = new OutputHint();
+            hint.setPartId(OutputHint.hashPartId(partIndex));
+            vertex.setHint(hint);
+        }
+        return vertex;
+    }
+
+    @Test
+    public void testPairByTaskAndPartition() {
+        Task task0 = task(1);
+        Task task1 = task(2);
+        Vertex left00 = input(task0, 0);
+        Vertex left01 = input(task0, 1);
+        Vertex left10 = input(task1, 0);
+        Vertex right00 = input(task0, 0);
+        Vertex right01 = input(task0, 1);
+        Vertex right10 = input(task1, 0);
+        Map<Vertex, Vertex> pairs = DingoHashJoinVisitFun.pairInputs(
+            Arrays.asList(left00, left01, left10),
+            Arrays.asList(right10, right01, right00)
+        );
+        assertThat(pairs).hasSize(3)
+            .containsEntry(left00, right00)
+            .containsEntry(left01, right01)
+            .containsEntry(left10, right10);
+    }
+
+    @Test
+    public void testPairWithoutPartition() {
+        Task task = task(1);
+        Vertex left = input(task, -1);
+        Vertex right = input(task, -1);
+        Map<Vertex, Vertex> pairs = DingoHashJoinVisitFun.pairInputs(
+            Collections.singletonList(left),
+            Collections.singletonList(right)
+        );
+        assertThat(pairs).hasSize(1).containsEntry(left, right);
+    }
+
+    @Test
+    public void testUnmatchedInput() {
+        Task task = task(1);
+        assertThatThrownBy(() -> DingoHashJoinVisitFun.pairInputs(
+            Arrays.asList(input(task, 0), input(task, 1)),
+            Collections.singletonList(input(task, 0))
+        )).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> DingoHashJoinVisitFun.pairInputs(
+            Collections.singletonList(input(task, 0)),
+            Arrays.asList(input(task, 0), input(task, 1))
+        )).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void testDuplicatedInput() {
+        Task task = task(1);
+        assertThatThrownBy(() -> DingoHashJoinVisitFun.pairInputs(
+            Arrays.asList(input(task, -1), input(task, -1)),
+            Collections.singletonList(input(task, -1))
+        )).isInstanceOf(IllegalStateException.class);
+    }
+}
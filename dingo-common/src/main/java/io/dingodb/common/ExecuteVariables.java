@@ -28,4 +28,9 @@ public class ExecuteVariables {
     private boolean isJoinConcurrency = false;
     private int concurrencyLevel = CONCURRENCY_COUNT;
     private boolean isInsertCheckInplace = false;
+    /**
+     * Number of hash partitions of hash join, each partition builds and probes independently. Non-positive means
+     * one partition on each computing location if join concurrency is enabled, otherwise one partition.
+     */
+    private int joinPartitionNum = 0;
 }
@@ -19,6 +19,7 @@ package io.dingodb.common.mysql.scope;
 import io.dingodb.common.metrics.DingoMetrics;
 import io.dingodb.common.util.Utils;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -163,6 +164,66 @@ public final class ScopeVariables {
         }
     }
 
+    /**
+     * Memory budget in bytes of a single blocking operator (hash join build side etc.), exceeding it makes the
+     * operator spill to local disk.
+     * @return memory limit in bytes
+     */
+    public static long getOperatorMemoryLimit() {
+        try {
+            String limitStr = executorProp.getOrDefault("operator_memory_limit", "536870912").toString();
+            return Long.parseLong(limitStr);
+        } catch (Exception e) {
+            return 536870912L;
+        }
+    }
+
+    /**
+     * Max number of sub-ranges (morsels) a region scan is split into, so that scans over few regions still use
+     * {@code dingo_partition_execute_concurrency} threads. 1 disables splitting.
+     * @return max morsels per region
+     */
+    public static int getScanMorselSplit() {
+        try {
+            String split = executorProp.getOrDefault("scan_morsel_split", "4").toString();
+            return Integer.parseInt(split);
+        } catch (Exception e) {
+            return 4;
+        }
+    }
+
+    /**
+     * Max number of row chunks a LOAD DATA statement parses and commits concurrently.
+     * @return load data parallelism
+     */
+    public static int getLoadDataParallel() {
+        try {
+            String parallel = executorProp.getOrDefault("load_data_parallel", "4").toString();
+            return Math.max(1, Integer.parseInt(parallel));
+        } catch (Exception e) {
+            return 4;
+        }
+    }
+
+    /**
+     * Max number of joins of a query that are reordered by the table statistics, 0 disables the reordering.
+     * @return join reorder threshold
+     */
+    public static int getJoinReorderThreshold() {
+        try {
+            String threshold = executorProp.getOrDefault("join_reorder_threshold", "10").toString();
+            return Integer.parseInt(threshold);
+        } catch (Exception e) {
+            return 10;
+        }
+    }
+
+    public static String getSpillDir() {
+        return executorProp.getOrDefault(
+            "spill_dir", System.getProperty("java.io.tmpdir") + File.separator + "dingo-spill"
+        ).toString();
+    }
+
     public static synchronized void setExecutorProp(String key, String val) {
         if ("rpc_batch_size".equalsIgnoreCase(key)) {
             int rpcBatchSize = Integer.parseInt(val);
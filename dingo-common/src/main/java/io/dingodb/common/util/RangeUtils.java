@@ -16,10 +16,17 @@
 
 package io.dingodb.common.util;
 
+import io.dingodb.common.CommonId;
 import io.dingodb.common.partition.RangeDistribution;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.List;
 import java.util.NavigableSet;
 import java.util.TreeSet;
 import java.util.function.Function;
@@ -31,6 +38,13 @@ import static io.dingodb.common.util.ByteArrayUtils.equal;
 import static io.dingodb.common.util.ByteArrayUtils.greatThan;
 
 public class RangeUtils {
+    // Covers the tag and the value of a leading long key column.
+    private static final int SPLIT_BYTES = 16;
+    // The exclusive upper bound of the split values in a partition.
+    private static final BigInteger PARTITION_END = BigInteger.ONE.shiftLeft(SPLIT_BYTES * Byte.SIZE);
+    // Encoded keys lead with the not-null tag of the first key column.
+    private static final BigInteger NOT_NULL_START = BigInteger.ONE.shiftLeft((SPLIT_BYTES - 1) * Byte.SIZE);
+    private static final BigInteger NOT_NULL_END = NOT_NULL_START.shiftLeft(1);
 
     public static Comparator<RangeDistribution> rangeComparator() {
         return (r1, r2) -> ByteArrayUtils.compare(r1.getStartKey(), r2.getStartKey(), SKIP_LONG_POS);
@@ -113,6 +127,99 @@ public class RangeUtils {
         return subRanges;
     }
 
+    /**
+     * Split a range of a single region into at most {@code num} contiguous sub-ranges of the same region.
+     *
+     * @see #splitRange(RangeDistribution, int, RangeDistribution)
+     */
+    public static List<RangeDistribution> splitRange(RangeDistribution range, int num) {
+        return splitRange(range, num, null);
+    }
+
+    /**
+     * Split a range of a single region into at most {@code num} contiguous sub-ranges of the same region, cut evenly
+     * in the key space actually used, i.e. the first {@link #SPLIT_BYTES} bytes after the partition prefix
+     * {@code [namespace(1)|id(8)]}, restricted to {@code keys}.
+     *
+     * <p>{@code keys} is the range of the keys in use, e.g. the encoded min and max values of the first key column in
+     * the table statistics, compared after the partition prefix. Without it, the keys are those leading with the
+     * not-null tag, for key columns are not nullable. An inclusive end covers all the keys prefixed by it, and an end
+     * key beyond the partition (e.g. the start key of the next partition, as in full scans) is clamped to the end of
+     * the partition. Only the cut points are restricted, so the sub-ranges still cover the whole range. The range is
+     * returned as is if the start key is not in a partition or the bounds are too close.
+     */
+    public static List<RangeDistribution> splitRange(
+        RangeDistribution range,
+        int num,
+        @Nullable RangeDistribution keys
+    ) {
+        byte[] startKey = range.getStartKey();
+        byte[] endKey = range.getEndKey();
+        if (num <= 1 || startKey == null || endKey == null || startKey.length < SKIP_LONG_POS) {
+            return Collections.singletonList(range);
+        }
+        byte[] prefix = Arrays.copyOf(startKey, SKIP_LONG_POS);
+        BigInteger start = splitValue(startKey, (byte) 0);
+        BigInteger end;
+        if (endKey.length >= SKIP_LONG_POS && equal(Arrays.copyOf(endKey, SKIP_LONG_POS), prefix)) {
+            end = splitValue(endKey, range.isWithEnd() ? (byte) 0xFF : (byte) 0);
+        } else if (ByteArrayUtils.compare(endKey, prefix) > 0) {
+            end = PARTITION_END;
+        } else {
+            return Collections.singletonList(range);
+        }
+        BigInteger low = NOT_NULL_START;
+        BigInteger high = NOT_NULL_END;
+        if (keys != null && keys.getStartKey() != null && keys.getEndKey() != null
+            && keys.getStartKey().length >= SKIP_LONG_POS && keys.getEndKey().length >= SKIP_LONG_POS) {
+            low = splitValue(keys.getStartKey(), (byte) 0);
+            high = splitValue(keys.getEndKey(), (byte) 0xFF).add(BigInteger.ONE);
+        }
+        BigInteger from = start.max(low);
+        BigInteger step = end.min(high).subtract(from).divide(BigInteger.valueOf(num));
+        if (step.signum() <= 0) {
+            return Collections.singletonList(range);
+        }
+        List<RangeDistribution> ranges = new ArrayList<>(num);
+        byte[] lowKey = startKey;
+        Object[] lowTuple = range.getStart();
+        boolean withLow = range.isWithStart();
+        for (int i = 1; i < num; ++i) {
+            byte[] key = Arrays.copyOf(prefix, SKIP_LONG_POS + SPLIT_BYTES);
+            byte[] value = from.add(step.multiply(BigInteger.valueOf(i))).toByteArray();
+            // `toByteArray` is big-endian two's complement, so it may have a leading sign byte or be shorter.
+            int len = Math.min(value.length, SPLIT_BYTES);
+            System.arraycopy(value, value.length - len, key, key.length - len, len);
+            ranges.add(subRange(range.getId(), lowKey, key, lowTuple, null, withLow, false));
+            lowKey = key;
+            lowTuple = null;
+            withLow = true;
+        }
+        ranges.add(subRange(range.getId(), lowKey, endKey, lowTuple, range.getEnd(), withLow, range.isWithEnd()));
+        return ranges;
+    }
+
+    private static BigInteger splitValue(byte[] key, byte pad) {
+        byte[] bytes = new byte[SPLIT_BYTES + 1];
+        Arrays.fill(bytes, 1, bytes.length, pad);
+        System.arraycopy(key, SKIP_LONG_POS, bytes, 1, Math.min(key.length - SKIP_LONG_POS, SPLIT_BYTES));
+        return new BigInteger(bytes);
+    }
+
+    private static RangeDistribution subRange(
+        CommonId id, byte[] startKey, byte[] endKey, Object[] start, Object[] end, boolean withStart, boolean withEnd
+    ) {
+        return RangeDistribution.builder()
+            .id(id)
+            .startKey(startKey)
+            .endKey(endKey)
+            .start(start)
+            .end(end)
+            .withStart(withStart)
+            .withEnd(withEnd)
+            .build();
+    }
+
     private static boolean checkStartIn(byte[] rangeStart, byte[] regionEnd, boolean withStart, int pos) {
         return compareWithoutLen(rangeStart, regionEnd, pos) < 0
             || (withStart && rangeStart.length != regionEnd.length && compareWithoutLen(rangeStart, regionEnd, pos) == 0);
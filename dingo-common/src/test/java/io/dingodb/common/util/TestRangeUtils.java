@@ -0,0 +1,143 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.common.util;
+
+import io.dingodb.common.CommonId;
+import io.dingodb.common.partition.RangeDistribution;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static io.dingodb.common.util.ByteArrayUtils.SKIP_LONG_POS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestRangeUtils {
+    private static final CommonId ID = new CommonId(CommonId.CommonType.PARTITION, 1, 5);
+
+    private static byte[] key(long partId, int... bytes) {
+        byte[] key = new byte[SKIP_LONG_POS + bytes.length];
+        key[0] = 't';
+        for (int i = 0; i < 8; ++i) {
+            key[8 - i] = (byte) (partId >>> (8 * i));
+        }
+        for (int i = 0; i < bytes.length; ++i) {
+            key[SKIP_LONG_POS + i] = (byte) bytes[i];
+        }
+        return key;
+    }
+
+    private static RangeDistribution range(byte[] startKey, byte[] endKey, boolean withEnd) {
+        return RangeDistribution.builder()
+            .id(ID)
+            .startKey(startKey)
+            .endKey(endKey)
+            .start(new Object[]{1})
+            .end(new Object[]{2})
+            .withStart(true)
+            .withEnd(withEnd)
+            .build();
+    }
+
+    private static void assertContiguous(List<RangeDistribution> ranges, RangeDistribution range) {
+        assertThat(ranges.get(0).getStartKey()).isEqualTo(range.getStartKey());
+        assertThat(ranges.get(0).getStart()).isEqualTo(range.getStart());
+        assertThat(ranges.get(ranges.size() - 1).getEndKey()).isEqualTo(range.getEndKey());
+        assertThat(ranges.get(ranges.size() - 1).getEnd()).isEqualTo(range.getEnd());
+        assertThat(ranges.get(ranges.size() - 1).isWithEnd()).isEqualTo(range.isWithEnd());
+        for (int i = 0; i < ranges.size(); ++i) {
+            RangeDistribution r = ranges.get(i);
+            assertThat(r.getId()).isEqualTo(ID);
+            assertThat(r.isWithStart()).isTrue();
+            if (i > 0) {
+                assertThat(r.getStartKey()).isEqualTo(ranges.get(i - 1).getEndKey());
+                assertThat(ranges.get(i - 1).isWithEnd()).isFalse();
+                assertThat(ByteArrayUtils.compare(r.getStartKey(), ranges.get(i - 1).getStartKey())).isPositive();
+            }
+        }
+    }
+
+    // A cut key, padded to 16 bytes after the prefix of partition 5.
+    private static byte[] cut(int... bytes) {
+        return key(5, Arrays.copyOf(bytes, 16));
+    }
+
+    @Test
+    public void testSplitFullPartition() {
+        // A full scan ends at the start key of the next partition, and the keys lead with the not-null tag.
+        RangeDistribution range = range(key(5), key(6), false);
+        List<RangeDistribution> ranges = RangeUtils.splitRange(range, 4);
+        assertThat(ranges).hasSize(4);
+        assertContiguous(ranges, range);
+        assertThat(ranges.get(1).getStartKey()).isEqualTo(cut(0x01, 0x40));
+        assertThat(ranges.get(2).getStartKey()).isEqualTo(cut(0x01, 0x80));
+        assertThat(ranges.get(3).getStartKey()).isEqualTo(cut(0x01, 0xC0));
+    }
+
+    @Test
+    public void testSplitByKeys() {
+        // Keys of integer 1 to 1000.
+        RangeDistribution keys = range(key(0, 0x01, 0x80, 0, 0, 0x01), key(0, 0x01, 0x80, 0, 0x03, 0xE8), true);
+        RangeDistribution range = range(key(5), key(6), false);
+        List<RangeDistribution> ranges = RangeUtils.splitRange(range, 4, keys);
+        assertThat(ranges).hasSize(4);
+        assertContiguous(ranges, range);
+        assertThat(ranges.get(1).getStartKey()).isEqualTo(cut(0x01, 0x80, 0, 0, 0xFB));
+        assertThat(ranges.get(2).getStartKey()).isEqualTo(cut(0x01, 0x80, 0, 0x01, 0xF5));
+        assertThat(ranges.get(3).getStartKey()).isEqualTo(cut(0x01, 0x80, 0, 0x02, 0xEF));
+    }
+
+    @Test
+    public void testSplitInPartition() {
+        RangeDistribution range = range(key(5, 0x01, 0x10), key(5, 0x01, 0x20), false);
+        List<RangeDistribution> ranges = RangeUtils.splitRange(range, 4);
+        assertThat(ranges).hasSize(4);
+        assertContiguous(ranges, range);
+        assertThat(ranges.get(1).getStartKey()).isEqualTo(cut(0x01, 0x14));
+        assertThat(ranges.get(3).getStartKey()).isEqualTo(cut(0x01, 0x1C));
+    }
+
+    @Test
+    public void testSplitInclusiveEnd() {
+        // An inclusive end covers all the keys prefixed by it.
+        RangeDistribution range = range(key(5, 0x01, 0x10), key(5, 0x01, 0x10), true);
+        List<RangeDistribution> ranges = RangeUtils.splitRange(range, 2);
+        assertThat(ranges).hasSize(2);
+        assertContiguous(ranges, range);
+        int[] expected = new int[16];
+        Arrays.fill(expected, 0xFF);
+        expected[0] = 0x01;
+        expected[1] = 0x10;
+        expected[2] = 0x7F;
+        assertThat(ranges.get(1).getStartKey()).isEqualTo(cut(expected));
+    }
+
+    @Test
+    public void testNotSplit() {
+        RangeDistribution range = range(key(5), key(6), false);
+        assertThat(RangeUtils.splitRange(range, 1)).containsExactly(range);
+        RangeDistribution empty = range(key(5, 0x01, 0x10), key(5, 0x01, 0x10), false);
+        assertThat(RangeUtils.splitRange(empty, 4)).containsExactly(empty);
+        RangeDistribution before = range(key(5), Arrays.copyOf(key(5), 4), false);
+        assertThat(RangeUtils.splitRange(before, 4)).containsExactly(before);
+        RangeDistribution outside = range(new byte[]{'t'}, key(6), false);
+        assertThat(RangeUtils.splitRange(outside, 4)).containsExactly(outside);
+        // No keys in use after the not-null tag.
+        RangeDistribution unused = range(key(5, 0x02), key(6), false);
+        assertThat(RangeUtils.splitRange(unused, 4)).containsExactly(unused);
+    }
+}
@@ -43,6 +43,7 @@ import io.dingodb.calcite.rel.DingoDiskAnnStatus;
 import io.dingodb.calcite.rel.DingoDocument;
 import io.dingodb.calcite.rel.DingoVector;
 import io.dingodb.calcite.runtime.DingoResource;
+import io.dingodb.calcite.stats.StatsCache;
 import io.dingodb.calcite.type.converter.DefinitionMapper;
 import io.dingodb.calcite.utils.HybridNodeUtils;
 import io.dingodb.calcite.utils.SqlUtil;
@@ -56,6 +57,7 @@ import io.dingodb.common.config.DingoConfiguration;
 import io.dingodb.common.environment.ExecutionEnvironment;
 import io.dingodb.common.log.LogUtils;
 import io.dingodb.common.metrics.DingoMetrics;
+import io.dingodb.common.mysql.scope.ScopeVariables;
 import io.dingodb.common.mysql.util.DataTimeUtils;
 import io.dingodb.common.profile.CommitProfile;
 import io.dingodb.common.profile.ExecProfile;
@@ -69,6 +71,7 @@ import io.dingodb.exec.fin.ErrorType;
 import io.dingodb.exec.transaction.base.ITransaction;
 import io.dingodb.exec.transaction.base.TransactionType;
 import io.dingodb.meta.MetaService;
+import io.dingodb.meta.entity.InfoSchema;
 import io.dingodb.meta.entity.Table;
 import io.dingodb.store.api.transaction.data.IsolationLevel;
 import io.dingodb.store.api.transaction.exception.LockWaitException;
@@ -129,9 +132,17 @@ import static io.dingodb.exec.transaction.base.TransactionType.NONE;
 
 @Slf4j
 public final class DingoDriverParser extends DingoParser {
+    // Optimized plans only depend on the sql text, the schema snapshot, the statistics, the planner options of the
+    // connection and the cost variables, and are not modified by job rendering, so statements repeated on any
+    // connection can share them. A DDL bumps the schema meta version and a statistics refresh bumps the statistics
+    // version, so stale plans are never hit again and age out of the cache.
+    private static final PlanCache PLAN_CACHE = new PlanCache(1024);
+
     private final DingoConnection connection;
     @Getter
     private boolean inTransaction;
+    // Set if the statement is rewritten with the id of the connection, e.g. for variables, so its plan is not shared.
+    private boolean connectionDependent;
     @Getter
     private final PlanProfile planProfile;
     @Getter
@@ -280,6 +291,7 @@ public final class DingoDriverParser extends DingoParser {
         } catch (SqlParseException e) {
             throw ExceptionUtils.toRuntime(e);
         }
+        connectionDependent = false;
         syntacticSugar(sqlNode);
         planProfile.endParse();
         JavaTypeFactory typeFactory = connection.getTypeFactory();
@@ -379,6 +391,7 @@ public final class DingoDriverParser extends DingoParser {
             newTxn = true;
         }
         startTs = transaction.getStartTs();
+        InfoSchema is = transaction.getIs();
         Meta.StatementType statementType;
         RelDataType type;
         DingoSqlValidator validator = getSqlValidator();
@@ -471,12 +484,28 @@ public final class DingoDriverParser extends DingoParser {
         }
 
         long start = System.currentTimeMillis();
-        final RelRoot relRoot = convert(sqlNode, false);
-        RelNode relNode = optimize(relRoot.rel);
+        String planCacheKey = null;
+        if (explain == null && !trace && pointTs == 0 && !needExport(sqlNode) && !validator.isHybridSearch()) {
+            planCacheKey = planCacheKey(sql, is);
+        }
+        RelNode relNode = PLAN_CACHE.get(planCacheKey);
+        if (relNode == null) {
+            final RelRoot relRoot = convert(sqlNode, false);
+            relNode = optimize(relRoot.rel);
+            markAutoIncForDml(relNode);
+            if (planCacheKey != null) {
+                // The cached plan keeps the cluster, and so the planner, of this connection alive. Drop the memo of
+                // the planner, which is not needed once the best plan is found, so only the plan itself is retained.
+                getPlanner().clear();
+                relNode.getCluster().invalidateMetadataQuery();
+                PLAN_CACHE.put(planCacheKey, relNode);
+            }
+        } else {
+            DingoMetrics.counter("planCacheHit").inc();
+        }
         long sub = System.currentTimeMillis() - start;
         DingoMetrics.timer("relOptimize").update(sub, TimeUnit.MILLISECONDS);
         planProfile.endOptimize();
-        markAutoIncForDml(relNode);
 
         Set<RelOptTable> tables = useTables(relNode, sqlNode);
         boolean isTxn = checkEngine(sqlNode, tables, connection.getTransaction(), planProfile, newTxn);
@@ -488,18 +517,11 @@ public final class DingoDriverParser extends DingoParser {
         }
         // mysql protocol dml response ok need in transaction flag
 
-        boolean pessimisticTxn = transaction.isPessimistic();
-        if (pessimisticTxn) {
-            transaction.setForUpdateTs(jobSeqId);
-        }
         Location currentLocation = MetaService.root().currentLocation();
         RelDataType parasType = validator.getParameterRowType(sqlNode);
-        if (pessimisticTxn && transaction.getPrimaryKeyLock() == null && explain == null) {
-            runPessimisticPrimaryKeyJob(jobSeqId, jobManager, transaction, sqlNode, relNode,
-                currentLocation, DefinitionMapper.mapToDingoType(parasType),
-                new ExecuteVariables(isJoinConcurrency(), getConcurrencyLevel(), isInsertCheckInplace()));
-            jobSeqId = transaction.getForUpdateTs();
-        }
+        jobSeqId = preparePessimistic(
+            jobManager, jobSeqId, transaction, sqlNode, relNode, currentLocation, parasType, explain == null
+        );
         String maxExecutionTimeStr = connection.getClientInfo("max_execution_time");
         maxExecutionTimeStr = maxExecutionTimeStr == null ? "0" : maxExecutionTimeStr;
         long maxTimeOut = Long.parseLong(maxExecutionTimeStr);
@@ -515,7 +537,9 @@ public final class DingoDriverParser extends DingoParser {
             true,
             transaction.getType() == NONE ? null : connection.getTransaction(),
             sqlNode.getKind(),
-            new ExecuteVariables(isJoinConcurrency(), getConcurrencyLevel(), isInsertCheckInplace()),
+            new ExecuteVariables(
+                isJoinConcurrency(), getConcurrencyLevel(), isInsertCheckInplace(), getJoinPartitionNum()
+            ),
             pointTs
         );
         if (explain != null) {
@@ -554,7 +578,7 @@ public final class DingoDriverParser extends DingoParser {
             statementType = Meta.StatementType.CALL;
         }
         planProfile.endLock();
-        return new DingoSignature(
+        DingoSignature signature = new DingoSignature(
             enableColumnMetas,
             sql,
             createParameterList(parasType),
@@ -569,6 +593,147 @@ public final class DingoDriverParser extends DingoParser {
             columns,
             trace
         );
+        if (is != null) {
+            signature.setSchemaVersion(is.getSchemaMetaVersion());
+        }
+        return signature;
+    }
+
+    /**
+     * Render a new job for a prepared statement from the plan kept in its signature, without parsing, validating
+     * and optimizing the statement again.
+     *
+     * @return the new signature, or {@code null} if the schema has changed since the statement was planned
+     */
+    public Meta.@Nullable Signature rebindQuery(
+        JobManager jobManager,
+        long jobSeqId,
+        @NonNull DingoSignature signature
+    ) {
+        SqlNode sqlNode = signature.getSqlNode();
+        RelNode relNode = signature.getRelNode();
+        if (sqlNode == null || relNode == null || signature.trace) {
+            return null;
+        }
+        ITransaction transaction = connection.createTransaction(
+            TransactionType.OPTIMISTIC,
+            connection.getAutoCommit()
+        );
+        InfoSchema is = transaction.getIs();
+        if (is == null || is.getSchemaMetaVersion() != signature.getSchemaVersion()) {
+            connection.cleanTransaction();
+            return null;
+        }
+        Set<RelOptTable> tables = useTables(relNode, sqlNode);
+        boolean isTxn = checkEngine(sqlNode, tables, transaction, planProfile, true);
+        transaction = connection.initTransaction(isTxn, true);
+        if (transaction.getType() != NONE) {
+            inTransaction = true;
+        }
+        Location currentLocation = MetaService.root().currentLocation();
+        RelDataType parasType = signature.getParasType();
+        jobSeqId = preparePessimistic(
+            jobManager, jobSeqId, transaction, sqlNode, relNode, currentLocation, parasType, true
+        );
+        String maxExecutionTimeStr = connection.getClientInfo("max_execution_time");
+        maxExecutionTimeStr = maxExecutionTimeStr == null ? "0" : maxExecutionTimeStr;
+        long maxTimeOut = Long.parseLong(maxExecutionTimeStr);
+        Job job = jobManager.createJob(
+            transaction.getStartTs(), jobSeqId, transaction.getTxnId(), DefinitionMapper.mapToDingoType(parasType),
+            maxTimeOut, signature.statementType == Meta.StatementType.SELECT
+        );
+        DingoJobVisitor.renderJob(
+            jobManager,
+            job,
+            relNode,
+            currentLocation,
+            true,
+            transaction.getType() == NONE ? null : connection.getTransaction(),
+            sqlNode.getKind(),
+            new ExecuteVariables(
+                isJoinConcurrency(), getConcurrencyLevel(), isInsertCheckInplace(), getJoinPartitionNum()
+            )
+        );
+        DingoSignature rebound = new DingoSignature(
+            signature.columns,
+            signature.sql,
+            signature.parameters,
+            signature.internalParameters,
+            signature.cursorFactory,
+            signature.statementType,
+            job.getJobId(),
+            sqlNode,
+            relNode,
+            parasType,
+            planProfile.getTableList(),
+            signature.allColumnMetaDataList,
+            false
+        );
+        rebound.setSchemaVersion(is.getSchemaMetaVersion());
+        return rebound;
+    }
+
+    /**
+     * Set the for-update ts of a pessimistic transaction, and lock the primary key by a job if it is not locked yet.
+     *
+     * @return the job sequence id to use, which is moved forward if the primary key is locked
+     */
+    private long preparePessimistic(
+        JobManager jobManager,
+        long jobSeqId,
+        @NonNull ITransaction transaction,
+        SqlNode sqlNode,
+        RelNode relNode,
+        Location currentLocation,
+        RelDataType parasType,
+        boolean lockPrimaryKey
+    ) {
+        return preparePessimistic(transaction, jobSeqId, lockPrimaryKey, () -> runPessimisticPrimaryKeyJob(
+            jobSeqId, jobManager, transaction, sqlNode, relNode, currentLocation,
+            DefinitionMapper.mapToDingoType(parasType),
+            new ExecuteVariables(
+                isJoinConcurrency(), getConcurrencyLevel(), isInsertCheckInplace(), getJoinPartitionNum()
+            )
+        ));
+    }
+
+    static long preparePessimistic(
+        @NonNull ITransaction transaction,
+        long jobSeqId,
+        boolean lockPrimaryKey,
+        @NonNull Runnable primaryKeyJob
+    ) {
+        if (!transaction.isPessimistic()) {
+            return jobSeqId;
+        }
+        transaction.setForUpdateTs(jobSeqId);
+        if (lockPrimaryKey && transaction.getPrimaryKeyLock() == null) {
+            primaryKeyJob.run();
+            return transaction.getForUpdateTs();
+        }
+        return jobSeqId;
+    }
+
+    private @Nullable String planCacheKey(@NonNull String sql, @Nullable InfoSchema is) {
+        if (is == null) {
+            return null;
+        }
+        DingoParserContext context = getContext();
+        return PlanCache.key(
+            sql,
+            connectionDependent,
+            is.getSchemaMetaVersion(),
+            StatsCache.getVersion(),
+            context.getDefaultSchemaName(),
+            context.isUsingRelOp(),
+            context.isPushDown(),
+            context.getConfig().topDownOpt(),
+            context.getTimeZone().getID(),
+            ScopeVariables.getRequestFactor(),
+            ScopeVariables.getRpcBatchSize(),
+            ScopeVariables.getStatsDefaultSize(),
+            ScopeVariables.getJoinReorderThreshold()
+        );
     }
 
     private void handleFlashBackQuery(SqlNode sqlNode) {
@@ -605,6 +770,14 @@ public final class DingoDriverParser extends DingoParser {
             .orElse(5);
     }
 
+    public int getJoinPartitionNum() {
+        Optional<String> joinPartitionNumOpt = Optional.ofNullable(
+            connection.getClientInfo("dingo_join_partition_num"));
+        return joinPartitionNumOpt
+            .map(Integer::parseInt)
+            .orElse(0);
+    }
+
     public boolean isJoinConcurrency() {
         return "on".equalsIgnoreCase(connection.getClientInfo("dingo_join_concurrency_enable"));
     }
@@ -732,7 +905,9 @@ public final class DingoDriverParser extends DingoParser {
             LogUtils.info(log, "retryQuery startTs:{}", startTs);
             runPessimisticPrimaryKeyJob(jobSeqId, jobManager, transaction, sqlNode, relNode,
                 currentLocation, DefinitionMapper.mapToDingoType(parasType),
-                new ExecuteVariables(isJoinConcurrency(), getConcurrencyLevel(), isInsertCheckInplace()));
+                new ExecuteVariables(
+                    isJoinConcurrency(), getConcurrencyLevel(), isInsertCheckInplace(), getJoinPartitionNum()
+                ));
             jobSeqId = transaction.getForUpdateTs();
         }
         String maxExecutionTimeStr = connection.getClientInfo("max_execution_time");
@@ -750,7 +925,9 @@ public final class DingoDriverParser extends DingoParser {
             true,
             transaction.getType() == NONE ? null : connection.getTransaction(),
             sqlNode.getKind(),
-            new ExecuteVariables(isJoinConcurrency(), getConcurrencyLevel(), isInsertCheckInplace())
+            new ExecuteVariables(
+                isJoinConcurrency(), getConcurrencyLevel(), isInsertCheckInplace(), getJoinPartitionNum()
+            )
         );
         return new DingoSignature(
             visitColumns,
@@ -1048,6 +1225,7 @@ public final class DingoDriverParser extends DingoParser {
                     deepSugar(call.getOperandList());
                     continue;
                 }
+                connectionDependent = true;
                 nodes.add(SqlLiteral.createCharString(connection.id, call.getParserPosition()));
                 sqlNodes.add(i, new SqlBasicCall(call.getOperator(), nodes, call.getParserPosition()));
             }
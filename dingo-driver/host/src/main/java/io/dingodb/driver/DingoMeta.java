@@ -47,7 +47,9 @@ import io.dingodb.exec.transaction.base.ITransaction;
 import io.dingodb.exec.transaction.base.TransactionType;
 import io.dingodb.exec.transaction.base.TxnPartData;
 import io.dingodb.expr.runtime.utils.DateTimeUtils;
+import io.dingodb.meta.DdlService;
 import io.dingodb.meta.entity.Column;
+import io.dingodb.meta.entity.InfoSchema;
 import io.dingodb.meta.entity.Table;
 import io.dingodb.store.api.transaction.data.IsolationLevel;
 import io.dingodb.store.api.transaction.exception.LockWaitException;
@@ -943,8 +945,10 @@ public class DingoMeta extends MetaImpl {
         try {
             if (job != null) {
                 Task task = job.getTasks().entrySet().stream().findFirst().get().getValue();
-                if (task.getTransactionType() == TransactionType.OPTIMISTIC
-                    || task.getTransactionType() == TransactionType.NONE) {
+                boolean reusable = task.getTransactionType() == TransactionType.OPTIMISTIC
+                    || task.getTransactionType() == TransactionType.NONE;
+                boolean outdated = isPlanOutdated(sh.signature);
+                if (reusable && !outdated) {
                     transaction = dingoConnection.createTransaction(
                         task.getTransactionType(),
                         true
@@ -957,8 +961,20 @@ public class DingoMeta extends MetaImpl {
                     long jobSeqId = TsoService.getDefault().cacheTso();
                     String stmtId = "Stmt_" + sh + "_" + jobSeqId;
                     MdcUtils.setStmtId(stmtId);
-                    sh.signature = parser.parseQuery(jobManager, jobSeqId, statement.getSql(), true);
+                    // Only the job is bound to the transaction, the plan is still good unless the schema changed.
+                    Signature signature = null;
+                    if (!outdated && sh.signature instanceof DingoSignature) {
+                        signature = parser.rebindQuery(jobManager, jobSeqId, (DingoSignature) sh.signature);
+                    }
+                    if (signature == null) {
+                        signature = parser.parseQuery(jobManager, jobSeqId, statement.getSql(), true);
+                    }
+                    sh.signature = signature;
+                    statement.setSignature(signature);
                     printDingoAudit(sh, statement.getSql(), (DingoConnection) connection, jobSeqId, parser);
+                    if (reusable) {
+                        transaction = dingoConnection.getTransaction();
+                    }
                 }
             }
             return transaction;
@@ -976,6 +992,18 @@ public class DingoMeta extends MetaImpl {
         }
     }
 
+    private static boolean isPlanOutdated(Signature signature) {
+        return signature instanceof DingoSignature && isPlanOutdated(signature, DdlService.root().getIsLatest());
+    }
+
+    static boolean isPlanOutdated(Signature signature, @Nullable InfoSchema latest) {
+        if (!(signature instanceof DingoSignature)) {
+            return false;
+        }
+        long schemaVersion = ((DingoSignature) signature).getSchemaVersion();
+        return schemaVersion != 0 && latest != null && latest.getSchemaMetaVersion() != schemaVersion;
+    }
+
     public ExecuteResult execBatch(
         @NonNull StatementHandle sh,
         List<TypedValue> parameterValues,
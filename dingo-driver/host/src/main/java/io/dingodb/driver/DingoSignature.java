@@ -49,6 +49,10 @@ public final class DingoSignature extends Meta.Signature {
     private List<String> fullyTableList;
     public List<ColumnMetaData> allColumnMetaDataList;
     boolean trace;
+    // schema meta version the plan was made against, prepared statements are planned again once it changes
+    @Getter
+    @Setter
+    private long schemaVersion;
 
     public DingoSignature(
         List<ColumnMetaData> columns,
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.driver;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.apache.calcite.rel.RelNode;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Optimized plans shared by the statements of all the connections.
+ *
+ * <p>A plan is put only after it is optimized and is never modified afterward. Hits only read it to render jobs, which
+ * uses neither the planner nor the metadata query of the cluster kept by the plan, both being not thread-safe. The
+ * row types, which are derived lazily, are derived before the plan is put, so concurrent hits do not race on them.
+ */
+final class PlanCache {
+    static final int MAX_SQL_LENGTH = 4096;
+
+    private final Cache<String, RelNode> plans;
+
+    PlanCache(long maxSize) {
+        plans = CacheBuilder.newBuilder()
+            .maximumSize(maxSize)
+            .build();
+    }
+
+    /**
+     * Make the key of the plan of a sql, which differs if anything the optimization depends on differs.
+     *
+     * @param connectionDependent if the sql is rewritten with the id of the connection
+     * @param options             the versions, planner options and variables the optimization depends on
+     * @return the key, or {@code null} if the plan cannot be shared
+     */
+    static @Nullable String key(@NonNull String sql, boolean connectionDependent, Object @NonNull ... options) {
+        if (connectionDependent || sql.length() > MAX_SQL_LENGTH) {
+            return null;
+        }
+        StringBuilder builder = new StringBuilder();
+        for (Object option : options) {
+            builder.append(option).append('\0');
+        }
+        return builder.append(sql).toString();
+    }
+
+    @Nullable RelNode get(@Nullable String key) {
+        return key == null ? null : plans.getIfPresent(key);
+    }
+
+    void put(@Nullable String key, @NonNull RelNode relNode) {
+        if (key == null) {
+            return;
+        }
+        deriveRowTypes(relNode);
+        plans.put(key, relNode);
+    }
+
+    private static void deriveRowTypes(@NonNull RelNode relNode) {
+        relNode.getRowType();
+        relNode.getInputs().forEach(PlanCache::deriveRowTypes);
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.driver;
+
+import io.dingodb.exec.transaction.base.ITransaction;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TestDingoDriverParser {
+    private static ITransaction pessimistic(byte[] primaryKeyLock) {
+        ITransaction transaction = mock(ITransaction.class);
+        when(transaction.isPessimistic()).thenReturn(true);
+        when(transaction.getPrimaryKeyLock()).thenReturn(primaryKeyLock);
+        long[] forUpdateTs = new long[1];
+        doAnswer(invocation -> forUpdateTs[0] = invocation.getArgument(0))
+            .when(transaction).setForUpdateTs(anyLong());
+        when(transaction.getForUpdateTs()).thenAnswer(invocation -> forUpdateTs[0]);
+        return transaction;
+    }
+
+    @Test
+    public void testPrepareOptimistic() {
+        ITransaction transaction = mock(ITransaction.class);
+        AtomicInteger jobs = new AtomicInteger();
+        assertThat(DingoDriverParser.preparePessimistic(transaction, 100L, true, jobs::incrementAndGet))
+            .isEqualTo(100L);
+        verify(transaction, never()).setForUpdateTs(anyLong());
+        assertThat(jobs.get()).isZero();
+    }
+
+    @Test
+    public void testPrepareLockPrimaryKey() {
+        // The first statement of a pessimistic transaction, or a rebound one, locks the primary key.
+        ITransaction transaction = pessimistic(null);
+        assertThat(DingoDriverParser.preparePessimistic(transaction, 100L, true, () -> {
+            assertThat(transaction.getForUpdateTs()).isEqualTo(100L);
+            // The lock job moves the for-update ts forward.
+            transaction.setForUpdateTs(105L);
+        })).isEqualTo(105L);
+        verify(transaction).setForUpdateTs(100L);
+    }
+
+    @Test
+    public void testPrepareLockedPrimaryKey() {
+        // Later statements of the transaction, including rebound prepared ones, only get a new for-update ts.
+        ITransaction transaction = pessimistic(new byte[]{1});
+        AtomicInteger jobs = new AtomicInteger();
+        assertThat(DingoDriverParser.preparePessimistic(transaction, 200L, true, jobs::incrementAndGet))
+            .isEqualTo(200L);
+        assertThat(transaction.getForUpdateTs()).isEqualTo(200L);
+        assertThat(jobs.get()).isZero();
+    }
+
+    @Test
+    public void testPrepareWithoutLocking() {
+        // Explain does not lock the primary key.
+        ITransaction transaction = pessimistic(null);
+        AtomicInteger jobs = new AtomicInteger();
+        assertThat(DingoDriverParser.preparePessimistic(transaction, 300L, false, jobs::incrementAndGet))
+            .isEqualTo(300L);
+        assertThat(transaction.getForUpdateTs()).isEqualTo(300L);
+        assertThat(jobs.get()).isZero();
+    }
+}
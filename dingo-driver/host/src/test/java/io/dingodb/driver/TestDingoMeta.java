@@ -0,0 +1,66 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.driver;
+
+import io.dingodb.meta.entity.InfoSchema;
+import org.apache.calcite.avatica.Meta;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestDingoMeta {
+    private static DingoSignature signature(long schemaVersion) {
+        DingoSignature signature = new DingoSignature(
+            new ArrayList<>(),
+            "select 1",
+            null,
+            Meta.StatementType.SELECT,
+            null,
+            Collections.emptyList(),
+            new ArrayList<>()
+        );
+        signature.setSchemaVersion(schemaVersion);
+        return signature;
+    }
+
+    private static InfoSchema infoSchema(long schemaVersion) {
+        InfoSchema is = new InfoSchema();
+        is.setSchemaMetaVersion(schemaVersion);
+        return is;
+    }
+
+    @Test
+    public void testPlanOutdated() {
+        // Planned again after a DDL bumped the schema version.
+        assertThat(DingoMeta.isPlanOutdated(signature(3), infoSchema(4))).isTrue();
+        assertThat(DingoMeta.isPlanOutdated(signature(3), infoSchema(3))).isFalse();
+    }
+
+    @Test
+    public void testPlanNotOutdated() {
+        // Unknown versions keep the plan.
+        assertThat(DingoMeta.isPlanOutdated(signature(0), infoSchema(4))).isFalse();
+        assertThat(DingoMeta.isPlanOutdated(signature(3), null)).isFalse();
+        Meta.Signature signature = Meta.Signature.create(
+            new ArrayList<>(), "select 1", new ArrayList<>(), null, Meta.StatementType.SELECT
+        );
+        assertThat(DingoMeta.isPlanOutdated(signature, infoSchema(4))).isFalse();
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.driver;
+
+import io.dingodb.calcite.stats.StatsCache;
+import io.dingodb.calcite.stats.TableStats;
+import org.apache.calcite.adapter.java.JavaTypeFactoryImpl;
+import org.apache.calcite.plan.RelOptCluster;
+import org.apache.calcite.plan.hep.HepPlanner;
+import org.apache.calcite.plan.hep.HepProgram;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.logical.LogicalValues;
+import org.apache.calcite.rex.RexBuilder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestPlanCache {
+    private static final String SQL = "select * from t where id = 1";
+
+    private static RelOptCluster cluster;
+
+    @BeforeAll
+    public static void setupAll() {
+        cluster = RelOptCluster.create(
+            new HepPlanner(HepProgram.builder().build()),
+            new RexBuilder(new JavaTypeFactoryImpl())
+        );
+    }
+
+    private static String key(String sql, long schemaVersion, String schema, int threshold) {
+        return PlanCache.key(sql, false, schemaVersion, StatsCache.getVersion(), schema, true, threshold);
+    }
+
+    @Test
+    public void testHit() {
+        PlanCache cache = new PlanCache(16);
+        RelNode relNode = LogicalValues.createOneRow(cluster);
+        cache.put(key(SQL, 1, "DINGO", 10), relNode);
+        assertThat(cache.get(key(SQL, 1, "DINGO", 10))).isSameAs(relNode);
+        assertThat(cache.get(key("select * from t where id = 2", 1, "DINGO", 10))).isNull();
+    }
+
+    @Test
+    public void testKeySeparation() {
+        String key = key(SQL, 1, "DINGO", 10);
+        assertThat(key(SQL, 1, "DINGO", 10)).isEqualTo(key);
+        // Schema version bumped by a DDL.
+        assertThat(key(SQL, 2, "DINGO", 10)).isNotEqualTo(key);
+        // The same sql on another default schema refers to other tables.
+        assertThat(key(SQL, 1, "MYSQL", 10)).isNotEqualTo(key);
+        // Variables of the optimization.
+        assertThat(key(SQL, 1, "DINGO", 0)).isNotEqualTo(key);
+        // Options must not run into each other or into the sql.
+        assertThat(PlanCache.key("1" + SQL, false, 1)).isNotEqualTo(PlanCache.key(SQL, false, 11));
+    }
+
+    @Test
+    public void testKeyByStatsVersion() {
+        String key = key(SQL, 1, "DINGO", 10);
+        StatsCache.put(new TableStats("DINGO", "T"));
+        try {
+            assertThat(key(SQL, 1, "DINGO", 10)).isNotEqualTo(key);
+        } finally {
+            StatsCache.removeCache("DINGO", "T");
+        }
+    }
+
+    @Test
+    public void testNotShared() {
+        PlanCache cache = new PlanCache(16);
+        RelNode relNode = LogicalValues.createOneRow(cluster);
+        // Rewritten with the id of the connection.
+        String key = PlanCache.key(SQL, true, 1, "DINGO");
+        assertThat(key).isNull();
+        cache.put(key, relNode);
+        assertThat(cache.get(key)).isNull();
+        assertThat(cache.get(PlanCache.key(SQL, false, 1, "DINGO"))).isNull();
+        StringBuilder builder = new StringBuilder(SQL);
+        while (builder.length() <= PlanCache.MAX_SQL_LENGTH) {
+            builder.append(" or id = 1");
+        }
+        assertThat(PlanCache.key(builder.toString(), false, 1, "DINGO")).isNull();
+    }
+}
@@ -97,9 +97,10 @@ public final class MysqlResponseHandler {
         boolean deprecateEof = (mysqlConnection.authPacket.extendClientFlags
             & ExtendedClientCapabilities.CLIENT_DEPRECATE_EOF) != 0;
         String connCharSet = null;
+        MysqlStreamWriter writer = new MysqlStreamWriter(mysqlConnection.channel);
         try {
             connCharSet = mysqlConnection.getConnection().getClientInfo(CONNECTION_CHARSET);
-            ByteBuf buffer = ByteBufAllocator.DEFAULT.buffer();
+            ByteBuf buffer = writer.buffer();
             ResultSetMetaData metaData = resultSet.getMetaData();
             ColumnsNumberPacket columnsNumberPacket = new ColumnsNumberPacket();
             columnsNumberPacket.packetId = (byte) packetId.getAndIncrement();
@@ -114,40 +115,45 @@ public final class MysqlResponseHandler {
 
             int initServerStatus = getInitServerStatus((DingoConnection) mysqlConnection.getConnection());
             if (deprecateEof) {
-                handlerRowPacket(resultSet, packetId, mysqlConnection, buffer, columnCount);
+                handlerRowPacket(resultSet, packetId, mysqlConnection, writer, columnCount);
                 OKPacket okEofPacket = factory.getOkEofPacket(
                     0, packetId, initServerStatus
                 );
-                okEofPacket.write(buffer);
+                okEofPacket.write(writer.buffer());
             } else {
                 // intermediate eof
                 MysqlPacketFactory.getEofPacket(packetId).write(buffer);
                 // row packet...
-                handlerRowPacket(resultSet, packetId, mysqlConnection, buffer, columnCount);
+                handlerRowPacket(resultSet, packetId, mysqlConnection, writer, columnCount);
                 // response EOF
                 //resultSetPacket.rowsEof = getEofPacket(packetId);
-                MysqlPacketFactory.getEofPacket(packetId).write(buffer);
+                MysqlPacketFactory.getEofPacket(packetId).write(writer.buffer());
             }
 
-            mysqlConnection.channel.writeAndFlush(buffer);
+            writer.finish();
         } catch (SQLException e) {
             responseError(packetId, mysqlConnection.channel, e, connCharSet);
+        } finally {
+            writer.release();
         }
     }
 
     private static void handlerRowPacket(ResultSet resultSet, AtomicLong packetId, MysqlConnection mysqlConnection,
-                                  ByteBuf buffer, int columnCount) throws SQLException {
+                                  MysqlStreamWriter writer, int columnCount) throws SQLException {
         ResultSetMetaData metaData = resultSet.getMetaData();
+        String[] typeNames = new String[columnCount + 1];
+        for (int i = 1; i <= columnCount; i ++) {
+            typeNames[i] = metaData.getColumnTypeName(i);
+        }
+        String characterSet = getCharacterSet(mysqlConnection.getConnection().getClientInfo(CONNECTION_CHARSET));
         String typeName;
         while (resultSet.next()) {
             ResultSetRowPacket resultSetRowPacket = new ResultSetRowPacket();
             resultSetRowPacket.packetId = (byte) packetId.getAndIncrement();
-            String characterSet = mysqlConnection.getConnection().getClientInfo(CONNECTION_CHARSET);
-            characterSet = getCharacterSet(characterSet);
             resultSetRowPacket.setCharacterSet(characterSet);
             for (int i = 1; i <= columnCount; i ++) {
                 Object val = resultSet.getObject(i);
-                typeName = metaData.getColumnTypeName(i);
+                typeName = typeNames[i];
                 if (typeName.equalsIgnoreCase("BOOLEAN")) {
                     if (val != null) {
                         if ("TRUE".equalsIgnoreCase(val.toString())) {
@@ -161,7 +167,8 @@ public final class MysqlResponseHandler {
                 }
                 resultSetRowPacket.addColumnValue(val);
             }
-            resultSetRowPacket.write(buffer);
+            resultSetRowPacket.write(writer.buffer());
+            writer.endPacket();
         }
     }
 
@@ -190,19 +197,20 @@ public final class MysqlResponseHandler {
     private static void handlerPrepareRowPacket(ResultSet resultSet,
                                                 AtomicLong packetId,
                                                 MysqlConnection mysqlConnection,
-                                                ByteBuf buffer,
+                                                MysqlStreamWriter writer,
                                                 int columnCount) throws SQLException {
+        ResultSetMetaData metaData = resultSet.getMetaData();
+        String characterSet = getCharacterSet(mysqlConnection.getConnection().getClientInfo(CONNECTION_CHARSET));
         while (resultSet.next()) {
             PrepareResultSetRowPacket resultSetRowPacket = new PrepareResultSetRowPacket();
-            String characterSet = mysqlConnection.getConnection().getClientInfo(CONNECTION_CHARSET);
-            characterSet = getCharacterSet(characterSet);
             resultSetRowPacket.setCharacterSet(characterSet);
             resultSetRowPacket.packetId = (byte) packetId.getAndIncrement();
-            resultSetRowPacket.setMetaData(resultSet.getMetaData());
+            resultSetRowPacket.setMetaData(metaData);
             for (int i = 1; i <= columnCount; i ++) {
                 resultSetRowPacket.addColumnValue(resultSet.getObject(i), mysqlConnection);
             }
-            resultSetRowPacket.write(buffer);
+            resultSetRowPacket.write(writer.buffer());
+            writer.endPacket();
         }
     }
 
@@ -323,9 +331,10 @@ public final class MysqlResponseHandler {
         boolean deprecateEof = (mysqlConnection.authPacket.extendClientFlags
             & ExtendedClientCapabilities.CLIENT_DEPRECATE_EOF) != 0;
         String connCharSet = null;
+        MysqlStreamWriter writer = new MysqlStreamWriter(mysqlConnection.channel);
         try {
             connCharSet = mysqlConnection.getConnection().getClientInfo(CONNECTION_CHARSET);
-            ByteBuf buffer = ByteBufAllocator.DEFAULT.buffer();
+            ByteBuf buffer = writer.buffer();
             ResultSetMetaData metaData = resultSet.getMetaData();
             ColumnsNumberPacket columnsNumberPacket = new ColumnsNumberPacket();
             columnsNumberPacket.packetId = (byte) packetId.getAndIncrement();
@@ -340,24 +349,26 @@ public final class MysqlResponseHandler {
             int serverStatus = getInitServerStatus((DingoConnection) mysqlConnection.getConnection());
 
             if (deprecateEof) {
-                handlerPrepareRowPacket(resultSet, packetId, mysqlConnection, buffer, columnCount);
+                handlerPrepareRowPacket(resultSet, packetId, mysqlConnection, writer, columnCount);
                 OKPacket okEofPacket = factory.getOkEofPacket(
                     0, packetId, serverStatus
                 );
-                okEofPacket.write(buffer);
+                okEofPacket.write(writer.buffer());
             } else {
                 // intermediate eof
                 MysqlPacketFactory.getEofPacket(packetId).write(buffer);
                 // row packet...
-                handlerPrepareRowPacket(resultSet, packetId, mysqlConnection, buffer, columnCount);
+                handlerPrepareRowPacket(resultSet, packetId, mysqlConnection, writer, columnCount);
                 // response EOF
                 //resultSetPacket.rowsEof = getEofPacket(packetId);
-                MysqlPacketFactory.getEofPacket(packetId).write(buffer);
+                MysqlPacketFactory.getEofPacket(packetId).write(writer.buffer());
             }
 
-            mysqlConnection.channel.writeAndFlush(buffer);
+            writer.finish();
         } catch (SQLException e) {
             responseError(packetId, mysqlConnection.channel, e, connCharSet);
+        } finally {
+            writer.release();
         }
     }
 }
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.driver.mysql.command;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.socket.SocketChannel;
+
+import java.sql.SQLException;
+
+/**
+ * Writes the packets of a result set to the channel in chunks, so that rows reach the client while the result set
+ * is still being iterated, instead of being encoded into one buffer.
+ *
+ * <p>If the channel is not writable, the writer waits for the previous chunk written before writing the next one, so
+ * at most two chunks of a slow client are queued in the channel. Commands run off the event loop for this, see
+ * {@code MysqlNettyServer}; the writer never waits in the event loop, for it is the thread flushing the channel.
+ */
+final class MysqlStreamWriter {
+    static final int FLUSH_BYTES = 64 * 1024;
+
+    private final SocketChannel channel;
+    private ByteBuf buffer;
+    private ChannelFuture lastWrite;
+
+    MysqlStreamWriter(SocketChannel channel) {
+        this.channel = channel;
+        this.buffer = channel.alloc().buffer();
+    }
+
+    ByteBuf buffer() {
+        return buffer;
+    }
+
+    /**
+     * Write the buffered packets to the channel if there are enough of them.
+     */
+    void endPacket() throws SQLException {
+        if (buffer.readableBytes() >= FLUSH_BYTES) {
+            if (!channel.isActive()) {
+                throw new SQLException("Connection is closed.");
+            }
+            awaitWritable();
+            lastWrite = channel.writeAndFlush(buffer);
+            buffer = channel.alloc().buffer();
+        }
+    }
+
+    private void awaitWritable() throws SQLException {
+        if (lastWrite == null || channel.isWritable() || channel.eventLoop().inEventLoop()) {
+            return;
+        }
+        lastWrite.awaitUninterruptibly();
+        if (!lastWrite.isSuccess()) {
+            throw new SQLException("Connection is closed.", lastWrite.cause());
+        }
+    }
+
+    void finish() {
+        channel.writeAndFlush(buffer);
+        buffer = null;
+    }
+
+    /**
+     * Drop the packets not written, must be called if {@link #finish()} is not called.
+     */
+    void release() {
+        if (buffer != null) {
+            buffer.release();
+            buffer = null;
+        }
+    }
+}
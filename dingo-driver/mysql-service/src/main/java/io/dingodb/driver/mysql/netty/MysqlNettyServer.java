@@ -27,6 +27,9 @@ import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.channel.socket.nio.NioChannelOption;
 import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.util.concurrent.DefaultEventExecutorGroup;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import io.netty.util.concurrent.EventExecutorGroup;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
@@ -44,12 +47,16 @@ public class MysqlNettyServer {
     public static final Map<String, MysqlConnection> connections = new ConcurrentHashMap<>();
 
     private EventLoopGroup eventLoopGroup;
+    // Commands run off the event loops, so that they can wait for the client to consume the rows sent.
+    private EventExecutorGroup commandGroup;
     private ServerBootstrap server;
 
     public void start() throws Exception {
         server = new ServerBootstrap();
-        eventLoopGroup = new NioEventLoopGroup(151,
-            new ThreadPoolBuilder().name("mysql server " + port).coreThreads(151).maximumThreads(151).build());
+        int ioThreads = Runtime.getRuntime().availableProcessors() * 2;
+        eventLoopGroup = new NioEventLoopGroup(ioThreads, new ThreadPoolBuilder()
+            .name("mysql server " + port).coreThreads(ioThreads).maximumThreads(ioThreads).build());
+        commandGroup = new DefaultEventExecutorGroup(151, new DefaultThreadFactory("mysql command " + port));
         server
             .channel(NioServerSocketChannel.class)
             .group(eventLoopGroup)
@@ -87,7 +94,7 @@ public class MysqlNettyServer {
                 mysqlConnection.mysqlIdleStateHandler = mysqlIdleStateHandler;
                 ch.pipeline().addLast("idleStateHandler", mysqlIdleStateHandler);
                 ch.pipeline()
-                    .addLast("mysqlHandler", new MysqlHandler(mysqlConnection));
+                    .addLast(commandGroup, "mysqlHandler", new MysqlHandler(mysqlConnection));
                 ch.pipeline().addLast("exception", new NettyHandlers.ExceptionHandler());
             }
         };
@@ -95,5 +102,6 @@ public class MysqlNettyServer {
 
     public void close() {
         eventLoopGroup.shutdownGracefully();
+        commandGroup.shutdownGracefully();
     }
 }
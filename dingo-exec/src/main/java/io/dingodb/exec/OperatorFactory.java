@@ -37,6 +37,8 @@ import io.dingodb.exec.operator.HashOperator;
 import io.dingodb.exec.operator.IndexMergeOperator;
 import io.dingodb.exec.operator.InfoSchemaScanOperator;
 import io.dingodb.exec.operator.LikeScanOperator;
+import io.dingodb.exec.operator.LookupJoinOperator;
+import io.dingodb.exec.operator.MergeJoinOperator;
 import io.dingodb.exec.operator.NewCalcDistributionOperator;
 import io.dingodb.exec.operator.PartCountOperator;
 import io.dingodb.exec.operator.PartDeleteOperator;
@@ -47,6 +49,7 @@ import io.dingodb.exec.operator.PartUpdateOperator;
 import io.dingodb.exec.operator.PartVectorOperator;
 import io.dingodb.exec.operator.PartDocumentOperator;
 import io.dingodb.exec.operator.PartitionOperator;
+import io.dingodb.exec.operator.PassThroughOperator;
 import io.dingodb.exec.operator.PessimisticLockDeleteOperator;
 import io.dingodb.exec.operator.PessimisticLockInsertOperator;
 import io.dingodb.exec.operator.PessimisticLockOperator;
@@ -63,6 +66,7 @@ import io.dingodb.exec.operator.ScanWithCacheOpOperator;
 import io.dingodb.exec.operator.ScanWithPipeOpOperator;
 import io.dingodb.exec.operator.SendOperator;
 import io.dingodb.exec.operator.SortOperator;
+import io.dingodb.exec.operator.SortedMergeOperator;
 import io.dingodb.exec.operator.SumUpOperator;
 import io.dingodb.exec.operator.TxnDiskAnnBuildOperator;
 import io.dingodb.exec.operator.TxnDiskAnnCountMemoryOperator;
@@ -119,6 +123,8 @@ import static io.dingodb.exec.utils.OperatorCodeUtils.HASH_JOIN;
 import static io.dingodb.exec.utils.OperatorCodeUtils.INDEX_MERGE;
 import static io.dingodb.exec.utils.OperatorCodeUtils.INFO_SCHEMA_SCAN;
 import static io.dingodb.exec.utils.OperatorCodeUtils.LIKE_SCAN;
+import static io.dingodb.exec.utils.OperatorCodeUtils.LOOKUP_JOIN;
+import static io.dingodb.exec.utils.OperatorCodeUtils.MERGE_JOIN;
 import static io.dingodb.exec.utils.OperatorCodeUtils.OPTIMISTIC_ROLL_BACK;
 import static io.dingodb.exec.utils.OperatorCodeUtils.PARTITION;
 import static io.dingodb.exec.utils.OperatorCodeUtils.PART_COUNT;
@@ -129,6 +135,7 @@ import static io.dingodb.exec.utils.OperatorCodeUtils.PART_RANGE_DELETE;
 import static io.dingodb.exec.utils.OperatorCodeUtils.PART_RANGE_SCAN;
 import static io.dingodb.exec.utils.OperatorCodeUtils.PART_UPDATE;
 import static io.dingodb.exec.utils.OperatorCodeUtils.PART_VECTOR;
+import static io.dingodb.exec.utils.OperatorCodeUtils.PASS_THROUGH;
 import static io.dingodb.exec.utils.OperatorCodeUtils.PESSIMISTIC_LOCK;
 import static io.dingodb.exec.utils.OperatorCodeUtils.PESSIMISTIC_LOCK_DELETE;
 import static io.dingodb.exec.utils.OperatorCodeUtils.PESSIMISTIC_LOCK_INSERT;
@@ -150,6 +157,7 @@ import static io.dingodb.exec.utils.OperatorCodeUtils.SCAN_WITH_NO_OP;
 import static io.dingodb.exec.utils.OperatorCodeUtils.SCAN_WITH_PIPE_OP;
 import static io.dingodb.exec.utils.OperatorCodeUtils.SEND;
 import static io.dingodb.exec.utils.OperatorCodeUtils.SORT;
+import static io.dingodb.exec.utils.OperatorCodeUtils.SORTED_MERGE;
 import static io.dingodb.exec.utils.OperatorCodeUtils.SUM_UP;
 import static io.dingodb.exec.utils.OperatorCodeUtils.TXN_CLEAN_CACHE;
 import static io.dingodb.exec.utils.OperatorCodeUtils.TXN_CLEAN_EXTRA_DATA_CACHE;
@@ -194,6 +202,8 @@ public final class OperatorFactory {
         OPERATORS.put(HASH, HashOperator.INSTANCE);
         OPERATORS.put(INDEX_MERGE, IndexMergeOperator.INSTANCE);
         OPERATORS.put(LIKE_SCAN, LikeScanOperator.INSTANCE);
+        OPERATORS.put(LOOKUP_JOIN, LookupJoinOperator.INSTANCE);
+        OPERATORS.put(MERGE_JOIN, MergeJoinOperator.INSTANCE);
         OPERATORS.put(PART_COUNT, PartCountOperator.INSTANCE);
         OPERATORS.put(PART_DELETE, PartDeleteOperator.INSTANCE);
         OPERATORS.put(PART_INSERT, PartInsertOperator.INSTANCE);
@@ -259,6 +269,8 @@ public final class OperatorFactory {
         OPERATORS.put(TXN_DISK_ANN_RESET, TxnDiskAnnResetOperator.INSTANCE);
         OPERATORS.put(TXN_DISK_ANN_BUILD, TxnDiskAnnBuildOperator.INSTANCE);
         OPERATORS.put(TXN_DISK_ANN_LOAD, TxnDiskAnnLoadOperator.INSTANCE);
+        OPERATORS.put(PASS_THROUGH, PassThroughOperator.INSTANCE);
+        OPERATORS.put(SORTED_MERGE, SortedMergeOperator.INSTANCE);
     }
 
     private OperatorFactory() {
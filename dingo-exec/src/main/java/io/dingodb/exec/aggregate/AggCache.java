@@ -16,10 +16,12 @@
 
 package io.dingodb.exec.aggregate;
 
-import com.google.common.collect.Iterators;
+import io.dingodb.common.log.LogUtils;
 import io.dingodb.common.type.TupleMapping;
 import io.dingodb.common.util.ArrayUtils;
-import io.dingodb.exec.tuple.TupleKey;
+import io.dingodb.exec.operator.join.JoinHashTable;
+import io.dingodb.exec.spill.SpillFile;
+import io.dingodb.exec.spill.SpillPartitions;
 import lombok.extern.slf4j.Slf4j;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
@@ -27,68 +29,251 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.NoSuchElementException;
 
+/**
+ * Hash table of aggregating groups.
+ *
+ * <p>Groups are numbered in the order of creation. The group keys are kept in a {@link JoinHashTable}, so looking up an
+ * existing group allocates nothing; the aggregating contexts are kept in an {@link AggColumn} for each aggregate.
+ *
+ * <p>If the estimated heap size exceeds {@code memoryLimit}, the groups are written to hash partitioned spill files
+ * ({@link AggSpill}) as records of keys and aggregating contexts, and the table is emptied. In the end, each partition
+ * is re-aggregated by a new {@code AggCache} in turn.
+ *
+ * <p>Not thread safe.
+ */
 @Slf4j
 public class AggCache implements Iterable<Object[]> {
+    // Estimated heap size of the context of an aggregate in a group.
+    private static final int VAR_SIZE = 16;
+
     private final TupleMapping keyMapping;
     private final List<Agg> aggList;
-    private final Map<TupleKey, Object[]> cache;
+    private final int[] keyColumns;
+    // The leading columns, where the keys are in reducing.
+    private final int[] leadingColumns;
+    private final JoinHashTable groups;
+    private final AggColumn[] columns;
+    // Changed by the owner when the memory of an operator is shared by more caches.
+    private volatile long memoryLimit;
+    private final int depth;
+    private AggSpill spill;
 
     public AggCache(TupleMapping keyMapping, @NonNull List<Agg> aggList) {
+        this(keyMapping, aggList, Long.MAX_VALUE);
+    }
+
+    public AggCache(TupleMapping keyMapping, @NonNull List<Agg> aggList, long memoryLimit) {
+        this(keyMapping, aggList, memoryLimit, 0);
+    }
+
+    private AggCache(TupleMapping keyMapping, @NonNull List<Agg> aggList, long memoryLimit, int depth) {
         this.keyMapping = keyMapping;
+        this.memoryLimit = memoryLimit;
+        this.depth = depth;
         this.aggList = aggList;
-        this.cache = new ConcurrentHashMap<>();
+        this.keyColumns = keyMapping.getMappings();
+        this.leadingColumns = new int[keyColumns.length];
+        for (int i = 0; i < leadingColumns.length; ++i) {
+            leadingColumns[i] = i;
+        }
+        this.groups = new JoinHashTable(TupleMapping.of(leadingColumns));
+        this.columns = new AggColumn[aggList.size()];
+        for (int i = 0; i < columns.length; ++i) {
+            columns[i] = AggColumn.of(aggList.get(i));
+        }
     }
 
-    private Object @NonNull [] getVars(TupleKey key) {
-        return cache.computeIfAbsent(key, k -> new Object[aggList.size()]);
+    private int getGroup(Object @NonNull [] tuple, int @NonNull [] columns) {
+        int group = groups.find(tuple, columns);
+        if (group < 0) {
+            if (getMemSize() > memoryLimit) {
+                spillGroups();
+            }
+            Object[] keyTuple = new Object[columns.length];
+            for (int i = 0; i < columns.length; ++i) {
+                keyTuple[i] = tuple[columns[i]];
+            }
+            groups.add(keyTuple);
+            group = groups.getSize() - 1;
+            for (AggColumn column : this.columns) {
+                column.ensureCapacity(group + 1);
+            }
+        }
+        return group;
     }
 
     public void addTuple(Object[] tuple) {
-        Object[] keyTuple = keyMapping.revMap(tuple);
-        Object[] vars = getVars(new TupleKey(keyTuple));
-        for (int i = 0; i < vars.length; ++i) {
-            Agg agg = aggList.get(i);
-            if (vars[i] == null) {
-                vars[i] = agg.first(tuple);
-            } else {
-                vars[i] = agg.add(vars[i], tuple);
+        int group = getGroup(tuple, keyColumns);
+        for (int i = 0; i < columns.length; ++i) {
+            if (!columns[i].add(group, tuple)) {
+                columns[i] = columns[i].toGeneric(groups.getSize());
+                columns[i].add(group, tuple);
             }
         }
     }
 
     public void reduce(Object[] tuple) {
         // Here the keys are leading elements in the tuple.
-        int length = keyMapping.size();
-        Object[] keyTuple = Arrays.copyOf(tuple, length);
-        Object[] vars = getVars(new TupleKey(keyTuple));
-        for (int i = 0; i < vars.length; ++i) {
-            vars[i] = aggList.get(i).merge(vars[i], tuple[length + i]);
+        int length = leadingColumns.length;
+        int group = getGroup(tuple, leadingColumns);
+        for (int i = 0; i < columns.length; ++i) {
+            mergeVar(i, group, tuple[length + i]);
+        }
+    }
+
+    private void mergeVar(int index, int group, Object var) {
+        if (!columns[index].merge(group, var)) {
+            columns[index] = columns[index].toGeneric(groups.getSize());
+            columns[index].merge(group, var);
+        }
+    }
+
+    public void setMemoryLimit(long memoryLimit) {
+        this.memoryLimit = memoryLimit;
+    }
+
+    private long getMemSize() {
+        return groups.getMemSize() + (long) groups.getSize() * columns.length * VAR_SIZE;
+    }
+
+    private void spillGroups() {
+        int size = groups.getSize();
+        if (size == 0) {
+            return;
+        }
+        if (spill == null) {
+            spill = new AggSpill(depth);
+        }
+        LogUtils.info(log, "Memory of aggregation exceeds limit {}, spill {} groups to disk.", memoryLimit, size);
+        int length = leadingColumns.length;
+        for (int g = 0; g < size; ++g) {
+            Object[] record = Arrays.copyOf(groups.getRow(g), length + columns.length);
+            for (int i = 0; i < columns.length; ++i) {
+                record[length + i] = columns[i].getVar(g);
+            }
+            spill.add(JoinHashTable.hash(record, leadingColumns), record);
+        }
+        groups.clear();
+        for (AggColumn column : columns) {
+            column.clear();
         }
     }
 
-    private Object @NonNull [] calValue(Object @NonNull [] vars) {
-        Object[] result = new Object[vars.length];
-        for (int i = 0; i < vars.length; ++i) {
-            result[i] = aggList.get(i).getValue(vars[i]);
+    /**
+     * Merge the groups of another cache (of the same keys and aggregates) into this one.
+     */
+    public void merge(@NonNull AggCache other) {
+        if (other.spill != null) {
+            other.spillGroups();
+            for (int i = 0; i < SpillPartitions.PARTITION_NUM; ++i) {
+                SpillFile file = other.spill.get(i);
+                if (file != null) {
+                    file.iterator().forEachRemaining(this::reduce);
+                    other.spill.delete(i);
+                }
+            }
+            other.spill = null;
+        }
+        for (int g = 0; g < other.groups.getSize(); ++g) {
+            int group = getGroup(other.groups.getRow(g), leadingColumns);
+            for (int i = 0; i < columns.length; ++i) {
+                mergeVar(i, group, other.columns[i].getVar(g));
+            }
+        }
+    }
+
+    public int size() {
+        return groups.getSize();
+    }
+
+    private Object @NonNull [] calValue(int group) {
+        Object[] result = new Object[columns.length];
+        for (int i = 0; i < columns.length; ++i) {
+            result[i] = columns[i].getValue(group);
         }
         return result;
     }
 
+    /**
+     * Iterate the results. If spilled, the spill files are consumed, so it can be called only once.
+     */
     @Override
     public Iterator<Object[]> iterator() {
-        if (cache.isEmpty() && keyMapping.size() == 0) {
+        if (spill != null) {
+            spillGroups();
+            return new SpilledIterator();
+        }
+        if (groups.getSize() == 0 && keyMapping.size() == 0) {
             return Collections.singleton(aggList.stream().map(agg -> agg.getValue(null)).toArray()).iterator();
         }
-        return Iterators.transform(
-            cache.entrySet().iterator(),
-            e -> ArrayUtils.concat(e.getKey().getTuple(), calValue(e.getValue()))
-        );
+        return new Iterator<Object[]>() {
+            private int group = 0;
+
+            @Override
+            public boolean hasNext() {
+                return group < groups.getSize();
+            }
+
+            @Override
+            public Object[] next() {
+                if (group >= groups.getSize()) {
+                    throw new NoSuchElementException();
+                }
+                Object[] result = ArrayUtils.concat(groups.getRow(group), calValue(group));
+                ++group;
+                return result;
+            }
+        };
     }
 
     public void clear() {
-        cache.clear();
+        groups.clear();
+        for (AggColumn column : columns) {
+            column.clear();
+        }
+        if (spill != null) {
+            spill.delete();
+            spill = null;
+        }
+    }
+
+    private class SpilledIterator implements Iterator<Object[]> {
+        private int partition = 0;
+        private AggCache current = null;
+        private Iterator<Object[]> iterator = Collections.emptyIterator();
+
+        @Override
+        public boolean hasNext() {
+            while (!iterator.hasNext()) {
+                if (current != null) {
+                    current.clear();
+                    current = null;
+                }
+                if (spill == null || partition >= SpillPartitions.PARTITION_NUM) {
+                    return false;
+                }
+                SpillFile file = spill.get(partition);
+                if (file != null) {
+                    // Oversized partitions are spilled again with a different hash, unless it is too deep.
+                    long limit = depth + 1 < SpillPartitions.MAX_DEPTH ? memoryLimit : Long.MAX_VALUE;
+                    current = new AggCache(TupleMapping.of(leadingColumns), aggList, limit, depth + 1);
+                    file.iterator().forEachRemaining(current::reduce);
+                    spill.delete(partition);
+                    iterator = current.iterator();
+                }
+                ++partition;
+            }
+            return true;
+        }
+
+        @Override
+        public Object[] next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return iterator.next();
+        }
     }
 }
@@ -0,0 +1,324 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.aggregate;
+
+import io.dingodb.common.type.scalar.DoubleType;
+import io.dingodb.common.type.scalar.LongType;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Aggregating contexts of an {@link Agg} for all groups, indexed by group number.
+ *
+ * <p>Counting, and sum/min/max of {@code long} or {@code double} are accumulated in primitive arrays without boxing.
+ * The others are delegated to the {@link Agg}, with contexts kept in an {@code Object} array.
+ */
+abstract class AggColumn {
+    protected final Agg agg;
+
+    protected AggColumn(Agg agg) {
+        this.agg = agg;
+    }
+
+    static @NonNull AggColumn of(@NonNull Agg agg) {
+        if (agg instanceof CountAllAgg) {
+            return new CountColumn(agg, -1);
+        } else if (agg instanceof CountAgg) {
+            return new CountColumn(agg, ((CountAgg) agg).getIndex());
+        } else if (agg instanceof SumAgg || agg instanceof MinAgg || agg instanceof MaxAgg) {
+            UnityEvaluatorAgg evaluatorAgg = (UnityEvaluatorAgg) agg;
+            if (evaluatorAgg.type instanceof LongType) {
+                return new LongColumn(agg, evaluatorAgg.getIndex(), Op.of(agg));
+            } else if (evaluatorAgg.type instanceof DoubleType) {
+                return new DoubleColumn(agg, evaluatorAgg.getIndex(), Op.of(agg));
+            }
+        }
+        return new GenericColumn(agg);
+    }
+
+    abstract void ensureCapacity(int capacity);
+
+    /**
+     * Accumulate a tuple into a group.
+     *
+     * @return {@code false} if the value cannot be accumulated by this column, which must be replaced by
+     *     {@link #toGeneric(int)}
+     */
+    abstract boolean add(int group, Object @NonNull [] tuple);
+
+    /**
+     * Merge an aggregating context (or an output value of a partial aggregation) into a group.
+     *
+     * @return {@code false} if the value cannot be merged by this column, which must be replaced by
+     *     {@link #toGeneric(int)}
+     */
+    abstract boolean merge(int group, @Nullable Object var);
+
+    abstract @Nullable Object getVar(int group);
+
+    @Nullable Object getValue(int group) {
+        return agg.getValue(getVar(group));
+    }
+
+    @NonNull GenericColumn toGeneric(int size) {
+        GenericColumn column = new GenericColumn(agg);
+        column.ensureCapacity(size);
+        for (int i = 0; i < size; ++i) {
+            column.vars[i] = getVar(i);
+        }
+        return column;
+    }
+
+    abstract void clear();
+
+    private static int grow(int length, int capacity) {
+        int newLength = Math.max(length, 16);
+        while (newLength < capacity) {
+            newLength += newLength >> 1;
+        }
+        return newLength;
+    }
+
+    enum Op {
+        SUM, MIN, MAX;
+
+        static Op of(Agg agg) {
+            if (agg instanceof MinAgg) {
+                return MIN;
+            } else if (agg instanceof MaxAgg) {
+                return MAX;
+            }
+            return SUM;
+        }
+    }
+
+    static final class GenericColumn extends AggColumn {
+        private Object[] vars = new Object[0];
+
+        GenericColumn(Agg agg) {
+            super(agg);
+        }
+
+        @Override
+        void ensureCapacity(int capacity) {
+            if (vars.length < capacity) {
+                vars = Arrays.copyOf(vars, grow(vars.length, capacity));
+            }
+        }
+
+        @Override
+        boolean add(int group, Object @NonNull [] tuple) {
+            Object var = vars[group];
+            vars[group] = (var == null ? agg.first(tuple) : agg.add(var, tuple));
+            return true;
+        }
+
+        @Override
+        boolean merge(int group, @Nullable Object var) {
+            vars[group] = agg.merge(vars[group], var);
+            return true;
+        }
+
+        @Override
+        @Nullable Object getVar(int group) {
+            return vars[group];
+        }
+
+        @Override
+        void clear() {
+            vars = new Object[0];
+        }
+    }
+
+    static final class CountColumn extends AggColumn {
+        // Negative for count(*).
+        private final int index;
+        private long[] counts = new long[0];
+
+        CountColumn(Agg agg, int index) {
+            super(agg);
+            this.index = index;
+        }
+
+        @Override
+        void ensureCapacity(int capacity) {
+            if (counts.length < capacity) {
+                counts = Arrays.copyOf(counts, grow(counts.length, capacity));
+            }
+        }
+
+        @Override
+        boolean add(int group, Object @NonNull [] tuple) {
+            if (index < 0 || tuple[index] != null) {
+                ++counts[group];
+            }
+            return true;
+        }
+
+        @Override
+        boolean merge(int group, @Nullable Object var) {
+            if (var != null) {
+                counts[group] += (Long) var;
+            }
+            return true;
+        }
+
+        @Override
+        @Nullable Object getVar(int group) {
+            long count = counts[group];
+            return count > 0 ? count : null;
+        }
+
+        @Override
+        void clear() {
+            counts = new long[0];
+        }
+    }
+
+    static final class LongColumn extends AggColumn {
+        private final int index;
+        private final Op op;
+        private long[] values = new long[0];
+        // Groups which have non-null values.
+        private final BitSet present = new BitSet();
+
+        LongColumn(Agg agg, int index, Op op) {
+            super(agg);
+            this.index = index;
+            this.op = op;
+        }
+
+        @Override
+        void ensureCapacity(int capacity) {
+            if (values.length < capacity) {
+                values = Arrays.copyOf(values, grow(values.length, capacity));
+            }
+        }
+
+        @Override
+        boolean add(int group, Object @NonNull [] tuple) {
+            return merge(group, tuple[index]);
+        }
+
+        @Override
+        boolean merge(int group, @Nullable Object var) {
+            if (var == null) {
+                return true;
+            }
+            if (!(var instanceof Long)) {
+                return false;
+            }
+            long value = (Long) var;
+            if (!present.get(group)) {
+                values[group] = value;
+                present.set(group);
+                return true;
+            }
+            switch (op) {
+                case MIN:
+                    values[group] = Math.min(values[group], value);
+                    break;
+                case MAX:
+                    values[group] = Math.max(values[group], value);
+                    break;
+                default:
+                    values[group] += value;
+                    break;
+            }
+            return true;
+        }
+
+        @Override
+        @Nullable Object getVar(int group) {
+            return present.get(group) ? values[group] : null;
+        }
+
+        @Override
+        void clear() {
+            values = new long[0];
+            present.clear();
+        }
+    }
+
+    static final class DoubleColumn extends AggColumn {
+        private final int index;
+        private final Op op;
+        private double[] values = new double[0];
+        // Groups which have non-null values.
+        private final BitSet present = new BitSet();
+
+        DoubleColumn(Agg agg, int index, Op op) {
+            super(agg);
+            this.index = index;
+            this.op = op;
+        }
+
+        @Override
+        void ensureCapacity(int capacity) {
+            if (values.length < capacity) {
+                values = Arrays.copyOf(values, grow(values.length, capacity));
+            }
+        }
+
+        @Override
+        boolean add(int group, Object @NonNull [] tuple) {
+            return merge(group, tuple[index]);
+        }
+
+        @Override
+        boolean merge(int group, @Nullable Object var) {
+            if (var == null) {
+                return true;
+            }
+            if (!(var instanceof Double)) {
+                return false;
+            }
+            double value = (Double) var;
+            if (!present.get(group)) {
+                values[group] = value;
+                present.set(group);
+                return true;
+            }
+            switch (op) {
+                case MIN:
+                    values[group] = Math.min(values[group], value);
+                    break;
+                case MAX:
+                    values[group] = Math.max(values[group], value);
+                    break;
+                default:
+                    values[group] += value;
+                    break;
+            }
+            return true;
+        }
+
+        @Override
+        @Nullable Object getVar(int group) {
+            return present.get(group) ? values[group] : null;
+        }
+
+        @Override
+        void clear() {
+            values = new double[0];
+            present.clear();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.aggregate;
+
+import io.dingodb.exec.spill.SpillFile;
+import io.dingodb.exec.spill.SpillPartitions;
+import lombok.Getter;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Hash partitioned spill files of aggregating groups. Each record is the group keys followed by the aggregating
+ * contexts, so the records of a partition can be re-aggregated by {@link AggCache#reduce(Object[])}. Groups with equal
+ * keys always go to the same partition, so each partition can be re-aggregated independently.
+ */
+class AggSpill {
+    @Getter
+    private final int depth;
+    private final SpillFile[] files;
+
+    AggSpill(int depth) {
+        this.depth = depth;
+        this.files = new SpillFile[SpillPartitions.PARTITION_NUM];
+    }
+
+    int partition(int hash) {
+        return SpillPartitions.partition(hash, depth);
+    }
+
+    void add(int hash, Object @NonNull [] record) {
+        int index = partition(hash);
+        if (files[index] == null) {
+            files[index] = SpillFile.create("agg-" + depth + "-" + index + "-");
+        }
+        files[index].write(record);
+    }
+
+    @Nullable SpillFile get(int index) {
+        return files[index];
+    }
+
+    void delete(int index) {
+        if (files[index] != null) {
+            files[index].delete();
+            files[index] = null;
+        }
+    }
+
+    void delete() {
+        for (int i = 0; i < SpillPartitions.PARTITION_NUM; ++i) {
+            delete(i);
+        }
+    }
+}
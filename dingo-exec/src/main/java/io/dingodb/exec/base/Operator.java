@@ -21,7 +21,13 @@ import io.dingodb.exec.fin.Fin;
 import io.dingodb.exec.operator.data.Context;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.util.List;
+
 public interface Operator {
+    /**
+     * Max number of tuples pushed in one call of {@link #pushBatch(Context, List, Vertex)}.
+     */
+    int PUSH_BATCH_SIZE = 256;
 
     /**
      * Push a new tuple to the operator. Need to be synchronized for there may be multiple thread call on the same
@@ -33,6 +39,23 @@ public interface Operator {
      */
     boolean push(Context context, @Nullable Object[] tuple, Vertex vertex);
 
+    /**
+     * Push a batch of tuples to the operator, so that per-call costs are paid once per batch. Operators not
+     * overriding this are pushed the tuples one by one.
+     *
+     * @param context the input pin no and distribution
+     * @param tuples  the tuples pushed in, must not be retained after return
+     * @return `true` means another push needed, `false` means the task is canceled or finished
+     */
+    default boolean pushBatch(Context context, List<Object[]> tuples, Vertex vertex) {
+        for (Object[] tuple : tuples) {
+            if (!push(context, tuple, vertex)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     void fin(int pin, @Nullable Fin fin, Vertex vertex);
 
     void setParas(Object[] paras);
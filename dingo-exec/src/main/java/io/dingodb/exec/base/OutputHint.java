@@ -42,4 +42,19 @@ public class OutputHint {
     @Getter
     @Setter
     private boolean toSumUp = false;
+
+    /**
+     * Make the part id of the {@code index}-th output of hash partitioning, which never collides with ids of table
+     * partitions.
+     */
+    public static CommonId hashPartId(int index) {
+        return new CommonId(CommonId.CommonType.DISTRIBUTION, 0, index + 1);
+    }
+
+    public static boolean isHashPartId(CommonId partId) {
+        return partId != null
+            && partId.type.code == CommonId.CommonType.DISTRIBUTION.code
+            && partId.domain == 0
+            && partId.seq > 0;
+    }
 }
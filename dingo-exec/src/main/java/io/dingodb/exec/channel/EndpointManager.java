@@ -20,7 +20,9 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import io.dingodb.common.log.LogUtils;
 import io.dingodb.exec.channel.message.Control;
 import io.dingodb.exec.channel.message.IncreaseBuffer;
+import io.dingodb.exec.channel.message.PushRuntimeFilter;
 import io.dingodb.exec.channel.message.StopTx;
+import io.dingodb.exec.operator.join.RuntimeFilterManager;
 import io.dingodb.net.Message;
 import lombok.extern.slf4j.Slf4j;
 import org.checkerframework.checker.nullness.qual.NonNull;
@@ -51,6 +53,10 @@ public final class EndpointManager {
         }
         LogUtils.debug(log, "Received control message {}.", msg);
         String tag = msg.getTag();
+        if (msg instanceof PushRuntimeFilter) {
+            RuntimeFilterManager.INSTANCE.put(tag, ((PushRuntimeFilter) msg).getFilter());
+            return;
+        }
         AtomicInteger bufferCount = getBufferCount(tag);
         if (msg instanceof StopTx) {
             bufferCount.set(-1);
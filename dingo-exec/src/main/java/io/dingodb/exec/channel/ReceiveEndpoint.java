@@ -29,6 +29,7 @@ import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
+import java.nio.ByteBuffer;
 import java.util.function.Consumer;
 
 import static io.dingodb.exec.Services.CTRL_TAG;
@@ -40,7 +41,7 @@ public class ReceiveEndpoint {
     private final String host;
     private final int port;
     private final String tag;
-    private final Consumer<byte[]> handler;
+    private final Consumer<ByteBuffer> handler;
 
     @Getter
     private boolean stopped;
@@ -48,7 +49,7 @@ public class ReceiveEndpoint {
     private Channel channel;
     private ReceiveMessageListener messageListener;
 
-    public ReceiveEndpoint(String host, int port, String tag, Consumer<byte[]> handler) {
+    public ReceiveEndpoint(String host, int port, String tag, Consumer<ByteBuffer> handler) {
         this.host = host;
         this.port = port;
         this.tag = tag;
@@ -101,8 +102,8 @@ public class ReceiveEndpoint {
         @Override
         public void onMessage(@NonNull Message message, @NonNull Channel channel) {
             sendIncreaseBuffer(message.length());
-            final byte[] content = message.content();
-            handler.accept(content);
+            // Decode from the received buffer, without copying the content to a new array.
+            handler.accept(message.contentBuffer());
         }
     }
 }
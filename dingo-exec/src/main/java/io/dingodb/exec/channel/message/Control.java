@@ -34,6 +34,7 @@ import java.nio.charset.StandardCharsets;
 @JsonSubTypes({
     @JsonSubTypes.Type(StopTx.class),
     @JsonSubTypes.Type(IncreaseBuffer.class),
+    @JsonSubTypes.Type(PushRuntimeFilter.class),
 })
 public abstract class Control {
     private static final Parser PARSER = Parser.JSON;
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.channel.message;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import io.dingodb.exec.operator.join.RuntimeFilter;
+import lombok.Getter;
+import lombok.ToString;
+
+@ToString(callSuper = true, exclude = "filter")
+@JsonTypeName("filter")
+public class PushRuntimeFilter extends Control {
+    @Getter
+    @JsonProperty("filter")
+    private final RuntimeFilter filter;
+
+    @JsonCreator
+    public PushRuntimeFilter(@JsonProperty("tag") String tag, @JsonProperty("filter") RuntimeFilter filter) {
+        super(tag);
+        this.filter = filter;
+    }
+}
@@ -0,0 +1,475 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.codec;
+
+import com.google.common.io.ByteStreams;
+import io.dingodb.common.type.DingoType;
+import io.dingodb.common.type.DingoTypeFactory;
+import io.dingodb.common.type.scalar.BooleanType;
+import io.dingodb.common.type.scalar.DateType;
+import io.dingodb.common.type.scalar.DecimalType;
+import io.dingodb.common.type.scalar.DoubleType;
+import io.dingodb.common.type.scalar.FloatType;
+import io.dingodb.common.type.scalar.IntegerType;
+import io.dingodb.common.type.scalar.LongType;
+import io.dingodb.common.type.scalar.StringType;
+import io.dingodb.common.type.scalar.TimeType;
+import io.dingodb.common.type.scalar.TimestampType;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encode a batch of tuples column by column.
+ *
+ * <p>A batch is the row count followed by the columns. Each column starts with its null bitmap, then the non-null
+ * values as a typed vector. Strings and decimals are dictionary encoded if there are many duplicates. Columns of types
+ * without a vector encoding are encoded row by row by an {@link AvroTupleCodec} at the end of the batch.
+ */
+public class ColumnarTupleCodec implements TupleCodec {
+    private static final int NO_NULLS = 0;
+    private static final int ALL_NULLS = 1;
+    private static final int SOME_NULLS = 2;
+
+    private static final int PLAIN = 0;
+    private static final int DICTIONARY = 1;
+    private static final int MAX_DICTIONARY_SIZE = 1 << 16;
+
+    private final Kind[] kinds;
+    private final int[] fallbackColumns;
+    private final @Nullable AvroTupleCodec fallbackCodec;
+
+    public ColumnarTupleCodec(@NonNull DingoType schema) {
+        int size = schema.fieldCount();
+        kinds = new Kind[size];
+        List<DingoType> fallbackTypes = new ArrayList<>();
+        List<Integer> fallbackIndices = new ArrayList<>();
+        for (int i = 0; i < size; ++i) {
+            DingoType type = schema.getChild(i);
+            kinds[i] = kindOf(type);
+            if (kinds[i] == Kind.FALLBACK) {
+                fallbackTypes.add(type);
+                fallbackIndices.add(i);
+            }
+        }
+        fallbackColumns = fallbackIndices.stream().mapToInt(Integer::intValue).toArray();
+        if (fallbackColumns.length > 0) {
+            fallbackCodec = new AvroTupleCodec(DingoTypeFactory.tuple(fallbackTypes.toArray(new DingoType[0])));
+        } else {
+            fallbackCodec = null;
+        }
+    }
+
+    private static Kind kindOf(DingoType type) {
+        if (type instanceof LongType) {
+            return Kind.LONG;
+        } else if (type instanceof IntegerType) {
+            return Kind.INT;
+        } else if (type instanceof DoubleType) {
+            return Kind.DOUBLE;
+        } else if (type instanceof FloatType) {
+            return Kind.FLOAT;
+        } else if (type instanceof BooleanType) {
+            return Kind.BOOLEAN;
+        } else if (type instanceof StringType) {
+            return Kind.STRING;
+        } else if (type instanceof DecimalType) {
+            return Kind.DECIMAL;
+        } else if (type instanceof DateType) {
+            return Kind.DATE;
+        } else if (type instanceof TimeType) {
+            return Kind.TIME;
+        } else if (type instanceof TimestampType) {
+            return Kind.TIMESTAMP;
+        }
+        return Kind.FALLBACK;
+    }
+
+    @Override
+    public void encode(@NonNull OutputStream os, @NonNull List<Object @NonNull []> tuples) throws IOException {
+        DataOutputStream dos = new DataOutputStream(os);
+        dos.writeInt(tuples.size());
+        for (int i = 0; i < kinds.length; ++i) {
+            if (kinds[i] != Kind.FALLBACK) {
+                encodeColumn(dos, tuples, i, kinds[i]);
+            }
+        }
+        dos.flush();
+        if (fallbackCodec != null) {
+            List<Object[]> subTuples = new ArrayList<>(tuples.size());
+            for (Object[] tuple : tuples) {
+                Object[] subTuple = new Object[fallbackColumns.length];
+                for (int i = 0; i < fallbackColumns.length; ++i) {
+                    subTuple[i] = tuple[fallbackColumns[i]];
+                }
+                subTuples.add(subTuple);
+            }
+            fallbackCodec.encode(os, subTuples);
+        }
+    }
+
+    private static void encodeColumn(
+        @NonNull DataOutputStream dos,
+        @NonNull List<Object[]> tuples,
+        int index,
+        Kind kind
+    ) throws IOException {
+        BitSet nulls = new BitSet(tuples.size());
+        int row = 0;
+        for (Object[] tuple : tuples) {
+            if (tuple[index] == null) {
+                nulls.set(row);
+            }
+            ++row;
+        }
+        int nullCount = nulls.cardinality();
+        if (nullCount == tuples.size()) {
+            dos.writeByte(ALL_NULLS);
+            return;
+        } else if (nullCount == 0) {
+            dos.writeByte(NO_NULLS);
+        } else {
+            dos.writeByte(SOME_NULLS);
+            writeBytes(dos, nulls.toByteArray());
+        }
+        switch (kind) {
+            case LONG:
+                for (Object[] tuple : tuples) {
+                    if (tuple[index] != null) {
+                        dos.writeLong(((Number) tuple[index]).longValue());
+                    }
+                }
+                break;
+            case INT:
+                for (Object[] tuple : tuples) {
+                    if (tuple[index] != null) {
+                        dos.writeInt(((Number) tuple[index]).intValue());
+                    }
+                }
+                break;
+            case DOUBLE:
+                for (Object[] tuple : tuples) {
+                    if (tuple[index] != null) {
+                        dos.writeDouble(((Number) tuple[index]).doubleValue());
+                    }
+                }
+                break;
+            case FLOAT:
+                for (Object[] tuple : tuples) {
+                    if (tuple[index] != null) {
+                        dos.writeFloat(((Number) tuple[index]).floatValue());
+                    }
+                }
+                break;
+            case BOOLEAN:
+                BitSet values = new BitSet();
+                int count = 0;
+                for (Object[] tuple : tuples) {
+                    if (tuple[index] != null) {
+                        values.set(count++, (Boolean) tuple[index]);
+                    }
+                }
+                writeBytes(dos, values.toByteArray());
+                break;
+            case DATE:
+            case TIME:
+            case TIMESTAMP:
+                for (Object[] tuple : tuples) {
+                    if (tuple[index] != null) {
+                        dos.writeLong(((java.util.Date) tuple[index]).getTime());
+                    }
+                }
+                break;
+            case STRING:
+            case DECIMAL:
+                encodeStrings(dos, tuples, index, tuples.size() - nullCount);
+                break;
+            default:
+                throw new IllegalStateException("Unsupported column kind " + kind + ".");
+        }
+    }
+
+    private static void encodeStrings(
+        @NonNull DataOutputStream dos,
+        @NonNull List<Object[]> tuples,
+        int index,
+        int count
+    ) throws IOException {
+        String[] values = new String[count];
+        int[] codes = new int[count];
+        List<String> dictionary = new ArrayList<>();
+        Map<String, Integer> dictionaryMap = new HashMap<>();
+        // Use a dictionary only if each value repeats twice on average.
+        int limit = Math.min(MAX_DICTIONARY_SIZE, count / 2);
+        int i = 0;
+        for (Object[] tuple : tuples) {
+            Object value = tuple[index];
+            if (value == null) {
+                continue;
+            }
+            String str = value instanceof BigDecimal ? ((BigDecimal) value).toString() : value.toString();
+            values[i] = str;
+            if (dictionary != null) {
+                Integer code = dictionaryMap.get(str);
+                if (code == null) {
+                    if (dictionary.size() < limit) {
+                        code = dictionary.size();
+                        dictionary.add(str);
+                        dictionaryMap.put(str, code);
+                    } else {
+                        dictionary = null;
+                        code = -1;
+                    }
+                }
+                codes[i] = code;
+            }
+            ++i;
+        }
+        if (dictionary != null) {
+            dos.writeByte(DICTIONARY);
+            dos.writeInt(dictionary.size());
+            for (String str : dictionary) {
+                writeBytes(dos, str.getBytes(StandardCharsets.UTF_8));
+            }
+            boolean narrow = dictionary.size() <= 256;
+            for (int code : codes) {
+                if (narrow) {
+                    dos.writeByte(code);
+                } else {
+                    dos.writeShort(code);
+                }
+            }
+        } else {
+            dos.writeByte(PLAIN);
+            for (String str : values) {
+                writeBytes(dos, str.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    private static void writeBytes(@NonNull DataOutputStream dos, byte @NonNull [] bytes) throws IOException {
+        dos.writeInt(bytes.length);
+        dos.write(bytes);
+    }
+
+    /**
+     * Get an input stream reading the remaining of a buffer, without copying if the buffer is backed by an array.
+     */
+    static @NonNull InputStream asInputStream(@NonNull ByteBuffer buffer) {
+        if (buffer.hasArray()) {
+            return new ByteArrayInputStream(
+                buffer.array(),
+                buffer.arrayOffset() + buffer.position(),
+                buffer.remaining()
+            );
+        }
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return new ByteArrayInputStream(bytes);
+    }
+
+    private static @NonNull BitSet readBitSet(@NonNull ByteBuffer buffer) {
+        int length = buffer.getInt();
+        ByteBuffer bytes = buffer.slice();
+        bytes.limit(length);
+        buffer.position(buffer.position() + length);
+        return BitSet.valueOf(bytes);
+    }
+
+    private static @NonNull Object readString(@NonNull ByteBuffer buffer, boolean decimal) {
+        int length = buffer.getInt();
+        String str;
+        if (buffer.hasArray()) {
+            str = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+            buffer.position(buffer.position() + length);
+        } else {
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            str = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return decimal ? new BigDecimal(str) : str;
+    }
+
+    @Override
+    public @NonNull List<Object[]> decode(@NonNull InputStream is) throws IOException {
+        return decode(ByteBuffer.wrap(ByteStreams.toByteArray(is)));
+    }
+
+    /**
+     * Decode a batch directly from a buffer. The position of the buffer is moved to the end of the batch.
+     */
+    public @NonNull List<Object[]> decode(@NonNull ByteBuffer buffer) throws IOException {
+        int rows = buffer.getInt();
+        Object[][] tuples = new Object[rows][kinds.length];
+        for (int i = 0; i < kinds.length; ++i) {
+            if (kinds[i] != Kind.FALLBACK) {
+                decodeColumn(buffer, tuples, i, kinds[i]);
+            }
+        }
+        if (fallbackCodec != null) {
+            List<Object[]> subTuples = fallbackCodec.decode(asInputStream(buffer));
+            buffer.position(buffer.limit());
+            int row = 0;
+            for (Object[] subTuple : subTuples) {
+                for (int i = 0; i < fallbackColumns.length; ++i) {
+                    tuples[row][fallbackColumns[i]] = subTuple[i];
+                }
+                ++row;
+            }
+        }
+        return Arrays.asList(tuples);
+    }
+
+    private static void decodeColumn(
+        @NonNull ByteBuffer buffer,
+        Object @NonNull [] @NonNull [] tuples,
+        int index,
+        Kind kind
+    ) {
+        int nullFlag = buffer.get();
+        if (nullFlag == ALL_NULLS) {
+            return;
+        }
+        BitSet nulls = nullFlag == SOME_NULLS ? readBitSet(buffer) : new BitSet();
+        switch (kind) {
+            case LONG:
+                for (int row = 0; row < tuples.length; ++row) {
+                    if (!nulls.get(row)) {
+                        tuples[row][index] = buffer.getLong();
+                    }
+                }
+                break;
+            case INT:
+                for (int row = 0; row < tuples.length; ++row) {
+                    if (!nulls.get(row)) {
+                        tuples[row][index] = buffer.getInt();
+                    }
+                }
+                break;
+            case DOUBLE:
+                for (int row = 0; row < tuples.length; ++row) {
+                    if (!nulls.get(row)) {
+                        tuples[row][index] = buffer.getDouble();
+                    }
+                }
+                break;
+            case FLOAT:
+                for (int row = 0; row < tuples.length; ++row) {
+                    if (!nulls.get(row)) {
+                        tuples[row][index] = buffer.getFloat();
+                    }
+                }
+                break;
+            case BOOLEAN:
+                BitSet values = readBitSet(buffer);
+                int count = 0;
+                for (int row = 0; row < tuples.length; ++row) {
+                    if (!nulls.get(row)) {
+                        tuples[row][index] = values.get(count++);
+                    }
+                }
+                break;
+            case DATE:
+                for (int row = 0; row < tuples.length; ++row) {
+                    if (!nulls.get(row)) {
+                        tuples[row][index] = new Date(buffer.getLong());
+                    }
+                }
+                break;
+            case TIME:
+                for (int row = 0; row < tuples.length; ++row) {
+                    if (!nulls.get(row)) {
+                        tuples[row][index] = new Time(buffer.getLong());
+                    }
+                }
+                break;
+            case TIMESTAMP:
+                for (int row = 0; row < tuples.length; ++row) {
+                    if (!nulls.get(row)) {
+                        tuples[row][index] = new Timestamp(buffer.getLong());
+                    }
+                }
+                break;
+            case STRING:
+            case DECIMAL:
+                decodeStrings(buffer, tuples, index, nulls, kind == Kind.DECIMAL);
+                break;
+            default:
+                throw new IllegalStateException("Unsupported column kind " + kind + ".");
+        }
+    }
+
+    private static void decodeStrings(
+        @NonNull ByteBuffer buffer,
+        Object @NonNull [] @NonNull [] tuples,
+        int index,
+        @NonNull BitSet nulls,
+        boolean decimal
+    ) {
+        int mode = buffer.get();
+        if (mode == DICTIONARY) {
+            // Values are decoded once for each dictionary entry and shared by the rows.
+            Object[] dictionary = new Object[buffer.getInt()];
+            for (int i = 0; i < dictionary.length; ++i) {
+                dictionary[i] = readString(buffer, decimal);
+            }
+            boolean narrow = dictionary.length <= 256;
+            for (int row = 0; row < tuples.length; ++row) {
+                if (!nulls.get(row)) {
+                    tuples[row][index] = dictionary[narrow ? buffer.get() & 0xFF : buffer.getShort() & 0xFFFF];
+                }
+            }
+        } else {
+            for (int row = 0; row < tuples.length; ++row) {
+                if (!nulls.get(row)) {
+                    tuples[row][index] = readString(buffer, decimal);
+                }
+            }
+        }
+    }
+
+    private enum Kind {
+        LONG,
+        INT,
+        DOUBLE,
+        FLOAT,
+        BOOLEAN,
+        STRING,
+        DECIMAL,
+        DATE,
+        TIME,
+        TIMESTAMP,
+        FALLBACK,
+    }
+}
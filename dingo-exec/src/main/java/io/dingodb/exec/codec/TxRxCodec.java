@@ -22,6 +22,7 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.util.List;
 
 public interface TxRxCodec {
@@ -32,4 +33,9 @@ public interface TxRxCodec {
     void encodeTupleIds(OutputStream os, List<TupleId> tupleIds) throws IOException;
 
     List<TupleId> decode(byte[] bytes) throws IOException;
+
+    /**
+     * Decode a message from a buffer, without copying it if possible.
+     */
+    List<TupleId> decode(@NonNull ByteBuffer buffer) throws IOException;
 }
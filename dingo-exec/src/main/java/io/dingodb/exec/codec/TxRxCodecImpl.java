@@ -25,12 +25,14 @@ import io.dingodb.exec.fin.FinWithProfiles;
 import io.dingodb.exec.tuple.TupleId;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 public class TxRxCodecImpl implements TxRxCodec {
@@ -38,30 +40,55 @@ public class TxRxCodecImpl implements TxRxCodec {
     public static final int NORMAL_FIN_FLAG = 1;
     public static final int ABNORMAL_FIN_FLAG = 2;
     public static final int TUPLES_ID_FLAG = 3;
+    public static final int COLUMNAR_TUPLES_FLAG = 4;
+    public static final int COLUMNAR_TUPLES_ID_FLAG = 5;
 
+    // Row codec, only for decoding messages of `TUPLES_FLAG` and `TUPLES_ID_FLAG`.
     private final TupleCodec codec;
+    private final ColumnarTupleCodec columnarCodec;
 
     public TxRxCodecImpl(@NonNull DingoType schema) {
         this.codec = new AvroTupleCodec(schema);
+        this.columnarCodec = new ColumnarTupleCodec(schema);
     }
 
     @Override
     public void encodeTuples(@NonNull OutputStream os, @NonNull List<Object[]> tuples) throws IOException {
-        os.write(TUPLES_FLAG);
-        codec.encode(os, tuples);
+        os.write(COLUMNAR_TUPLES_FLAG);
+        columnarCodec.encode(os, tuples);
     }
 
+    /**
+     * Part ids and index ids are run-length encoded, for tuples of the same part are usually sent together.
+     */
     @Override
     public void encodeTupleIds(OutputStream os, List<TupleId> tupleIds) throws IOException {
-        os.write(TUPLES_ID_FLAG);
-        os.write(PrimitiveCodec.encodeInt(tupleIds.size()));
-        List<Object[]> tuples = new ArrayList<>();
+        os.write(COLUMNAR_TUPLES_ID_FLAG);
+        List<Object[]> tuples = new ArrayList<>(tupleIds.size());
+        List<TupleId> runHeads = new ArrayList<>();
+        List<Integer> runLengths = new ArrayList<>();
+        TupleId head = null;
         for (TupleId tupleId : tupleIds) {
-            os.write(tupleId.getPartId().encode());
-            os.write(tupleId.getIndexId() == null ? CommonId.EMPTY_INDEX.encode(): tupleId.getIndexId().encode());
+            if (head != null
+                && head.getPartId().equals(tupleId.getPartId())
+                && Objects.equals(head.getIndexId(), tupleId.getIndexId())
+            ) {
+                runLengths.set(runLengths.size() - 1, runLengths.get(runLengths.size() - 1) + 1);
+            } else {
+                head = tupleId;
+                runHeads.add(head);
+                runLengths.add(1);
+            }
             tuples.add(tupleId.getTuple());
         }
-        codec.encode(os, tuples);
+        os.write(PrimitiveCodec.encodeInt(runHeads.size()));
+        for (int i = 0; i < runHeads.size(); ++i) {
+            TupleId tupleId = runHeads.get(i);
+            os.write(PrimitiveCodec.encodeInt(runLengths.get(i)));
+            os.write(tupleId.getPartId().encode());
+            os.write(tupleId.getIndexId() == null ? CommonId.EMPTY_INDEX.encode() : tupleId.getIndexId().encode());
+        }
+        columnarCodec.encode(os, tuples);
     }
 
     @Override
@@ -76,8 +103,23 @@ public class TxRxCodecImpl implements TxRxCodec {
 
     @Override
     public List<TupleId> decode(byte[] bytes) throws IOException {
-        ByteArrayInputStream is = new ByteArrayInputStream(bytes);
-        int flag = is.read();
+        return decode(ByteBuffer.wrap(bytes));
+    }
+
+    @Override
+    public List<TupleId> decode(@NonNull ByteBuffer buffer) throws IOException {
+        int flag = buffer.get();
+        switch (flag) {
+            case COLUMNAR_TUPLES_FLAG:
+                return toTupleIds(columnarCodec.decode(buffer));
+            case COLUMNAR_TUPLES_ID_FLAG:
+                return decodeColumnarTupleIds(buffer);
+            default:
+                return decode(flag, ColumnarTupleCodec.asInputStream(buffer));
+        }
+    }
+
+    private List<TupleId> decode(int flag, @NonNull InputStream is) throws IOException {
         switch (flag) {
             case TUPLES_FLAG:
                 return codec.decode(is).stream().map(t -> TupleId.builder().tuple(t).build()).collect(Collectors.toList());
@@ -115,4 +157,41 @@ public class TxRxCodecImpl implements TxRxCodec {
         }
         throw new IllegalStateException("Unexpected data message flag \"" + flag + "\".");
     }
+
+    private static @NonNull List<TupleId> toTupleIds(@NonNull List<Object[]> tuples) {
+        List<TupleId> tupleIds = new ArrayList<>(tuples.size());
+        for (Object[] tuple : tuples) {
+            tupleIds.add(TupleId.builder().tuple(tuple).build());
+        }
+        return tupleIds;
+    }
+
+    private @NonNull List<TupleId> decodeColumnarTupleIds(@NonNull ByteBuffer buffer) throws IOException {
+        int runs = buffer.getInt();
+        int[] runLengths = new int[runs];
+        CommonId[] partIds = new CommonId[runs];
+        CommonId[] indexIds = new CommonId[runs];
+        byte[] bytes = new byte[CommonId.LEN];
+        for (int i = 0; i < runs; ++i) {
+            runLengths[i] = buffer.getInt();
+            buffer.get(bytes);
+            partIds[i] = CommonId.decode(bytes);
+            buffer.get(bytes);
+            CommonId indexId = CommonId.decode(bytes);
+            indexIds[i] = indexId.equals(CommonId.EMPTY_INDEX) ? null : indexId;
+        }
+        List<Object[]> tuples = columnarCodec.decode(buffer);
+        List<TupleId> tupleIds = new ArrayList<>(tuples.size());
+        int run = 0;
+        int count = 0;
+        for (Object[] tuple : tuples) {
+            while (count == runLengths[run]) {
+                ++run;
+                count = 0;
+            }
+            tupleIds.add(TupleId.builder().partId(partIds[run]).indexId(indexIds[run]).tuple(tuple).build());
+            ++count;
+        }
+        return tupleIds;
+    }
 }
@@ -29,6 +29,8 @@ import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.ArrayList;
+import java.util.List;
+
 @Slf4j
 @Setter
 @Getter
@@ -58,6 +60,19 @@ public class Edge {
         return OperatorFactory.getInstance(next.getOp()).push(context.setPin(previous.getPin()), tuple, next);
     }
 
+    public boolean transformBatchToNext(Context context, List<Object[]> tuples) {
+        if (tuples.isEmpty()) {
+            return true;
+        }
+        if (next.getTask().getStatus() == Status.CANCEL) {
+            LogUtils.info(log, "task status is cancel");
+            throw new TaskCancelException("task is cancel");
+        } else if (next.getTask().getStatus() == Status.STOPPED) {
+            return false;
+        }
+        return OperatorFactory.getInstance(next.getOp()).pushBatch(context.setPin(previous.getPin()), tuples, next);
+    }
+
     public void fin(Fin fin) {
         OperatorFactory.getInstance(next.getOp()).fin(previous.getPin(), fin, next);
     }
@@ -18,13 +18,15 @@ package io.dingodb.exec.expr;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import io.dingodb.common.type.DingoType;
 import io.dingodb.exec.fun.DingoFunFactory;
 import io.dingodb.exec.type.converter.ExprConverter;
 import io.dingodb.expr.coding.CodingFlag;
 import io.dingodb.expr.coding.ExprCoder;
 import io.dingodb.expr.parser.ExprParser;
-import io.dingodb.expr.parser.exception.ExprParseException;
 import io.dingodb.expr.runtime.CompileContext;
 import io.dingodb.expr.runtime.ExprCompiler;
 import io.dingodb.expr.runtime.ExprConfig;
@@ -33,17 +35,26 @@ import io.dingodb.expr.runtime.expr.Expr;
 import lombok.Getter;
 
 import java.io.ByteArrayOutputStream;
+import java.util.concurrent.ExecutionException;
 
 public class SqlExpr {
     private static final ExprParser EXPR_PARSER = new ExprParser(DingoFunFactory.getInstance());
+    // Compiled expressions depend on the tuple and parameter types, and are immutable (evaluating state lives in the
+    // context), so tasks of the same plan parse and compile each expression only once.
+    private static final Cache<String, Expr> COMPILED_EXPR_CACHE = CacheBuilder.newBuilder()
+        .maximumSize(8192)
+        .build();
 
     @JsonProperty("expr")
     @Getter
     private final String exprString;
     @JsonProperty("type")
     private final DingoType type;
-    private transient SqlExprEvalContext etx = new SqlExprEvalContext();
+    private transient Object[] paras = null;
     private transient Expr expr;
+    // Evaluating contexts reused by each thread, so concurrent evaluations need no locking nor allocation per row.
+    // Created in `compileIn`, for deserializers (e.g. protostuff) skip transient fields and their initializers.
+    private transient ThreadLocal<SqlExprEvalContext> contexts;
 
     @JsonCreator
     public SqlExpr(
@@ -52,12 +63,6 @@ public class SqlExpr {
     ) {
         this.exprString = exprString;
         this.type = type;
-        // TODO: Runtime env
-//        this.etx = new SqlExprEvalContext();
-    }
-
-    private Expr getExpr() throws ExprParseException {
-        return EXPR_PARSER.parse(exprString);
     }
 
     public byte[] getCoding(DingoType tupleType, DingoType parasType) {
@@ -75,19 +80,32 @@ public class SqlExpr {
 
     public void compileIn(DingoType tupleType, DingoType parasType) {
         try {
-            CompileContext context = new SqlExprCompileContext(tupleType, parasType);
-            expr = ExprCompiler.ADVANCED.visit(getExpr(), context);
-            etx = new SqlExprEvalContext();
-        } catch (ExprParseException | ExprCompileException e) {
-            throw new IllegalStateException(e);
+            String key = exprString + '\0' + tupleType + '\0' + parasType;
+            // Concurrent misses of the same key wait for the only loading, instead of parsing again.
+            expr = COMPILED_EXPR_CACHE.get(key, () -> {
+                CompileContext context = new SqlExprCompileContext(tupleType, parasType);
+                return ExprCompiler.ADVANCED.visit(EXPR_PARSER.parse(exprString), context);
+            });
+            paras = null;
+            if (contexts == null) {
+                contexts = ThreadLocal.withInitial(SqlExprEvalContext::new);
+            }
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            throw new IllegalStateException(e.getCause());
         }
     }
 
     public void setParas(Object[] paras) {
-        etx.setParas(paras);
+        this.paras = paras;
     }
 
+    /**
+     * Evaluate the expression on a tuple. Each thread has its own context, so concurrent evaluations of the same
+     * expression need no locking.
+     */
     public Object eval(Object[] tuple) {
+        SqlExprEvalContext etx = contexts.get();
+        etx.setParas(paras);
         etx.setTuple(tuple);
         return type.convertFrom(expr.eval(etx, ExprConfig.ADVANCED), ExprConverter.INSTANCE);
     }
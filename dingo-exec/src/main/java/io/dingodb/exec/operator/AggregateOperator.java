@@ -24,6 +24,8 @@ import io.dingodb.exec.operator.params.AggregateParams;
 import lombok.extern.slf4j.Slf4j;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.util.List;
+
 @Slf4j
 public final class AggregateOperator extends SoleOutOperator {
     public static final AggregateOperator INSTANCE = new AggregateOperator();
@@ -38,6 +40,13 @@ public final class AggregateOperator extends SoleOutOperator {
         return true;
     }
 
+    @Override
+    public boolean pushBatch(Context context, List<Object[]> tuples, Vertex vertex) {
+        AggregateParams params = vertex.getParam();
+        params.addTuples(tuples);
+        return true;
+    }
+
     @Override
     public  void fin(int pin, Fin fin, Vertex vertex) {
         AggregateParams params = vertex.getParam();
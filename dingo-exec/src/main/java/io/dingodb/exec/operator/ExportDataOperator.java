@@ -21,24 +21,27 @@ import io.dingodb.common.exception.DingoSqlException;
 import io.dingodb.common.log.LogUtils;
 import io.dingodb.exec.dag.Edge;
 import io.dingodb.exec.dag.Vertex;
+import io.dingodb.exec.fin.ErrorType;
 import io.dingodb.exec.fin.Fin;
+import io.dingodb.exec.fin.FinWithException;
+import io.dingodb.exec.fin.TaskStatus;
 import io.dingodb.exec.operator.data.Context;
+import io.dingodb.exec.operator.data.ExportWriter;
 import io.dingodb.exec.operator.params.ExportDataParam;
 import lombok.extern.slf4j.Slf4j;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.io.ByteArrayOutputStream;
-import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
 import java.sql.Time;
 import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Base64;
 import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 import static io.dingodb.common.mysql.constant.ServerConstant.ARRAY_SPLIT;
 import static io.dingodb.common.mysql.util.DataTimeUtils.getTime;
@@ -48,119 +51,116 @@ import static io.dingodb.common.util.Utils.getByteIndexOf;
 @Slf4j
 public class ExportDataOperator extends SoleOutOperator {
     public static final ExportDataOperator INSTANCE = new ExportDataOperator();
-    private final String WRITE_FILE_ERROR = "Error 1 (HY000): Can not create/write to file '%s' "
+    private static final String WRITE_FILE_ERROR = "Error 1 (HY000): Can not create/write to file '%s' "
         + "(Errcode: 13 - Permission denied)";
-    private final String FILE_EXISTS = "Error 1086(HY000): File '%s' already exists";
-    private final byte[] EMPTY_BYTES = "\\N".getBytes();
-
-    private final Map<String, FileOutputStream> fileMap = new ConcurrentHashMap<>();
+    private static final String FILE_EXISTS = "Error 1086(HY000): File '%s' already exists";
+    private static final byte[] EMPTY_BYTES = "\\N".getBytes(StandardCharsets.US_ASCII);
 
     @Override
     public boolean push(Context context, @Nullable Object[] tuple, Vertex vertex) {
         ExportDataParam param = vertex.getParam();
-        synchronized (vertex) {
-            writeFiles(tuple, param);
-        }
+        writeFiles(tuple, param);
         return true;
     }
 
     public void writeFiles(Object[] tuple, ExportDataParam param) {
+        ExportWriter writer = param.getWriter();
+        ExportWriter.Buffer buffer = param.getBuffer();
+        try {
+            synchronized (buffer) {
+                writeTuple(buffer, tuple, param);
+                writer.endLine(buffer);
+            }
+        } catch (FileAlreadyExistsException e) {
+            throw new DingoSqlException(String.format(FILE_EXISTS, param.getOutfile()));
+        } catch (IOException e) {
+            throw new DingoSqlException(String.format(WRITE_FILE_ERROR, param.getOutfile()));
+        }
+    }
+
+    private void writeTuple(ExportWriter.Buffer buffer, Object[] tuple, ExportDataParam param) {
         byte[] terminated = param.getTerminated();
         byte[] enclosed = param.getEnclosed();
         byte[] lineTerminated = param.getLineTerminated();
         byte[] lineStarting = param.getLineStarting();
-        String charset = param.getCharset();
+        Charset charset = param.getEncoding();
 
-        FileOutputStream writer = fileMap.get(param.getId());
-        try {
-            if (writer == null) {
-                File file = new File(param.getOutfile());
-                if (!file.exists()) {
-                    file.createNewFile();
-                } else {
-                    throw new DingoSqlException(String.format(FILE_EXISTS, param.getOutfile()));
-                }
-                writer = new FileOutputStream(param.getOutfile());
-                fileMap.put(param.getId(), writer);
-            }
-
-            int tupleLength = tuple.length;
-            int tupleLimitLen = tupleLength - 1;
-            if (lineStarting != null) {
-                writer.write(lineStarting);
+        int tupleLength = tuple.length;
+        int tupleLimitLen = tupleLength - 1;
+        if (lineStarting != null) {
+            buffer.writeBytes(lineStarting);
+        }
+        for (int j = 0; j < tupleLength; j++) {
+            Object val = tuple[j];
+            if (enclosed != null) {
+                buffer.writeBytes(enclosed);
             }
-            for (int j = 0; j < tupleLength; j++) {
-                Object val = tuple[j];
-                if (enclosed != null) {
-                    writer.write(enclosed);
-                }
-                if (val == null) {
-                    writer.write(EMPTY_BYTES);
-                } else if (val instanceof byte[]) {
-                    byte[] bytes = (byte[]) val;
-                    String base64String = Base64.getEncoder().encodeToString(bytes);
-                    writer.write(base64String.getBytes());
-                } else if (val instanceof Timestamp) {
-                    writer.write(getTimeStamp((Timestamp) val).getBytes());
-                } else if (val instanceof Time) {
-                    writer.write(getTime((Time) val, param.getLocalCalendar()).getBytes());
-                } else if (val instanceof Boolean) {
-                    boolean valBool = (boolean) val;
-                    if (valBool) {
-                        writer.write(49);
-                    } else {
-                        writer.write(48);
-                    }
-                } else if (val instanceof ArrayList) {
-                    List<Object> list = (List<Object>) val;
-                    writer.write("[".getBytes());
-                    StringBuilder line = new StringBuilder();
-                    int len = list.size();
-                    int limitLen = len - 1;
-                    for (int i = 0; i < len; i++) {
-                        line.append(list.get(i));
-                        if (i < limitLen) {
-                            line.append(ARRAY_SPLIT);
-                        }
-                    }
-                    writer.write(line.toString().getBytes(charset));
-                    writer.write("]".getBytes());
-                } else if (val instanceof String) {
-                    byte[] bytes = val.toString().getBytes(charset);
-                    bytes = combineEscaped(bytes, terminated, lineTerminated, lineStarting, param.getEscaped());
-                    writer.write(bytes);
-                } else if (val instanceof LinkedHashMap) {
-                    byte[] bytes = val.toString().getBytes(charset);
-                    bytes = combineEscaped(bytes, terminated, lineTerminated, lineStarting,  param.getEscaped());
-                    writer.write(bytes);
+            if (val == null) {
+                buffer.writeBytes(EMPTY_BYTES);
+            } else if (val instanceof byte[]) {
+                buffer.writeAscii(Base64.getEncoder().encodeToString((byte[]) val));
+            } else if (val instanceof Timestamp) {
+                buffer.writeAscii(getTimeStamp((Timestamp) val));
+            } else if (val instanceof Time) {
+                buffer.writeAscii(getTime((Time) val, param.getLocalCalendar()));
+            } else if (val instanceof Boolean) {
+                boolean valBool = (boolean) val;
+                if (valBool) {
+                    buffer.write(49);
                 } else {
-                    writer.write(val.toString().getBytes(charset));
+                    buffer.write(48);
                 }
-                if (enclosed != null) {
-                    writer.write(enclosed);
-                }
-                if (j < tupleLimitLen) {
-                    writer.write(terminated);
+            } else if (val instanceof ArrayList) {
+                List<Object> list = (List<Object>) val;
+                buffer.write('[');
+                StringBuilder line = new StringBuilder();
+                int len = list.size();
+                int limitLen = len - 1;
+                for (int i = 0; i < len; i++) {
+                    line.append(list.get(i));
+                    if (i < limitLen) {
+                        line.append(ARRAY_SPLIT);
+                    }
                 }
+                buffer.writeBytes(line.toString().getBytes(charset));
+                buffer.write(']');
+            } else if (val instanceof String || val instanceof LinkedHashMap) {
+                byte[] bytes = val.toString().getBytes(charset);
+                bytes = combineEscaped(bytes, terminated, lineTerminated, lineStarting, param.getEscaped());
+                buffer.writeBytes(bytes);
+            } else {
+                buffer.writeBytes(val.toString().getBytes(charset));
+            }
+            if (enclosed != null) {
+                buffer.writeBytes(enclosed);
+            }
+            if (j < tupleLimitLen) {
+                buffer.writeBytes(terminated);
             }
-            writer.write(lineTerminated);
-        } catch (IOException e) {
-            throw new DingoSqlException(String.format(WRITE_FILE_ERROR, param.getOutfile()));
         }
+        buffer.writeBytes(lineTerminated);
     }
 
     @Override
     public void fin(int pin, @Nullable Fin fin, Vertex vertex) {
         Edge edge = vertex.getSoleEdge();
+        ExportDataParam param = vertex.getParam();
         try {
-            ExportDataParam param = vertex.getParam();
-            FileOutputStream writer = fileMap.get(param.getId());
-            if (writer != null) {
-                writer.close();
-                fileMap.remove(param.getId());
-            }
+            param.release(true);
         } catch (IOException e) {
             LogUtils.error(log, e.getMessage(), e);
+            if (!(fin instanceof FinWithException)) {
+                // The buffered rows are lost, so the statement must fail.
+                TaskStatus taskStatus = new TaskStatus();
+                taskStatus.setStatus(false);
+                taskStatus.setTaskId(vertex.getTask().getId().toString());
+                taskStatus.setErrorType(ErrorType.TaskFin);
+                taskStatus.setErrorMsg(String.format(
+                    e instanceof FileAlreadyExistsException ? FILE_EXISTS : WRITE_FILE_ERROR,
+                    param.getOutfile()
+                ));
+                fin = FinWithException.of(taskStatus);
+            }
         } finally {
             edge.fin(fin);
         }
@@ -181,6 +181,9 @@ public class ExportDataOperator extends SoleOutOperator {
     }
 
     private static byte[] escaped(byte[] bytes, byte[] term, byte[] escaped) {
+        if (getByteIndexOf(bytes, term, 0, bytes.length) < 0) {
+            return bytes;
+        }
         ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
         int len = bytes.length;
         int breakPos = 0;
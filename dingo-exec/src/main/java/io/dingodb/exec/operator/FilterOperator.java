@@ -17,11 +17,15 @@
 package io.dingodb.exec.operator;
 
 import io.dingodb.exec.dag.Vertex;
+import io.dingodb.exec.expr.SqlExpr;
 import io.dingodb.exec.fin.Fin;
 import io.dingodb.exec.operator.data.Context;
 import io.dingodb.exec.operator.params.FilterParam;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public final class FilterOperator extends SoleOutOperator {
     public static final FilterOperator INSTANCE = new FilterOperator();
 
@@ -30,15 +34,27 @@ public final class FilterOperator extends SoleOutOperator {
 
     @Override
     public boolean push(Context context, @Nullable Object[] tuple, Vertex vertex) {
-        synchronized (vertex) {
-            FilterParam params = vertex.getParam();
-            // The eval result may be `null`
-            Boolean v = (Boolean) params.getFilter().eval(tuple);
+        FilterParam params = vertex.getParam();
+        // The eval result may be `null`
+        Boolean v = (Boolean) params.getFilter().eval(tuple);
+        if (v != null && v) {
+            return vertex.getSoleEdge().transformToNext(context, tuple);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean pushBatch(Context context, List<Object[]> tuples, Vertex vertex) {
+        FilterParam params = vertex.getParam();
+        SqlExpr filter = params.getFilter();
+        List<Object[]> selected = new ArrayList<>(tuples.size());
+        for (Object[] tuple : tuples) {
+            Boolean v = (Boolean) filter.eval(tuple);
             if (v != null && v) {
-                return vertex.getSoleEdge().transformToNext(context, tuple);
+                selected.add(tuple);
             }
-            return true;
         }
+        return vertex.getSoleEdge().transformBatchToNext(context, selected);
     }
 
     @Override
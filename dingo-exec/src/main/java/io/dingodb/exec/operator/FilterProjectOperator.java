@@ -30,8 +30,11 @@ public abstract class FilterProjectOperator extends IteratorOperator {
 
     @Override
     protected Iterator<Object[]> createIterator(Context context, Object[] tuple, Vertex vertex) {
+        return filterProject(createSourceIterator(context, tuple, vertex), vertex);
+    }
+
+    protected Iterator<Object[]> filterProject(Iterator<Object[]> iterator, Vertex vertex) {
         FilterProjectParam param = vertex.getParam();
-        Iterator<Object[]> iterator = createSourceIterator(context, tuple, vertex);
         SqlExpr filter = param.getFilter();
         TupleMapping selection = param.getSelection();
         if (selection != null) {
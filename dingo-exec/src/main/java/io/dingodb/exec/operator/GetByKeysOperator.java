@@ -16,6 +16,7 @@
 
 package io.dingodb.exec.operator;
 
+import com.google.common.collect.Iterators;
 import io.dingodb.common.store.KeyValue;
 import io.dingodb.exec.Services;
 import io.dingodb.exec.dag.Vertex;
@@ -25,8 +26,10 @@ import io.dingodb.store.api.StoreInstance;
 import lombok.extern.slf4j.Slf4j;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 
 @Slf4j
 public final class GetByKeysOperator extends FilterProjectOperator {
@@ -35,6 +38,16 @@ public final class GetByKeysOperator extends FilterProjectOperator {
     private GetByKeysOperator() {
     }
 
+    @Override
+    public boolean pushBatch(Context context, List<Object[]> tuples, Vertex vertex) {
+        // Read all the keys before pushing any row, so a batch retried on region split does not push rows twice.
+        List<Object[]> rows = new ArrayList<>(tuples.size());
+        for (Object[] tuple : tuples) {
+            Iterators.addAll(rows, createSourceIterator(context, tuple, vertex));
+        }
+        return pushIterator(context, filterProject(rows.iterator(), vertex), vertex);
+    }
+
     @Override
     protected @NonNull Iterator<Object[]> createSourceIterator(Context context, Object[] tuple, Vertex vertex) {
         GetByKeysParam param = vertex.getParam();
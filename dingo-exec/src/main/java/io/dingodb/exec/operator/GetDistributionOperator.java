@@ -17,6 +17,7 @@
 package io.dingodb.exec.operator;
 
 import io.dingodb.common.CommonId;
+import io.dingodb.common.concurrent.Executors;
 import io.dingodb.common.config.DingoConfiguration;
 import io.dingodb.common.log.LogUtils;
 import io.dingodb.common.partition.RangeDistribution;
@@ -33,10 +34,15 @@ import io.dingodb.partition.PartitionService;
 import io.dingodb.store.api.transaction.exception.RegionSplitException;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.NavigableMap;
 import java.util.Objects;
-import java.util.stream.IntStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Slf4j
 public class GetDistributionOperator extends SourceOperator {
@@ -48,35 +54,85 @@ public class GetDistributionOperator extends SourceOperator {
     @Override
     public boolean push(Context context, Vertex vertex) {
         GetDistributionParam param = vertex.getParam();
-        Table td = param.getTable();
-        PartitionService ps = PartitionService.getService(
-            Optional.ofNullable(td.getPartitionStrategy())
-                .orElse(DingoPartitionServiceProvider.RANGE_FUNC_NAME));
-
-        Integer retry = Optional.mapOrGet(DingoConfiguration.instance().find("retry", int.class), __ -> __, () -> 30);
+        TupleMapping keyMapping = param.getKeyMapping();
+        List<Object[]> keyTuples = new ArrayList<>(param.getKeyTuples().size());
         for (Object[] keyTuple : param.getKeyTuples()) {
-            TupleMapping keyMapping = param.getKeyMapping();
             boolean allMatch = keyMapping.stream().allMatch(i -> Objects.isNull(keyTuple[i]));
             if (allMatch) {
-                return false;
+                break;
             }
-            while (retry-- > 0) {
-                try {
-                    CommonId partId = ps.calcPartId(param.getCodec().encodeKey(keyTuple), param.getDistributions());
-                    RangeDistribution distribution = RangeDistribution.builder().id(partId).build();
-                    context.setDistribution(distribution);
-                    vertex.getSoleEdge().transformToNext(context, keyTuple);
+            keyTuples.add(keyTuple);
+        }
+        Map<CommonId, List<Object[]>> partKeyTuples = groupByPart(param, keyTuples);
+        AtomicInteger retry = new AtomicInteger(
+            Optional.mapOrGet(DingoConfiguration.instance().find("retry", int.class), __ -> __, () -> 30)
+        );
+        if (!param.isParallel() || partKeyTuples.size() <= 1) {
+            for (Map.Entry<CommonId, List<Object[]>> entry : partKeyTuples.entrySet()) {
+                if (!push(context, vertex, entry.getKey(), entry.getValue(), retry)) {
                     break;
-                } catch (RegionSplitException e) {
-                    LogUtils.error(log, e.getMessage());
-                    NavigableMap<ByteArrayUtils.ComparableByteArray, RangeDistribution> distribution =
-                        MetaService.root().getRangeDistribution(td.getTableId());
-                    param.setDistributions(distribution);
                 }
             }
+            return false;
+        }
+        List<CompletableFuture<Boolean>> futures = new ArrayList<>(partKeyTuples.size());
+        for (Map.Entry<CommonId, List<Object[]>> entry : partKeyTuples.entrySet()) {
+            Context copyContext = context.copy();
+            futures.add(Executors.submit(
+                "get-by-keys",
+                () -> push(copyContext, vertex, entry.getKey(), entry.getValue(), retry)
+            ));
+        }
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
         }
-
         return false;
     }
 
+    private static boolean push(
+        Context context,
+        Vertex vertex,
+        CommonId partId,
+        List<Object[]> keyTuples,
+        AtomicInteger retry
+    ) {
+        GetDistributionParam param = vertex.getParam();
+        try {
+            context.setDistribution(RangeDistribution.builder().id(partId).build());
+            return vertex.getSoleEdge().transformBatchToNext(context, keyTuples);
+        } catch (RegionSplitException e) {
+            if (retry.decrementAndGet() <= 0) {
+                throw e;
+            }
+            LogUtils.error(log, e.getMessage());
+            NavigableMap<ByteArrayUtils.ComparableByteArray, RangeDistribution> distribution =
+                MetaService.root().getRangeDistribution(param.getTable().getTableId());
+            param.setDistributions(distribution);
+            for (Map.Entry<CommonId, List<Object[]>> entry : groupByPart(param, keyTuples).entrySet()) {
+                if (!push(context, vertex, entry.getKey(), entry.getValue(), retry)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static Map<CommonId, List<Object[]>> groupByPart(GetDistributionParam param, List<Object[]> keyTuples) {
+        Table td = param.getTable();
+        PartitionService ps = PartitionService.getService(
+            Optional.ofNullable(td.getPartitionStrategy())
+                .orElse(DingoPartitionServiceProvider.RANGE_FUNC_NAME));
+        NavigableMap<ByteArrayUtils.ComparableByteArray, RangeDistribution> distributions = param.getDistributions();
+        Map<CommonId, List<Object[]>> partKeyTuples = new LinkedHashMap<>();
+        for (Object[] keyTuple : keyTuples) {
+            CommonId partId = ps.calcPartId(param.getCodec().encodeKey(keyTuple), distributions);
+            partKeyTuples.computeIfAbsent(partId, k -> new ArrayList<>()).add(keyTuple);
+        }
+        return partKeyTuples;
+    }
 }
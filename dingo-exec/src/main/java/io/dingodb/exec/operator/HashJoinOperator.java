@@ -16,6 +16,9 @@
 
 package io.dingodb.exec.operator;
 
+import io.dingodb.common.Location;
+import io.dingodb.common.concurrent.Executors;
+import io.dingodb.common.log.LogUtils;
 import io.dingodb.common.profile.OperatorProfile;
 import io.dingodb.common.profile.Profile;
 import io.dingodb.common.type.TupleMapping;
@@ -25,15 +28,19 @@ import io.dingodb.exec.fin.Fin;
 import io.dingodb.exec.fin.FinWithException;
 import io.dingodb.exec.fin.FinWithProfiles;
 import io.dingodb.exec.operator.data.Context;
-import io.dingodb.exec.operator.data.TupleWithJoinFlag;
+import io.dingodb.exec.operator.join.HashJoinSpill;
+import io.dingodb.exec.operator.join.JoinHashTable;
+import io.dingodb.exec.operator.join.RuntimeFilter;
+import io.dingodb.exec.operator.join.RuntimeFilterManager;
 import io.dingodb.exec.operator.params.HashJoinParam;
-import io.dingodb.exec.tuple.TupleKey;
+import io.dingodb.exec.spill.SpillFile;
+import io.dingodb.exec.spill.SpillPartitions;
 import lombok.extern.slf4j.Slf4j;
+import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.Arrays;
-import java.util.Collections;
-import java.util.LinkedList;
+import java.util.Iterator;
 import java.util.List;
 
 @Slf4j
@@ -50,37 +57,22 @@ public class HashJoinOperator extends SoleOutOperator {
         OperatorProfile profile = param.getProfile("hashJoin");
         long start = System.currentTimeMillis();
         TupleMapping leftMapping = param.getLeftMapping();
-        TupleMapping rightMapping = param.getRightMapping();
-        int leftLength = param.getLeftLength();
-        int rightLength = param.getRightLength();
-        boolean leftRequired = param.isLeftRequired();
         int pin = context.getPin();
         param.setContext(context);
         if (pin == 0) { // left
             waitRightFinFlag(param);
-            TupleKey leftKey = new TupleKey(leftMapping.revMap(tuple));
-            List<TupleWithJoinFlag> rightList = param.getHashMap().get(leftKey);
-            if (rightList != null) {
-                for (TupleWithJoinFlag t : rightList) {
-                    Object[] newTuple = Arrays.copyOf(tuple, leftLength + rightLength);
-                    System.arraycopy(t.getTuple(), 0, newTuple, leftLength, rightLength);
-                    t.setJoined(true);
-                    if (!edge.transformToNext(context, newTuple)) {
-                        profile.time(start);
-                        return false;
-                    }
-                }
-            } else if (leftRequired) {
-                Object[] newTuple = Arrays.copyOf(tuple, leftLength + rightLength);
-                Arrays.fill(newTuple, leftLength, leftLength + rightLength, null);
+            HashJoinSpill spill = param.getSpill();
+            if (spill != null) {
+                // Joined partition by partition after all left tuples arrived.
+                spill.addProbe(JoinHashTable.hash(tuple, leftMapping.getMappings()), tuple);
                 profile.time(start);
-                return edge.transformToNext(context, newTuple);
+                return true;
             }
+            boolean result = probe(param.getTable(), tuple, param, edge, context);
+            profile.time(start);
+            return result;
         } else if (pin == 1) { //right
-            TupleKey rightKey = new TupleKey(rightMapping.revMap(tuple));
-            List<TupleWithJoinFlag> list = param.getHashMap()
-                .computeIfAbsent(rightKey, k -> Collections.synchronizedList(new LinkedList<>()));
-            list.add(new TupleWithJoinFlag(tuple));
+            build(tuple, param);
         }
         profile.time(start);
         return true;
@@ -95,25 +87,14 @@ public class HashJoinOperator extends SoleOutOperator {
         }
         HashJoinParam param = vertex.getParam();
         boolean rightRequired = param.isRightRequired();
-        int leftLength = param.getLeftLength();
-        int rightLength = param.getRightLength();
         if (pin == 0) { // left
-            if (rightRequired) {
-                // should wait in case of no data push to left.
-                waitRightFinFlag(param);
-                outer:
-                for (List<TupleWithJoinFlag> tList : param.getHashMap().values()) {
-                    for (TupleWithJoinFlag t : tList) {
-                        if (!t.isJoined()) {
-                            Object[] newTuple = new Object[leftLength + rightLength];
-                            Arrays.fill(newTuple, 0, leftLength, null);
-                            System.arraycopy(t.getTuple(), 0, newTuple, leftLength, rightLength);
-                            if (!edge.transformToNext(param.getContext(), newTuple)) {
-                                break outer;
-                            }
-                        }
-                    }
-                }
+            // should wait in case of no data push to left.
+            waitRightFinFlag(param);
+            HashJoinSpill spill = param.getSpill();
+            if (spill != null) {
+                joinSpilled(spill, param, edge);
+            } else if (rightRequired) {
+                emitUnjoined(param.getTable(), param, edge);
             }
             if (fin instanceof FinWithProfiles) {
                 FinWithProfiles finWithProfiles = (FinWithProfiles) fin;
@@ -138,11 +119,171 @@ public class HashJoinOperator extends SoleOutOperator {
                 FinWithProfiles finWithProfiles = (FinWithProfiles) fin;
                 param.setProfileRight(finWithProfiles.getProfile());
             }
+            HashJoinSpill spill = param.getSpill();
+            if (spill != null) {
+                LogUtils.info(log, "Build side of hash join spilled to disk, depth = {}.", spill.getDepth());
+            } else if (param.getRuntimeFilterId() != null) {
+                publishRuntimeFilter(param, vertex);
+            }
             param.setRightFinFlag(true);
             param.getFuture().complete(null);
         }
     }
 
+    private static void build(Object @NonNull [] tuple, @NonNull HashJoinParam param) {
+        synchronized (param.getTable()) {
+            HashJoinSpill spill = param.getSpill();
+            if (spill != null) {
+                spill.addBuild(param.getTable().buildHash(tuple), tuple);
+                return;
+            }
+            JoinHashTable table = param.getTable();
+            if (table.add(tuple) > param.getMemoryLimit()) {
+                LogUtils.info(log, "Memory of hash join exceeds limit {}, spill to disk.", param.getMemoryLimit());
+                HashJoinSpill newSpill = new HashJoinSpill(0);
+                table.forEach(t -> {
+                    newSpill.addBuild(table.buildHash(t), t);
+                    return true;
+                });
+                table.clear();
+                param.setSpill(newSpill);
+            }
+        }
+    }
+
+    /**
+     * Build a runtime filter from the build keys and send it to the probe side, where the rows which cannot be joined
+     * are dropped before sending. Not applicable if the probe side rows are required even if not joined. The filter is
+     * sent in another thread, not to delay the fin.
+     */
+    private static void publishRuntimeFilter(@NonNull HashJoinParam param, @NonNull Vertex vertex) {
+        JoinHashTable table = param.getTable();
+        if (param.isLeftRequired() || table.getSize() > RuntimeFilter.MAX_ROWS) {
+            return;
+        }
+        int[] columns = param.getRightMapping().getMappings();
+        RuntimeFilter filter = new RuntimeFilter(table.getSize());
+        table.forEach(t -> {
+            filter.add(JoinHashTable.hash(t, columns), columns.length == 1 ? t[columns[0]] : null);
+            return true;
+        });
+        String tag = RuntimeFilterManager.tag(
+            vertex.getTask().getJobId(), param.getRuntimeFilterId(), param.getRuntimeFilterPart(), param.getRunSeq()
+        );
+        List<Location> targets = param.getRuntimeFilterTargets();
+        Executors.execute("runtime-filter-" + tag, () -> RuntimeFilterManager.INSTANCE.publish(targets, tag, filter));
+    }
+
+    private static boolean probe(
+        @NonNull JoinHashTable table,
+        Object @NonNull [] tuple,
+        @NonNull HashJoinParam param,
+        @NonNull Edge edge,
+        Context context
+    ) {
+        int leftLength = param.getLeftLength();
+        int rightLength = param.getRightLength();
+        int row = table.find(tuple, param.getLeftMapping().getMappings());
+        if (row >= 0) {
+            for (; row >= 0; row = table.next(row)) {
+                Object[] newTuple = Arrays.copyOf(tuple, leftLength + rightLength);
+                System.arraycopy(table.getRow(row), 0, newTuple, leftLength, rightLength);
+                table.markJoined(row);
+                if (!edge.transformToNext(context, newTuple)) {
+                    return false;
+                }
+            }
+        } else if (param.isLeftRequired()) {
+            Object[] newTuple = Arrays.copyOf(tuple, leftLength + rightLength);
+            Arrays.fill(newTuple, leftLength, leftLength + rightLength, null);
+            return edge.transformToNext(context, newTuple);
+        }
+        return true;
+    }
+
+    private static boolean emitUnjoined(
+        @NonNull JoinHashTable table,
+        @NonNull HashJoinParam param,
+        @NonNull Edge edge
+    ) {
+        int leftLength = param.getLeftLength();
+        int rightLength = param.getRightLength();
+        return table.forEachUnjoined(t -> {
+            Object[] newTuple = new Object[leftLength + rightLength];
+            Arrays.fill(newTuple, 0, leftLength, null);
+            System.arraycopy(t, 0, newTuple, leftLength, rightLength);
+            return edge.transformToNext(param.getContext(), newTuple);
+        });
+    }
+
+    /**
+     * Join the spilled partitions one by one, each partition of the build side is loaded into memory in turn.
+     *
+     * @return {@code false} if the downstream asked to stop
+     */
+    private static boolean joinSpilled(
+        @NonNull HashJoinSpill spill,
+        @NonNull HashJoinParam param,
+        @NonNull Edge edge
+    ) {
+        try {
+            for (int i = 0; i < SpillPartitions.PARTITION_NUM; ++i) {
+                try {
+                    if (!joinPartition(spill.getBuild(i), spill.getProbe(i), spill.getDepth(), param, edge)) {
+                        return false;
+                    }
+                } finally {
+                    spill.delete(i);
+                }
+            }
+            return true;
+        } finally {
+            spill.delete();
+        }
+    }
+
+    private static boolean joinPartition(
+        @Nullable SpillFile build,
+        @Nullable SpillFile probe,
+        int depth,
+        @NonNull HashJoinParam param,
+        @NonNull Edge edge
+    ) {
+        if (probe == null && !(param.isRightRequired() && build != null)) {
+            return true;
+        }
+        if (build != null && build.getMemSize() > param.getMemoryLimit() && depth < SpillPartitions.MAX_DEPTH) {
+            LogUtils.info(log, "Spilled partition {} of hash join is too large, re-partition it.", build);
+            HashJoinSpill subSpill = new HashJoinSpill(depth + 1);
+            int[] rightColumns = param.getRightMapping().getMappings();
+            build.iterator().forEachRemaining(t -> subSpill.addBuild(JoinHashTable.hash(t, rightColumns), t));
+            build.delete();
+            if (probe != null) {
+                int[] leftColumns = param.getLeftMapping().getMappings();
+                probe.iterator().forEachRemaining(t -> subSpill.addProbe(JoinHashTable.hash(t, leftColumns), t));
+                probe.delete();
+            }
+            return joinSpilled(subSpill, param, edge);
+        }
+        JoinHashTable table = new JoinHashTable(param.getRightMapping());
+        if (build != null) {
+            build.iterator().forEachRemaining(table::add);
+        }
+        if (probe != null) {
+            Context context = param.getContext();
+            Iterator<Object[]> iterator = probe.iterator();
+            while (iterator.hasNext()) {
+                if (!probe(table, iterator.next(), param, edge, context)) {
+                    return false;
+                }
+            }
+        }
+        if (param.isRightRequired()) {
+            return emitUnjoined(table, param, edge);
+        }
+        return true;
+    }
+
     private static void waitRightFinFlag(HashJoinParam param) {
         param.getFuture().join();
         if (!param.isRightFinFlag()) {
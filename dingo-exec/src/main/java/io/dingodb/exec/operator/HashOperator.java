@@ -17,16 +17,42 @@
 package io.dingodb.exec.operator;
 
 import io.dingodb.common.profile.OperatorProfile;
+import io.dingodb.exec.dag.Edge;
 import io.dingodb.exec.dag.Vertex;
 import io.dingodb.exec.operator.data.Context;
+import io.dingodb.exec.operator.join.JoinHashTable;
+import io.dingodb.exec.operator.join.RuntimeFilter;
 import io.dingodb.exec.operator.params.HashParam;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.List;
 
 public class HashOperator extends FanOutOperator {
     public static final HashOperator INSTANCE = new HashOperator();
 
     private HashOperator() {}
 
+    @Override
+    public boolean push(Context context, @Nullable Object[] tuple, Vertex vertex) {
+        List<Edge> outList = vertex.getOutList();
+        int index = outList.size() <= 1 ? 0 : calcOutputIndex(context, tuple, vertex);
+        HashParam param = vertex.getParam();
+        RuntimeFilter filter = param.getRuntimeFilter(index);
+        if (filter != null && tuple != null) {
+            int[] columns = param.getKeyMapping().getMappings();
+            Object key = columns.length == 1 ? tuple[columns[0]] : null;
+            if (!filter.mightContain(JoinHashTable.hash(tuple, columns), key)) {
+                // Cannot be joined, drop it before sending.
+                return true;
+            }
+        }
+        if (outList.size() <= 1) {
+            return vertex.getSoleEdge().transformToNext(context, tuple);
+        }
+        return outList.get(index).transformToNext(context, tuple);
+    }
+
     @Override
     protected int calcOutputIndex(Context context, Object @NonNull [] tuple, Vertex vertex) {
         HashParam param = vertex.getParam();
@@ -17,6 +17,7 @@
 package io.dingodb.exec.operator;
 
 import io.dingodb.common.log.LogUtils;
+import io.dingodb.exec.dag.Edge;
 import io.dingodb.exec.dag.Vertex;
 import io.dingodb.exec.fin.Fin;
 import io.dingodb.exec.fin.FinWithProfiles;
@@ -25,25 +26,48 @@ import io.dingodb.exec.operator.params.AbstractParams;
 import lombok.extern.slf4j.Slf4j;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 
 @Slf4j
 public abstract class IteratorOperator extends SoleOutOperator {
 
     @Override
     public boolean push(Context context, @Nullable Object[] tuple, Vertex vertex) {
+        Iterator<Object[]> iterator = createIterator(context, tuple, vertex);
+        try {
+            pushIterator(context, iterator, vertex);
+        } finally {
+            closeIterator(iterator);
+        }
+        return false;
+    }
+
+    /**
+     * Push the tuples of the iterator to the sole edge in batches.
+     *
+     * @return {@code false} if the downstream does not want more tuples
+     */
+    protected boolean pushIterator(Context context, Iterator<Object[]> iterator, Vertex vertex) {
         long count = 0;
         long startTime = System.currentTimeMillis();
-        Iterator<Object[]> iterator = createIterator(context, tuple, vertex);
-        while (iterator.hasNext()) {
-            Object[] newTuple = iterator.next();
+        Edge edge = vertex.getSoleEdge();
+        List<Object[]> batch = new ArrayList<>(PUSH_BATCH_SIZE);
+        boolean more = true;
+        while (more && iterator.hasNext()) {
+            batch.add(iterator.next());
             ++count;
-            if (!vertex.getSoleEdge().transformToNext(context, newTuple)) {
-                break;
+            if (batch.size() >= PUSH_BATCH_SIZE) {
+                more = edge.transformBatchToNext(context, batch);
+                batch = new ArrayList<>(PUSH_BATCH_SIZE);
             }
         }
+        if (more) {
+            more = edge.transformBatchToNext(context, batch);
+        }
         LogUtils.debug(log, "IteratorOperator push, count:{}, cost:{}ms.", count, System.currentTimeMillis() - startTime);
-        return false;
+        return more;
     }
 
     @Override
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.operator;
+
+import io.dingodb.codec.KeyValueCodec;
+import io.dingodb.common.profile.OperatorProfile;
+import io.dingodb.common.type.TupleMapping;
+import io.dingodb.common.util.ByteArrayUtils.ComparableByteArray;
+import io.dingodb.exec.dag.Vertex;
+import io.dingodb.exec.expr.SqlExpr;
+import io.dingodb.exec.fin.Fin;
+import io.dingodb.exec.fin.FinWithException;
+import io.dingodb.exec.fin.FinWithProfiles;
+import io.dingodb.exec.operator.data.Context;
+import io.dingodb.exec.operator.params.LookupJoinParam;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static io.dingodb.exec.operator.TxnGetByIndexOperator.LOOKUP_BATCH_SIZE;
+
+/**
+ * Join the left tuples to the rows of a table by its primary key. The left tuples are buffered and the rows of each
+ * batch are got by {@link TxnGetByIndexOperator#lookUp}, so only the matching rows of the table are read.
+ */
+public final class LookupJoinOperator extends SoleOutOperator {
+    public static final LookupJoinOperator INSTANCE = new LookupJoinOperator();
+
+    private LookupJoinOperator() {
+    }
+
+    @Override
+    public boolean push(Context context, @Nullable Object[] tuple, Vertex vertex) {
+        synchronized (vertex) {
+            LookupJoinParam param = vertex.getParam();
+            param.setContext(context);
+            List<Object[]> cache = param.getCache();
+            cache.add(tuple);
+            if (cache.size() < LOOKUP_BATCH_SIZE) {
+                return true;
+            }
+            return flush(param, vertex);
+        }
+    }
+
+    @Override
+    public boolean pushBatch(Context context, List<Object[]> tuples, Vertex vertex) {
+        synchronized (vertex) {
+            LookupJoinParam param = vertex.getParam();
+            param.setContext(context);
+            List<Object[]> cache = param.getCache();
+            cache.addAll(tuples);
+            if (cache.size() < LOOKUP_BATCH_SIZE) {
+                return true;
+            }
+            return flush(param, vertex);
+        }
+    }
+
+    @Override
+    public void fin(int pin, @Nullable Fin fin, Vertex vertex) {
+        synchronized (vertex) {
+            LookupJoinParam param = vertex.getParam();
+            if (!(fin instanceof FinWithException) && !param.getCache().isEmpty()) {
+                flush(param, vertex);
+            }
+            param.clear();
+            if (fin instanceof FinWithProfiles) {
+                FinWithProfiles finWithProfiles = (FinWithProfiles) fin;
+                finWithProfiles.addProfile(vertex);
+            }
+            vertex.getSoleEdge().fin(fin);
+        }
+    }
+
+    private static boolean flush(@NonNull LookupJoinParam param, @NonNull Vertex vertex) {
+        OperatorProfile profile = param.getProfile("lookupJoin");
+        long start = System.currentTimeMillis();
+        List<Object[]> tuples = new ArrayList<>(param.getCache());
+        param.clear();
+        List<Object[]> outputs = join(param, tuples, keys -> TxnGetByIndexOperator.lookUp(
+            keys,
+            param.getKeyMapping(),
+            param.getTable(),
+            param.getTableId(),
+            param.getCodec(),
+            param.getScanTs(),
+            param.getTimeOut(),
+            vertex.getTask()
+        ));
+        profile.time(start);
+        return outputs.isEmpty() || vertex.getSoleEdge().transformBatchToNext(param.getContext(), outputs);
+    }
+
+    /**
+     * Join the tuples to the rows of the table.
+     *
+     * @param lookUp get the rows of the given primary keys
+     * @return the joined tuples
+     */
+    static @NonNull List<Object[]> join(
+        @NonNull LookupJoinParam param,
+        @NonNull List<Object[]> tuples,
+        @NonNull Function<List<Object[]>, List<Object[]>> lookUp
+    ) {
+        KeyValueCodec codec = param.getCodec();
+        TupleMapping leftMapping = param.getLeftMapping();
+        TupleMapping keyMapping = param.getKeyMapping();
+        int columnCount = param.getTable().getColumns().size();
+        // Tuples are matched by encoded keys, and each distinct key is looked up once.
+        List<ComparableByteArray> tupleKeys = new ArrayList<>(tuples.size());
+        Map<ComparableByteArray, Object[]> keys = new LinkedHashMap<>();
+        for (Object[] tuple : tuples) {
+            Object[] key = leftMapping.revMap(tuple);
+            ComparableByteArray tupleKey = null;
+            if (!hasNull(key)) {
+                Object[] keyTuple = new Object[columnCount];
+                for (int i = 0; i < key.length; i++) {
+                    keyTuple[keyMapping.get(i)] = key[i];
+                }
+                tupleKey = new ComparableByteArray(codec.encodeKey(keyTuple));
+                keys.putIfAbsent(tupleKey, key);
+            }
+            tupleKeys.add(tupleKey);
+        }
+        Map<ComparableByteArray, Object[]> rights = new HashMap<>(keys.size());
+        if (!keys.isEmpty()) {
+            List<Object[]> rows = lookUp.apply(new ArrayList<>(keys.values()));
+            SqlExpr filter = param.getFilter();
+            TupleMapping selection = param.getSelection();
+            for (Object[] row : rows) {
+                Object[] right = selection != null ? selection.revMap(row) : row;
+                if (filter != null) {
+                    Object v = filter.eval(right);
+                    if (v == null || !(Boolean) v) {
+                        continue;
+                    }
+                }
+                rights.put(new ComparableByteArray(codec.encodeKey(row)), right);
+            }
+        }
+        List<Object[]> outputs = new ArrayList<>(tuples.size());
+        for (int i = 0; i < tuples.size(); i++) {
+            ComparableByteArray tupleKey = tupleKeys.get(i);
+            Object[] right = tupleKey != null ? rights.get(tupleKey) : null;
+            if (right != null) {
+                outputs.add(join(tuples.get(i), right));
+            } else if (param.isLeftRequired()) {
+                outputs.add(join(tuples.get(i), new Object[param.getRightLength()]));
+            }
+        }
+        return outputs;
+    }
+
+    private static boolean hasNull(Object @NonNull [] key) {
+        for (Object value : key) {
+            if (value == null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Object @NonNull [] join(Object @NonNull [] left, Object @NonNull [] right) {
+        Object[] tuple = new Object[left.length + right.length];
+        System.arraycopy(left, 0, tuple, 0, left.length);
+        System.arraycopy(right, 0, tuple, left.length, right.length);
+        return tuple;
+    }
+}
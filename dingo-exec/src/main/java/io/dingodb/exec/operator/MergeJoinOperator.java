@@ -0,0 +1,300 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.operator;
+
+import io.dingodb.common.profile.OperatorProfile;
+import io.dingodb.common.profile.Profile;
+import io.dingodb.exec.dag.Edge;
+import io.dingodb.exec.dag.Vertex;
+import io.dingodb.exec.fin.Fin;
+import io.dingodb.exec.fin.FinWithException;
+import io.dingodb.exec.fin.FinWithProfiles;
+import io.dingodb.exec.operator.data.Context;
+import io.dingodb.exec.operator.params.MergeJoinParam;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Deque;
+
+/**
+ * Join two inputs which are both ascending by the join keys, by advancing the side with the smaller key. The inputs
+ * are pushed by different threads and the pushing thread is blocked while too many tuples of its side are buffered,
+ * so only the right tuples of the key being joined are held in memory, no hash table is built.
+ */
+public final class MergeJoinOperator extends SoleOutOperator {
+    public static final MergeJoinOperator INSTANCE = new MergeJoinOperator();
+
+    /**
+     * Max number of buffered tuples of each side.
+     */
+    public static final int BUFFER_SIZE = 1024;
+
+    private MergeJoinOperator() {
+    }
+
+    @Override
+    public boolean push(Context context, @Nullable Object[] tuple, Vertex vertex) {
+        MergeJoinParam param = vertex.getParam();
+        synchronized (param) {
+            OperatorProfile profile = param.getProfile("mergeJoin");
+            long start = System.currentTimeMillis();
+            param.setContext(context);
+            Deque<Object[]> buffer = context.getPin() == 0 ? param.getLeftBuffer() : param.getRightBuffer();
+            buffer.add(tuple);
+            merge(param, vertex.getSoleEdge(), context);
+            param.notifyAll();
+            profile.time(start);
+            while (!param.isStopped() && buffer.size() >= BUFFER_SIZE) {
+                try {
+                    param.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    param.setStopped(true);
+                    param.notifyAll();
+                }
+            }
+            return !param.isStopped();
+        }
+    }
+
+    @Override
+    public void fin(int pin, @Nullable Fin fin, Vertex vertex) {
+        MergeJoinParam param = vertex.getParam();
+        synchronized (param) {
+            Edge edge = vertex.getSoleEdge();
+            if (fin instanceof FinWithException) {
+                // Release the other input, whose fin is waited for before resetting the state.
+                param.setFinWithException(fin);
+                param.setStopped(true);
+            }
+            if (pin == 0) { // left
+                param.setLeftFin(true);
+                if (fin instanceof FinWithProfiles) {
+                    param.setProfileLeft(((FinWithProfiles) fin).getProfile());
+                }
+            } else if (pin == 1) { // right
+                param.setRightFin(true);
+                if (fin instanceof FinWithProfiles) {
+                    param.setProfileRight(((FinWithProfiles) fin).getProfile());
+                }
+            }
+            merge(param, edge, param.getContext());
+            param.notifyAll();
+            if (!param.isLeftFin() || !param.isRightFin()) {
+                return;
+            }
+            if (param.getFinWithException() != null) {
+                edge.fin(param.getFinWithException());
+            } else {
+                if (fin instanceof FinWithProfiles) {
+                    FinWithProfiles finWithProfiles = (FinWithProfiles) fin;
+                    Profile profile = param.getProfile("mergeJoin");
+                    if (param.getProfileLeft() != null) {
+                        profile.getChildren().add(param.getProfileLeft());
+                    }
+                    if (param.getProfileRight() != null) {
+                        profile.getChildren().add(param.getProfileRight());
+                    }
+                    profile.end();
+                    finWithProfiles.setProfile(profile);
+                }
+                edge.fin(fin);
+            }
+            // Reset
+            param.clear();
+        }
+    }
+
+    /**
+     * Join the buffered tuples as far as possible. Stop if a side needs more tuples, which are not finished.
+     */
+    private static void merge(@NonNull MergeJoinParam param, @NonNull Edge edge, Context context) {
+        Deque<Object[]> left = param.getLeftBuffer();
+        Deque<Object[]> right = param.getRightBuffer();
+        while (!param.isStopped()) {
+            Object[] groupKey = param.getGroupKey();
+            if (groupKey != null) {
+                if (!param.isGroupComplete()) {
+                    // All the right tuples of the key must be collected before joining.
+                    while (!right.isEmpty()) {
+                        Object[] rightKey = rightKey(param, right.peek());
+                        if (hasNull(rightKey) || compare(groupKey, rightKey) != 0) {
+                            break;
+                        }
+                        param.getGroup().add(right.poll());
+                    }
+                    if (right.isEmpty() && !param.isRightFin()) {
+                        return;
+                    }
+                    param.setGroupComplete(true);
+                }
+                if (left.isEmpty()) {
+                    if (!param.isLeftFin()) {
+                        return;
+                    }
+                    param.clearGroup();
+                    continue;
+                }
+                Object[] tuple = left.peek();
+                Object[] leftKey = leftKey(param, tuple);
+                if (hasNull(leftKey) || compare(groupKey, leftKey) != 0) {
+                    // The right tuples of the group have all been joined.
+                    param.clearGroup();
+                    continue;
+                }
+                left.poll();
+                for (Object[] row : param.getGroup()) {
+                    if (!emit(param, edge, context, tuple, row)) {
+                        return;
+                    }
+                }
+                continue;
+            }
+            if ((left.isEmpty() && !param.isLeftFin()) || (right.isEmpty() && !param.isRightFin())) {
+                return;
+            }
+            if (left.isEmpty() && right.isEmpty()) {
+                return;
+            }
+            if (right.isEmpty()) {
+                emitLeftUnjoined(param, edge, context, left.poll());
+                continue;
+            }
+            if (left.isEmpty()) {
+                emitRightUnjoined(param, edge, context, right.poll());
+                continue;
+            }
+            Object[] leftKey = leftKey(param, left.peek());
+            if (hasNull(leftKey)) {
+                emitLeftUnjoined(param, edge, context, left.poll());
+                continue;
+            }
+            Object[] rightKey = rightKey(param, right.peek());
+            if (hasNull(rightKey)) {
+                emitRightUnjoined(param, edge, context, right.poll());
+                continue;
+            }
+            int result = compare(leftKey, rightKey);
+            if (result < 0) {
+                emitLeftUnjoined(param, edge, context, left.poll());
+            } else if (result > 0) {
+                emitRightUnjoined(param, edge, context, right.poll());
+            } else {
+                param.setGroupKey(rightKey);
+                param.setGroupComplete(false);
+            }
+        }
+    }
+
+    private static Object @NonNull [] leftKey(@NonNull MergeJoinParam param, Object @NonNull [] tuple) {
+        return param.getLeftMapping().revMap(tuple);
+    }
+
+    private static Object @NonNull [] rightKey(@NonNull MergeJoinParam param, Object @NonNull [] tuple) {
+        return param.getRightMapping().revMap(tuple);
+    }
+
+    private static boolean hasNull(Object @NonNull [] key) {
+        for (Object value : key) {
+            if (value == null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Compare join keys in the order of the primary key encoding, in which strings are ordered by code points.
+     */
+    @SuppressWarnings("unchecked")
+    private static int compare(Object @NonNull [] key0, Object @NonNull [] key1) {
+        for (int i = 0; i < key0.length; i++) {
+            Object value0 = key0[i];
+            Object value1 = key1[i];
+            int result;
+            if (value0 instanceof String && value1 instanceof String) {
+                result = compareCodePoints((String) value0, (String) value1);
+            } else {
+                result = ((Comparable<Object>) value0).compareTo(value1);
+            }
+            if (result != 0) {
+                return result;
+            }
+        }
+        return 0;
+    }
+
+    private static int compareCodePoints(@NonNull String str0, @NonNull String str1) {
+        int i = 0;
+        int j = 0;
+        while (i < str0.length() && j < str1.length()) {
+            int c0 = str0.codePointAt(i);
+            int c1 = str1.codePointAt(j);
+            if (c0 != c1) {
+                return Integer.compare(c0, c1);
+            }
+            i += Character.charCount(c0);
+            j += Character.charCount(c1);
+        }
+        return Integer.compare(str0.length() - i, str1.length() - j);
+    }
+
+    private static void emitLeftUnjoined(
+        @NonNull MergeJoinParam param,
+        @NonNull Edge edge,
+        Context context,
+        Object @NonNull [] tuple
+    ) {
+        if (param.isLeftRequired()) {
+            emit(param, edge, context, tuple, null);
+        }
+    }
+
+    private static void emitRightUnjoined(
+        @NonNull MergeJoinParam param,
+        @NonNull Edge edge,
+        Context context,
+        Object @NonNull [] tuple
+    ) {
+        if (param.isRightRequired()) {
+            emit(param, edge, context, null, tuple);
+        }
+    }
+
+    private static boolean emit(
+        @NonNull MergeJoinParam param,
+        @NonNull Edge edge,
+        Context context,
+        Object @Nullable [] left,
+        Object @Nullable [] right
+    ) {
+        int leftLength = param.getLeftLength();
+        int rightLength = param.getRightLength();
+        Object[] newTuple = new Object[leftLength + rightLength];
+        if (left != null) {
+            System.arraycopy(left, 0, newTuple, 0, leftLength);
+        }
+        if (right != null) {
+            System.arraycopy(right, 0, newTuple, leftLength, rightLength);
+        }
+        if (!edge.transformToNext(context, newTuple)) {
+            param.setStopped(true);
+            return false;
+        }
+        return true;
+    }
+}
@@ -19,6 +19,7 @@ package io.dingodb.exec.operator;
 import io.dingodb.common.concurrent.Executors;
 import io.dingodb.common.config.DingoConfiguration;
 import io.dingodb.common.log.LogUtils;
+import io.dingodb.common.mysql.scope.ScopeVariables;
 import io.dingodb.common.partition.RangeDistribution;
 import io.dingodb.common.util.ByteArrayUtils;
 import io.dingodb.common.util.Optional;
@@ -33,9 +34,13 @@ import io.dingodb.store.api.transaction.exception.LockWaitException;
 import io.dingodb.store.api.transaction.exception.RegionSplitException;
 import lombok.extern.slf4j.Slf4j;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import java.util.NavigableMap;
 import java.util.NavigableSet;
 import java.util.Set;
@@ -108,8 +113,11 @@ public class NewCalcDistributionOperator extends SourceOperator {
             }
         }
         boolean parallel = Utils.parallel(param.getKeepOrder());
-        if (!parallel || distributions.size() == 1) {
-            for (RangeDistribution distribution : distributions) {
+        Collection<RangeDistribution> morsels = parallel
+            ? splitMorsels(distributions, param.getConcurrencyLevel(), param.getKeyRange())
+            : distributions;
+        if (!parallel || morsels.size() == 1) {
+            for (RangeDistribution distribution : morsels) {
                 if (log.isTraceEnabled()) {
                     LogUtils.trace(log, "Push distribution: {}", distribution);
                 }
@@ -122,14 +130,14 @@ public class NewCalcDistributionOperator extends SourceOperator {
             try {
                 int concurrencyLevel = param.getConcurrencyLevel();
                 Set<CompletableFuture<Boolean>> futures = new HashSet<>(concurrencyLevel);
-                for (RangeDistribution distribution : distributions) {
-                    CompletableFuture<Boolean> future = push(context, vertex, param, distribution);
-                    futures.add(future);
+                for (RangeDistribution distribution : morsels) {
                     if (futures.size() >= concurrencyLevel) {
-                        // Wait for all the current futures to complete
-                        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
-                        futures.clear();
+                        // Start the next morsel as soon as any running one completes, so a slow one does not hold
+                        // the others
+                        CompletableFuture.anyOf(futures.toArray(new CompletableFuture[0])).join();
+                        futures.removeIf(CompletableFuture::isDone);
                     }
+                    futures.add(push(context, vertex, param, distribution));
                 }
                 // Wait for any remaining futures to complete
                 if (!futures.isEmpty()) {
@@ -145,6 +153,29 @@ public class NewCalcDistributionOperator extends SourceOperator {
         return false;
     }
 
+    /**
+     * Split the region ranges into morsels when there are fewer regions than the concurrency level, so that a scan of
+     * few regions can still run on multiple threads. The cuts are taken in {@code keyRange} if it is known.
+     */
+    static Collection<RangeDistribution> splitMorsels(
+        @NonNull Set<RangeDistribution> distributions,
+        int concurrencyLevel,
+        @Nullable RangeDistribution keyRange
+    ) {
+        int split = Math.min(
+            ScopeVariables.getScanMorselSplit(),
+            (concurrencyLevel + distributions.size() - 1) / Math.max(distributions.size(), 1)
+        );
+        if (split <= 1) {
+            return distributions;
+        }
+        List<RangeDistribution> morsels = new ArrayList<>(distributions.size() * split);
+        for (RangeDistribution distribution : distributions) {
+            morsels.addAll(RangeUtils.splitRange(distribution, split, keyRange));
+        }
+        return morsels;
+    }
+
     private static CompletableFuture<Boolean> push(
         Context context,
         Vertex vertex,
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.operator;
+
+import io.dingodb.exec.dag.Vertex;
+import io.dingodb.exec.fin.Fin;
+import io.dingodb.exec.operator.data.Context;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Forward tuples to the sole output without any processing. Used as the distinct output vertices of a fan-out operator
+ * (e.g., one for each partition of {@link HashOperator}), for pins are set on the vertices.
+ */
+public final class PassThroughOperator extends SoleOutOperator {
+    public static final PassThroughOperator INSTANCE = new PassThroughOperator();
+
+    private PassThroughOperator() {
+    }
+
+    @Override
+    public boolean push(Context context, @Nullable Object[] tuple, Vertex vertex) {
+        return vertex.getSoleEdge().transformToNext(context, tuple);
+    }
+
+    @Override
+    public void fin(int pin, @Nullable Fin fin, Vertex vertex) {
+        vertex.getSoleEdge().fin(fin);
+    }
+}
@@ -22,6 +22,7 @@ import io.dingodb.exec.fin.Fin;
 import io.dingodb.exec.operator.data.Context;
 import io.dingodb.exec.operator.params.ProjectParam;
 
+import java.util.ArrayList;
 import java.util.List;
 
 public final class ProjectOperator extends SoleOutOperator {
@@ -32,15 +33,29 @@ public final class ProjectOperator extends SoleOutOperator {
 
     @Override
     public  boolean push(Context context, Object[] tuple, Vertex vertex) {
-        synchronized (vertex) {
-            ProjectParam param = vertex.getParam();
-            List<SqlExpr> projects = param.getProjects();
-            Object[] newTuple = new Object[projects.size()];
-            for (int i = 0; i < newTuple.length; ++i) {
+        ProjectParam param = vertex.getParam();
+        List<SqlExpr> projects = param.getProjects();
+        Object[] newTuple = new Object[projects.size()];
+        for (int i = 0; i < newTuple.length; ++i) {
+            newTuple[i] = projects.get(i).eval(tuple);
+        }
+        return vertex.getSoleEdge().transformToNext(context, newTuple);
+    }
+
+    @Override
+    public boolean pushBatch(Context context, List<Object[]> tuples, Vertex vertex) {
+        ProjectParam param = vertex.getParam();
+        List<SqlExpr> projects = param.getProjects();
+        int size = projects.size();
+        List<Object[]> newTuples = new ArrayList<>(tuples.size());
+        for (Object[] tuple : tuples) {
+            Object[] newTuple = new Object[size];
+            for (int i = 0; i < size; ++i) {
                 newTuple[i] = projects.get(i).eval(tuple);
             }
-            return vertex.getSoleEdge().transformToNext(context, newTuple);
+            newTuples.add(newTuple);
         }
+        return vertex.getSoleEdge().transformBatchToNext(context, newTuples);
     }
 
     @Override
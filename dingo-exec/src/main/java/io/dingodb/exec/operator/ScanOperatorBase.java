@@ -47,7 +47,12 @@ public abstract class ScanOperatorBase extends SoleOutOperator {
             return false;
         }
         Iterator<Object[]> iterator = createIterator(context, vertex);
-        Pair<Long, Boolean> res = getScanner(context, vertex).apply(context, vertex, iterator);
+        Pair<Long, Boolean> res;
+        try {
+            res = getScanner(context, vertex).apply(context, vertex, iterator);
+        } finally {
+            closeIterator(iterator);
+        }
         // Scan operator is not source operator, so may be push multiple times.
         return res.getValue();
     }
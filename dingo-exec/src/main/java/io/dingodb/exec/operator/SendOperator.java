@@ -16,6 +16,7 @@
 
 package io.dingodb.exec.operator;
 
+import io.dingodb.common.CommonId;
 import io.dingodb.common.log.LogUtils;
 import io.dingodb.exec.channel.SendEndpoint;
 import io.dingodb.exec.dag.Vertex;
@@ -35,6 +36,10 @@ import java.util.stream.Collectors;
 public final class SendOperator extends SinkOperator {
     public static final SendOperator INSTANCE = new SendOperator();
     public static final int SEND_BATCH_SIZE = 256;
+    // The batch size is adapted to make each message about this size in bytes.
+    public static final int SEND_BATCH_BYTES = 64 * 1024;
+    public static final int MIN_SEND_BATCH_SIZE = 16;
+    public static final int MAX_SEND_BATCH_SIZE = 16 * 1024;
 
     private SendOperator() {
 
@@ -51,7 +56,7 @@ public final class SendOperator extends SinkOperator {
                 }
                 TupleId tupleId = builder.tuple(tuple).build();
                 param.getTupleList().add(tupleId);
-                if (param.getTupleList().size() >= SEND_BATCH_SIZE) {
+                if (param.getTupleList().size() >= param.getBatchSize()) {
                     return sendTupleList(param);
                 }
                 return true;
@@ -61,6 +66,27 @@ public final class SendOperator extends SinkOperator {
         }
     }
 
+    @Override
+    public boolean pushBatch(Context context, List<Object[]> tuples, Vertex vertex) {
+        synchronized (vertex) {
+            try {
+                SendParam param = vertex.getParam();
+                boolean withId = context != null && context.getDistribution() != null;
+                CommonId partId = withId ? context.getDistribution().getId() : null;
+                CommonId indexId = withId ? context.getIndexId() : null;
+                for (Object[] tuple : tuples) {
+                    param.getTupleList().add(TupleId.builder().partId(partId).indexId(indexId).tuple(tuple).build());
+                    if (param.getTupleList().size() >= param.getBatchSize() && !sendTupleList(param)) {
+                        return false;
+                    }
+                }
+                return true;
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
     @Override
     public void fin(Fin fin, Vertex vertex) {
         try {
@@ -92,6 +118,8 @@ public final class SendOperator extends SinkOperator {
             if (bos.bytes() > maxBufferSize) {
                 param.setMaxBufferSize(bos.bytes());
             }
+            long batchSize = (long) SEND_BATCH_BYTES * tupleList.size() / Math.max(bos.bytes(), 1);
+            param.setBatchSize((int) Math.max(MIN_SEND_BATCH_SIZE, Math.min(MAX_SEND_BATCH_SIZE, batchSize)));
             boolean result = endpoint.send(bos);
             tupleList.clear();
             return result;
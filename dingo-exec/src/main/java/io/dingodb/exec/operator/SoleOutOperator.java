@@ -16,13 +16,31 @@
 
 package io.dingodb.exec.operator;
 
+import io.dingodb.common.log.LogUtils;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Iterator;
+
 /**
  * Sole out operator has only one output.
  */
+@Slf4j
 public abstract class SoleOutOperator extends AbstractOperator {
 
     protected SoleOutOperator() {
         super();
     }
 
+    /**
+     * Close the source iterator if it holds resources, e.g. a prefetching store scan, when the push is over.
+     */
+    protected static void closeIterator(Iterator<?> iterator) {
+        if (iterator instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) iterator).close();
+            } catch (Exception e) {
+                LogUtils.warn(log, "Close iterator failed: {}", e.getMessage());
+            }
+        }
+    }
 }
@@ -24,11 +24,14 @@ import io.dingodb.exec.fin.FinWithProfiles;
 import io.dingodb.exec.operator.data.Context;
 import io.dingodb.exec.operator.data.SortCollation;
 import io.dingodb.exec.operator.params.SortParam;
+import io.dingodb.exec.operator.sort.SortBuffer;
+import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -49,6 +52,11 @@ public class SortOperator extends SoleOutOperator {
             if (limit == 0) {
                 return false;
             }
+            SortBuffer buffer = param.getBuffer();
+            if (buffer != null) {
+                buffer.add(tuple);
+                return true;
+            }
             param.getCache().add(tuple);
             return !collations.isEmpty() || limit < 0 || param.getCache().size() < offset + limit;
         }
@@ -62,6 +70,19 @@ public class SortOperator extends SoleOutOperator {
             profile.start();
             int limit = param.getLimit();
             int offset = param.getOffset();
+            SortBuffer buffer = param.getBuffer();
+            if (buffer != null) {
+                profile.setCount(buffer.getCount());
+                Iterator<Object[]> iterator = buffer.iterator();
+                profile.end();
+                emit(iterator, offset, limit, vertex.getSoleEdge(), param.getContext());
+                if (fin instanceof FinWithProfiles) {
+                    ((FinWithProfiles) fin).addProfile(profile);
+                }
+                vertex.getSoleEdge().fin(fin);
+                param.clear();
+                return;
+            }
             List<Object[]> cache = param.getCache();
             int size = cache.size();
             profile.setCount(size);
@@ -88,22 +109,8 @@ public class SortOperator extends SoleOutOperator {
                 }
             }
             profile.end();
-            int o = 0;
-            int c = 0;
             Edge edge = vertex.getSoleEdge();
-            for (Object[] tuple : normalCache) {
-                if (o < offset) {
-                    ++o;
-                    continue;
-                }
-                if (limit >= 0 && c >= limit) {
-                    break;
-                }
-                if (!edge.transformToNext(param.getContext(), tuple)) {
-                    break;
-                }
-                ++c;
-            }
+            emit(normalCache.iterator(), offset, limit, edge, param.getContext());
             if (fin instanceof FinWithProfiles) {
                 FinWithProfiles finWithProfiles = (FinWithProfiles) fin;
                 finWithProfiles.addProfile(profile);
@@ -114,6 +121,31 @@ public class SortOperator extends SoleOutOperator {
         }
     }
 
+    private static void emit(
+        @NonNull Iterator<Object[]> iterator,
+        int offset,
+        int limit,
+        @NonNull Edge edge,
+        Context context
+    ) {
+        int o = 0;
+        int c = 0;
+        while (iterator.hasNext()) {
+            Object[] tuple = iterator.next();
+            if (o < offset) {
+                ++o;
+                continue;
+            }
+            if (limit >= 0 && c >= limit) {
+                break;
+            }
+            if (!edge.transformToNext(context, tuple)) {
+                break;
+            }
+            ++c;
+        }
+    }
+
     public static List<Float> normalizeScoresOld(List<Float> scores) {
         List<Float> validScores = scores.stream()
             .filter(score -> score != null && score >= 0)
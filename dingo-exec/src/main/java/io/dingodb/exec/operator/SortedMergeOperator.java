@@ -0,0 +1,107 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.operator;
+
+import io.dingodb.common.profile.OperatorProfile;
+import io.dingodb.exec.dag.Edge;
+import io.dingodb.exec.dag.Vertex;
+import io.dingodb.exec.fin.Fin;
+import io.dingodb.exec.fin.FinWithException;
+import io.dingodb.exec.fin.FinWithProfiles;
+import io.dingodb.exec.operator.data.Context;
+import io.dingodb.exec.operator.params.SortedMergeParam;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Merge the sorted inputs into a sorted output, used instead of coalescing and sorting all the tuples again if the
+ * inputs are sorted by partial sorts.
+ *
+ * <p>The merge is streaming: a tuple is output as soon as every unfinished input has a pending tuple, and an input
+ * pushing faster than the others is blocked when it has {@link #BUFFER_SIZE} tuples pending. Each input is expected to
+ * be pushed by its own thread.
+ */
+public final class SortedMergeOperator extends SoleOutOperator {
+    public static final SortedMergeOperator INSTANCE = new SortedMergeOperator();
+
+    static final int BUFFER_SIZE = 1024;
+
+    private SortedMergeOperator() {
+    }
+
+    @Override
+    public boolean push(Context context, @Nullable Object[] tuple, Vertex vertex) {
+        SortedMergeParam param = vertex.getParam();
+        synchronized (param) {
+            if (param.isStopped()) {
+                return false;
+            }
+            int pin = context.getPin();
+            param.setContext(context);
+            param.add(pin, tuple);
+            merge(param, vertex.getSoleEdge());
+            param.notifyAll();
+            while (!param.isStopped() && param.size(pin) >= BUFFER_SIZE) {
+                try {
+                    param.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    param.setStopped(true);
+                }
+            }
+            return !param.isStopped();
+        }
+    }
+
+    @Override
+    public void fin(int pin, Fin fin, Vertex vertex) {
+        SortedMergeParam param = vertex.getParam();
+        synchronized (param) {
+            Edge edge = vertex.getSoleEdge();
+            if (fin instanceof FinWithException) {
+                param.setFinWithException(fin);
+                param.setStopped(true);
+            }
+            boolean finished = param.setFin(pin);
+            OperatorProfile profile = param.getProfile();
+            profile.start();
+            merge(param, edge);
+            profile.end();
+            param.notifyAll();
+            if (!finished) {
+                return;
+            }
+            if (param.getFinWithException() != null) {
+                edge.fin(param.getFinWithException());
+            } else {
+                if (fin instanceof FinWithProfiles) {
+                    ((FinWithProfiles) fin).addProfile(profile);
+                }
+                edge.fin(fin);
+            }
+            param.clear();
+        }
+    }
+
+    private static void merge(SortedMergeParam param, Edge edge) {
+        Object[] tuple;
+        while (!param.isStopped() && (tuple = param.poll()) != null) {
+            if (param.accept() && !edge.transformToNext(param.getContext(), tuple)) {
+                param.setStopped(true);
+            }
+        }
+    }
+}
@@ -20,6 +20,7 @@ import com.google.common.collect.Iterators;
 import io.dingodb.codec.CodecService;
 import io.dingodb.codec.KeyValueCodec;
 import io.dingodb.common.CommonId;
+import io.dingodb.common.concurrent.Executors;
 import io.dingodb.common.partition.RangeDistribution;
 import io.dingodb.common.profile.OperatorProfile;
 import io.dingodb.common.store.KeyValue;
@@ -46,9 +47,15 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import static io.dingodb.common.util.NoBreakFunctions.wrap;
 import static io.dingodb.common.util.Utils.calculatePrefixCount;
@@ -57,6 +64,11 @@ import static io.dingodb.common.util.Utils.calculatePrefixCount;
 public class TxnGetByIndexOperator extends FilterProjectOperator {
     public static final TxnGetByIndexOperator INSTANCE = new TxnGetByIndexOperator();
 
+    static final int LOOKUP_BATCH_SIZE = 256;
+
+    // Marks a row deleted in the transaction, which must not be read from the store.
+    static final Object[] DELETED = new Object[0];
+
     public TxnGetByIndexOperator() {
     }
 
@@ -77,52 +89,163 @@ public class TxnGetByIndexOperator extends FilterProjectOperator {
             new StoreInstance.Range(keys, keys, true, true),
             param.getTimeout());
         Iterator<Object[]> iterator = createMergedIterator(localIterator, storeIterator, param.getCodec());
-        iterator = Iterators.transform(iterator, tuples -> revMap(tuples, vertex));
+        iterator = revMap(iterator, vertex);
 
         profile.time(start);
         return iterator;
     }
 
-    public static Object[] revMap(Object[] tuple, Vertex vertex) {
+    private static Iterator<Object[]> revMap(Iterator<Object[]> iterator, Vertex vertex) {
         TxnGetByIndexParam param = vertex.getParam();
         if (param.isLookup()) {
-            return lookUp(tuple, param, vertex.getTask());
+            return Iterators.concat(Iterators.transform(
+                Iterators.partition(iterator, LOOKUP_BATCH_SIZE),
+                tuples -> lookUp(
+                    tuples,
+                    param.getKeyMapping(),
+                    param.getTable(),
+                    param.getTableId(),
+                    param.getLookupCodec(),
+                    param.getScanTs(),
+                    param.getTimeout(),
+                    vertex.getTask()
+                ).iterator()
+            ));
         } else {
-            return transformTuple(tuple, param);
+            return Iterators.transform(iterator, tuple -> transformTuple(tuple, param));
         }
     }
 
-    public static Object[] lookUp(Object[] tuples, TxnGetByIndexParam param, Task task) {
+    /**
+     * Look up the table rows of a batch of index hits. The keys are grouped by region, each region is read with one
+     * {@code txnGet} call and the regions are read concurrently. Rows are returned in the order of the index hits,
+     * rows not found or deleted in the transaction are skipped.
+     */
+    public static List<Object[]> lookUp(
+        List<Object[]> tuples,
+        TupleMapping indices,
+        Table tableDefinition,
+        CommonId tableId,
+        KeyValueCodec codec,
+        long scanTs,
+        long timeout,
+        Task task
+    ) {
         CommonId txnId = task.getTxnId();
         TransactionType transactionType = task.getTransactionType();
-        TupleMapping indices = param.getKeyMapping();
-        Table tableDefinition = param.getTable();
         NavigableMap<ByteArrayUtils.ComparableByteArray, RangeDistribution> ranges =
             MetaService.root().getRangeDistribution(tableDefinition.tableId);
-        Object[] keyTuples = new Object[tableDefinition.getColumns().size()];
-        for (int i = 0; i < indices.getMappings().length; i ++) {
-            keyTuples[indices.get(i)] = tuples[i];
+        PartitionService partitionService = PartitionService.getService(
+            Optional.ofNullable(tableDefinition.getPartitionStrategy())
+                .orElse(DingoPartitionServiceProvider.RANGE_FUNC_NAME));
+        return lookUp(tuples, indices, tableDefinition.getColumns().size(), codec, new RowSource() {
+            @Override
+            public CommonId regionOf(byte[] key) {
+                return partitionService.calcPartId(key, ranges);
+            }
+
+            @Override
+            public Object @Nullable [] getLocal(byte[] key, CommonId regionId) {
+                return TxnGetByIndexOperator.getLocal(key, txnId, regionId, tableId, codec, transactionType);
+            }
+
+            @Override
+            public List<KeyValue> txnGet(CommonId regionId, List<byte[]> keys) {
+                return Services.KV_STORE.getInstance(tableId, regionId).txnGet(scanTs, keys, timeout);
+            }
+        });
+    }
+
+    static List<Object[]> lookUp(
+        List<Object[]> tuples,
+        TupleMapping indices,
+        int columnCount,
+        KeyValueCodec codec,
+        RowSource source
+    ) {
+        int size = tuples.size();
+        byte[][] keys = new byte[size][];
+        Object[][] rows = new Object[size][];
+        Map<CommonId, List<byte[]>> regionKeys = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            Object[] tuple = tuples.get(i);
+            Object[] keyTuples = new Object[columnCount];
+            for (int j = 0; j < indices.getMappings().length; j++) {
+                keyTuples[indices.get(j)] = tuple[j];
+            }
+            byte[] key = codec.encodeKey(keyTuples);
+            CommonId regionId = source.regionOf(key);
+            key = CodecService.getDefault().setId(key, regionId.domain);
+            keys[i] = key;
+            rows[i] = source.getLocal(key, regionId);
+            if (rows[i] == null) {
+                regionKeys.computeIfAbsent(regionId, k -> new ArrayList<>()).add(key);
+            }
         }
-        byte[] keys = param.getLookupCodec().encodeKey(keyTuples);
-        CommonId regionId = PartitionService.getService(
-                Optional.ofNullable(tableDefinition.getPartitionStrategy())
-                    .orElse(DingoPartitionServiceProvider.RANGE_FUNC_NAME))
-            .calcPartId(keys, ranges);
-
-        keys = CodecService.getDefault().setId(keys, regionId.domain);
-        Object[] local = createGetLocal(
-            keys,
-            txnId,
-            regionId,
-            param.getTableId(),
-            param.getLookupCodec(),
-            transactionType);
-        if (local != null) {
-            return local;
+        if (!regionKeys.isEmpty()) {
+            // The store gives back the found keys only, so match them to the hits by key, ignoring the namespace.
+            NavigableMap<ByteArrayUtils.ComparableByteArray, KeyValue> found = new TreeMap<>();
+            for (List<KeyValue> keyValues : txnGet(regionKeys, source)) {
+                for (KeyValue keyValue : keyValues) {
+                    if (keyValue != null && keyValue.getValue() != null) {
+                        found.put(new ByteArrayUtils.ComparableByteArray(keyValue.getKey(), 1), keyValue);
+                    }
+                }
+            }
+            for (int i = 0; i < size; i++) {
+                if (rows[i] == null) {
+                    KeyValue keyValue = found.get(new ByteArrayUtils.ComparableByteArray(keys[i], 1));
+                    if (keyValue != null) {
+                        rows[i] = codec.decode(keyValue);
+                    }
+                }
+            }
+        }
+        List<Object[]> result = new ArrayList<>(size);
+        for (Object[] row : rows) {
+            if (row != null && row != DELETED) {
+                result.add(row);
+            }
+        }
+        return result;
+    }
+
+    private static List<List<KeyValue>> txnGet(Map<CommonId, List<byte[]>> regionKeys, RowSource source) {
+        if (regionKeys.size() == 1) {
+            Map.Entry<CommonId, List<byte[]>> entry = regionKeys.entrySet().iterator().next();
+            return Collections.singletonList(source.txnGet(entry.getKey(), entry.getValue()));
         }
+        List<CompletableFuture<List<KeyValue>>> futures = new ArrayList<>(regionKeys.size());
+        for (Map.Entry<CommonId, List<byte[]>> entry : regionKeys.entrySet()) {
+            futures.add(Executors.submit("index-lookup", () -> source.txnGet(entry.getKey(), entry.getValue())));
+        }
+        List<List<KeyValue>> results = new ArrayList<>(futures.size());
+        try {
+            for (CompletableFuture<List<KeyValue>> future : futures) {
+                results.add(future.join());
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+        return results;
+    }
 
-        StoreInstance store = Services.KV_STORE.getInstance(param.getTableId(), regionId);
-        return param.getLookupCodec().decode(store.txnGet(param.getScanTs(), keys, param.getTimeout()));
+    /**
+     * Where the rows of a lookup are read from.
+     */
+    interface RowSource {
+        CommonId regionOf(byte[] key);
+
+        /**
+         * Get the row of a key in the local cache of the transaction: the row, {@link TxnGetByIndexOperator#DELETED}
+         * if deleted, or {@code null} if the key is not cached.
+         */
+        Object @Nullable [] getLocal(byte[] key, CommonId regionId);
+
+        List<KeyValue> txnGet(CommonId regionId, List<byte[]> keys);
     }
 
     private static Object[] transformTuple(Object[] tuple, TxnGetByIndexParam param) {
@@ -143,6 +266,23 @@ public class TxnGetByIndexOperator extends FilterProjectOperator {
         CommonId tableId,
         KeyValueCodec codec,
         TransactionType transactionType
+    ) {
+        Object[] row = getLocal(keys, txnId, partId, tableId, codec, transactionType);
+        return row == DELETED ? null : row;
+    }
+
+    /**
+     * Get the row of a key in the local cache of the transaction.
+     *
+     * @return the row, {@link #DELETED} if the key is deleted in the transaction, or {@code null} if not cached
+     */
+    private static Object @Nullable [] getLocal(
+        byte[] keys,
+        CommonId txnId,
+        CommonId partId,
+        CommonId tableId,
+        KeyValueCodec codec,
+        TransactionType transactionType
     ) {
         byte[] txnIdByte = txnId.encode();
         byte[] partIdByte = partId.encode();
@@ -187,7 +327,7 @@ public class TxnGetByIndexOperator extends FilterProjectOperator {
                         return null;
                     }
                 }
-                return null;
+                return DELETED;
             }
         }
         return null;
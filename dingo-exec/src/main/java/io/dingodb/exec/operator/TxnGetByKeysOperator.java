@@ -21,6 +21,7 @@ import io.dingodb.codec.KeyValueCodec;
 import io.dingodb.common.CommonId;
 import io.dingodb.common.profile.OperatorProfile;
 import io.dingodb.common.store.KeyValue;
+import io.dingodb.common.util.ByteArrayUtils;
 import io.dingodb.exec.Services;
 import io.dingodb.exec.dag.Vertex;
 import io.dingodb.exec.operator.data.Context;
@@ -39,6 +40,8 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
 
 @Slf4j
 public final class TxnGetByKeysOperator extends FilterProjectOperator {
@@ -87,6 +90,149 @@ public final class TxnGetByKeysOperator extends FilterProjectOperator {
         return Collections.singletonList(result).iterator();
     }
 
+    /**
+     * Get the rows of a batch of keys of the same region, with one read of the transaction cache and one
+     * {@code txnGet} call for the keys not in the cache.
+     */
+    @Override
+    public boolean pushBatch(Context context, List<Object[]> tuples, Vertex vertex) {
+        TxnGetByKeysParam param = vertex.getParam();
+        OperatorProfile profile = param.getProfile("getByKeys");
+        long start = System.currentTimeMillis();
+        param.setContext(context);
+        KeyValueCodec codec = param.getCodec();
+        CommonId tableId = param.getTableId();
+        CommonId txnId = vertex.getTask().getTxnId();
+        CommonId partId = context.getDistribution().getId();
+        TransactionType transactionType = vertex.getTask().getTransactionType();
+        List<byte[]> keys = new ArrayList<>(tuples.size());
+        for (Object[] tuple : tuples) {
+            byte[] key = codec.encodeKey(tuple);
+            CodecService.getDefault().setId(key, partId.domain);
+            keys.add(key);
+        }
+        List<Iterator<Object[]>> locals = getLocalStore(
+            partId,
+            codec,
+            keys,
+            tableId,
+            txnId,
+            partId.encode(),
+            transactionType);
+        List<byte[]> remoteKeys = new ArrayList<>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            if (locals.get(i) == null) {
+                remoteKeys.add(keys.get(i));
+            }
+        }
+        // The store gives back the found keys only, so match them to the tuples by key, ignoring the namespace.
+        NavigableMap<ByteArrayUtils.ComparableByteArray, KeyValue> found = new TreeMap<>();
+        if (!remoteKeys.isEmpty()) {
+            StoreInstance store = Services.KV_STORE.getInstance(tableId, partId);
+            for (KeyValue keyValue : store.txnGet(param.getScanTs(), remoteKeys, param.getTimeOut())) {
+                if (keyValue != null && keyValue.getValue() != null) {
+                    found.put(new ByteArrayUtils.ComparableByteArray(keyValue.getKey(), 1), keyValue);
+                }
+            }
+        }
+        boolean keepMissing = transactionType == TransactionType.PESSIMISTIC && !param.isSelect();
+        List<Object[]> rows = new ArrayList<>(tuples.size());
+        for (int i = 0; i < keys.size(); i++) {
+            Iterator<Object[]> local = locals.get(i);
+            if (local != null) {
+                local.forEachRemaining(rows::add);
+                continue;
+            }
+            KeyValue keyValue = found.get(new ByteArrayUtils.ComparableByteArray(keys.get(i), 1));
+            if (keyValue != null) {
+                rows.add(codec.decode(keyValue));
+            } else if (keepMissing) {
+                rows.add(tuples.get(i));
+            }
+        }
+        profile.time(start);
+        return pushIterator(context, filterProject(rows.iterator(), vertex), vertex);
+    }
+
+    /**
+     * Same as {@link #getLocalStore(CommonId, KeyValueCodec, byte[], CommonId, CommonId, byte[], TransactionType)}
+     * for a list of keys, reading the transaction cache once.
+     */
+    public static List<@Nullable Iterator<Object[]>> getLocalStore(
+        CommonId partId,
+        KeyValueCodec codec,
+        List<byte[]> keys,
+        CommonId tableId,
+        CommonId txnId,
+        byte[] partIdByte,
+        TransactionType transactionType
+    ) {
+        byte[] txnIdByte = txnId.encode();
+        byte[] tableIdByte = tableId.encode();
+        int len = txnIdByte.length + tableIdByte.length + partIdByte.length;
+        List<byte[]> dataKeys = new ArrayList<>(keys.size());
+        List<byte[]> bytes = new ArrayList<>(keys.size() * 3);
+        NavigableMap<ByteArrayUtils.ComparableByteArray, Integer> indices = new TreeMap<>();
+        for (int i = 0; i < keys.size(); i++) {
+            byte[] dataKey = ByteUtils.encode(
+                CommonId.CommonType.TXN_CACHE_DATA,
+                keys.get(i),
+                Op.PUTIFABSENT.getCode(),
+                len,
+                txnIdByte, tableIdByte, partIdByte);
+            byte[] deleteKey = Arrays.copyOf(dataKey, dataKey.length);
+            deleteKey[deleteKey.length - 2] = (byte) Op.DELETE.getCode();
+            byte[] updateKey = Arrays.copyOf(dataKey, dataKey.length);
+            updateKey[updateKey.length - 2] = (byte) Op.PUT.getCode();
+            dataKeys.add(dataKey);
+            bytes.add(dataKey);
+            bytes.add(deleteKey);
+            bytes.add(updateKey);
+            indices.put(new ByteArrayUtils.ComparableByteArray(dataKey), i);
+            indices.put(new ByteArrayUtils.ComparableByteArray(deleteKey), i);
+            indices.put(new ByteArrayUtils.ComparableByteArray(updateKey), i);
+        }
+        StoreInstance store = Services.LOCAL_STORE.getInstance(tableId, partId);
+        KeyValue[] values = new KeyValue[keys.size()];
+        List<KeyValue> keyValues = store.get(bytes);
+        if (keyValues != null) {
+            for (KeyValue value : keyValues) {
+                Integer index = indices.get(new ByteArrayUtils.ComparableByteArray(value.getKey()));
+                if (index == null) {
+                    continue;
+                }
+                if (values[index] != null) {
+                    throw new RuntimeException(txnId + " Key is not existed than two in local store");
+                }
+                values[index] = value;
+            }
+        }
+        List<Iterator<Object[]>> results = new ArrayList<>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            KeyValue value = values[i];
+            if (value == null) {
+                results.add(null);
+                continue;
+            }
+            byte[] oldKey = value.getKey();
+            if (oldKey[oldKey.length - 2] == Op.PUTIFABSENT.getCode()
+                || oldKey[oldKey.length - 2] == Op.PUT.getCode()) {
+                KeyValue keyValue = new KeyValue(keys.get(i), value.getValue());
+                results.add(Collections.singletonList(codec.decode(keyValue)).iterator());
+            } else if (transactionType == TransactionType.PESSIMISTIC && store.get(ByteUtils.getKeyByOp(
+                CommonId.CommonType.TXN_CACHE_LOCK,
+                Op.LOCK,
+                dataKeys.get(i))) == null
+            ) {
+                // first primary key
+                results.add(null);
+            } else {
+                results.add(Collections.emptyIterator());
+            }
+        }
+        return results;
+    }
+
     @Nullable
     public static Iterator<Object[]> getLocalStore(CommonId partId,
                                                    KeyValueCodec codec,
@@ -17,86 +17,51 @@
 package io.dingodb.exec.operator;
 
 import com.google.common.collect.Iterators;
-import io.dingodb.codec.CodecService;
-import io.dingodb.common.CommonId;
 import io.dingodb.common.CoprocessorV2;
 import io.dingodb.common.log.LogUtils;
 import io.dingodb.common.partition.RangeDistribution;
 import io.dingodb.common.profile.OperatorProfile;
 import io.dingodb.common.store.KeyValue;
-import io.dingodb.common.type.TupleMapping;
-import io.dingodb.common.util.ByteArrayUtils;
-import io.dingodb.common.util.Optional;
-import io.dingodb.exec.Services;
-import io.dingodb.exec.base.Task;
 import io.dingodb.exec.dag.Vertex;
 import io.dingodb.exec.operator.data.Context;
 import io.dingodb.exec.operator.params.TxnIndexRangeScanParam;
-import io.dingodb.exec.transaction.base.TransactionType;
 import io.dingodb.exec.utils.RelOpUtils;
 import io.dingodb.expr.rel.PipeOp;
-import io.dingodb.meta.MetaService;
 import io.dingodb.meta.entity.Table;
-import io.dingodb.partition.DingoPartitionServiceProvider;
-import io.dingodb.partition.PartitionService;
-import io.dingodb.store.api.StoreInstance;
 import lombok.extern.slf4j.Slf4j;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 import java.util.Iterator;
 import java.util.List;
-import java.util.NavigableMap;
 
 import static io.dingodb.common.util.NoBreakFunctions.wrap;
-import static io.dingodb.exec.operator.TxnGetByIndexOperator.createGetLocal;
 import static io.dingodb.exec.operator.TxnScanWithRelOpOperatorBase.createStoreIteratorCp;
 
 @Slf4j
 public class TxnIndexRangeScanOperator extends TxnScanOperatorBase {
     public static final TxnIndexRangeScanOperator INSTANCE = new TxnIndexRangeScanOperator();
 
-    private static Object[] revMap(Object[] tuple, Vertex vertex) {
+    private static Iterator<Object[]> revMap(Iterator<Object[]> iterator, Vertex vertex) {
         TxnIndexRangeScanParam param = vertex.getParam();
         if (param.isLookup()) {
-            return lookUp(tuple, param, vertex.getTask());
+            return Iterators.concat(Iterators.transform(
+                Iterators.partition(iterator, TxnGetByIndexOperator.LOOKUP_BATCH_SIZE),
+                tuples -> TxnGetByIndexOperator.lookUp(
+                    tuples,
+                    param.getKeyMapping(),
+                    param.getTable(),
+                    param.getTableId(),
+                    param.getLookupCodec(),
+                    param.getScanTs(),
+                    param.getTimeout(),
+                    vertex.getTask()
+                ).iterator()
+            ));
         } else {
-            return transformTuple(tuple, param);
+            return Iterators.transform(iterator, tuple -> transformTuple(tuple, param));
         }
     }
 
-    public static Object[] lookUp(Object[] tuples, TxnIndexRangeScanParam param, Task task) {
-        CommonId txnId = task.getTxnId();
-        TransactionType transactionType = task.getTransactionType();
-        TupleMapping indices = param.getKeyMapping();
-        Table tableDefinition = param.getTable();
-        NavigableMap<ByteArrayUtils.ComparableByteArray, RangeDistribution> ranges =
-            MetaService.root().getRangeDistribution(tableDefinition.tableId);
-        Object[] keyTuples = new Object[tableDefinition.getColumns().size()];
-        for (int i = 0; i < indices.getMappings().length; i ++) {
-            keyTuples[indices.get(i)] = tuples[i];
-        }
-        byte[] keys = param.getLookupCodec().encodeKey(keyTuples);
-        CommonId regionId = PartitionService.getService(
-                Optional.ofNullable(tableDefinition.getPartitionStrategy())
-                    .orElse(DingoPartitionServiceProvider.RANGE_FUNC_NAME))
-            .calcPartId(keys, ranges);
-
-        keys = CodecService.getDefault().setId(keys, regionId.domain);
-        Object[] local = createGetLocal(
-            keys,
-            txnId,
-            regionId,
-            param.getTableId(),
-            param.getLookupCodec(),
-            transactionType);
-        if (local != null) {
-            return local;
-        }
-
-        StoreInstance store = Services.KV_STORE.getInstance(param.getTableId(), regionId);
-        return param.getLookupCodec().decode(store.txnGet(param.getScanTs(), keys, param.getTimeout()));
-    }
-
     private static Object[] transformTuple(Object[] tuple, TxnIndexRangeScanParam param) {
         Table table = param.getTable();
         List<Integer> mapList = param.getMapList();
@@ -138,7 +103,7 @@ public class TxnIndexRangeScanOperator extends TxnScanOperatorBase {
                     LogUtils.error(log, "index range scan cop is null,local is not empty, but rel op :{}", param.getRelOp());
                 }
             }
-            iterator = Iterators.transform(iterator, tuples -> revMap(tuples, vertex));
+            iterator = revMap(iterator, vertex);
             if (param.getSelection() != null) {
                 iterator = Iterators.transform(iterator, param.getSelection()::revMap);
             }
@@ -165,7 +130,7 @@ public class TxnIndexRangeScanOperator extends TxnScanOperatorBase {
                     LogUtils.error(log, "index range scan cop is null, but rel op :{}", param.getRelOp());
                 }
             }
-            iterator = Iterators.transform(iterator, tuples -> revMap(tuples, vertex));
+            iterator = revMap(iterator, vertex);
             if (param.getSelection() != null) {
                 iterator = Iterators.transform(iterator, param.getSelection()::revMap);
             }
@@ -182,7 +147,7 @@ public class TxnIndexRangeScanOperator extends TxnScanOperatorBase {
 
         profile.time(start);
         Iterator<Object[]> iterator = Iterators.transform(storeIterator, wrap(param.getPushDownCodec()::decode)::apply);
-        iterator = Iterators.transform(iterator, tuples -> revMap(tuples, vertex));
+        iterator = revMap(iterator, vertex);
         if (param.getSelection() != null) {
             iterator = Iterators.transform(iterator, param.getSelection()::revMap);
         }
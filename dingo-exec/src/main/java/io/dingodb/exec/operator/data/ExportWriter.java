@@ -0,0 +1,170 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.operator.data;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writer of an export file shared by all the export vertices of a statement. Rows are formatted into a buffer of each
+ * vertex and written to the file channel in blocks of whole lines, so vertices can format concurrently and the rows of
+ * a vertex keep their order. The output is gzip compressed if the file name ends with ".gz".
+ */
+public final class ExportWriter {
+    public static final int FLUSH_SIZE = 256 * 1024;
+    private static final String GZIP_SUFFIX = ".gz";
+
+    private static final Map<String, ExportWriter> WRITERS = new ConcurrentHashMap<>();
+
+    private final String id;
+    private final String outfile;
+    private int refCount = 0;
+    private FileChannel channel;
+    private OutputStream gzip;
+
+    private ExportWriter(String id, String outfile) {
+        this.id = id;
+        this.outfile = outfile;
+    }
+
+    public static ExportWriter acquire(String id, String outfile) {
+        return WRITERS.compute(id, (k, v) -> {
+            ExportWriter writer = v != null ? v : new ExportWriter(id, outfile);
+            ++writer.refCount;
+            return writer;
+        });
+    }
+
+    /**
+     * Create a row buffer for a vertex. Rows must be appended while holding the lock of the buffer.
+     */
+    public Buffer newBuffer() {
+        return new Buffer();
+    }
+
+    /**
+     * Write the buffer to the file if it is full, must be called while holding the lock of the buffer.
+     */
+    public void endLine(Buffer buffer) throws IOException {
+        if (buffer.size() >= FLUSH_SIZE) {
+            write(buffer);
+        }
+    }
+
+    /**
+     * Flush the buffered rows of a vertex and close the file if no other vertex is using it.
+     *
+     * @param buffer the buffer of the vertex, or {@code null} if the buffered rows are discarded
+     */
+    public void release(@Nullable Buffer buffer) throws IOException {
+        try {
+            if (buffer != null) {
+                synchronized (buffer) {
+                    write(buffer);
+                }
+            }
+        } finally {
+            boolean[] closing = new boolean[1];
+            WRITERS.computeIfPresent(id, (k, v) -> {
+                closing[0] = --v.refCount == 0;
+                return closing[0] ? null : v;
+            });
+            if (closing[0]) {
+                close();
+            }
+        }
+    }
+
+    private synchronized void write(Buffer buffer) throws IOException {
+        if (buffer.size() == 0) {
+            return;
+        }
+        if (channel == null) {
+            // Fails if the file exists.
+            channel = FileChannel.open(Paths.get(outfile), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+            if (outfile.endsWith(GZIP_SUFFIX)) {
+                gzip = new GZIPOutputStream(Channels.newOutputStream(channel), FLUSH_SIZE);
+            }
+        }
+        if (gzip != null) {
+            gzip.write(buffer.array(), 0, buffer.size());
+        } else {
+            ByteBuffer byteBuffer = ByteBuffer.wrap(buffer.array(), 0, buffer.size());
+            while (byteBuffer.hasRemaining()) {
+                channel.write(byteBuffer);
+            }
+        }
+        buffer.reset();
+    }
+
+    private synchronized void close() throws IOException {
+        try {
+            if (gzip != null) {
+                gzip.close();
+            } else if (channel != null) {
+                channel.close();
+            }
+        } finally {
+            gzip = null;
+            channel = null;
+        }
+    }
+
+    public static final class Buffer extends ByteArrayOutputStream {
+        private Buffer() {
+            super(FLUSH_SIZE + 1024);
+        }
+
+        public void writeBytes(byte[] bytes) {
+            write(bytes, 0, bytes.length);
+        }
+
+        /**
+         * Write a string known to be ASCII, without encoding it to a new byte array.
+         */
+        public void writeAscii(String str) {
+            int len = str.length();
+            ensureCapacity(count + len);
+            for (int i = 0; i < len; ++i) {
+                buf[count++] = (byte) str.charAt(i);
+            }
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity > buf.length) {
+                byte[] newBuf = new byte[Math.max(buf.length << 1, capacity)];
+                System.arraycopy(buf, 0, newBuf, 0, count);
+                buf = newBuf;
+            }
+        }
+
+        private byte[] array() {
+            return buf;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.operator.join;
+
+import io.dingodb.exec.spill.SpillFile;
+import io.dingodb.exec.spill.SpillPartitions;
+import lombok.Getter;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Hash partitioned spill files of both sides of a hash join (grace hash join). Rows with equal join keys always go to
+ * the same partition, so each pair of partitions can be joined independently. The hash function is salted by
+ * {@code depth}, so an oversized partition can be re-partitioned by a deeper {@code HashJoinSpill}.
+ */
+public class HashJoinSpill {
+    @Getter
+    private final int depth;
+    private final SpillFile[] buildFiles;
+    private final SpillFile[] probeFiles;
+
+    public HashJoinSpill(int depth) {
+        this.depth = depth;
+        this.buildFiles = new SpillFile[SpillPartitions.PARTITION_NUM];
+        this.probeFiles = new SpillFile[SpillPartitions.PARTITION_NUM];
+    }
+
+    /**
+     * Select the partition of a row.
+     *
+     * @param hash the hash code of join keys, see {@link JoinHashTable#hash(Object[], int[])}
+     * @return the partition index
+     */
+    public int partition(int hash) {
+        return SpillPartitions.partition(hash, depth);
+    }
+
+    public void addBuild(int hash, Object @NonNull [] tuple) {
+        buildFile(partition(hash)).write(tuple);
+    }
+
+    public void addProbe(int hash, Object @NonNull [] tuple) {
+        probeFile(partition(hash)).write(tuple);
+    }
+
+    public synchronized @Nullable SpillFile getBuild(int index) {
+        return buildFiles[index];
+    }
+
+    public synchronized @Nullable SpillFile getProbe(int index) {
+        return probeFiles[index];
+    }
+
+    private synchronized @NonNull SpillFile buildFile(int index) {
+        if (buildFiles[index] == null) {
+            buildFiles[index] = SpillFile.create("hash-join-build-" + depth + "-" + index + "-");
+        }
+        return buildFiles[index];
+    }
+
+    private synchronized @NonNull SpillFile probeFile(int index) {
+        if (probeFiles[index] == null) {
+            probeFiles[index] = SpillFile.create("hash-join-probe-" + depth + "-" + index + "-");
+        }
+        return probeFiles[index];
+    }
+
+    public synchronized void delete(int index) {
+        if (buildFiles[index] != null) {
+            buildFiles[index].delete();
+            buildFiles[index] = null;
+        }
+        if (probeFiles[index] != null) {
+            probeFiles[index].delete();
+            probeFiles[index] = null;
+        }
+    }
+
+    public void delete() {
+        for (int i = 0; i < SpillPartitions.PARTITION_NUM; ++i) {
+            delete(i);
+        }
+    }
+}
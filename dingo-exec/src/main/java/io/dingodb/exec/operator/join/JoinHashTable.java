@@ -0,0 +1,351 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.operator.join;
+
+import io.dingodb.common.type.TupleMapping;
+import io.dingodb.exec.spill.MemoryEstimator;
+import lombok.Getter;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * In-memory hash table of the build (right) side of a hash join.
+ *
+ * <p>Rows are kept in an array and referred to by index. Distinct keys are located by open addressing (linear probing)
+ * in {@code slots}, which holds the index of the first row of each key; rows with the same key are chained by
+ * {@code next}. Hash codes are cached per row and the joined flags are kept in a {@link BitSet}, so no objects are
+ * allocated per row except the row itself, and probing allocates nothing.
+ *
+ * <p>For single-column keys of type {@code long}, {@code int} or {@code String}, keys are compared without going
+ * through the generic {@link Objects#equals(Object, Object)}; {@code long} and {@code int} keys are also copied into a
+ * primitive array for better locality.
+ *
+ * <p>Adding must be done by one thread at a time, and all adding must happen before probing. Used as the group key
+ * table of {@code AggCache} too, where adding and finding are interleaved by a single thread.
+ */
+public class JoinHashTable {
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int ROW_OVERHEAD = 4 * 4 + MemoryEstimator.REFERENCE;
+
+    private final int[] buildColumns;
+    private final int keyColumn;
+
+    private KeyKind keyKind;
+    private Object[][] rows;
+    private int[] hashes;
+    private int[] next;
+    private long[] longKeys;
+    private BitSet nullKeys;
+    private final BitSet joined;
+    private int[] slots;
+    private int mask;
+    private int keyCount;
+    @Getter
+    private int size;
+
+    /**
+     * Estimated heap size of the rows in this table.
+     */
+    @Getter
+    private long memSize;
+
+    public JoinHashTable(@NonNull TupleMapping buildMapping) {
+        this.buildColumns = buildMapping.getMappings();
+        this.keyColumn = buildColumns.length == 1 ? buildColumns[0] : -1;
+        this.joined = new BitSet();
+        init();
+    }
+
+    private void init() {
+        keyKind = keyColumn >= 0 ? KeyKind.UNDECIDED : KeyKind.GENERIC;
+        rows = new Object[INITIAL_CAPACITY][];
+        hashes = new int[INITIAL_CAPACITY];
+        next = new int[INITIAL_CAPACITY];
+        longKeys = null;
+        nullKeys = null;
+        joined.clear();
+        slots = new int[INITIAL_CAPACITY * 2];
+        Arrays.fill(slots, -1);
+        mask = slots.length - 1;
+        keyCount = 0;
+        size = 0;
+        memSize = 0;
+    }
+
+    /**
+     * Calculate the hash code of the key columns of a tuple, equals to {@code Arrays.hashCode(mapping.revMap(tuple))}
+     * but without allocating.
+     */
+    public static int hash(Object @NonNull [] tuple, int @NonNull [] columns) {
+        int hash = 1;
+        for (int column : columns) {
+            hash = 31 * hash + Objects.hashCode(tuple[column]);
+        }
+        return hash;
+    }
+
+    private static int spread(int hash) {
+        return (hash ^ (hash >>> 16)) * 0x9e3779b9;
+    }
+
+    public int buildHash(Object @NonNull [] tuple) {
+        return hash(tuple, buildColumns);
+    }
+
+    /**
+     * Put a build side row into the table.
+     *
+     * @param tuple the row
+     * @return the estimated heap size of the table after adding
+     */
+    public long add(Object @NonNull [] tuple) {
+        if (size == rows.length) {
+            growRows();
+        }
+        int row = size++;
+        int hash = buildHash(tuple);
+        rows[row] = tuple;
+        hashes[row] = hash;
+        if (keyColumn >= 0) {
+            setSingleKey(row, tuple[keyColumn]);
+        }
+        int index = spread(hash) & mask;
+        while (true) {
+            int head = slots[index];
+            if (head < 0) {
+                slots[index] = row;
+                next[row] = -1;
+                if (++keyCount * 2 > slots.length) {
+                    rehash();
+                }
+                break;
+            }
+            if (hashes[head] == hash && buildKeyEquals(head, tuple)) {
+                // Insert after the head, the order of rows with the same key does not matter.
+                next[row] = next[head];
+                next[head] = row;
+                break;
+            }
+            index = (index + 1) & mask;
+        }
+        memSize += MemoryEstimator.estimate(tuple) + ROW_OVERHEAD;
+        return memSize;
+    }
+
+    /**
+     * Find the rows matching the key of a probe tuple.
+     *
+     * @param tuple the probe tuple
+     * @param probeColumns the key columns of the probe tuple, in the same order of the build key columns
+     * @return the index of the first matched row, or {@code -1} if not found. Other matched rows can be got by
+     *     {@link #next(int)}.
+     */
+    public int find(Object @NonNull [] tuple, int @NonNull [] probeColumns) {
+        if (keyCount == 0) {
+            return -1;
+        }
+        int hash = hash(tuple, probeColumns);
+        int index = spread(hash) & mask;
+        if (keyColumn >= 0) {
+            Object value = tuple[probeColumns[0]];
+            while (true) {
+                int head = slots[index];
+                if (head < 0) {
+                    return -1;
+                }
+                if (hashes[head] == hash && singleKeyEquals(head, value)) {
+                    return head;
+                }
+                index = (index + 1) & mask;
+            }
+        }
+        while (true) {
+            int head = slots[index];
+            if (head < 0) {
+                return -1;
+            }
+            if (hashes[head] == hash && keyEquals(rows[head], buildColumns, tuple, probeColumns)) {
+                return head;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    public int next(int row) {
+        return next[row];
+    }
+
+    public Object[] getRow(int row) {
+        return rows[row];
+    }
+
+    public void markJoined(int row) {
+        synchronized (joined) {
+            joined.set(row);
+        }
+    }
+
+    /**
+     * Visit the rows which are not joined yet.
+     *
+     * @param visitor the visitor, returns {@code false} to stop visiting
+     * @return {@code false} if the visiting was stopped by the visitor
+     */
+    public boolean forEachUnjoined(Predicate<Object[]> visitor) {
+        for (int row = joined.nextClearBit(0); row < size; row = joined.nextClearBit(row + 1)) {
+            if (!visitor.test(rows[row])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Visit all the rows in the table.
+     */
+    public void forEach(Predicate<Object[]> visitor) {
+        for (int row = 0; row < size; ++row) {
+            if (!visitor.test(rows[row])) {
+                return;
+            }
+        }
+    }
+
+    public void clear() {
+        init();
+    }
+
+    private void setSingleKey(int row, @Nullable Object value) {
+        if (keyKind == KeyKind.UNDECIDED && value != null) {
+            keyKind = KeyKind.of(value);
+            if (keyKind == KeyKind.LONG || keyKind == KeyKind.INT) {
+                longKeys = new long[rows.length];
+                nullKeys = new BitSet(rows.length);
+                // Rows before are all of null keys.
+                nullKeys.set(0, row);
+            }
+        }
+        if (keyKind == KeyKind.LONG || keyKind == KeyKind.INT) {
+            if (value == null) {
+                nullKeys.set(row);
+            } else if (KeyKind.of(value) == keyKind) {
+                longKeys[row] = ((Number) value).longValue();
+            } else {
+                // Mixed types, should not happen.
+                keyKind = KeyKind.GENERIC;
+                longKeys = null;
+                nullKeys = null;
+            }
+        } else if (keyKind == KeyKind.STRING && value != null && !(value instanceof String)) {
+            keyKind = KeyKind.GENERIC;
+        }
+    }
+
+    private boolean singleKeyEquals(int row, @Nullable Object value) {
+        switch (keyKind) {
+            case LONG:
+                if (value instanceof Long) {
+                    return !nullKeys.get(row) && longKeys[row] == (Long) value;
+                }
+                break;
+            case INT:
+                if (value instanceof Integer) {
+                    return !nullKeys.get(row) && longKeys[row] == (Integer) value;
+                }
+                break;
+            case STRING:
+                if (value instanceof String) {
+                    return value.equals(rows[row][keyColumn]);
+                }
+                break;
+            default:
+                break;
+        }
+        return Objects.equals(rows[row][keyColumn], value);
+    }
+
+    private boolean buildKeyEquals(int row, Object @NonNull [] tuple) {
+        if (keyColumn >= 0) {
+            return singleKeyEquals(row, tuple[keyColumn]);
+        }
+        return keyEquals(rows[row], buildColumns, tuple, buildColumns);
+    }
+
+    private static boolean keyEquals(
+        Object @NonNull [] tuple0,
+        int @NonNull [] columns0,
+        Object @NonNull [] tuple1,
+        int @NonNull [] columns1
+    ) {
+        for (int i = 0; i < columns0.length; ++i) {
+            if (!Objects.equals(tuple0[columns0[i]], tuple1[columns1[i]])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void growRows() {
+        int capacity = rows.length + (rows.length >> 1);
+        rows = Arrays.copyOf(rows, capacity);
+        hashes = Arrays.copyOf(hashes, capacity);
+        next = Arrays.copyOf(next, capacity);
+        if (longKeys != null) {
+            longKeys = Arrays.copyOf(longKeys, capacity);
+        }
+    }
+
+    private void rehash() {
+        int[] oldSlots = slots;
+        slots = new int[oldSlots.length * 2];
+        Arrays.fill(slots, -1);
+        mask = slots.length - 1;
+        for (int head : oldSlots) {
+            if (head >= 0) {
+                int index = spread(hashes[head]) & mask;
+                while (slots[index] >= 0) {
+                    index = (index + 1) & mask;
+                }
+                slots[index] = head;
+            }
+        }
+    }
+
+    private enum KeyKind {
+        UNDECIDED,
+        LONG,
+        INT,
+        STRING,
+        GENERIC;
+
+        static KeyKind of(@NonNull Object value) {
+            if (value instanceof Long) {
+                return LONG;
+            } else if (value instanceof Integer) {
+                return INT;
+            } else if (value instanceof String) {
+                return STRING;
+            }
+            return GENERIC;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.operator.join;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.Getter;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Filter built from the join keys of the build side of a hash join, used to drop probe side rows which cannot be
+ * joined before they are sent. It consists of a bloom filter on the key hash (see {@link JoinHashTable#hash}) and, for
+ * a single integral key column, the min/max range of the keys. False positives are allowed, false negatives are not.
+ */
+@JsonPropertyOrder({"hashNum", "bits", "min", "max"})
+public class RuntimeFilter {
+    /**
+     * Do not build a filter for larger build sides, for the false positive rate would be too high to pay off.
+     */
+    public static final int MAX_ROWS = 1 << 19;
+
+    private static final int BITS_PER_ROW = 10;
+    private static final int MIN_BITS = 1 << 10;
+    private static final int MAX_BITS = 1 << 22;
+
+    @JsonProperty("hashNum")
+    private final int hashNum;
+    @JsonProperty("bits")
+    private final long[] bits;
+    @Getter
+    @JsonProperty("min")
+    private Long min;
+    @Getter
+    @JsonProperty("max")
+    private Long max;
+    // Set if any key is not integral, so the range is not usable.
+    private transient boolean noRange;
+
+    public RuntimeFilter(int rowNum) {
+        int bitNum = MIN_BITS;
+        while (bitNum < MAX_BITS && bitNum < (long) rowNum * BITS_PER_ROW) {
+            bitNum <<= 1;
+        }
+        this.hashNum = Math.max(1, Math.min(8, (int) Math.round((double) bitNum / Math.max(rowNum, 1) * Math.log(2))));
+        this.bits = new long[bitNum >>> 6];
+    }
+
+    @JsonCreator
+    public RuntimeFilter(
+        @JsonProperty("hashNum") int hashNum,
+        @JsonProperty("bits") long @NonNull [] bits,
+        @JsonProperty("min") @Nullable Long min,
+        @JsonProperty("max") @Nullable Long max
+    ) {
+        this.hashNum = hashNum;
+        this.bits = bits;
+        this.min = min;
+        this.max = max;
+    }
+
+    private static int secondHash(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        return hash | 1;
+    }
+
+    /**
+     * Add a build side key.
+     *
+     * @param hash the hash of the key columns
+     * @param key  the value of the key column if there is only one key column, otherwise {@code null}
+     */
+    public void add(int hash, @Nullable Object key) {
+        int mask = (bits.length << 6) - 1;
+        int h2 = secondHash(hash);
+        for (int i = 0, h = hash; i < hashNum; ++i, h += h2) {
+            int index = h & mask;
+            bits[index >>> 6] |= 1L << index;
+        }
+        if (noRange) {
+            return;
+        }
+        if (key instanceof Long || key instanceof Integer) {
+            long value = ((Number) key).longValue();
+            if (min == null || value < min) {
+                min = value;
+            }
+            if (max == null || value > max) {
+                max = value;
+            }
+        } else if (key != null) {
+            noRange = true;
+            min = null;
+            max = null;
+        }
+    }
+
+    /**
+     * Check if a probe side key may be joined.
+     *
+     * @param hash the hash of the key columns
+     * @param key  the value of the key column if there is only one key column, otherwise {@code null}
+     * @return {@code false} if the key is definitely not in the build side
+     */
+    public boolean mightContain(int hash, @Nullable Object key) {
+        if (min != null && (key instanceof Long || key instanceof Integer)) {
+            long value = ((Number) key).longValue();
+            if (value < min || value > max) {
+                return false;
+            }
+        }
+        int mask = (bits.length << 6) - 1;
+        int h2 = secondHash(hash);
+        for (int i = 0, h = hash; i < hashNum; ++i, h += h2) {
+            int index = h & mask;
+            if ((bits[index >>> 6] & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
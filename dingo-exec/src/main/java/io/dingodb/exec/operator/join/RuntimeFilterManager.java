@@ -0,0 +1,112 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.operator.join;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.dingodb.common.CommonId;
+import io.dingodb.common.Location;
+import io.dingodb.common.config.DingoConfiguration;
+import io.dingodb.common.log.LogUtils;
+import io.dingodb.exec.Services;
+import io.dingodb.exec.channel.message.PushRuntimeFilter;
+import io.dingodb.net.Channel;
+import io.dingodb.net.Message;
+import lombok.extern.slf4j.Slf4j;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static io.dingodb.exec.Services.CTRL_TAG;
+
+/**
+ * Holds the runtime filters received by this node until the probe side operators pick them up.
+ */
+@Slf4j
+public final class RuntimeFilterManager {
+    public static final RuntimeFilterManager INSTANCE = new RuntimeFilterManager();
+
+    // Filters may arrive after the probe side finished, they are dropped after this time.
+    private static final long EXPIRE_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+    private final Map<String, Entry> filters = new ConcurrentHashMap<>();
+
+    private RuntimeFilterManager() {
+    }
+
+    /**
+     * Make the tag of a filter. Jobs of prepared statements are run many times, so the filters of different runs are
+     * distinguished by {@code runSeq}, which is counted by each operator in the same way.
+     */
+    public static @NonNull String tag(@NonNull CommonId jobId, int filterId, int partIndex, int runSeq) {
+        return jobId + "#rf" + filterId + "#" + partIndex + "#" + runSeq;
+    }
+
+    public void put(@NonNull String tag, @NonNull RuntimeFilter filter) {
+        long now = System.currentTimeMillis();
+        filters.values().removeIf(e -> now - e.time > EXPIRE_MILLIS);
+        filters.put(tag, new Entry(filter, now));
+    }
+
+    public @Nullable RuntimeFilter get(@NonNull String tag) {
+        Entry entry = filters.get(tag);
+        return entry != null ? entry.filter : null;
+    }
+
+    public void remove(@NonNull String tag) {
+        filters.remove(tag);
+    }
+
+    /**
+     * Send a filter to all the locations, the local node is not sent by network.
+     */
+    public void publish(@NonNull Collection<Location> locations, @NonNull String tag, @NonNull RuntimeFilter filter) {
+        byte[] content;
+        try {
+            content = new PushRuntimeFilter(tag, filter).toBytes();
+        } catch (JsonProcessingException e) {
+            LogUtils.error(log, "Failed to serialize runtime filter {}.", tag, e);
+            return;
+        }
+        Location local = DingoConfiguration.location();
+        for (Location location : locations) {
+            if (location.equals(local)) {
+                put(tag, filter);
+                continue;
+            }
+            // The filter is only an optimization, so failures are ignored.
+            try (Channel channel = Services.openNewSysChannel(location.getHost(), location.getPort())) {
+                channel.send(new Message(CTRL_TAG, content), true);
+            } catch (Exception e) {
+                LogUtils.warn(log, "Failed to send runtime filter {} to {}.", tag, location, e);
+            }
+        }
+    }
+
+    private static class Entry {
+        private final RuntimeFilter filter;
+        private final long time;
+
+        private Entry(RuntimeFilter filter, long time) {
+            this.filter = filter;
+            this.time = time;
+        }
+    }
+}
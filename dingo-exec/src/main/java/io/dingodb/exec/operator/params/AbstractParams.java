@@ -61,6 +61,8 @@ import lombok.Setter;
     @JsonSubTypes.Type(HashJoinParam.class),
     @JsonSubTypes.Type(HashParam.class),
     @JsonSubTypes.Type(LikeScanParam.class),
+    @JsonSubTypes.Type(LookupJoinParam.class),
+    @JsonSubTypes.Type(MergeJoinParam.class),
     @JsonSubTypes.Type(IndexMergeParam.class),
     @JsonSubTypes.Type(PartCountParam.class),
     @JsonSubTypes.Type(PartDeleteParam.class),
@@ -69,6 +71,7 @@ import lombok.Setter;
     @JsonSubTypes.Type(PartRangeDeleteParam.class),
     @JsonSubTypes.Type(PartRangeScanParam.class),
     @JsonSubTypes.Type(PartUpdateParam.class),
+    @JsonSubTypes.Type(PassThroughParam.class),
     @JsonSubTypes.Type(ProjectParam.class),
     @JsonSubTypes.Type(ReceiveParam.class),
     @JsonSubTypes.Type(ReduceRelOpParam.class),
@@ -79,6 +82,7 @@ import lombok.Setter;
     @JsonSubTypes.Type(ScanWithRelOpParam.class),
     @JsonSubTypes.Type(SendParam.class),
     @JsonSubTypes.Type(SortParam.class),
+    @JsonSubTypes.Type(SortedMergeParam.class),
     @JsonSubTypes.Type(SumUpParam.class),
     @JsonSubTypes.Type(ValuesParam.class),
     @JsonSubTypes.Type(RemovePartParam.class),
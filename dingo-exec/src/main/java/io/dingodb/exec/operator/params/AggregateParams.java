@@ -21,14 +21,18 @@ import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import io.dingodb.common.mysql.scope.ScopeVariables;
 import io.dingodb.common.type.TupleMapping;
 import io.dingodb.exec.aggregate.AbstractAgg;
 import io.dingodb.exec.aggregate.Agg;
 import io.dingodb.exec.aggregate.AggCache;
 import io.dingodb.exec.dag.Vertex;
-import lombok.Getter;
+import org.checkerframework.checker.nullness.qual.NonNull;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @JsonTypeName("aggregate")
 @JsonPropertyOrder({"keys", "aggregates"})
@@ -41,8 +45,10 @@ public class AggregateParams extends AbstractParams {
     @JsonSerialize(contentAs = AbstractAgg.class)
     @JsonDeserialize(contentAs = AbstractAgg.class)
     private final List<Agg> aggList;
-    @Getter
-    private transient AggCache cache;
+    // Partial caches of each pushing thread, merged at last, so no locking is needed for each tuple.
+    // The memory limit of the operator is split among them.
+    private transient Map<Thread, AggCache> caches;
+    private transient long memoryLimit;
 
     public AggregateParams(@JsonProperty("keys") TupleMapping keyMapping,
                            @JsonProperty("aggregates") List<Agg> aggList) {
@@ -52,15 +58,67 @@ public class AggregateParams extends AbstractParams {
 
 
     public void init(Vertex vertex) {
-        cache = new AggCache(keyMapping, aggList);
+        caches = new ConcurrentHashMap<>();
+        memoryLimit = ScopeVariables.getOperatorMemoryLimit();
     }
 
-    public synchronized void addTuple(Object[] tuple) {
-        cache.addTuple(tuple);
+    public void addTuple(Object[] tuple) {
+        getLocalCache().addTuple(tuple);
+    }
+
+    public void addTuples(@NonNull List<Object[]> tuples) {
+        AggCache cache = getLocalCache();
+        for (Object[] tuple : tuples) {
+            cache.addTuple(tuple);
+        }
+    }
+
+    private @NonNull AggCache getLocalCache() {
+        Thread thread = Thread.currentThread();
+        AggCache cache = caches.get(thread);
+        if (cache != null) {
+            return cache;
+        }
+        return addLocalCache(thread);
+    }
+
+    private synchronized @NonNull AggCache addLocalCache(Thread thread) {
+        AggCache cache = new AggCache(keyMapping, aggList);
+        caches.put(thread, cache);
+        long limit = memoryLimit / caches.size();
+        caches.values().forEach(c -> c.setMemoryLimit(limit));
+        return cache;
+    }
+
+    /**
+     * Get the result cache, must be called after all tuples are added.
+     */
+    public synchronized @NonNull AggCache getCache() {
+        Iterator<AggCache> iterator = caches.values().iterator();
+        if (!iterator.hasNext()) {
+            return new AggCache(keyMapping, aggList, memoryLimit);
+        }
+        AggCache cache = iterator.next();
+        cache.setMemoryLimit(memoryLimit);
+        while (iterator.hasNext()) {
+            AggCache other = iterator.next();
+            cache.merge(other);
+            other.clear();
+            iterator.remove();
+        }
+        return cache;
     }
 
     public void clear() {
-        cache.clear();
+        caches.values().forEach(AggCache::clear);
+        caches.clear();
+    }
+
+    @Override
+    public void destroy() {
+        if (caches != null) {
+            clear();
+        }
     }
 
 }
@@ -67,6 +67,9 @@ public class DistributionSourceParam extends SourceParam {
     private final int concurrencyLevel;
     @Setter
     private Map<CommonId, Integer> splitRetry = new ConcurrentHashMap<>();
+    // The range of the keys in use, e.g. from the table statistics, to split region scans into morsels.
+    @Setter
+    private RangeDistribution keyRange;
 
     public DistributionSourceParam(
         Table td,
@@ -121,6 +124,7 @@ public class DistributionSourceParam extends SourceParam {
             this.keyTuple,
             this.concurrencyLevel);
         param.setPs(this.ps);
+        param.setKeyRange(this.keyRange);
         return param;
     }
 
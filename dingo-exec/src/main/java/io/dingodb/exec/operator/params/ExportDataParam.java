@@ -16,12 +16,19 @@
 
 package io.dingodb.exec.operator.params;
 
+import io.dingodb.common.log.LogUtils;
+import io.dingodb.exec.dag.Vertex;
+import io.dingodb.exec.operator.data.ExportWriter;
 import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
 
+import java.io.IOException;
+import java.nio.charset.Charset;
 import java.util.Calendar;
 import java.util.Locale;
 import java.util.TimeZone;
 
+@Slf4j
 @Getter
 public class ExportDataParam extends AbstractParams {
 
@@ -42,6 +49,14 @@ public class ExportDataParam extends AbstractParams {
 
     private final Calendar localCalendar;
 
+    private transient Charset encoding;
+
+    private transient ExportWriter writer;
+
+    private transient ExportWriter.Buffer buffer;
+
+    private transient boolean released;
+
     public ExportDataParam(String outfile,
                            byte[] terminated,
                            String id,
@@ -63,4 +78,34 @@ public class ExportDataParam extends AbstractParams {
         this.lineStarting = lineStarting;
         this.localCalendar = Calendar.getInstance(timeZone, Locale.ROOT);
     }
+
+    @Override
+    public void init(Vertex vertex) {
+        super.init(vertex);
+        encoding = Charset.forName(charset);
+        writer = ExportWriter.acquire(id, outfile);
+        buffer = writer.newBuffer();
+        released = false;
+    }
+
+    /**
+     * Release the writer once, flushing the buffered rows if {@code flush} is {@code true}.
+     */
+    public synchronized void release(boolean flush) throws IOException {
+        if (released || writer == null) {
+            return;
+        }
+        released = true;
+        writer.release(flush ? buffer : null);
+    }
+
+    @Override
+    public void destroy() {
+        // The writer is not released if the task is not finished normally.
+        try {
+            release(false);
+        } catch (IOException e) {
+            LogUtils.error(log, e.getMessage(), e);
+        }
+    }
 }
@@ -44,6 +44,9 @@ public class GetDistributionParam extends SourceParam {
     @JsonProperty("keyMapping")
     private final TupleMapping keyMapping;
     private transient KeyValueCodec codec;
+    // Push the keys of different regions concurrently, only for reads where the rows are not ordered.
+    @Setter
+    private boolean parallel;
 
     public GetDistributionParam(
         List<Object[]> keyTuples,
@@ -19,17 +19,18 @@ package io.dingodb.exec.operator.params;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.annotation.JsonTypeName;
+import io.dingodb.common.Location;
+import io.dingodb.common.mysql.scope.ScopeVariables;
 import io.dingodb.common.profile.Profile;
 import io.dingodb.common.type.TupleMapping;
 import io.dingodb.exec.dag.Vertex;
-import io.dingodb.exec.operator.data.TupleWithJoinFlag;
-import io.dingodb.exec.tuple.TupleKey;
+import io.dingodb.exec.operator.join.HashJoinSpill;
+import io.dingodb.exec.operator.join.JoinHashTable;
 import lombok.Getter;
 import lombok.Setter;
 
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentHashMap;
 
 @Getter
 @JsonTypeName("hashJoin")
@@ -49,12 +50,35 @@ public class HashJoinParam extends AbstractParams {
     private final boolean leftRequired;
     @JsonProperty("rightRequired")
     private final boolean rightRequired;
+    /**
+     * If not {@code null}, a runtime filter of the build keys is published to the probe side hash operators with this
+     * id, which are running at {@code runtimeFilterTargets}.
+     */
+    @Setter
+    @JsonProperty("runtimeFilterId")
+    private Integer runtimeFilterId;
+    @Setter
+    @JsonProperty("runtimeFilterPart")
+    private int runtimeFilterPart;
+    @Setter
+    @JsonProperty("runtimeFilterTargets")
+    private List<Location> runtimeFilterTargets;
 
     @Setter
     private transient boolean rightFinFlag;
-    private transient ConcurrentHashMap<TupleKey, List<TupleWithJoinFlag>> hashMap;
+    private transient JoinHashTable table;
+    /**
+     * Not {@code null} if the build side exceeded the memory limit and has been spilled to disk.
+     */
+    @Setter
+    private transient volatile HashJoinSpill spill;
+    private transient long memoryLimit;
     @Setter
     private transient CompletableFuture<Void> future;
+    /**
+     * Count of runs, to distinguish the runtime filters of each run.
+     */
+    private transient int runSeq;
 
     @Getter
     @Setter
@@ -82,11 +106,30 @@ public class HashJoinParam extends AbstractParams {
     @Override
     public void init(Vertex vertex) {
         rightFinFlag = false;
-        hashMap = new ConcurrentHashMap<>();
+        table = new JoinHashTable(rightMapping);
+        spill = null;
+        memoryLimit = ScopeVariables.getOperatorMemoryLimit();
         future = new CompletableFuture<>();
+        runSeq = 0;
+    }
+
+    @Override
+    public void setParas(Object[] paras) {
+        ++runSeq;
     }
 
     public void clear() {
-        hashMap.clear();
+        table.clear();
+        if (spill != null) {
+            spill.delete();
+            spill = null;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (table != null) {
+            clear();
+        }
     }
 }
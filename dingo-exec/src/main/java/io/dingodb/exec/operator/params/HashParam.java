@@ -19,21 +19,40 @@ package io.dingodb.exec.operator.params;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.annotation.JsonTypeName;
+import io.dingodb.common.CommonId;
 import io.dingodb.common.type.TupleMapping;
 import io.dingodb.exec.dag.Vertex;
 import io.dingodb.exec.operator.hash.HashStrategy;
 import io.dingodb.exec.operator.hash.SimpleHashStrategy;
+import io.dingodb.exec.operator.join.RuntimeFilter;
+import io.dingodb.exec.operator.join.RuntimeFilterManager;
 import lombok.Getter;
+import lombok.Setter;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Getter
 @JsonTypeName("hash")
-@JsonPropertyOrder({"strategy", "keyMapping"})
+@JsonPropertyOrder({"strategy", "keyMapping", "runtimeFilterId"})
 public class HashParam extends AbstractParams {
 
     @JsonProperty("strategy")
     private final HashStrategy strategy;
     @JsonProperty("keyMapping")
     private final TupleMapping keyMapping;
+    /**
+     * Id of the runtime filters to apply, the filter of each output is published by the hash join of the partition.
+     */
+    @Setter
+    @JsonProperty("runtimeFilterId")
+    private Integer runtimeFilterId;
+
+    private transient String[] filterTags;
+    private transient RuntimeFilter[] filters;
+    private transient AtomicInteger filterCheckCount;
+    private transient CommonId jobId;
+    private transient int runSeq;
 
     public HashParam(HashStrategy strategy, TupleMapping keyMapping) {
         this.strategy = strategy;
@@ -47,5 +66,54 @@ public class HashParam extends AbstractParams {
         } else {
             throw new IllegalArgumentException("Unsupported hash strategy \"" + strategy + "\".");
         }
+        int outputNum = Math.max(vertex.getOutList().size(), 1);
+        filters = new RuntimeFilter[outputNum];
+        filterCheckCount = new AtomicInteger();
+        jobId = vertex.getTask().getJobId();
+        runSeq = 0;
+        if (runtimeFilterId != null) {
+            filterTags = new String[outputNum];
+        }
+    }
+
+    @Override
+    public void setParas(Object[] paras) {
+        // Called once for each run, filters of the previous run must not be applied.
+        if (filterTags == null) {
+            return;
+        }
+        removeFilters();
+        ++runSeq;
+        for (int i = 0; i < filterTags.length; ++i) {
+            filterTags[i] = RuntimeFilterManager.tag(jobId, runtimeFilterId, i, runSeq);
+            filters[i] = null;
+        }
+    }
+
+    /**
+     * Get the runtime filter of an output, filters not arrived yet are looked up once in a while.
+     */
+    public @Nullable RuntimeFilter getRuntimeFilter(int index) {
+        RuntimeFilter filter = filters[index];
+        if (filter == null && filterTags != null && (filterCheckCount.getAndIncrement() & 0xFF) == 0) {
+            filter = RuntimeFilterManager.INSTANCE.get(filterTags[index]);
+            filters[index] = filter;
+        }
+        return filter;
+    }
+
+    private void removeFilters() {
+        for (String tag : filterTags) {
+            if (tag != null) {
+                RuntimeFilterManager.INSTANCE.remove(tag);
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (filterTags != null) {
+            removeFilters();
+        }
     }
 }
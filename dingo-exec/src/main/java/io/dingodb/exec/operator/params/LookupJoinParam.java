@@ -0,0 +1,95 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.operator.params;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import io.dingodb.codec.CodecService;
+import io.dingodb.codec.KeyValueCodec;
+import io.dingodb.common.CommonId;
+import io.dingodb.common.type.TupleMapping;
+import io.dingodb.exec.dag.Vertex;
+import io.dingodb.exec.expr.SqlExpr;
+import io.dingodb.meta.entity.Table;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@JsonTypeName("lookupJoin")
+@JsonPropertyOrder({"scanTs", "timeOut", "leftMapping", "rightLength", "leftRequired", "table",
+    "schema", "keyMapping", "filter", "selection"})
+public class LookupJoinParam extends FilterProjectParam {
+
+    private final KeyValueCodec codec;
+    private final Table table;
+    /**
+     * The columns of the left tuples to look up the right table with, in the order of the primary key columns.
+     */
+    @JsonProperty("leftMapping")
+    private final TupleMapping leftMapping;
+    // For OUTER join, there may be no right tuple found, so the length of tuple cannot be achieved.
+    @JsonProperty("rightLength")
+    private final int rightLength;
+    @JsonProperty("leftRequired")
+    private final boolean leftRequired;
+    @JsonProperty("scanTs")
+    private long scanTs;
+    @JsonProperty("timeOut")
+    private final long timeOut;
+
+    private transient List<Object[]> cache;
+
+    public LookupJoinParam(
+        CommonId tableId,
+        Table table,
+        SqlExpr filter,
+        TupleMapping selection,
+        TupleMapping leftMapping,
+        int rightLength,
+        boolean leftRequired,
+        long scanTs,
+        long timeOut
+    ) {
+        super(tableId, table.tupleType(), table.version, filter, selection, table.keyMapping());
+        this.codec = CodecService.getDefault()
+            .createKeyValueCodec(table.version, table.tupleType(), table.keyMapping());
+        this.table = table;
+        this.leftMapping = leftMapping;
+        this.rightLength = rightLength;
+        this.leftRequired = leftRequired;
+        this.scanTs = scanTs;
+        this.timeOut = timeOut;
+    }
+
+    @Override
+    public void init(Vertex vertex) {
+        super.init(vertex);
+        cache = new ArrayList<>();
+    }
+
+    @Override
+    public void setStartTs(long startTs) {
+        this.scanTs = startTs;
+    }
+
+    public void clear() {
+        cache.clear();
+    }
+}
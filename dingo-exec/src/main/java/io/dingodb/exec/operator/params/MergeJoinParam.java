@@ -0,0 +1,143 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.operator.params;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import io.dingodb.common.profile.Profile;
+import io.dingodb.common.type.TupleMapping;
+import io.dingodb.exec.dag.Vertex;
+import io.dingodb.exec.fin.Fin;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+@Getter
+@JsonTypeName("mergeJoin")
+@JsonPropertyOrder({"leftMapping", "rightMapping", "leftLength", "rightLength", "leftRequired", "rightRequired"})
+public class MergeJoinParam extends AbstractParams {
+
+    @JsonProperty("leftMapping")
+    private final TupleMapping leftMapping;
+    @JsonProperty("rightMapping")
+    private final TupleMapping rightMapping;
+    // For OUTER join, there may be no input tuples, so the length of tuple cannot be achieved.
+    @JsonProperty("leftLength")
+    private final int leftLength;
+    @JsonProperty("rightLength")
+    private final int rightLength;
+    @JsonProperty("leftRequired")
+    private final boolean leftRequired;
+    @JsonProperty("rightRequired")
+    private final boolean rightRequired;
+
+    private transient Deque<Object[]> leftBuffer;
+    private transient Deque<Object[]> rightBuffer;
+    /**
+     * The right tuples of the join key being joined, not {@code null} if {@code groupKey} is not {@code null}.
+     */
+    private transient List<Object[]> group;
+    @Setter
+    private transient Object[] groupKey;
+    /**
+     * Set if all the right tuples of {@code groupKey} have been collected into {@code group}.
+     */
+    @Setter
+    private transient boolean groupComplete;
+    @Setter
+    private transient boolean leftFin;
+    @Setter
+    private transient boolean rightFin;
+    /**
+     * Set if the downstream asked to stop or an input failed, the blocked input is released.
+     */
+    @Setter
+    private transient boolean stopped;
+    /**
+     * The fin of the failed input, sent to the downstream after both inputs are finished.
+     */
+    @Setter
+    private transient Fin finWithException;
+
+    @Setter
+    private transient Profile profileLeft;
+    @Setter
+    private transient Profile profileRight;
+
+    public MergeJoinParam(
+        TupleMapping leftMapping,
+        TupleMapping rightMapping,
+        int leftLength,
+        int rightLength,
+        boolean leftRequired,
+        boolean rightRequired
+    ) {
+        this.leftMapping = leftMapping;
+        this.rightMapping = rightMapping;
+        this.leftLength = leftLength;
+        this.rightLength = rightLength;
+        this.leftRequired = leftRequired;
+        this.rightRequired = rightRequired;
+    }
+
+    @Override
+    public void init(Vertex vertex) {
+        leftBuffer = new ArrayDeque<>();
+        rightBuffer = new ArrayDeque<>();
+        group = new ArrayList<>();
+        clear();
+    }
+
+    @Override
+    public void setParas(Object[] paras) {
+        clear();
+        super.setParas(paras);
+    }
+
+    public void clearGroup() {
+        group.clear();
+        groupKey = null;
+        groupComplete = false;
+    }
+
+    /**
+     * Reset the state of a run, so that the task can be run again.
+     */
+    public void clear() {
+        if (leftBuffer != null) {
+            leftBuffer.clear();
+            rightBuffer.clear();
+            clearGroup();
+        }
+        leftFin = false;
+        rightFin = false;
+        stopped = false;
+        finWithException = null;
+        profileLeft = null;
+        profileRight = null;
+    }
+
+    @Override
+    public void destroy() {
+        clear();
+    }
+}
@@ -14,20 +14,13 @@
  * limitations under the License.
  */
 
-package io.dingodb.exec.operator.data;
+package io.dingodb.exec.operator.params;
 
-import lombok.Getter;
-import lombok.Setter;
+import com.fasterxml.jackson.annotation.JsonTypeName;
 
-public class TupleWithJoinFlag {
-    @Getter
-    private final Object[] tuple;
-    @Getter
-    @Setter
-    private boolean joined;
+@JsonTypeName("passThrough")
+public class PassThroughParam extends AbstractParams {
 
-    public TupleWithJoinFlag(Object[] tuple) {
-        this.tuple = tuple;
-        this.joined = false;
+    public PassThroughParam() {
     }
 }
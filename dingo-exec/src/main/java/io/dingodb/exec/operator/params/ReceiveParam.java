@@ -35,6 +35,7 @@ import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingDeque;
@@ -76,7 +77,7 @@ public class ReceiveParam extends SourceParam {
         codec = new TxRxCodecImpl(schema);
         tupleQueue = new LinkedBlockingDeque<>(QUEUE_CAPACITY);
         tag = TagUtils.tag(vertex.getTask().getJobId(), vertex.getId());
-        endpoint = new ReceiveEndpoint(host, port, tag, (byte[] content) -> {
+        endpoint = new ReceiveEndpoint(host, port, tag, (ByteBuffer content) -> {
             try {
                 List<TupleId> tuples = codec.decode(content);
                 for (TupleId tuple : tuples) {
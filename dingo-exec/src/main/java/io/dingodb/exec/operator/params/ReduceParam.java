@@ -21,6 +21,7 @@ import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import io.dingodb.common.mysql.scope.ScopeVariables;
 import io.dingodb.common.type.TupleMapping;
 import io.dingodb.exec.aggregate.AbstractAgg;
 import io.dingodb.exec.aggregate.Agg;
@@ -53,10 +54,17 @@ public class ReduceParam extends AbstractParams {
 
     @Override
     public void init(Vertex vertex) {
-        cache = new AggCache(keys, aggList);
+        cache = new AggCache(keys, aggList, ScopeVariables.getOperatorMemoryLimit());
     }
 
     public synchronized void reduce(Object[] tuple) {
         cache.reduce(tuple);
     }
+
+    @Override
+    public void destroy() {
+        if (cache != null) {
+            cache.clear();
+        }
+    }
 }
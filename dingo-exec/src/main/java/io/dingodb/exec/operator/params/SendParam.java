@@ -27,12 +27,13 @@ import io.dingodb.exec.channel.SendEndpoint;
 import io.dingodb.exec.codec.TxRxCodec;
 import io.dingodb.exec.codec.TxRxCodecImpl;
 import io.dingodb.exec.dag.Vertex;
+import io.dingodb.exec.operator.SendOperator;
 import io.dingodb.exec.tuple.TupleId;
 import io.dingodb.exec.utils.TagUtils;
 import lombok.Getter;
 import lombok.Setter;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
 
 @Getter
@@ -57,6 +58,8 @@ public class SendParam extends AbstractParams {
 
     @Setter
     private transient int maxBufferSize;
+    @Setter
+    private transient int batchSize;
 
     public SendParam(String host, int port, CommonId receiveId, DingoType schema) {
         this.host = host;
@@ -68,7 +71,8 @@ public class SendParam extends AbstractParams {
 
     @Override
     public void init(Vertex vertex) {
-        tupleList = new LinkedList<>();
+        tupleList = new ArrayList<>();
+        batchSize = SendOperator.SEND_BATCH_SIZE;
         codec = new TxRxCodecImpl(schema);
         endpoint = new SendEndpoint(host, port, TagUtils.tag(vertex.getTask().getJobId(), receiveId));
         endpoint.init();
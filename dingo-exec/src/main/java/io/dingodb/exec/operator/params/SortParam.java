@@ -20,14 +20,16 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.annotation.JsonTypeName;
+import io.dingodb.common.mysql.scope.ScopeVariables;
 import io.dingodb.common.profile.OperatorProfile;
 import io.dingodb.exec.dag.Vertex;
 import io.dingodb.exec.operator.data.SortCollation;
+import io.dingodb.exec.operator.sort.SortBuffer;
 import lombok.Getter;
 import lombok.NonNull;
 
+import java.util.ArrayList;
 import java.util.Comparator;
-import java.util.LinkedList;
 import java.util.List;
 
 @Getter
@@ -45,6 +47,10 @@ public class SortParam extends AbstractParams {
     private final boolean vectorHybrid;
     private final List<Object[]> cache;
     private transient Comparator<Object[]> comparator;
+    /**
+     * Used instead of {@code cache} if there are collations, to do top-N or external sort.
+     */
+    private transient SortBuffer buffer;
 
     @JsonCreator
     public SortParam(
@@ -57,7 +63,7 @@ public class SortParam extends AbstractParams {
         this.limit = limit;
         this.offset = offset;
         this.vectorHybrid = vectorHybrid;
-        this.cache = new LinkedList<>();
+        this.cache = new ArrayList<>();
         if (!collations.isEmpty()) {
             Comparator<Object[]> c = collations.get(0).makeComparator();
             for (int i = 1; i < collations.size(); ++i) {
@@ -81,10 +87,23 @@ public class SortParam extends AbstractParams {
         } else {
             comparator = null;
         }
+        // Similarity scores of vector hybrid search are normalized over all the tuples.
+        if (comparator != null && !vectorHybrid) {
+            int topN = limit >= 0 && (long) offset + limit <= Integer.MAX_VALUE ? offset + limit : -1;
+            buffer = new SortBuffer(comparator, topN, ScopeVariables.getOperatorMemoryLimit());
+        }
     }
 
     public void clear() {
         cache.clear();
+        if (buffer != null) {
+            buffer.clear();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        clear();
     }
 
     public OperatorProfile getProfile() {
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.operator.params;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import io.dingodb.common.profile.OperatorProfile;
+import io.dingodb.exec.dag.Vertex;
+import io.dingodb.exec.fin.Fin;
+import io.dingodb.exec.operator.data.SortCollation;
+import lombok.Getter;
+import lombok.Setter;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+
+@Getter
+@JsonTypeName("sortedMerge")
+@JsonPropertyOrder({"collations", "limit", "offset", "inputNum"})
+public class SortedMergeParam extends AbstractParams {
+
+    @JsonProperty("collations")
+    private final List<SortCollation> collations;
+    @JsonProperty("limit")
+    private final int limit;
+    @JsonProperty("offset")
+    private final int offset;
+    @JsonProperty("inputNum")
+    private final int inputNum;
+
+    private transient Comparator<Object[]> comparator;
+    // Pending tuples of each input, which are already sorted.
+    private transient Deque<Object[]>[] queues;
+    private transient boolean[] finFlags;
+    private transient int skipped;
+    private transient int emitted;
+    @Setter
+    private transient boolean stopped;
+    @Setter
+    private transient Fin finWithException;
+
+    @JsonCreator
+    public SortedMergeParam(
+        @JsonProperty("collations") @NonNull List<SortCollation> collations,
+        @JsonProperty("limit") int limit,
+        @JsonProperty("offset") int offset,
+        @JsonProperty("inputNum") int inputNum
+    ) {
+        this.collations = collations;
+        this.limit = limit;
+        this.offset = offset;
+        this.inputNum = inputNum;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void init(Vertex vertex) {
+        super.init(vertex);
+        Comparator<Object[]> c = collations.get(0).makeComparator();
+        for (int i = 1; i < collations.size(); ++i) {
+            c = c.thenComparing(collations.get(i).makeComparator());
+        }
+        comparator = c;
+        queues = new Deque[inputNum];
+        for (int i = 0; i < inputNum; ++i) {
+            queues[i] = new ArrayDeque<>();
+        }
+        finFlags = new boolean[inputNum];
+        clear();
+    }
+
+    @Override
+    public void setParas(Object[] paras) {
+        clear();
+        super.setParas(paras);
+    }
+
+    public void add(int pin, Object @NonNull [] tuple) {
+        queues[pin].addLast(tuple);
+    }
+
+    public int size(int pin) {
+        return queues[pin].size();
+    }
+
+    /**
+     * Take the least head of the inputs.
+     *
+     * @return the tuple, or {@code null} if some unfinished input has nothing pending, so the order is not decided yet,
+     *     or all the inputs are drained
+     */
+    public Object @Nullable [] poll() {
+        int min = -1;
+        for (int i = 0; i < inputNum; ++i) {
+            Object[] head = queues[i].peekFirst();
+            if (head == null) {
+                if (!finFlags[i]) {
+                    return null;
+                }
+                continue;
+            }
+            if (min < 0 || comparator.compare(head, queues[min].peekFirst()) < 0) {
+                min = i;
+            }
+        }
+        return min >= 0 ? queues[min].pollFirst() : null;
+    }
+
+    /**
+     * Count a merged tuple against the offset and limit.
+     *
+     * @return {@code true} if the tuple should be output
+     */
+    public boolean accept() {
+        if (skipped < offset) {
+            ++skipped;
+            return false;
+        }
+        ++emitted;
+        if (limit >= 0 && emitted >= limit) {
+            stopped = true;
+        }
+        return true;
+    }
+
+    public boolean setFin(int pin) {
+        finFlags[pin] = true;
+        for (boolean flag : finFlags) {
+            if (!flag) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void clear() {
+        if (queues != null) {
+            for (Deque<Object[]> queue : queues) {
+                queue.clear();
+            }
+        }
+        if (finFlags != null) {
+            Arrays.fill(finFlags, false);
+        }
+        skipped = 0;
+        emitted = 0;
+        stopped = limit == 0;
+        finWithException = null;
+    }
+
+    @Override
+    public void destroy() {
+        clear();
+    }
+
+    public OperatorProfile getProfile() {
+        return new OperatorProfile("sortedMerge");
+    }
+}
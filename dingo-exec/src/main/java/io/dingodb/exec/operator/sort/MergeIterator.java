@@ -0,0 +1,74 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.operator.sort;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * K-way merge of sorted iterators. Tuples equal by the comparator are returned in the order of the sources.
+ */
+public final class MergeIterator implements Iterator<Object[]> {
+    private final PriorityQueue<Source> queue;
+
+    public MergeIterator(@NonNull List<Iterator<Object[]>> sources, @NonNull Comparator<Object[]> comparator) {
+        Comparator<Source> c = (s0, s1) -> comparator.compare(s0.head, s1.head);
+        queue = new PriorityQueue<>(Math.max(sources.size(), 1), c.thenComparingInt(s -> s.index));
+        for (int i = 0; i < sources.size(); ++i) {
+            Iterator<Object[]> iterator = sources.get(i);
+            if (iterator.hasNext()) {
+                queue.add(new Source(i, iterator));
+            }
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !queue.isEmpty();
+    }
+
+    @Override
+    public Object[] next() {
+        Source source = queue.poll();
+        if (source == null) {
+            throw new NoSuchElementException();
+        }
+        Object[] tuple = source.head;
+        if (source.iterator.hasNext()) {
+            source.head = source.iterator.next();
+            queue.add(source);
+        }
+        return tuple;
+    }
+
+    private static class Source {
+        private final int index;
+        private final Iterator<Object[]> iterator;
+        private Object[] head;
+
+        private Source(int index, @NonNull Iterator<Object[]> iterator) {
+            this.index = index;
+            this.iterator = iterator;
+            this.head = iterator.next();
+        }
+    }
+}
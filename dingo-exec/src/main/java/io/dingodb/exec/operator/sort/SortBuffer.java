@@ -0,0 +1,151 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.operator.sort;
+
+import io.dingodb.common.log.LogUtils;
+import io.dingodb.exec.spill.MemoryEstimator;
+import io.dingodb.exec.spill.SpillFile;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Buffer of tuples to be sorted.
+ * <ul>
+ *     <li>If only the first {@code topN} tuples are needed, they are kept in a bounded heap.</li>
+ *     <li>Otherwise tuples are collected in memory, and when the memory limit is hit, they are sorted and written to a
+ *     spill file as a sorted run. The runs are k-way merged at last (external merge sort).</li>
+ * </ul>
+ */
+@Slf4j
+public class SortBuffer {
+    /**
+     * Larger top-N is done by sorting, for the heap would be too big.
+     */
+    public static final int MAX_TOP_N = 1 << 16;
+
+    private final Comparator<Object[]> comparator;
+    private final int topN;
+    private final long memoryLimit;
+
+    private final List<Object[]> cache;
+    private final PriorityQueue<Object[]> heap;
+    private final List<SpillFile> runs;
+    private long memSize;
+    @Getter
+    private long count;
+
+    /**
+     * Create a sort buffer.
+     *
+     * @param comparator  the comparator
+     * @param topN        the number of tuples needed, negative for all
+     * @param memoryLimit the max estimated heap size of tuples kept in memory
+     */
+    public SortBuffer(@NonNull Comparator<Object[]> comparator, int topN, long memoryLimit) {
+        this.comparator = comparator;
+        this.memoryLimit = memoryLimit;
+        this.cache = new ArrayList<>();
+        this.runs = new ArrayList<>();
+        if (topN >= 0 && topN <= MAX_TOP_N) {
+            this.topN = topN;
+            // Max heap, the largest tuple is evicted first.
+            this.heap = new PriorityQueue<>(Math.max(topN, 1), comparator.reversed());
+        } else {
+            this.topN = -1;
+            this.heap = null;
+        }
+        this.memSize = 0;
+        this.count = 0;
+    }
+
+    public void add(Object @NonNull [] tuple) {
+        ++count;
+        if (heap != null) {
+            if (heap.size() < topN) {
+                heap.add(tuple);
+            } else if (topN > 0 && comparator.compare(tuple, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(tuple);
+            }
+            return;
+        }
+        cache.add(tuple);
+        memSize += MemoryEstimator.estimate(tuple);
+        if (memSize > memoryLimit) {
+            spill();
+        }
+    }
+
+    private void spill() {
+        cache.sort(comparator);
+        SpillFile run = SpillFile.create("sort");
+        try {
+            for (Object[] tuple : cache) {
+                run.write(tuple);
+            }
+            run.finishWrite();
+        } catch (RuntimeException e) {
+            run.delete();
+            throw e;
+        }
+        runs.add(run);
+        LogUtils.info(log, "Memory of sort exceeds limit {}, spilled run {}.", memoryLimit, run);
+        cache.clear();
+        memSize = 0;
+    }
+
+    /**
+     * Get the tuples in order. Must be called after all tuples added.
+     */
+    public @NonNull Iterator<Object[]> iterator() {
+        if (heap != null) {
+            List<Object[]> list = new ArrayList<>(heap);
+            list.sort(comparator);
+            return list.iterator();
+        }
+        cache.sort(comparator);
+        if (runs.isEmpty()) {
+            return cache.iterator();
+        }
+        List<Iterator<Object[]>> sources = new ArrayList<>(runs.size() + 1);
+        for (SpillFile run : runs) {
+            sources.add(run.iterator());
+        }
+        // Earlier tuples are in earlier runs, so the sort is stable.
+        sources.add(cache.iterator());
+        return new MergeIterator(sources, comparator);
+    }
+
+    public void clear() {
+        cache.clear();
+        if (heap != null) {
+            heap.clear();
+        }
+        runs.forEach(SpillFile::delete);
+        runs.clear();
+        memSize = 0;
+        count = 0;
+    }
+
+}
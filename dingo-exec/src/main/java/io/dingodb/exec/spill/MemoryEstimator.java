@@ -0,0 +1,80 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.spill;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Rough estimation of heap size of tuples, assuming compressed oops. It need not be accurate, but should be cheap.
+ */
+public final class MemoryEstimator {
+    public static final int OBJECT_HEADER = 16;
+    public static final int REFERENCE = 4;
+    public static final int ARRAY_HEADER = 16;
+
+    private MemoryEstimator() {
+    }
+
+    public static long estimate(Object @Nullable [] tuple) {
+        if (tuple == null) {
+            return 0;
+        }
+        long size = ARRAY_HEADER + (long) REFERENCE * tuple.length;
+        for (Object value : tuple) {
+            size += estimateValue(value);
+        }
+        return size;
+    }
+
+    public static long estimateValue(@Nullable Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof String) {
+            // String object + char/byte array.
+            return OBJECT_HEADER + 8 + ARRAY_HEADER + 2L * ((String) value).length();
+        }
+        if (value instanceof Long || value instanceof Double) {
+            return OBJECT_HEADER + 8;
+        }
+        if (value instanceof Integer || value instanceof Float || value instanceof Boolean) {
+            return OBJECT_HEADER;
+        }
+        if (value instanceof byte[]) {
+            return ARRAY_HEADER + ((byte[]) value).length;
+        }
+        if (value instanceof BigDecimal) {
+            return 3L * OBJECT_HEADER + ARRAY_HEADER + ((BigDecimal) value).precision() / 2;
+        }
+        if (value instanceof Object[]) {
+            return estimate((Object[]) value);
+        }
+        if (value instanceof List) {
+            List<?> list = (List<?>) value;
+            long size = OBJECT_HEADER + ARRAY_HEADER + (long) REFERENCE * list.size();
+            for (Object item : list) {
+                size += estimateValue(item);
+            }
+            return size;
+        }
+        // Date, Time, Timestamp and others.
+        return OBJECT_HEADER + 16;
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.spill;
+
+import io.dingodb.common.codec.ProtostuffCodec;
+import io.dingodb.common.log.LogUtils;
+import io.dingodb.common.mysql.scope.ScopeVariables;
+import io.dingodb.common.util.FileUtils;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * A local temporary file of tuples, written sequentially and read back (possibly many times) after writing finished.
+ * Tuples are encoded by protostuff, so no schema is needed.
+ */
+@Slf4j
+public final class SpillFile {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path path;
+    private final List<SpillIterator> readers = new LinkedList<>();
+    private DataOutputStream output;
+
+    @Getter
+    private long count;
+    @Getter
+    private long bytes;
+    /**
+     * Estimated heap size of the tuples written, used to decide whether they can be loaded back into memory.
+     */
+    @Getter
+    private long memSize;
+
+    private SpillFile(Path path) {
+        this.path = path;
+        this.count = 0;
+        this.bytes = 0;
+        this.memSize = 0;
+    }
+
+    public static @NonNull SpillFile create(String prefix) {
+        Path dir = Paths.get(ScopeVariables.getSpillDir());
+        FileUtils.createDirectories(dir);
+        try {
+            Path path = Files.createTempFile(dir, prefix, ".spill");
+            path.toFile().deleteOnExit();
+            SpillFile file = new SpillFile(path);
+            file.output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), BUFFER_SIZE));
+            return file;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public synchronized void write(Object @NonNull [] tuple) {
+        write(tuple, MemoryEstimator.estimate(tuple));
+    }
+
+    public synchronized void write(Object @NonNull [] tuple, long tupleMemSize) {
+        if (output == null) {
+            throw new IllegalStateException("Spill file \"" + path + "\" is already closed for writing.");
+        }
+        byte[] content = ProtostuffCodec.write(tuple);
+        try {
+            output.writeInt(content.length);
+            output.write(content);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        ++count;
+        bytes += content.length + 4;
+        memSize += tupleMemSize;
+    }
+
+    /**
+     * Flush and close the writing stream. Must be called before reading.
+     */
+    public synchronized void finishWrite() {
+        if (output != null) {
+            try {
+                output.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                output = null;
+            }
+        }
+    }
+
+    public @NonNull Iterator<Object[]> iterator() {
+        finishWrite();
+        return new SpillIterator();
+    }
+
+    public void delete() {
+        try {
+            finishWrite();
+        } catch (UncheckedIOException e) {
+            LogUtils.warn(log, "Close spill file \"{}\" failed.", path, e);
+        }
+        List<SpillIterator> opened;
+        synchronized (readers) {
+            opened = new ArrayList<>(readers);
+        }
+        // Iterators not exhausted (early termination) must be closed here.
+        opened.forEach(SpillIterator::close);
+        FileUtils.deleteIfExists(path);
+    }
+
+    @Override
+    public String toString() {
+        return path + "(count = " + count + ", bytes = " + bytes + ")";
+    }
+
+    private class SpillIterator implements Iterator<Object[]> {
+        private DataInputStream input;
+        private long remain;
+
+        SpillIterator() {
+            remain = count;
+            if (remain > 0) {
+                try {
+                    input = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), BUFFER_SIZE));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                synchronized (readers) {
+                    readers.add(this);
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (remain > 0) {
+                return true;
+            }
+            close();
+            return false;
+        }
+
+        @Override
+        public Object[] next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            try {
+                byte[] content = new byte[input.readInt()];
+                input.readFully(content);
+                --remain;
+                return ProtostuffCodec.read(content);
+            } catch (IOException e) {
+                close();
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void close() {
+            if (input != null) {
+                try {
+                    input.close();
+                } catch (IOException e) {
+                    LogUtils.warn(log, "Close spill file \"{}\" failed.", path, e);
+                } finally {
+                    input = null;
+                    remain = 0;
+                    synchronized (readers) {
+                        readers.remove(this);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.spill;
+
+import io.dingodb.exec.utils.NumberUtils;
+
+/**
+ * Hash partitioning shared by the spilling operators. Rows with equal keys always go to the same partition, so each
+ * partition can be processed independently. The hash is salted by the spilling depth, so an oversized partition can be
+ * re-partitioned at a deeper level.
+ */
+public final class SpillPartitions {
+    public static final int PARTITION_NUM = 16;
+    /**
+     * Partitions are not split further beyond this depth, for there may be too many rows with the same key.
+     */
+    public static final int MAX_DEPTH = 3;
+
+    private SpillPartitions() {
+    }
+
+    private static int mix(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        hash ^= hash >>> 16;
+        return hash;
+    }
+
+    /**
+     * Select the partition of a row.
+     *
+     * @param hash the hash code of the keys
+     * @param depth the spilling depth
+     * @return the partition index
+     */
+    public static int partition(int hash, int depth) {
+        return NumberUtils.posMod(mix(hash + 0x9e3779b9 * depth), PARTITION_NUM);
+    }
+}
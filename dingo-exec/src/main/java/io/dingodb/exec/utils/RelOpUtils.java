@@ -18,6 +18,7 @@ package io.dingodb.exec.utils;
 
 import io.dingodb.common.profile.OperatorProfile;
 import io.dingodb.common.util.Pair;
+import io.dingodb.exec.base.Operator;
 import io.dingodb.exec.dag.Edge;
 import io.dingodb.exec.dag.Vertex;
 import io.dingodb.exec.operator.data.Context;
@@ -29,7 +30,9 @@ import io.dingodb.store.api.transaction.DingoTransformedIterator;
 import lombok.extern.slf4j.Slf4j;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 
 @Slf4j
 public final class RelOpUtils {
@@ -65,15 +68,23 @@ public final class RelOpUtils {
         long count = 0;
         long tmp = System.currentTimeMillis();
         boolean breakFlg = false;
+        Edge edge = vertex.getSoleEdge();
+        List<Object[]> batch = new ArrayList<>(Operator.PUSH_BATCH_SIZE);
         while (iterator.hasNext()) {
             profile.time(tmp);
-            Object[] tuple = iterator.next();
-            if (!vertex.getSoleEdge().transformToNext(context, tuple)) {
-                breakFlg = true;
-                break;
+            batch.add(iterator.next());
+            if (batch.size() >= Operator.PUSH_BATCH_SIZE) {
+                if (!edge.transformBatchToNext(context, batch)) {
+                    breakFlg = true;
+                    break;
+                }
+                batch = new ArrayList<>(Operator.PUSH_BATCH_SIZE);
             }
             tmp = System.currentTimeMillis();
         }
+        if (!breakFlg && !edge.transformBatchToNext(context, batch)) {
+            breakFlg = true;
+        }
         if (iterator instanceof DingoTransformedIterator) {
             DingoTransformedIterator transformedIterator = (DingoTransformedIterator) iterator;
             OperatorProfile profile1 = (OperatorProfile) transformedIterator.getProfile();
@@ -20,6 +20,7 @@ import com.google.common.base.Objects;
 import io.dingodb.codec.KeyValueCodec;
 import io.dingodb.common.store.KeyValue;
 import io.dingodb.common.util.ByteArrayUtils;
+import io.dingodb.store.api.transaction.ProfileScanIterator;
 import io.dingodb.store.api.transaction.data.Op;
 import lombok.AllArgsConstructor;
 
@@ -27,7 +28,7 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Set;
 
-public class TxnMergedIterator implements Iterator<Object[]> {
+public class TxnMergedIterator implements Iterator<Object[]>, AutoCloseable {
 
     private final Iterator<KeyValue> localKVIterator;
     private final Iterator<KeyValue> kvKVIterator;
@@ -138,6 +139,13 @@ public class TxnMergedIterator implements Iterator<Object[]> {
 
     }
 
+    @Override
+    public void close() {
+        if (kvKVIterator instanceof ProfileScanIterator) {
+            ((ProfileScanIterator) kvKVIterator).close();
+        }
+    }
+
     private static KeyValue getNextValue(Iterator<KeyValue> iterator) {
         return iterator.hasNext() ? iterator.next() : null;
     }
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.aggregate;
+
+import io.dingodb.common.type.DingoTypeFactory;
+import io.dingodb.common.type.TupleMapping;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestAggCache {
+    private static final List<Agg> AGG_LIST = Arrays.asList(
+        new CountAllAgg(),
+        new CountAgg(2),
+        new SumAgg(1, DingoTypeFactory.INSTANCE.scalar("LONG", true)),
+        new MaxAgg(3, DingoTypeFactory.INSTANCE.scalar("DOUBLE", true)),
+        new SumAgg(2, DingoTypeFactory.INSTANCE.scalar("INT", true))
+    );
+
+    private static List<Object[]> toList(AggCache cache) {
+        List<Object[]> result = new ArrayList<>();
+        cache.forEach(result::add);
+        result.sort((t0, t1) -> {
+            if (t0[0] == null) {
+                return t1[0] == null ? 0 : -1;
+            }
+            return t1[0] == null ? 1 : Long.compare((Long) t0[0], (Long) t1[0]);
+        });
+        return result;
+    }
+
+    @Test
+    public void testAddTuple() {
+        AggCache cache = new AggCache(TupleMapping.of(new int[]{0}), AGG_LIST);
+        cache.addTuple(new Object[]{1L, 10L, 1, 1.5});
+        cache.addTuple(new Object[]{2L, 20L, null, 2.5});
+        cache.addTuple(new Object[]{1L, 30L, 2, 0.5});
+        cache.addTuple(new Object[]{null, null, null, null});
+        assertThat(toList(cache)).containsExactly(
+            new Object[]{null, 1L, 0L, null, null, null},
+            new Object[]{1L, 2L, 2L, 40L, 1.5, 3},
+            new Object[]{2L, 1L, 0L, 20L, 2.5, null}
+        );
+    }
+
+    @Test
+    public void testMergeAndReduce() {
+        AggCache cache0 = new AggCache(TupleMapping.of(new int[]{0}), AGG_LIST);
+        AggCache cache1 = new AggCache(TupleMapping.of(new int[]{0}), AGG_LIST);
+        for (long i = 0; i < 1000; ++i) {
+            AggCache cache = (i % 2 == 0 ? cache0 : cache1);
+            cache.addTuple(new Object[]{i % 10, i, (int) i, (double) i});
+        }
+        cache0.merge(cache1);
+        List<Object[]> merged = toList(cache0);
+        assertThat(merged).hasSize(10);
+        assertThat(merged.get(3)).isEqualTo(new Object[]{3L, 100L, 100L, 49800L, 993.0, 49800});
+        AggCache reduced = new AggCache(TupleMapping.of(new int[]{0}), AGG_LIST);
+        merged.forEach(reduced::reduce);
+        merged.forEach(reduced::reduce);
+        assertThat(toList(reduced).get(3)).isEqualTo(new Object[]{3L, 200L, 200L, 99600L, 993.0, 99600});
+    }
+
+    @Test
+    public void testNoKeys() {
+        AggCache cache = new AggCache(TupleMapping.of(new int[]{}), AGG_LIST);
+        assertThat(toList(cache)).containsExactly(new Object[]{0L, 0L, null, null, null});
+    }
+
+    @Test
+    public void testSpill() {
+        AggCache expected = new AggCache(TupleMapping.of(new int[]{0}), AGG_LIST);
+        // Spill every few groups, and re-spill the oversized partitions down to the max depth.
+        AggCache spilled = new AggCache(TupleMapping.of(new int[]{0}), AGG_LIST, 1024);
+        for (long i = 0; i < 10000; ++i) {
+            Object[] tuple = new Object[]{i % 1000, i, (int) i, (double) i};
+            expected.addTuple(tuple);
+            spilled.addTuple(tuple);
+        }
+        List<Object[]> result = toList(spilled);
+        assertThat(result).hasSize(1000);
+        assertThat(result).containsExactlyElementsOf(toList(expected));
+        spilled.clear();
+    }
+
+    @Test
+    public void testMergeSpilled() {
+        AggCache cache0 = new AggCache(TupleMapping.of(new int[]{0}), AGG_LIST, 1024);
+        AggCache cache1 = new AggCache(TupleMapping.of(new int[]{0}), AGG_LIST, 1024);
+        for (long i = 0; i < 2000; ++i) {
+            AggCache cache = (i % 2 == 0 ? cache0 : cache1);
+            cache.addTuple(new Object[]{i % 100, i, (int) i, (double) i});
+        }
+        cache0.merge(cache1);
+        List<Object[]> merged = toList(cache0);
+        assertThat(merged).hasSize(100);
+        assertThat(merged.get(3)).isEqualTo(new Object[]{3L, 20L, 20L, 19060L, 1903.0, 19060});
+        cache0.clear();
+        cache1.clear();
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.codec;
+
+import com.google.common.collect.ImmutableList;
+import io.dingodb.common.type.DingoType;
+import io.dingodb.common.type.DingoTypeFactory;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+public class TestColumnarTupleCodec {
+    public static @NonNull Stream<Arguments> getArguments() {
+        return Stream.of(
+            arguments(
+                DingoTypeFactory.INSTANCE.tuple("INT", "STRING", "DOUBLE"),
+                ImmutableList.of(
+                    new Object[]{1, "Alice", 3.5},
+                    new Object[]{2, "Betty", 3.6},
+                    new Object[]{3, "Cindy", 3.7}
+                )
+            ),
+            arguments(
+                DingoTypeFactory.INSTANCE.tuple(
+                    "LONG|NULL", "BOOL|NULL", "DECIMAL|NULL", "DATE|NULL", "TIMESTAMP|NULL", "BINARY|NULL"
+                ),
+                ImmutableList.of(
+                    new Object[]{1L, true, new BigDecimal("1.50"), new Date(0), new Timestamp(1000), new byte[]{1}},
+                    new Object[]{null, false, null, null, new Timestamp(2000), null},
+                    new Object[]{3L, null, new BigDecimal("-2"), new Date(86400000), null, new byte[]{2, 3}}
+                )
+            ),
+            arguments(
+                DingoTypeFactory.INSTANCE.tuple("INT|NULL", "STRING|NULL"),
+                ImmutableList.of(
+                    new Object[]{null, null},
+                    new Object[]{null, null}
+                )
+            )
+        );
+    }
+
+    private static @NonNull List<Object[]> encodeAndDecode(
+        DingoType type,
+        List<Object[]> tuples
+    ) throws IOException {
+        ColumnarTupleCodec codec = new ColumnarTupleCodec(type);
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        codec.encode(bos, tuples);
+        ByteArrayInputStream bis = new ByteArrayInputStream(bos.toByteArray());
+        return codec.decode(bis);
+    }
+
+    @ParameterizedTest
+    @MethodSource("getArguments")
+    public void testCodec(DingoType type, List<Object[]> tuples) throws IOException {
+        assertThat(encodeAndDecode(type, tuples)).containsExactlyElementsOf(tuples);
+    }
+
+    @Test
+    public void testDictionary() throws IOException {
+        DingoType type = DingoTypeFactory.INSTANCE.tuple("INT", "STRING|NULL");
+        List<Object[]> tuples = new ArrayList<>();
+        for (int i = 0; i < 1000; ++i) {
+            tuples.add(new Object[]{i, i % 7 == 0 ? null : "name" + i % 300});
+        }
+        assertThat(encodeAndDecode(type, tuples)).containsExactlyElementsOf(tuples);
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.dag;
+
+import io.dingodb.exec.base.Operator;
+import io.dingodb.exec.base.Status;
+import io.dingodb.exec.base.Task;
+import io.dingodb.exec.exception.TaskCancelException;
+import io.dingodb.exec.fin.Fin;
+import io.dingodb.exec.operator.data.Context;
+import io.dingodb.exec.operator.params.SendParam;
+import io.dingodb.exec.tuple.TupleId;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static io.dingodb.exec.utils.OperatorCodeUtils.SEND;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TestEdge {
+    private final List<TupleId> tupleList = new ArrayList<>();
+
+    private Edge makeEdge(int status) {
+        SendParam param = mock(SendParam.class);
+        when(param.getTupleList()).thenReturn(tupleList);
+        // Large enough to keep all the tuples in the buffer.
+        when(param.getBatchSize()).thenReturn(1024);
+        Task task = mock(Task.class);
+        when(task.getStatus()).thenReturn(status);
+        Vertex previous = new Vertex(SEND, param);
+        previous.setPin(3);
+        Vertex next = new Vertex(SEND, param);
+        next.setTask(task);
+        return new Edge(previous, next);
+    }
+
+    private static List<Object[]> tuples(int... values) {
+        List<Object[]> tuples = new ArrayList<>(values.length);
+        for (int value : values) {
+            tuples.add(new Object[]{value});
+        }
+        return tuples;
+    }
+
+    @Test
+    public void testTransformEmptyBatch() {
+        Edge edge = new Edge(new Vertex(SEND, null), new Vertex(SEND, null));
+        // No task is needed if there is nothing to push.
+        assertThat(edge.transformBatchToNext(Context.builder().build(), Collections.emptyList())).isTrue();
+    }
+
+    @Test
+    public void testTransformBatch() {
+        Edge edge = makeEdge(Status.RUNNING);
+        Context context = Context.builder().build();
+        assertThat(edge.transformBatchToNext(context, tuples(1, 2, 3))).isTrue();
+        assertThat(context.getPin()).isEqualTo(3);
+        assertThat(tupleList).hasSize(3);
+        assertThat(tupleList.get(2).getTuple()).isEqualTo(new Object[]{3});
+    }
+
+    @Test
+    public void testTransformBatchStopped() {
+        Edge edge = makeEdge(Status.STOPPED);
+        assertThat(edge.transformBatchToNext(Context.builder().build(), tuples(1, 2, 3))).isFalse();
+        assertThat(tupleList).isEmpty();
+    }
+
+    @Test
+    public void testTransformBatchCanceled() {
+        Edge edge = makeEdge(Status.CANCEL);
+        assertThatThrownBy(() -> edge.transformBatchToNext(Context.builder().build(), tuples(1, 2, 3)))
+            .isInstanceOf(TaskCancelException.class);
+        assertThat(tupleList).isEmpty();
+    }
+
+    @Test
+    public void testDefaultPushBatch() {
+        List<Object[]> pushed = new ArrayList<>();
+        Operator operator = new Operator() {
+            @Override
+            public boolean push(Context context, @Nullable Object[] tuple, Vertex vertex) {
+                pushed.add(tuple);
+                return pushed.size() < 2;
+            }
+
+            @Override
+            public void fin(int pin, @Nullable Fin fin, Vertex vertex) {
+            }
+
+            @Override
+            public void setParas(Object[] paras) {
+            }
+        };
+        assertThat(operator.pushBatch(Context.builder().build(), tuples(1, 2, 3, 4), null)).isFalse();
+        assertThat(pushed).containsExactly(new Object[]{1}, new Object[]{2});
+        pushed.clear();
+        assertThat(operator.pushBatch(Context.builder().build(), tuples(1), null)).isTrue();
+        assertThat(pushed).containsExactly(new Object[]{1});
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.expr;
+
+import io.dingodb.common.codec.ProtostuffCodec;
+import io.dingodb.common.type.DingoType;
+import io.dingodb.common.type.DingoTypeFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TestSqlExpr {
+    private static final DingoType TUPLE_TYPE = DingoTypeFactory.INSTANCE.tuple("INT");
+    private static final DingoType PARAS_TYPE = DingoTypeFactory.INSTANCE.tuple("INT");
+
+    @Test
+    public void testSharedCompiledExpr() throws Exception {
+        int tasks = 8;
+        int rows = 10000;
+        ExecutorService executor = Executors.newFixedThreadPool(tasks);
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>(tasks);
+            for (int i = 0; i < tasks; ++i) {
+                int para = i * 100000;
+                // Each task has its own copy, compiled concurrently to the same cached expression.
+                futures.add(executor.submit(() -> {
+                    SqlExpr expr = new SqlExpr("_[0] + _P[0]", DingoTypeFactory.INSTANCE.scalar("INT"));
+                    expr.compileIn(TUPLE_TYPE, PARAS_TYPE);
+                    expr.setParas(new Object[]{para});
+                    for (int j = 0; j < rows; ++j) {
+                        if (!Integer.valueOf(para + j).equals(expr.eval(new Object[]{j}))) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> future : futures) {
+                assertThat(future.get(30, TimeUnit.SECONDS)).isTrue();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testEvalAfterProtostuff() {
+        // Tasks are sent to other nodes by protostuff, which skips transient fields.
+        SqlExpr expr = ProtostuffCodec.read(
+            ProtostuffCodec.write(new SqlExpr("_[0] + _P[0]", DingoTypeFactory.INSTANCE.scalar("INT")))
+        );
+        expr.compileIn(TUPLE_TYPE, PARAS_TYPE);
+        expr.setParas(new Object[]{2});
+        assertThat(expr.eval(new Object[]{1})).isEqualTo(3);
+    }
+
+    @Test
+    public void testParseError() {
+        // Failures are not cached, so each compiling reports the error.
+        for (int i = 0; i < 2; ++i) {
+            SqlExpr expr = new SqlExpr("_[0] +", DingoTypeFactory.INSTANCE.scalar("INT"));
+            assertThatThrownBy(() -> expr.compileIn(TUPLE_TYPE, PARAS_TYPE))
+                .isInstanceOf(IllegalStateException.class);
+        }
+    }
+}
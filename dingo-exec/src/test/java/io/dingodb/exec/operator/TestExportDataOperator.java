@@ -0,0 +1,98 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.operator;
+
+import io.dingodb.common.CommonId;
+import io.dingodb.exec.base.Task;
+import io.dingodb.exec.dag.Edge;
+import io.dingodb.exec.dag.Vertex;
+import io.dingodb.exec.fin.Fin;
+import io.dingodb.exec.fin.FinWithException;
+import io.dingodb.exec.operator.data.Context;
+import io.dingodb.exec.operator.params.ExportDataParam;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.TimeZone;
+
+import static io.dingodb.exec.utils.OperatorCodeUtils.EXPORT_DATA;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TestExportDataOperator {
+    @TempDir
+    Path dir;
+
+    private static Vertex makeVertex(String id, Path file, Edge edge) {
+        ExportDataParam param = new ExportDataParam(
+            file.toString(),
+            "\t".getBytes(StandardCharsets.UTF_8),
+            id,
+            null,
+            "\n".getBytes(StandardCharsets.UTF_8),
+            "\\".getBytes(StandardCharsets.UTF_8),
+            "utf8",
+            null,
+            TimeZone.getTimeZone("UTC")
+        );
+        Vertex vertex = new Vertex(EXPORT_DATA, param, new LinkedList<>(Collections.singletonList(edge)),
+            new LinkedList<>());
+        Task task = mock(Task.class);
+        when(task.getId()).thenReturn(new CommonId(CommonId.CommonType.TASK, 1, 1));
+        vertex.setTask(task);
+        param.init(vertex);
+        return vertex;
+    }
+
+    @Test
+    public void testExport() throws IOException {
+        Path file = dir.resolve("export.txt");
+        Edge edge = mock(Edge.class);
+        Vertex vertex = makeVertex("testExport", file, edge);
+        ExportDataOperator.INSTANCE.push(Context.builder().build(), new Object[]{1, "a\tb", null, true}, vertex);
+        ExportDataOperator.INSTANCE.push(Context.builder().build(), new Object[]{2, "c", 1.5, false}, vertex);
+        Fin fin = mock(Fin.class);
+        ExportDataOperator.INSTANCE.fin(0, fin, vertex);
+        verify(edge).fin(fin);
+        assertThat(new String(Files.readAllBytes(file), StandardCharsets.UTF_8))
+            .isEqualTo("1\ta\\\tb\t\\N\t1\n2\tc\t1.5\t0\n");
+    }
+
+    @Test
+    public void testFileExists() throws IOException {
+        Path file = dir.resolve("exists.txt");
+        Files.write(file, "old".getBytes(StandardCharsets.UTF_8));
+        Edge edge = mock(Edge.class);
+        Vertex vertex = makeVertex("testFileExists", file, edge);
+        ExportDataOperator.INSTANCE.push(Context.builder().build(), new Object[]{1}, vertex);
+        ExportDataOperator.INSTANCE.fin(0, mock(Fin.class), vertex);
+        ArgumentCaptor<Fin> captor = ArgumentCaptor.forClass(Fin.class);
+        verify(edge).fin(captor.capture());
+        assertThat(captor.getValue()).isInstanceOf(FinWithException.class);
+        assertThat(captor.getValue().detail()).contains("already exists");
+        assertThat(new String(Files.readAllBytes(file), StandardCharsets.UTF_8)).isEqualTo("old");
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.operator;
+
+import io.dingodb.codec.KeyValueCodec;
+import io.dingodb.common.CommonId;
+import io.dingodb.common.partition.RangeDistribution;
+import io.dingodb.common.type.TupleMapping;
+import io.dingodb.common.util.ByteArrayUtils.ComparableByteArray;
+import io.dingodb.exec.dag.Edge;
+import io.dingodb.exec.dag.Vertex;
+import io.dingodb.exec.operator.data.Context;
+import io.dingodb.exec.operator.params.GetDistributionParam;
+import io.dingodb.meta.entity.Table;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import static io.dingodb.exec.utils.OperatorCodeUtils.GET_BY_KEYS;
+import static io.dingodb.exec.utils.OperatorCodeUtils.GET_DISTRIBUTION;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TestGetDistributionOperator {
+    private static final CommonId PART_1 = new CommonId(CommonId.CommonType.PARTITION, 1, 1);
+    private static final CommonId PART_2 = new CommonId(CommonId.CommonType.PARTITION, 1, 2);
+
+    // Stands for the get-by-keys operators, which push the rows got by the keys of a region as one batch.
+    private static final IteratorOperator GET = new IteratorOperator() {
+        @Override
+        public boolean pushBatch(Context context, List<Object[]> tuples, Vertex vertex) {
+            return pushIterator(context, tuples.iterator(), vertex);
+        }
+
+        @Override
+        protected Iterator<Object[]> createIterator(Context context, Object[] tuple, Vertex vertex) {
+            return Collections.singletonList(tuple).iterator();
+        }
+    };
+
+    private final List<Object[]> output = new ArrayList<>();
+    private final List<CommonId> parts = new ArrayList<>();
+    private boolean more;
+
+    @BeforeEach
+    public void setup() {
+        output.clear();
+        parts.clear();
+        more = true;
+    }
+
+    private static byte[] encode(int value) {
+        return new byte[]{'t', (byte) value};
+    }
+
+    private static RangeDistribution region(CommonId id, int start, int end) {
+        return RangeDistribution.builder().id(id).startKey(encode(start)).endKey(encode(end)).build();
+    }
+
+    private Vertex makeVertex(Object[]... keyTuples) {
+        NavigableMap<ComparableByteArray, RangeDistribution> distributions = new TreeMap<>();
+        distributions.put(new ComparableByteArray(encode(0)), region(PART_1, 0, 10));
+        distributions.put(new ComparableByteArray(encode(10)), region(PART_2, 10, 20));
+        KeyValueCodec codec = mock(KeyValueCodec.class);
+        when(codec.encodeKey(any())).thenAnswer(
+            invocation -> encode((Integer) invocation.<Object[]>getArgument(0)[0])
+        );
+        GetDistributionParam param = mock(GetDistributionParam.class);
+        when(param.getKeyTuples()).thenReturn(Arrays.asList(keyTuples));
+        when(param.getKeyMapping()).thenReturn(TupleMapping.of(new int[]{0}));
+        when(param.getTable()).thenReturn(mock(Table.class));
+        when(param.getDistributions()).thenReturn(distributions);
+        when(param.getCodec()).thenReturn(codec);
+        Vertex vertex = new Vertex(GET_DISTRIBUTION, param);
+        Vertex getVertex = new Vertex(GET_BY_KEYS, null);
+        Edge sink = mock(Edge.class);
+        when(sink.transformBatchToNext(any(), any())).thenAnswer(invocation -> {
+            output.addAll(invocation.getArgument(1));
+            return more;
+        });
+        getVertex.addEdge(sink);
+        Edge edge = mock(Edge.class);
+        when(edge.transformBatchToNext(any(), any())).thenAnswer(invocation -> {
+            Context context = invocation.getArgument(0);
+            parts.add(context.getDistribution().id());
+            return GET.pushBatch(context, invocation.getArgument(1), getVertex);
+        });
+        vertex.addEdge(edge);
+        return vertex;
+    }
+
+    private static Object[] tuple(int value) {
+        return new Object[]{value};
+    }
+
+    @Test
+    public void testMultiRegions() {
+        Vertex vertex = makeVertex(tuple(1), tuple(12), tuple(3), tuple(15));
+        GetDistributionOperator.INSTANCE.push(Context.builder().build(), vertex);
+        assertThat(parts).containsExactly(PART_1, PART_2);
+        assertThat(output).containsExactly(tuple(1), tuple(3), tuple(12), tuple(15));
+    }
+
+    @Test
+    public void testStopped() {
+        more = false;
+        Vertex vertex = makeVertex(tuple(1), tuple(12), tuple(3), tuple(15));
+        GetDistributionOperator.INSTANCE.push(Context.builder().build(), vertex);
+        assertThat(parts).containsExactly(PART_1);
+        assertThat(output).containsExactly(tuple(1), tuple(3));
+    }
+}
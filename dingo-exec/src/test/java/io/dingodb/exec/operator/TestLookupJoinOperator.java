@@ -0,0 +1,166 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.operator;
+
+import io.dingodb.common.CommonId;
+import io.dingodb.common.type.DingoTypeFactory;
+import io.dingodb.common.type.TupleMapping;
+import io.dingodb.exec.dag.Edge;
+import io.dingodb.exec.dag.Vertex;
+import io.dingodb.exec.fin.Fin;
+import io.dingodb.exec.fin.FinWithException;
+import io.dingodb.exec.fin.TaskStatus;
+import io.dingodb.exec.operator.data.Context;
+import io.dingodb.exec.operator.params.LookupJoinParam;
+import io.dingodb.meta.entity.Column;
+import io.dingodb.meta.entity.Table;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import static io.dingodb.exec.utils.OperatorCodeUtils.LOOKUP_JOIN;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class TestLookupJoinOperator {
+    private static final CommonId TABLE_ID = new CommonId(CommonId.CommonType.TABLE, 1, 1);
+    private static final Table TABLE = Table.builder()
+        .tableId(TABLE_ID)
+        .name("T")
+        .engine("TXN_LSM")
+        .columns(Arrays.asList(
+            Column.builder().name("ID").type(DingoTypeFactory.INSTANCE.scalar("INT", false)).primaryKeyIndex(0)
+                .build(),
+            Column.builder().name("NAME").type(DingoTypeFactory.INSTANCE.scalar("STRING", true)).primaryKeyIndex(-1)
+                .build()
+        ))
+        .build();
+
+    private final Map<Object, Object[]> rows = new HashMap<>();
+    private final List<Object[]> lookedUp = new ArrayList<>();
+
+    @BeforeEach
+    public void setup() {
+        rows.clear();
+        rows.put(1, new Object[]{1, "a"});
+        rows.put(2, new Object[]{2, "b"});
+        lookedUp.clear();
+    }
+
+    private static @NonNull LookupJoinParam makeParam(boolean leftRequired) {
+        LookupJoinParam param = new LookupJoinParam(
+            TABLE_ID,
+            TABLE,
+            null,
+            TupleMapping.of(new int[]{0, 1}),
+            TupleMapping.of(new int[]{1}),
+            2,
+            leftRequired,
+            0L,
+            0L
+        );
+        param.init(new Vertex(LOOKUP_JOIN, param));
+        return param;
+    }
+
+    private List<Object[]> lookUp(@NonNull List<Object[]> keys) {
+        lookedUp.addAll(keys);
+        return keys.stream()
+            .map(key -> rows.get(key[0]))
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+    }
+
+    private static @NonNull List<Object[]> tuples() {
+        return Arrays.asList(
+            new Object[]{10, 1},
+            new Object[]{11, 2},
+            new Object[]{12, 1},
+            new Object[]{13, 3},
+            new Object[]{14, null}
+        );
+    }
+
+    @Test
+    public void testInnerJoin() {
+        List<Object[]> outputs = LookupJoinOperator.join(makeParam(false), tuples(), this::lookUp);
+        assertThat(outputs).containsExactly(
+            new Object[]{10, 1, 1, "a"},
+            new Object[]{11, 2, 2, "b"},
+            new Object[]{12, 1, 1, "a"}
+        );
+        // Each distinct key is looked up once, null keys never.
+        assertThat(lookedUp).containsExactly(new Object[]{1}, new Object[]{2}, new Object[]{3});
+    }
+
+    @Test
+    public void testLeftJoin() {
+        List<Object[]> outputs = LookupJoinOperator.join(makeParam(true), tuples(), this::lookUp);
+        assertThat(outputs).containsExactly(
+            new Object[]{10, 1, 1, "a"},
+            new Object[]{11, 2, 2, "b"},
+            new Object[]{12, 1, 1, "a"},
+            new Object[]{13, 3, null, null},
+            new Object[]{14, null, null, null}
+        );
+    }
+
+    @Test
+    public void testNullKeys() {
+        List<Object[]> outputs = LookupJoinOperator.join(
+            makeParam(true),
+            Arrays.asList(new Object[]{10, null}, new Object[]{11, null}),
+            this::lookUp
+        );
+        assertThat(outputs).containsExactly(new Object[]{10, null, null, null}, new Object[]{11, null, null, null});
+        assertThat(lookedUp).isEmpty();
+    }
+
+    @Test
+    public void testBufferAndFinWithException() {
+        List<Fin> fins = new ArrayList<>();
+        Edge edge = mock(Edge.class);
+        doAnswer(invocation -> {
+            fins.add(invocation.getArgument(0));
+            return null;
+        }).when(edge).fin(any());
+        LookupJoinParam param = makeParam(false);
+        Vertex vertex = new Vertex(LOOKUP_JOIN, param);
+        vertex.addEdge(edge);
+        Context context = Context.builder().build();
+        // Less than a batch is buffered, and nothing is looked up.
+        assertThat(LookupJoinOperator.INSTANCE.push(context, new Object[]{10, 1}, vertex)).isTrue();
+        assertThat(param.getCache()).hasSize(1);
+        Fin fin = FinWithException.of(new TaskStatus());
+        LookupJoinOperator.INSTANCE.fin(0, fin, vertex);
+        assertThat(param.getCache()).isEmpty();
+        assertThat(fins).containsExactly(fin);
+        verify(edge, never()).transformBatchToNext(any(), any());
+    }
+}
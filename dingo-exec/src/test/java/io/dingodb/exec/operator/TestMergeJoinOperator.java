@@ -0,0 +1,212 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.operator;
+
+import io.dingodb.common.type.TupleMapping;
+import io.dingodb.exec.dag.Edge;
+import io.dingodb.exec.dag.Vertex;
+import io.dingodb.exec.fin.Fin;
+import io.dingodb.exec.fin.FinWithException;
+import io.dingodb.exec.fin.FinWithProfiles;
+import io.dingodb.exec.fin.TaskStatus;
+import io.dingodb.exec.operator.data.Context;
+import io.dingodb.exec.operator.params.MergeJoinParam;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.dingodb.exec.utils.OperatorCodeUtils.MERGE_JOIN;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TestMergeJoinOperator {
+    private static final Object[][] LEFT = {{1, "a"}, {2, "b"}, {2, "c"}, {4, "d"}, {null, "e"}};
+    private static final Object[][] RIGHT = {{2, "x"}, {2, "y"}, {3, "z"}, {4, "w"}};
+
+    private final List<Object[]> output = new CopyOnWriteArrayList<>();
+    private final List<Fin> fins = new CopyOnWriteArrayList<>();
+    private Edge edge;
+    private int limit;
+
+    @BeforeEach
+    public void setup() {
+        output.clear();
+        fins.clear();
+        limit = Integer.MAX_VALUE;
+        edge = mock(Edge.class);
+        when(edge.transformToNext(any(), any())).thenAnswer(invocation -> {
+            output.add(invocation.getArgument(1));
+            return output.size() < limit;
+        });
+        doAnswer(invocation -> {
+            fins.add(invocation.getArgument(0));
+            return null;
+        }).when(edge).fin(any());
+    }
+
+    private Vertex makeVertex(boolean leftRequired, boolean rightRequired) {
+        MergeJoinParam param = new MergeJoinParam(
+            TupleMapping.of(new int[]{0}),
+            TupleMapping.of(new int[]{0}),
+            2,
+            2,
+            leftRequired,
+            rightRequired
+        );
+        Vertex vertex = new Vertex(MERGE_JOIN, param);
+        vertex.addEdge(edge);
+        param.init(vertex);
+        return vertex;
+    }
+
+    private static boolean push(Vertex vertex, int pin, Object[] tuple) {
+        return MergeJoinOperator.INSTANCE.push(Context.builder().pin(pin).build(), tuple, vertex);
+    }
+
+    private static void run(Vertex vertex) {
+        for (Object[] tuple : LEFT) {
+            push(vertex, 0, tuple);
+        }
+        MergeJoinOperator.INSTANCE.fin(0, FinWithProfiles.of(null), vertex);
+        for (Object[] tuple : RIGHT) {
+            push(vertex, 1, tuple);
+        }
+        MergeJoinOperator.INSTANCE.fin(1, FinWithProfiles.of(null), vertex);
+    }
+
+    @Test
+    public void testInnerJoin() {
+        run(makeVertex(false, false));
+        // Duplicate keys on both sides are joined to each other.
+        assertThat(output).containsExactly(
+            new Object[]{2, "b", 2, "x"},
+            new Object[]{2, "b", 2, "y"},
+            new Object[]{2, "c", 2, "x"},
+            new Object[]{2, "c", 2, "y"},
+            new Object[]{4, "d", 4, "w"}
+        );
+        assertThat(fins).hasSize(1);
+    }
+
+    @Test
+    public void testFullJoin() {
+        run(makeVertex(true, true));
+        assertThat(output).containsExactly(
+            new Object[]{1, "a", null, null},
+            new Object[]{2, "b", 2, "x"},
+            new Object[]{2, "b", 2, "y"},
+            new Object[]{2, "c", 2, "x"},
+            new Object[]{2, "c", 2, "y"},
+            new Object[]{null, null, 3, "z"},
+            new Object[]{4, "d", 4, "w"},
+            new Object[]{null, "e", null, null}
+        );
+        assertThat(fins).hasSize(1);
+    }
+
+    @Test
+    public void testStopped() {
+        limit = 1;
+        Vertex vertex = makeVertex(false, false);
+        for (Object[] tuple : LEFT) {
+            push(vertex, 0, tuple);
+        }
+        assertThat(push(vertex, 1, RIGHT[0])).isTrue();
+        assertThat(push(vertex, 1, RIGHT[1])).isTrue();
+        // The group of key 2 is complete and joined, but the downstream wants only one tuple.
+        assertThat(push(vertex, 1, RIGHT[2])).isFalse();
+        assertThat(push(vertex, 1, RIGHT[3])).isFalse();
+        MergeJoinOperator.INSTANCE.fin(0, FinWithProfiles.of(null), vertex);
+        MergeJoinOperator.INSTANCE.fin(1, FinWithProfiles.of(null), vertex);
+        assertThat(output).hasSize(1);
+        assertThat(fins).hasSize(1);
+    }
+
+    @Test
+    public void testResetPerRun() {
+        Vertex vertex = makeVertex(false, false);
+        run(vertex);
+        // The same task is run again, e.g. a prepared statement executed twice.
+        output.clear();
+        fins.clear();
+        vertex.<MergeJoinParam>getParam().setParas(new Object[0]);
+        run(vertex);
+        assertThat(output).hasSize(5);
+        assertThat(fins).hasSize(1);
+        // Also without setting the parameters.
+        output.clear();
+        fins.clear();
+        run(vertex);
+        assertThat(output).hasSize(5);
+        assertThat(fins).hasSize(1);
+    }
+
+    @Test
+    public void testFinWithException() {
+        Vertex vertex = makeVertex(false, false);
+        push(vertex, 0, LEFT[0]);
+        Fin fin = FinWithException.of(new TaskStatus());
+        MergeJoinOperator.INSTANCE.fin(0, fin, vertex);
+        assertThat(push(vertex, 1, RIGHT[0])).isFalse();
+        assertThat(fins).isEmpty();
+        MergeJoinOperator.INSTANCE.fin(1, FinWithProfiles.of(null), vertex);
+        assertThat(fins).containsExactly(fin);
+        // A failed run must not poison the next run of the same task.
+        fins.clear();
+        run(vertex);
+        assertThat(output).hasSize(5);
+        assertThat(fins).hasSize(1).allMatch(f -> f instanceof FinWithProfiles);
+    }
+
+    @Test
+    public void testBackpressure() throws InterruptedException {
+        Vertex vertex = makeVertex(false, false);
+        int count = MergeJoinOperator.BUFFER_SIZE * 4;
+        AtomicInteger pushed = new AtomicInteger();
+        Thread fast = new Thread(() -> {
+            for (int i = 0; i < count; ++i) {
+                push(vertex, 0, new Object[]{i, "l"});
+                pushed.incrementAndGet();
+            }
+            MergeJoinOperator.INSTANCE.fin(0, FinWithProfiles.of(null), vertex);
+        });
+        fast.start();
+        // The left input is blocked while the right input has pushed nothing.
+        Thread.sleep(200);
+        assertThat(pushed.get()).isLessThanOrEqualTo(MergeJoinOperator.BUFFER_SIZE);
+        Thread slow = new Thread(() -> {
+            for (int i = 0; i < count; ++i) {
+                push(vertex, 1, new Object[]{i, "r"});
+            }
+            MergeJoinOperator.INSTANCE.fin(1, FinWithProfiles.of(null), vertex);
+        });
+        slow.start();
+        fast.join(10000);
+        slow.join(10000);
+        assertThat(output).hasSize(count);
+        for (int i = 0; i < count; ++i) {
+            assertThat(output.get(i)).containsExactly(i, "l", i, "r");
+        }
+        assertThat(fins).hasSize(1);
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.operator;
+
+import io.dingodb.codec.KeyValueCodec;
+import io.dingodb.codec.serial.DingoKeyValueCodec;
+import io.dingodb.common.CommonId;
+import io.dingodb.common.partition.RangeDistribution;
+import io.dingodb.common.type.DingoTypeFactory;
+import io.dingodb.common.type.TupleMapping;
+import io.dingodb.common.util.ByteArrayUtils;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import static io.dingodb.common.util.ByteArrayUtils.SKIP_LONG_POS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestNewCalcDistributionOperator {
+    private static final CommonId PART = new CommonId(CommonId.CommonType.PARTITION, 1, 1);
+    private static final KeyValueCodec CODEC = new DingoKeyValueCodec(
+        DingoTypeFactory.INSTANCE.tuple("INT", "STRING"),
+        TupleMapping.of(new int[]{0})
+    );
+
+    private static byte[] encode(int id) {
+        return CODEC.encodeKey(new Object[]{id, "name"});
+    }
+
+    private static byte[] encodePrefix(int id) {
+        return CODEC.encodeKeyPrefix(new Object[]{id, null}, 1);
+    }
+
+    // The whole partition of the keys, ending at the start of the next partition as full scans do.
+    private static RangeDistribution partition(byte[] key) {
+        byte[] startKey = Arrays.copyOf(key, SKIP_LONG_POS);
+        byte[] endKey = Arrays.copyOf(key, SKIP_LONG_POS);
+        ++endKey[SKIP_LONG_POS - 1];
+        return RangeDistribution.builder()
+            .id(PART)
+            .startKey(startKey)
+            .endKey(endKey)
+            .withStart(true)
+            .withEnd(false)
+            .build();
+    }
+
+    private static int[] countKeys(Collection<RangeDistribution> morsels, List<byte[]> keys) {
+        List<RangeDistribution> list = new ArrayList<>(morsels);
+        int[] counts = new int[list.size()];
+        for (byte[] key : keys) {
+            for (int i = 0; i < list.size(); ++i) {
+                RangeDistribution morsel = list.get(i);
+                boolean in = ByteArrayUtils.compare(key, morsel.getStartKey()) >= 0
+                    && ByteArrayUtils.compare(key, morsel.getEndKey()) < 0;
+                if (in) {
+                    ++counts[i];
+                    break;
+                }
+            }
+        }
+        return counts;
+    }
+
+    @Test
+    public void testSplitByStats() {
+        List<byte[]> keys = new ArrayList<>();
+        for (int id = 1; id <= 1000; ++id) {
+            keys.add(encode(id));
+        }
+        RangeDistribution keyRange = RangeDistribution.builder()
+            .startKey(encodePrefix(1))
+            .endKey(encodePrefix(1000))
+            .withStart(true)
+            .withEnd(true)
+            .build();
+        Collection<RangeDistribution> morsels = NewCalcDistributionOperator.splitMorsels(
+            Collections.singleton(partition(keys.get(0))), 4, keyRange
+        );
+        assertThat(morsels).hasSize(4);
+        int[] counts = countKeys(morsels, keys);
+        assertThat(Arrays.stream(counts).sum()).isEqualTo(1000);
+        assertThat(counts).allSatisfy(count -> assertThat(count).isBetween(200, 300));
+    }
+
+    @Test
+    public void testSplitWithoutStats() {
+        // Keys spread over the value space, all leading with the not-null tag.
+        List<byte[]> keys = new ArrayList<>();
+        for (int i = 0; i < 1000; ++i) {
+            keys.add(encode((int) (Integer.MIN_VALUE + i * 4294967L)));
+        }
+        Collection<RangeDistribution> morsels = NewCalcDistributionOperator.splitMorsels(
+            Collections.singleton(partition(keys.get(0))), 4, null
+        );
+        assertThat(morsels).hasSize(4);
+        int[] counts = countKeys(morsels, keys);
+        assertThat(Arrays.stream(counts).sum()).isEqualTo(1000);
+        assertThat(counts).allSatisfy(count -> assertThat(count).isPositive());
+    }
+
+    @Test
+    public void testNotSplitWithoutConcurrency() {
+        RangeDistribution region = partition(encode(1));
+        Collection<RangeDistribution> morsels = NewCalcDistributionOperator.splitMorsels(
+            Collections.singleton(region), 1, null
+        );
+        assertThat(morsels).containsExactly(region);
+    }
+}
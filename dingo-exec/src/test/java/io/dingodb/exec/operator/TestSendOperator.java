@@ -0,0 +1,133 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.operator;
+
+import io.dingodb.common.CommonId;
+import io.dingodb.common.partition.RangeDistribution;
+import io.dingodb.exec.channel.SendEndpoint;
+import io.dingodb.exec.codec.TxRxCodec;
+import io.dingodb.exec.dag.Vertex;
+import io.dingodb.exec.operator.data.Context;
+import io.dingodb.exec.operator.params.SendParam;
+import io.dingodb.exec.tuple.TupleId;
+import io.dingodb.net.BufferOutputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+
+import static io.dingodb.exec.utils.OperatorCodeUtils.SEND;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TestSendOperator {
+    private static final CommonId PART = new CommonId(CommonId.CommonType.PARTITION, 1, 1);
+    private static final CommonId INDEX = new CommonId(CommonId.CommonType.INDEX, 1, 2);
+
+    private final List<List<TupleId>> sentTupleIds = new ArrayList<>();
+    private final List<List<Object[]>> sentTuples = new ArrayList<>();
+    private final LinkedList<Boolean> sendResults = new LinkedList<>();
+
+    @BeforeEach
+    public void setup() {
+        sentTupleIds.clear();
+        sentTuples.clear();
+        sendResults.clear();
+    }
+
+    private Vertex makeVertex(int batchSize) throws Exception {
+        BufferOutputStream bos = mock(BufferOutputStream.class);
+        when(bos.bytes()).thenReturn(100);
+        SendEndpoint endpoint = mock(SendEndpoint.class);
+        when(endpoint.getOutputStream(anyInt())).thenReturn(bos);
+        when(endpoint.send(any(BufferOutputStream.class))).thenAnswer(
+            invocation -> sendResults.isEmpty() || sendResults.poll()
+        );
+        TxRxCodec codec = mock(TxRxCodec.class);
+        // The tuple list is cleared after sending, so copy it.
+        doAnswer(invocation -> sentTupleIds.add(new ArrayList<>(invocation.<List<TupleId>>getArgument(1))))
+            .when(codec).encodeTupleIds(any(), any());
+        doAnswer(invocation -> sentTuples.add(new ArrayList<>(invocation.<List<Object[]>>getArgument(1))))
+            .when(codec).encodeTuples(any(), any());
+        SendParam param = mock(SendParam.class);
+        List<TupleId> tupleList = new ArrayList<>();
+        when(param.getTupleList()).thenReturn(tupleList);
+        when(param.getBatchSize()).thenReturn(batchSize);
+        when(param.getMaxBufferSize()).thenReturn(4096);
+        when(param.getEndpoint()).thenReturn(endpoint);
+        when(param.getCodec()).thenReturn(codec);
+        return new Vertex(SEND, param);
+    }
+
+    private static List<Object[]> tuples(int... values) {
+        List<Object[]> tuples = new ArrayList<>(values.length);
+        for (int value : values) {
+            tuples.add(new Object[]{value});
+        }
+        return tuples;
+    }
+
+    @Test
+    public void testPushBatchWithIds() throws Exception {
+        Vertex vertex = makeVertex(2);
+        Context context = Context.builder()
+            .distribution(RangeDistribution.builder().id(PART).build())
+            .indexId(INDEX)
+            .build();
+        assertThat(SendOperator.INSTANCE.pushBatch(context, tuples(1, 2, 3), vertex)).isTrue();
+        assertThat(sentTuples).isEmpty();
+        assertThat(sentTupleIds).hasSize(1);
+        assertThat(sentTupleIds.get(0)).hasSize(2).allSatisfy(tupleId -> {
+            assertThat(tupleId.getPartId()).isEqualTo(PART);
+            assertThat(tupleId.getIndexId()).isEqualTo(INDEX);
+        });
+        assertThat(sentTupleIds.get(0).get(1).getTuple()).isEqualTo(new Object[]{2});
+        // The last tuple is kept for the next batch or the fin.
+        SendParam param = vertex.getParam();
+        assertThat(param.getTupleList()).hasSize(1);
+        assertThat(param.getTupleList().get(0).getPartId()).isEqualTo(PART);
+    }
+
+    @Test
+    public void testPushBatchWithoutIds() throws Exception {
+        Vertex vertex = makeVertex(2);
+        assertThat(SendOperator.INSTANCE.pushBatch(Context.builder().build(), tuples(1, 2), vertex)).isTrue();
+        assertThat(sentTupleIds).isEmpty();
+        assertThat(sentTuples).hasSize(1);
+        assertThat(sentTuples.get(0)).containsExactly(new Object[]{1}, new Object[]{2});
+    }
+
+    @Test
+    public void testPushBatchStopped() throws Exception {
+        // The receiver does not want more after the first message.
+        sendResults.addAll(Arrays.asList(false, true));
+        Vertex vertex = makeVertex(2);
+        assertThat(SendOperator.INSTANCE.pushBatch(Context.builder().build(), tuples(1, 2, 3, 4, 5), vertex))
+            .isFalse();
+        assertThat(sentTuples).hasSize(1);
+        assertThat(sentTuples.get(0)).containsExactly(new Object[]{1}, new Object[]{2});
+        SendParam param = vertex.getParam();
+        assertThat(param.getTupleList()).isEmpty();
+    }
+}
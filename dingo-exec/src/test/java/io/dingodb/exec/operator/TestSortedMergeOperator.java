@@ -0,0 +1,176 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.operator;
+
+import io.dingodb.exec.dag.Edge;
+import io.dingodb.exec.dag.Vertex;
+import io.dingodb.exec.fin.Fin;
+import io.dingodb.exec.fin.FinWithException;
+import io.dingodb.exec.fin.FinWithProfiles;
+import io.dingodb.exec.fin.TaskStatus;
+import io.dingodb.exec.operator.data.Context;
+import io.dingodb.exec.operator.data.SortCollation;
+import io.dingodb.exec.operator.data.SortDirection;
+import io.dingodb.exec.operator.data.SortNullDirection;
+import io.dingodb.exec.operator.params.SortedMergeParam;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.dingodb.exec.utils.OperatorCodeUtils.SORTED_MERGE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TestSortedMergeOperator {
+    private final List<Object[]> output = new CopyOnWriteArrayList<>();
+    private final List<Fin> fins = new CopyOnWriteArrayList<>();
+    private Edge edge;
+
+    @BeforeEach
+    public void setup() {
+        output.clear();
+        fins.clear();
+        edge = mock(Edge.class);
+        when(edge.transformToNext(any(), any())).thenAnswer(invocation -> {
+            output.add(invocation.getArgument(1));
+            return true;
+        });
+        doAnswer(invocation -> {
+            fins.add(invocation.getArgument(0));
+            return null;
+        }).when(edge).fin(any());
+    }
+
+    private Vertex makeVertex(int limit, int offset, int inputNum) {
+        SortedMergeParam param = new SortedMergeParam(
+            Collections.singletonList(new SortCollation(0, SortDirection.ASCENDING, SortNullDirection.UNSPECIFIED)),
+            limit,
+            offset,
+            inputNum
+        );
+        Vertex vertex = new Vertex(SORTED_MERGE, param);
+        vertex.addEdge(edge);
+        param.init(vertex);
+        return vertex;
+    }
+
+    private static boolean push(Vertex vertex, int pin, int value) {
+        return SortedMergeOperator.INSTANCE.push(Context.builder().pin(pin).build(), new Object[]{value}, vertex);
+    }
+
+    private List<Integer> values() {
+        List<Integer> values = new ArrayList<>();
+        output.forEach(t -> values.add((Integer) t[0]));
+        return values;
+    }
+
+    @Test
+    public void testStreamingMerge() {
+        Vertex vertex = makeVertex(-1, 0, 2);
+        push(vertex, 0, 1);
+        push(vertex, 0, 4);
+        assertThat(output).isEmpty();
+        push(vertex, 1, 2);
+        // Output as soon as the order is decided, not at fin.
+        assertThat(values()).containsExactly(1, 2);
+        push(vertex, 1, 3);
+        push(vertex, 1, 5);
+        assertThat(values()).containsExactly(1, 2, 3, 4);
+        SortedMergeOperator.INSTANCE.fin(0, FinWithProfiles.of(null), vertex);
+        assertThat(values()).containsExactly(1, 2, 3, 4, 5);
+        assertThat(fins).isEmpty();
+        SortedMergeOperator.INSTANCE.fin(1, FinWithProfiles.of(null), vertex);
+        assertThat(fins).hasSize(1);
+    }
+
+    @Test
+    public void testOffsetLimit() {
+        Vertex vertex = makeVertex(3, 2, 2);
+        assertThat(push(vertex, 0, 1)).isTrue();
+        assertThat(push(vertex, 1, 2)).isTrue();
+        assertThat(push(vertex, 0, 3)).isTrue();
+        assertThat(push(vertex, 1, 4)).isTrue();
+        assertThat(push(vertex, 0, 5)).isTrue();
+        assertThat(push(vertex, 1, 6)).isFalse();
+        assertThat(push(vertex, 0, 7)).isFalse();
+        SortedMergeOperator.INSTANCE.fin(0, FinWithProfiles.of(null), vertex);
+        SortedMergeOperator.INSTANCE.fin(1, FinWithProfiles.of(null), vertex);
+        assertThat(values()).containsExactly(3, 4, 5);
+        assertThat(fins).hasSize(1);
+    }
+
+    @Test
+    public void testResetPerRun() {
+        Vertex vertex = makeVertex(-1, 0, 2);
+        push(vertex, 0, 1);
+        SortedMergeOperator.INSTANCE.fin(0, FinWithException.of(new TaskStatus()), vertex);
+        assertThat(push(vertex, 1, 2)).isFalse();
+        SortedMergeOperator.INSTANCE.fin(1, FinWithProfiles.of(null), vertex);
+        assertThat(fins).hasSize(1).allMatch(f -> f instanceof FinWithException);
+        // A failed run must not poison the next run of the same task.
+        vertex.<SortedMergeParam>getParam().setParas(new Object[0]);
+        output.clear();
+        fins.clear();
+        push(vertex, 1, 2);
+        push(vertex, 0, 1);
+        SortedMergeOperator.INSTANCE.fin(0, FinWithProfiles.of(null), vertex);
+        SortedMergeOperator.INSTANCE.fin(1, FinWithProfiles.of(null), vertex);
+        assertThat(values()).containsExactly(1, 2);
+        assertThat(fins).hasSize(1).allMatch(f -> f instanceof FinWithProfiles);
+    }
+
+    @Test
+    public void testBackpressure() throws InterruptedException {
+        Vertex vertex = makeVertex(-1, 0, 2);
+        int count = SortedMergeOperator.BUFFER_SIZE * 4;
+        AtomicInteger pushed = new AtomicInteger();
+        Thread fast = new Thread(() -> {
+            for (int i = 0; i < count; ++i) {
+                push(vertex, 0, 2 * i);
+                pushed.incrementAndGet();
+            }
+            SortedMergeOperator.INSTANCE.fin(0, FinWithProfiles.of(null), vertex);
+        });
+        fast.start();
+        // The fast input is blocked while the other input has pushed nothing.
+        Thread.sleep(200);
+        assertThat(pushed.get()).isLessThanOrEqualTo(SortedMergeOperator.BUFFER_SIZE);
+        Thread slow = new Thread(() -> {
+            for (int i = 0; i < count; ++i) {
+                push(vertex, 1, 2 * i + 1);
+            }
+            SortedMergeOperator.INSTANCE.fin(1, FinWithProfiles.of(null), vertex);
+        });
+        slow.start();
+        fast.join(10000);
+        slow.join(10000);
+        List<Integer> values = values();
+        assertThat(values).hasSize(2 * count);
+        for (int i = 0; i < values.size(); ++i) {
+            assertThat(values.get(i)).isEqualTo(i);
+        }
+        assertThat(fins).hasSize(1);
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.operator;
+
+import io.dingodb.codec.KeyValueCodec;
+import io.dingodb.codec.serial.DingoKeyValueCodec;
+import io.dingodb.common.CommonId;
+import io.dingodb.common.store.KeyValue;
+import io.dingodb.common.type.DingoTypeFactory;
+import io.dingodb.common.type.TupleMapping;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestTxnGetByIndexOperator {
+    private static final KeyValueCodec CODEC = new DingoKeyValueCodec(
+        DingoTypeFactory.INSTANCE.tuple("INT", "STRING"),
+        TupleMapping.of(new int[]{0})
+    );
+    private static final TupleMapping INDICES = TupleMapping.of(new int[]{0});
+
+    private FakeRowSource source;
+
+    private static CommonId region(int id) {
+        return new CommonId(CommonId.CommonType.PARTITION, 1, id / 10 + 1);
+    }
+
+    private static int idOf(byte[] key) {
+        return (Integer) CODEC.decodeKey(key)[0];
+    }
+
+    private static List<Object[]> hits(int... ids) {
+        return Arrays.stream(ids).mapToObj(id -> new Object[]{id}).collect(Collectors.toList());
+    }
+
+    private static List<Object> ids(List<Object[]> rows) {
+        return rows.stream().map(row -> row[0]).collect(Collectors.toList());
+    }
+
+    private List<Object[]> lookUp(int... ids) {
+        return TxnGetByIndexOperator.lookUp(hits(ids), INDICES, 2, CODEC, source);
+    }
+
+    @BeforeEach
+    public void setUp() {
+        source = new FakeRowSource();
+    }
+
+    @Test
+    public void testLookUpInSeveralRegions() {
+        for (int id : new int[]{3, 4, 12, 13, 21, 25}) {
+            source.store.put(id, "store" + id);
+        }
+        source.latch = new CountDownLatch(4);
+        List<Object[]> rows = lookUp(25, 3, 12, 99, 4, 21, 13);
+        // In the order of the hits, the missing row skipped.
+        assertThat(ids(rows)).containsExactly(25, 3, 12, 4, 21, 13);
+        assertThat(rows.get(0)).containsExactly(25, "store25");
+        // One call per region with the keys of the region, all waiting for each other so must run concurrently.
+        assertThat(source.calls).containsOnlyKeys(region(3), region(12), region(21), region(99));
+        assertThat(source.calls.get(region(3))).containsExactly(Arrays.asList(3, 4));
+        assertThat(source.calls.get(region(12))).containsExactly(Arrays.asList(12, 13));
+        assertThat(source.calls.get(region(21))).containsExactly(Arrays.asList(25, 21));
+        assertThat(source.calls.get(region(99))).containsExactly(Collections.singletonList(99));
+        assertThat(source.concurrent).isTrue();
+        assertThat(source.threads).doesNotContain(Thread.currentThread().getName());
+    }
+
+    @Test
+    public void testLookUpInOneRegion() {
+        source.store.put(1, "store1");
+        source.store.put(2, "store2");
+        List<Object[]> rows = lookUp(2, 1);
+        assertThat(ids(rows)).containsExactly(2, 1);
+        assertThat(source.calls.get(region(1))).containsExactly(Arrays.asList(2, 1));
+        // A single region is read in the calling thread.
+        assertThat(source.threads).containsExactly(Thread.currentThread().getName());
+    }
+
+    @Test
+    public void testLookUpOverLocalCache() {
+        for (int id : new int[]{1, 2, 3, 11}) {
+            source.store.put(id, "store" + id);
+        }
+        source.local.put(2, new Object[]{2, "local2"});
+        source.local.put(5, new Object[]{5, "local5"});
+        source.local.put(3, TxnGetByIndexOperator.DELETED);
+        List<Object[]> rows = lookUp(1, 2, 3, 5, 11);
+        // Deleted in the transaction, so not resurrected from the store.
+        assertThat(ids(rows)).containsExactly(1, 2, 5, 11);
+        assertThat(rows.get(1)).containsExactly(2, "local2");
+        assertThat(rows.get(2)).containsExactly(5, "local5");
+        // The store is asked for the keys not in the local cache only.
+        assertThat(source.calls.get(region(1))).containsExactly(Collections.singletonList(1));
+        assertThat(source.calls.get(region(11))).containsExactly(Collections.singletonList(11));
+    }
+
+    @Test
+    public void testLookUpAllLocal() {
+        source.local.put(1, new Object[]{1, "local1"});
+        source.local.put(2, TxnGetByIndexOperator.DELETED);
+        List<Object[]> rows = lookUp(1, 2);
+        assertThat(ids(rows)).containsExactly(1);
+        assertThat(source.calls).isEmpty();
+    }
+
+    private static class FakeRowSource implements TxnGetByIndexOperator.RowSource {
+        private final Map<Integer, String> store = new HashMap<>();
+        private final Map<Integer, Object[]> local = new HashMap<>();
+        private final Map<CommonId, List<List<Integer>>> calls = new ConcurrentHashMap<>();
+        private final Set<String> threads = Collections.synchronizedSet(new HashSet<>());
+        private CountDownLatch latch;
+        private volatile boolean concurrent = true;
+
+        @Override
+        public CommonId regionOf(byte[] key) {
+            return region(idOf(key));
+        }
+
+        @Override
+        public Object @Nullable [] getLocal(byte[] key, CommonId regionId) {
+            return local.get(idOf(key));
+        }
+
+        @Override
+        public List<KeyValue> txnGet(CommonId regionId, List<byte[]> keys) {
+            threads.add(Thread.currentThread().getName());
+            List<Integer> ids = keys.stream().map(TestTxnGetByIndexOperator::idOf).collect(Collectors.toList());
+            calls.computeIfAbsent(regionId, k -> Collections.synchronizedList(new ArrayList<>())).add(ids);
+            if (latch != null) {
+                latch.countDown();
+                try {
+                    if (!latch.await(5, TimeUnit.SECONDS)) {
+                        concurrent = false;
+                    }
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+            // Found keys only, in an order other than asked.
+            List<KeyValue> keyValues = new ArrayList<>();
+            for (int id : ids) {
+                String name = store.get(id);
+                if (name != null) {
+                    keyValues.add(0, CODEC.encode(new Object[]{id, name}));
+                }
+            }
+            return keyValues;
+        }
+    }
+}
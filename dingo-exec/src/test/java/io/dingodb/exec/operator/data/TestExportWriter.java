@@ -0,0 +1,124 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.operator.data;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TestExportWriter {
+    @TempDir
+    Path dir;
+
+    private static String content(Path file) throws IOException {
+        return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testRefCounted() throws IOException {
+        Path file = dir.resolve("ref.txt");
+        ExportWriter writer = ExportWriter.acquire("testRefCounted", file.toString());
+        assertThat(ExportWriter.acquire("testRefCounted", file.toString())).isSameAs(writer);
+        ExportWriter.Buffer buffer1 = writer.newBuffer();
+        ExportWriter.Buffer buffer2 = writer.newBuffer();
+        buffer1.writeAscii("a\n");
+        buffer2.writeAscii("b\n");
+        writer.release(buffer1);
+        assertThat(content(file)).isEqualTo("a\n");
+        // Still used by the other vertex.
+        assertThat(ExportWriter.acquire("testRefCounted", file.toString())).isSameAs(writer);
+        writer.release(null);
+        writer.release(buffer2);
+        assertThat(content(file)).isEqualTo("a\nb\n");
+        // Closed and removed after the last release.
+        ExportWriter writer1 = ExportWriter.acquire("testRefCounted", file.toString());
+        assertThat(writer1).isNotSameAs(writer);
+        writer1.release(null);
+    }
+
+    @Test
+    public void testFlushAtFlushSize() throws IOException {
+        Path file = dir.resolve("flush.txt");
+        ExportWriter writer = ExportWriter.acquire("testFlushAtFlushSize", file.toString());
+        ExportWriter.Buffer buffer = writer.newBuffer();
+        byte[] line = new byte[1024];
+        line[line.length - 1] = '\n';
+        for (int i = 0; i < ExportWriter.FLUSH_SIZE / line.length - 1; ++i) {
+            buffer.writeBytes(line);
+            writer.endLine(buffer);
+        }
+        assertThat(Files.exists(file)).isFalse();
+        buffer.writeBytes(line);
+        writer.endLine(buffer);
+        assertThat(buffer.size()).isZero();
+        assertThat(Files.size(file)).isEqualTo(ExportWriter.FLUSH_SIZE);
+        buffer.writeBytes(line);
+        writer.release(buffer);
+        assertThat(Files.size(file)).isEqualTo(ExportWriter.FLUSH_SIZE + line.length);
+    }
+
+    @Test
+    public void testGzip() throws IOException {
+        Path file = dir.resolve("gzip.txt.gz");
+        ExportWriter writer = ExportWriter.acquire("testGzip", file.toString());
+        ExportWriter.Buffer buffer = writer.newBuffer();
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 100000; ++i) {
+            String line = i + "\tvalue" + i + "\n";
+            buffer.writeAscii(line);
+            writer.endLine(buffer);
+            expected.append(line);
+        }
+        writer.release(buffer);
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        try (InputStream is = new GZIPInputStream(Files.newInputStream(file))) {
+            byte[] bytes = new byte[4096];
+            int len;
+            while ((len = is.read(bytes)) != -1) {
+                os.write(bytes, 0, len);
+            }
+        }
+        assertThat(new String(os.toByteArray(), StandardCharsets.UTF_8)).isEqualTo(expected.toString());
+        assertThat(Files.size(file)).isLessThan(expected.length());
+    }
+
+    @Test
+    public void testFileExists() throws IOException {
+        Path file = dir.resolve("exists.txt");
+        Files.write(file, "old".getBytes(StandardCharsets.UTF_8));
+        ExportWriter writer = ExportWriter.acquire("testFileExists", file.toString());
+        ExportWriter.Buffer buffer = writer.newBuffer();
+        buffer.writeAscii("new\n");
+        assertThatThrownBy(() -> writer.release(buffer)).isInstanceOf(FileAlreadyExistsException.class);
+        assertThat(content(file)).isEqualTo("old");
+        // Released even if failed.
+        ExportWriter writer1 = ExportWriter.acquire("testFileExists", file.toString());
+        assertThat(writer1).isNotSameAs(writer);
+        writer1.release(null);
+    }
+}
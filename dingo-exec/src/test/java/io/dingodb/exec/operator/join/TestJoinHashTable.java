@@ -0,0 +1,76 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.operator.join;
+
+import io.dingodb.common.type.TupleMapping;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestJoinHashTable {
+    private static List<Object[]> findAll(JoinHashTable table, Object[] tuple, int[] columns) {
+        List<Object[]> result = new ArrayList<>();
+        for (int row = table.find(tuple, columns); row >= 0; row = table.next(row)) {
+            result.add(table.getRow(row));
+        }
+        return result;
+    }
+
+    @Test
+    public void testLongKey() {
+        JoinHashTable table = new JoinHashTable(TupleMapping.of(new int[]{1}));
+        for (long i = 0; i < 10000; ++i) {
+            table.add(new Object[]{"v" + i, i % 1000});
+        }
+        table.add(new Object[]{"null", null});
+        assertThat(table.getSize()).isEqualTo(10001);
+        assertThat(findAll(table, new Object[]{7L}, new int[]{0})).hasSize(10)
+            .allMatch(t -> t[1].equals(7L));
+        assertThat(findAll(table, new Object[]{1000L}, new int[]{0})).isEmpty();
+        assertThat(findAll(table, new Object[]{null}, new int[]{0})).hasSize(1);
+    }
+
+    @Test
+    public void testMultiColumnKey() {
+        JoinHashTable table = new JoinHashTable(TupleMapping.of(new int[]{0, 2}));
+        for (int i = 0; i < 1000; ++i) {
+            table.add(new Object[]{i % 10, "x", "k" + (i % 20)});
+        }
+        assertThat(findAll(table, new Object[]{"k3", 3}, new int[]{1, 0})).hasSize(50);
+        assertThat(findAll(table, new Object[]{"k3", 4}, new int[]{1, 0})).isEmpty();
+    }
+
+    @Test
+    public void testUnjoined() {
+        JoinHashTable table = new JoinHashTable(TupleMapping.of(new int[]{0}));
+        for (int i = 0; i < 100; ++i) {
+            table.add(new Object[]{"k" + i});
+        }
+        int row = table.find(new Object[]{"k5"}, new int[]{0});
+        assertThat(row).isGreaterThanOrEqualTo(0);
+        table.markJoined(row);
+        List<Object[]> unjoined = new ArrayList<>();
+        table.forEachUnjoined(unjoined::add);
+        assertThat(unjoined).hasSize(99).noneMatch(t -> t[0].equals("k5"));
+        table.clear();
+        assertThat(table.getSize()).isZero();
+        assertThat(table.find(new Object[]{"k5"}, new int[]{0})).isEqualTo(-1);
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.operator.join;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestRuntimeFilter {
+    private static int hash(Object... keys) {
+        return JoinHashTable.hash(keys, new int[]{0});
+    }
+
+    @Test
+    public void testLongKey() {
+        RuntimeFilter filter = new RuntimeFilter(1000);
+        for (long i = 100; i < 1100; ++i) {
+            filter.add(hash(i * 7), i * 7);
+        }
+        for (long i = 100; i < 1100; ++i) {
+            assertThat(filter.mightContain(hash(i * 7), i * 7)).isTrue();
+        }
+        assertThat(filter.getMin()).isEqualTo(700L);
+        assertThat(filter.getMax()).isEqualTo(7693L);
+        assertThat(filter.mightContain(hash(1L), 1L)).isFalse();
+        assertThat(filter.mightContain(hash(10000L), 10000L)).isFalse();
+        int count = 0;
+        for (long i = 701; i < 7693; i += 7) {
+            if (filter.mightContain(hash(i), i)) {
+                ++count;
+            }
+        }
+        assertThat(count).isLessThan(50);
+    }
+
+    @Test
+    public void testMultiColumnKey() {
+        RuntimeFilter filter = new RuntimeFilter(10);
+        filter.add(JoinHashTable.hash(new Object[]{"a", 1}, new int[]{0, 1}), null);
+        assertThat(filter.getMin()).isNull();
+        assertThat(filter.mightContain(JoinHashTable.hash(new Object[]{1, "a"}, new int[]{1, 0}), null)).isTrue();
+        assertThat(filter.mightContain(JoinHashTable.hash(new Object[]{"b", 1}, new int[]{0, 1}), null)).isFalse();
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.operator.sort;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestSortBuffer {
+    private static final Comparator<Object[]> COMPARATOR = Comparator.comparingLong(t -> (Long) t[0]);
+
+    private static List<Long> sort(SortBuffer buffer, List<Long> values) {
+        for (int i = 0; i < values.size(); ++i) {
+            buffer.add(new Object[]{values.get(i), "v" + i});
+        }
+        List<Long> result = new ArrayList<>();
+        buffer.iterator().forEachRemaining(t -> result.add((Long) t[0]));
+        buffer.clear();
+        return result;
+    }
+
+    private static List<Long> randomValues(int count) {
+        Random random = new Random(7);
+        List<Long> values = new ArrayList<>(count);
+        for (int i = 0; i < count; ++i) {
+            values.add((long) random.nextInt(1000));
+        }
+        return values;
+    }
+
+    @Test
+    public void testTopN() {
+        List<Long> values = randomValues(10000);
+        List<Long> expected = new ArrayList<>(values);
+        expected.sort(Long::compare);
+        assertThat(sort(new SortBuffer(COMPARATOR, 10, Long.MAX_VALUE), values))
+            .isEqualTo(expected.subList(0, 10));
+        assertThat(sort(new SortBuffer(COMPARATOR, 0, Long.MAX_VALUE), values)).isEmpty();
+    }
+
+    @Test
+    public void testExternalSort() {
+        List<Long> values = randomValues(10000);
+        List<Long> expected = new ArrayList<>(values);
+        expected.sort(Long::compare);
+        // Very small memory limit, so there are many sorted runs to merge.
+        assertThat(sort(new SortBuffer(COMPARATOR, -1, 64 * 1024), values)).isEqualTo(expected);
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.spill;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestSpillFile {
+    @Test
+    public void testWriteAndRead() {
+        SpillFile file = SpillFile.create("test-");
+        try {
+            for (int i = 0; i < 1000; ++i) {
+                file.write(new Object[]{i, "row" + i, null, new BigDecimal("1.5"), (long) i * 3});
+            }
+            assertThat(file.getCount()).isEqualTo(1000);
+            assertThat(file.getMemSize()).isGreaterThan(0);
+            // Can be read multiple times.
+            for (int k = 0; k < 2; ++k) {
+                List<Object[]> tuples = new ArrayList<>();
+                file.iterator().forEachRemaining(tuples::add);
+                assertThat(tuples).hasSize(1000);
+                assertThat(tuples.get(10)).containsExactly(10, "row10", null, new BigDecimal("1.5"), 30L);
+            }
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void testDeleteWhileReading() {
+        SpillFile file = SpillFile.create("test-");
+        file.write(new Object[]{1, "a"});
+        file.write(new Object[]{2, "b"});
+        Iterator<Object[]> iterator = file.iterator();
+        assertThat(iterator.next()).containsExactly(1, "a");
+        file.delete();
+        assertThat(iterator.hasNext()).isFalse();
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2021 DataCanvas
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.dingodb.exec.spill;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestSpillPartitions {
+    @Test
+    public void testPartition() {
+        int[] counts = new int[SpillPartitions.PARTITION_NUM];
+        for (int hash = 0; hash < 16000; ++hash) {
+            int partition = SpillPartitions.partition(hash, 0);
+            assertThat(partition).isBetween(0, SpillPartitions.PARTITION_NUM - 1);
+            assertThat(SpillPartitions.partition(hash, 0)).isEqualTo(partition);
+            ++counts[partition];
+        }
+        // Sequential hashes are spread evenly.
+        for (int count : counts) {
+            assertThat(count).isBetween(800, 1200);
+        }
+    }
+
+    @Test
+    public void testSaltedByDepth() {
+        // Rows of one partition are split again at a deeper level.
+        int[] counts = new int[SpillPartitions.PARTITION_NUM];
+        for (int hash = 0; hash < 16000; ++hash) {
+            if (SpillPartitions.partition(hash, 0) == 0) {
+                ++counts[SpillPartitions.partition(hash, 1)];
+            }
+        }
+        int used = 0;
+        for (int count : counts) {
+            if (count > 0) {
+                ++used;
+            }
+        }
+        assertThat(used).isGreaterThan(SpillPartitions.PARTITION_NUM / 2);
+    }
+}
@@ -293,6 +293,7 @@ public final class PrepareMeta {
         values.add(new Object[]{"ddl_inner_profile", "off"});
         values.add(new Object[]{"dingo_join_concurrency_enable", "off"});
         values.add(new Object[]{"dingo_partition_execute_concurrency", "5"});
+        values.add(new Object[]{"dingo_join_partition_num", "0"});
         values.add(new Object[]{"dingo_constraint_check_in_place", "off"});
         values.add(new Object[]{"dingo_enable_async_commit", "on"});
         values.add(new Object[]{"enable_use_cross_node_commit", "off"});
@@ -309,6 +309,7 @@ public final class MysqlInit {
         values.add(new Object[]{"increment_backup", "off"});
         values.add(new Object[]{"dingo_audit_enable", "off"});
         values.add(new Object[]{"dingo_join_concurrency_enable", "off"});
+        values.add(new Object[]{"dingo_join_partition_num", "0"});
         return values;
     }
 
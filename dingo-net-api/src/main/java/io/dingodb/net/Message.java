@@ -18,6 +18,7 @@ package io.dingodb.net;
 
 import io.dingodb.common.codec.PrimitiveCodec;
 import io.dingodb.common.util.ByteArrayUtils;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
@@ -37,9 +38,12 @@ public final class Message {
 
     @Getter
     private final byte[] tag;
-    @Getter
-    private final byte[] content;
+    private byte[] content;
     private String tagStr;
+    // View of the received buffer, so the content need not be copied if it is read as a buffer.
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    private ByteBuffer contentBuffer;
 
     public Message(byte[] content) {
         this(EMPTY_TAG, content);
@@ -61,26 +65,49 @@ public final class Message {
         this.tagStr = new String(tag);
     }
 
+    private Message(String tag, ByteBuffer contentBuffer) {
+        this.tag = PrimitiveCodec.encodeString(tag);
+        this.tagStr = tag;
+        this.contentBuffer = contentBuffer;
+    }
+
     public int length() {
-        return tag.length + content.length;
+        return tag.length + (content != null ? content.length : contentBuffer.remaining());
     }
 
     public String tag() {
         return tagStr;
     }
 
+    public byte[] getContent() {
+        return content();
+    }
+
     public byte[] content() {
+        if (content == null) {
+            content = new byte[contentBuffer.remaining()];
+            contentBuffer.duplicate().get(content);
+        }
         return content;
     }
 
+    /**
+     * Get the content as a buffer, without copying if the message is decoded from a buffer. Each call returns an
+     * independent view, which must not be written.
+     */
+    public ByteBuffer contentBuffer() {
+        if (contentBuffer != null) {
+            return contentBuffer.duplicate();
+        }
+        return ByteBuffer.wrap(content);
+    }
+
     public byte[] encode() {
-        return ByteArrayUtils.concatByteArray(tag, content);
+        return ByteArrayUtils.concatByteArray(tag, content());
     }
 
     public static Message decode(ByteBuffer buffer) {
         String tag = PrimitiveCodec.readString(buffer);
-        byte[] content = new byte[buffer.remaining()];
-        buffer.get(content);
-        return new Message(tag, content);
+        return new Message(tag, buffer.slice());
     }
 }
@@ -24,7 +24,7 @@ import lombok.Getter;
 import java.util.Iterator;
 
 @GwtCompatible
-public class DingoTransformedIterator<F, T> implements Iterator<T> {
+public class DingoTransformedIterator<F, T> implements Iterator<T>, AutoCloseable {
     public static <F, T> Iterator<T> transform(Iterator<F> fromIterator, final Function<? super F, ? extends T> function) {
         return new DingoTransformedIterator<F, T>(fromIterator, function);
     }
@@ -61,4 +61,11 @@ public class DingoTransformedIterator<F, T> implements Iterator<T> {
     public final void remove() {
         this.backingIterator.remove();
     }
+
+    @Override
+    public void close() {
+        if (backingIterator instanceof ProfileScanIterator) {
+            ((ProfileScanIterator) backingIterator).close();
+        }
+    }
 }
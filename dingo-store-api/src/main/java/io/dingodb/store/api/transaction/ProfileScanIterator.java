@@ -21,8 +21,15 @@ import io.dingodb.common.store.KeyValue;
 
 import java.util.Iterator;
 
-public interface ProfileScanIterator extends Iterator<KeyValue> {
+public interface ProfileScanIterator extends Iterator<KeyValue>, AutoCloseable {
     Profile getRpcProfile();
 
     Profile getInitRpcProfile();
+
+    /**
+     * Release the resources of the scan, e.g. a pending request, if the iterator is not exhausted.
+     */
+    @Override
+    default void close() {
+    }
 }
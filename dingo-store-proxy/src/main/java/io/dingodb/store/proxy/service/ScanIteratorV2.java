@@ -18,6 +18,7 @@ package io.dingodb.store.proxy.service;
 
 import io.dingodb.common.CommonId;
 import io.dingodb.common.log.LogUtils;
+import io.dingodb.common.mysql.scope.ScopeVariables;
 import io.dingodb.sdk.common.utils.Optional;
 import io.dingodb.sdk.service.ChannelProvider;
 import io.dingodb.sdk.service.StoreService;
@@ -43,11 +44,17 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
 
 import static io.dingodb.sdk.service.entity.error.Errno.OK;
 
 @Slf4j
 public class ScanIteratorV2 implements Iterator<KeyValue>, AutoCloseable {
+    private static final int INIT_FETCH_COUNT = 1000;
+    private static final int MIN_FETCH_COUNT = 16;
+    // Fetch count is adjusted to make each response about this size in bytes.
+    private static final long FETCH_BYTES = 4L << 20;
+
     private final CommonId regionId;
     private final ChannelProvider channelProvider;
     private StoreService storeService;
@@ -60,6 +67,7 @@ public class ScanIteratorV2 implements Iterator<KeyValue>, AutoCloseable {
 
     private Iterator<KeyValue> delegateIterator = Collections.emptyIterator();
     private boolean hasMore;
+    private int fetchCount = INIT_FETCH_COUNT;
 
     public ScanIteratorV2(
         long requestTs,
@@ -132,7 +140,7 @@ public class ScanIteratorV2 implements Iterator<KeyValue>, AutoCloseable {
         LogUtils.debug(log, "Emit ScanContinueV2: scanId = {}", scanId);
         KvScanContinueRequestV2 request = KvScanContinueRequestV2.builder()
             .scanId(scanId)
-            .maxFetchCnt(1000)
+            .maxFetchCnt(fetchCount)
             .build();
         channelProvider.before(request);
         KvScanContinueResponseV2 res = storeService.kvScanContinueV2(requestTs, request);
@@ -142,13 +150,28 @@ public class ScanIteratorV2 implements Iterator<KeyValue>, AutoCloseable {
             scanRelease();
             throw new RuntimeException(res.getError().getErrmsg());
         }
-        delegateIterator = Optional.mapOrGet(res.getKvs(), List::iterator, Collections::emptyIterator);
+        List<KeyValue> kvs = Optional.mapOrGet(res.getKvs(), Function.identity(), Collections::emptyList);
+        adjustFetchCount(kvs);
+        delegateIterator = kvs.iterator();
         if (!res.isHasMore()) {
             hasMore = false;
             scanRelease();
         }
     }
 
+    private void adjustFetchCount(@NonNull List<KeyValue> kvs) {
+        if (kvs.isEmpty()) {
+            return;
+        }
+        long bytes = 0;
+        for (KeyValue kv : kvs) {
+            bytes += (kv.getKey() != null ? kv.getKey().length : 0)
+                + (kv.getValue() != null ? kv.getValue().length : 0);
+        }
+        long count = FETCH_BYTES * kvs.size() / (bytes + 1);
+        fetchCount = (int) Math.max(MIN_FETCH_COUNT, Math.min(ScopeVariables.getRpcBatchSize(), count));
+    }
+
     public void scanRelease() {
         LogUtils.debug(log, "Emit ScanReleaseV2: scanId = {}", scanId);
         KvScanReleaseRequestV2 request = KvScanReleaseRequestV2.builder().scanId(scanId).build();
@@ -92,6 +92,8 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.StringJoiner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
@@ -1077,20 +1079,46 @@ public class TransactionStoreInstance {
         return resolveLockStatus;
     }
 
+    /**
+     * Scan iterator, fetching pages by {@code txnScan} requests.
+     *
+     * <p>The next page is prefetched on the global executor once half of the current page is consumed, so the request
+     * overlaps the processing of the current page. Each request starts from the end key of the previous response, so
+     * at most one page is in flight, and a prefetch is only issued while the consumer is pulling rows. {@link #close()}
+     * cancels the pending page; a fetch that has not sent its request yet then returns an empty page.
+     *
+     * <p>The page size (the limit of the request) starts from {@code rpc_batch_size} and is doubled when the consumer
+     * has to wait for a prefetched page. It is bounded by {@link #PAGE_BYTES} in bytes and by
+     * {@link #MAX_LIMIT_FACTOR} times the initial limit. Prefetching is disabled if the coprocessor has a limit.
+     */
     public class ScanIterator implements ProfileScanIterator {
+        private static final long PAGE_BYTES = 4L << 20;
+        private static final int MIN_LIMIT = 16;
+        private static final int MAX_LIMIT_FACTOR = 8;
+
         private final long startTs;
         private final StoreInstance.Range range;
         private final long timeOut;
         private final io.dingodb.sdk.service.entity.common.CoprocessorV2 coprocessor;
-
-        private boolean withStart;
-        private boolean hasMore = true;
-        private int limit;
-        private StoreInstance.Range current;
+        private final boolean prefetch;
+        private final long initLimit;
+
+        // Written by `fetch`, which may run on the executor; read by the consumer after the page is joined.
+        private volatile boolean withStart;
+        private volatile boolean hasMore = true;
+        private volatile int limit;
+        private volatile int maxLimit;
+        private volatile StoreInstance.Range current;
         private Iterator<KeyValue> keyValues;
         private final OperatorProfile rpcProfile;
         private final OperatorProfile initRpcProfile;
 
+        // The prefetching page, accessed only by the consuming thread.
+        private CompletableFuture<List<KeyValue>> pending;
+        private int pageSize;
+        private int consumed;
+        private volatile boolean closed;
+
         public ScanIterator(long startTs, StoreInstance.Range range, long timeOut) {
             this(startTs, range, timeOut, null);
         }
@@ -1104,7 +1132,12 @@ public class TransactionStoreInstance {
             limit = ScopeVariables.getRpcBatchSize();
             if (coprocessor != null && coprocessor.getLimit() > 0) {
                 limit = coprocessor.getLimit();
+                prefetch = false;
+            } else {
+                prefetch = true;
             }
+            initLimit = limit;
+            maxLimit = limit;
             this.coprocessor = MAPPER.coprocessorTo(coprocessor);
             Optional.ofNullable(this.coprocessor)
                 .map(io.dingodb.sdk.service.entity.common.CoprocessorV2::getOriginalSchema)
@@ -1116,14 +1149,14 @@ public class TransactionStoreInstance {
             rpcProfile = new OperatorProfile("continueTxnRpc");
             initRpcProfile.start();
             long start = System.currentTimeMillis();
-            fetch();
+            setPage(fetch());
             initRpcProfile.time(start);
             initRpcProfile.end();
         }
 
-        private synchronized void fetch() {
-            if (!hasMore) {
-                return;
+        private synchronized @NonNull List<KeyValue> fetch() {
+            if (!hasMore || closed) {
+                return Collections.emptyList();
             }
             long start = System.currentTimeMillis();
             CommonId txnId = new CommonId(
@@ -1180,37 +1213,99 @@ public class TransactionStoreInstance {
                     }
                     continue;
                 }
-                keyValues = Optional.ofNullable(txnScanResponse.getKvs())
-                    .map(List::iterator).orElseGet(Collections::emptyIterator);
+                List<KeyValue> kvs = Optional.ofNullable(txnScanResponse.getKvs()).orElseGet(Collections::emptyList);
                 hasMore = txnScanResponse.isHasMore();
                 if (hasMore) {
                     withStart = false;
                     current = new StoreInstance.Range(txnScanResponse.getEndKey(), range.end, withStart, range.withEnd);
                 }
-                break;
+                if (prefetch) {
+                    adjustLimit(kvs);
+                }
+                long sub = System.currentTimeMillis() - start;
+                DingoMetrics.timer("txnScanRpc").update(sub, TimeUnit.MILLISECONDS);
+                return kvs;
             }
-            long sub = System.currentTimeMillis() - start;
-            DingoMetrics.timer("txnScanRpc").update(sub, TimeUnit.MILLISECONDS);
+        }
+
+        private void adjustLimit(@NonNull List<KeyValue> kvs) {
+            if (kvs.isEmpty()) {
+                return;
+            }
+            long bytes = 0;
+            for (KeyValue kv : kvs) {
+                bytes += (kv.getKey() != null ? kv.getKey().length : 0)
+                    + (kv.getValue() != null ? kv.getValue().length : 0);
+            }
+            long byteLimit = PAGE_BYTES * kvs.size() / (bytes + 1);
+            maxLimit = (int) Math.max(MIN_LIMIT, Math.min(initLimit * MAX_LIMIT_FACTOR, byteLimit));
+            limit = Math.min(limit, maxLimit);
+        }
+
+        private void setPage(@NonNull List<KeyValue> kvs) {
+            keyValues = kvs.iterator();
+            pageSize = kvs.size();
+            consumed = 0;
         }
 
         @Override
         public boolean hasNext() {
-            while (hasMore && !keyValues.hasNext()) {
+            if (closed) {
+                return false;
+            }
+            if (!keyValues.hasNext() && (pending != null || hasMore)) {
                 if (rpcProfile.getStart() == 0) {
                     rpcProfile.start();
                 }
                 long start = System.currentTimeMillis();
-                fetch();
+                while (!keyValues.hasNext() && (pending != null || hasMore)) {
+                    if (pending != null) {
+                        boolean waiting = !pending.isDone();
+                        List<KeyValue> kvs;
+                        try {
+                            kvs = pending.join();
+                        } catch (CompletionException e) {
+                            Throwable cause = e.getCause();
+                            throw cause instanceof RuntimeException ? (RuntimeException) cause : e;
+                        } finally {
+                            pending = null;
+                        }
+                        if (waiting) {
+                            // The consumer is faster than fetching, so fetch more in a request.
+                            limit = (int) Math.min(limit * 2L, maxLimit);
+                        }
+                        setPage(kvs);
+                    } else {
+                        setPage(fetch());
+                    }
+                }
                 rpcProfile.time(start);
             }
+            if (prefetch && pending == null && hasMore && consumed >= pageSize / 2) {
+                pending = Executors.submit("txn-scan-prefetch", this::fetch);
+            }
             return keyValues.hasNext();
         }
 
         @Override
         public io.dingodb.common.store.KeyValue next() {
+            ++consumed;
             return MAPPER.kvFrom(keyValues.next());
         }
 
+        /**
+         * Cancel the prefetching page, if any. The iterator has no more elements after closed.
+         */
+        @Override
+        public void close() {
+            closed = true;
+            keyValues = Collections.emptyIterator();
+            if (pending != null) {
+                pending.cancel(false);
+                pending = null;
+            }
+        }
+
         @Override
         public Profile getRpcProfile() {
             return rpcProfile;
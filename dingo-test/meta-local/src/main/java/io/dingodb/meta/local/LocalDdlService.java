@@ -32,9 +32,12 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class LocalDdlService implements DdlService {
     LocalMetaService localMetaService = LocalMetaService.ROOT;
+    // Bumped by each DDL, as the schema meta version of a cluster.
+    private final AtomicLong schemaVersion = new AtomicLong(1);
 
     public static LocalDdlService ROOT = new LocalDdlService();
 
@@ -49,34 +52,40 @@ public class LocalDdlService implements DdlService {
     @Override
     public void createSchema(String schemaName, long schemaId, String connId) {
         localMetaService.createSubMetaService(schemaName);
+        schemaVersion.incrementAndGet();
     }
 
     @Override
     public void dropSchema(SchemaInfo schemaInfo, String connId) {
         localMetaService.dropSubMetaService(schemaInfo.getName());
+        schemaVersion.incrementAndGet();
     }
 
     @Override
     public void createTableWithInfo(String schemaName, @NonNull TableDefinition tableDefinition, String connId, String sql) {
         LocalMetaService ms = (LocalMetaService) localMetaService.getSubMetaService(schemaName);
         ms.createTables(tableDefinition, tableDefinition.getIndices());
+        schemaVersion.incrementAndGet();
     }
 
     @Override
     public void dropTable(SchemaInfo schemaInfo, Long tableId, String tableName, String connId) {
         LocalMetaService ms = (LocalMetaService) localMetaService.getSubMetaService(schemaInfo.getName());
         ms.dropTable(ms.id().seq, tableName, -1);
+        schemaVersion.incrementAndGet();
     }
 
     @Override
     public void truncateTable(SchemaInfo schemaInfo, Table table, String connId) {
         LocalMetaService ms = (LocalMetaService) localMetaService.getSubMetaService(schemaInfo.getName());
         ms.truncateTable(table.getName(), 1, -1);
+        schemaVersion.incrementAndGet();
     }
 
     @Override
     public InfoSchema getIsLatest() {
         InfoSchema infoSchema = new InfoSchema();
+        infoSchema.setSchemaMetaVersion(schemaVersion.get());
         Map<String, MetaService> childrenList = localMetaService.getSubMetaServices();
         childrenList.forEach((k, v) -> {
             SchemaInfo schemaInfo = new SchemaInfo(0, k, v.id().seq, SchemaState.SCHEMA_PUBLIC);
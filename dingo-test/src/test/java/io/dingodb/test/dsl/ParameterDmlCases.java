@@ -21,6 +21,7 @@ import io.dingodb.test.dsl.builder.SqlTestCaseJavaBuilder;
 
 import java.sql.Date;
 import java.sql.PreparedStatement;
+import java.sql.Statement;
 import java.sql.Time;
 import java.sql.Timestamp;
 
@@ -172,5 +173,51 @@ public class ParameterDmlCases extends SqlTestCaseJavaBuilder {
                     new Object[]{2, new Date(86400000).toString(), new Time(3600000).toString(), new Timestamp(1)}
                 )
             ));
+
+        test("Re-execute after DDL")
+            .step("create table {table} (id int, name varchar(32), primary key(id))")
+            .custom(context -> {
+                String insertSql = "insert into {table} values(?, ?)";
+                String selectSql = "select * from {table} where id < ? order by id";
+                try (
+                    PreparedStatement insert = context.getConnection().prepareStatement(context.transSql(insertSql));
+                    PreparedStatement select = context.getConnection().prepareStatement(context.transSql(selectSql));
+                    Statement statement = context.getConnection().createStatement()
+                ) {
+                    insert.setInt(1, 1);
+                    insert.setString(2, "Alice");
+                    boolean b = insert.execute();
+                    check(insert, b, insertSql).test(count(1));
+                    select.setInt(1, 10);
+                    b = select.execute();
+                    check(select, b, selectSql).test(is(
+                        new String[]{"id", "name"},
+                        ImmutableList.of(
+                            new Object[]{1, "Alice"}
+                        )
+                    ));
+                    // Bumps the schema version, so the prepared statements are planned again.
+                    statement.execute(context.transSql("create table {table1} (id int, primary key(id))"));
+                    insert.setInt(1, 2);
+                    insert.setString(2, "Betty");
+                    b = insert.execute();
+                    check(insert, b, insertSql).test(count(1));
+                    b = select.execute();
+                    check(select, b, selectSql).test(is(
+                        new String[]{"id", "name"},
+                        ImmutableList.of(
+                            new Object[]{1, "Alice"},
+                            new Object[]{2, "Betty"}
+                        )
+                    ));
+                }
+            })
+            .data(is(
+                new String[]{"id", "name"},
+                ImmutableList.of(
+                    new Object[]{1, "Alice"},
+                    new Object[]{2, "Betty"}
+                )
+            ));
     }
 }